@@ -0,0 +1,91 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routing overhead: every engine called directly and through an AdaptiveRouterParser whose only candidate
+ * is that engine, so the difference is the cost of the router itself (route lookup, periodic timed exploration).
+ * The full multi-engine router is benchmarked in JsonParsingBenchmark as adaptiveRouterParser_*.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class AdaptiveRouterBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveRouterBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+
+    private static List<String> validJsonInputs;
+    private static final String jsonKey = "correlationId";
+    private static final String jsonPath = "$.correlationId";
+
+    static {
+        validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        logger.info("Loaded {} valid JSON inputs", validJsonInputs.size());
+    }
+
+    @Param({"JacksonStreaming", "FastJsonStreaming", "StateMachine", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+    private JsonParserInterface routedParser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+        routedParser = new AdaptiveRouterParser(Collections.singletonList(JsonParsers.byName(parserName)));
+    }
+
+    @Benchmark
+    public void validate(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(parser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void validate_Routed(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(routedParser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void hasKey(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(parser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void hasKey_Routed(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(routedParser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void getValue(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(parser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    public void getValue_Routed(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(routedParser.getJsonValue(json, jsonPath));
+        }
+    }
+}
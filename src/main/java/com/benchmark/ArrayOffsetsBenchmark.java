@@ -0,0 +1,90 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Array fan-out ({@code ARRAY JOIN} over {@code JSONExtractArrayRaw(json, 'events')}) by element offsets. The log
+ * lines are batched {@value #BATCH_SIZE} to a document as {@code {"batch": n, "events": [...]}}.
+ * {@code offsets_Events} and {@code offsetsBytes_Events} only split the array; {@code fanOut_Logger} then reads
+ * {@code logger} from each element through its byte range, without building the element's text first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class ArrayOffsetsBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ArrayOffsetsBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+    private static final int BATCH_SIZE = 8;
+
+    private static List<String> batchedInputs;
+    private static List<byte[]> batchedBytes;
+    private static final CompiledPath eventsPath = CompiledPath.of("events");
+    private static final CompiledPath loggerPath = CompiledPath.of("logger");
+
+    static {
+        List<String> validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        batchedInputs = new ArrayList<>(validJsonInputs.size() / BATCH_SIZE + 1);
+        batchedBytes = new ArrayList<>(validJsonInputs.size() / BATCH_SIZE + 1);
+        for (int i = 0; i < validJsonInputs.size(); i += BATCH_SIZE) {
+            StringBuilder batch = new StringBuilder("{\"batch\": ").append(i / BATCH_SIZE).append(", \"events\": [");
+            for (int j = i; j < Math.min(i + BATCH_SIZE, validJsonInputs.size()); j++) {
+                if (j > i) {
+                    batch.append(", ");
+                }
+                batch.append(validJsonInputs.get(j));
+            }
+            String json = batch.append("]}").toString();
+            batchedInputs.add(json);
+            batchedBytes.add(json.getBytes(StandardCharsets.UTF_8));
+        }
+        logger.info("Loaded {} valid JSON inputs in {} batches", validJsonInputs.size(), batchedInputs.size());
+    }
+
+    @Param({"JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+    }
+
+    @Benchmark
+    public void offsets_Events(Blackhole blackhole) {
+        for (String json : batchedInputs) {
+            blackhole.consume(parser.getJsonArrayOffsets(json, eventsPath));
+        }
+    }
+
+    @Benchmark
+    public void offsetsBytes_Events(Blackhole blackhole) {
+        for (byte[] json : batchedBytes) {
+            blackhole.consume(parser.getJsonArrayOffsets(json, 0, json.length, eventsPath));
+        }
+    }
+
+    @Benchmark
+    public void fanOut_Logger(Blackhole blackhole) {
+        for (byte[] json : batchedBytes) {
+            int[] offsets = parser.getJsonArrayOffsets(json, 0, json.length, eventsPath);
+            for (int i = 0; i < offsets.length; i += 2) {
+                blackhole.consume(parser.getJsonValue(json, offsets[i], offsets[i + 1] - offsets[i], loggerPath));
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Column-at-a-time calls ({@code isValidJsonBatch}, {@code hasJsonKeyBatch}) against the row-at-a-time loops
+ * of {@link JsonParsingBenchmark}, for both a List column and a byte arena with row offsets. Each invocation
+ * processes the whole sample, so the scores compare directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class BatchBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(BatchBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+
+    private static List<String> jsonInputs;
+    private static byte[] arena;
+    private static int[] offsets;
+    private static final String jsonKey = "correlationId";
+
+    static {
+        // Mixed column, as isValidJSON(Body) sees it in ClickHouse
+        jsonInputs = new ArrayList<>(DataLoader.loadValidJsonInputs(SAMPLE_SIZE));
+        jsonInputs.addAll(DataLoader.loadInvalidJsonInputs(SAMPLE_SIZE));
+        byte[][] encoded = new byte[jsonInputs.size()][];
+        int total = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = jsonInputs.get(i).getBytes(StandardCharsets.UTF_8);
+            total += encoded[i].length;
+        }
+        arena = new byte[total];
+        offsets = new int[encoded.length + 1];
+        for (int i = 0, pos = 0; i < encoded.length; i++) {
+            offsets[i] = pos;
+            System.arraycopy(encoded[i], 0, arena, pos, encoded[i].length);
+            pos += encoded[i].length;
+        }
+        offsets[encoded.length] = total;
+        logger.info("Loaded a column of {} JSON inputs ({} UTF-8 bytes)", jsonInputs.size(), total);
+    }
+
+    @Param({"JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+    }
+
+    @Benchmark
+    public void validate_PerRow(Blackhole blackhole) {
+        for (String json : jsonInputs) {
+            blackhole.consume(parser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public long[] validate_Batch() {
+        return parser.isValidJsonBatch(jsonInputs);
+    }
+
+    @Benchmark
+    public void validate_ArenaPerRow(Blackhole blackhole) {
+        for (int i = 0; i + 1 < offsets.length; i++) {
+            blackhole.consume(parser.isValidJson(arena, offsets[i], offsets[i + 1] - offsets[i]));
+        }
+    }
+
+    @Benchmark
+    public long[] validate_ArenaBatch() {
+        return parser.isValidJsonBatch(arena, offsets);
+    }
+
+    @Benchmark
+    public void hasKey_PerRow(Blackhole blackhole) {
+        for (String json : jsonInputs) {
+            blackhole.consume(parser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public long[] hasKey_Batch() {
+        return parser.hasJsonKeyBatch(jsonInputs, jsonKey);
+    }
+
+    @Benchmark
+    public void hasKey_ArenaPerRow(Blackhole blackhole) {
+        for (int i = 0; i + 1 < offsets.length; i++) {
+            blackhole.consume(parser.hasJsonKey(arena, offsets[i], offsets[i + 1] - offsets[i], jsonKey));
+        }
+    }
+
+    @Benchmark
+    public long[] hasKey_ArenaBatch() {
+        return parser.hasJsonKeyBatch(arena, offsets, jsonKey);
+    }
+}
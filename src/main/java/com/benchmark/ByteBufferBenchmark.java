@@ -0,0 +1,115 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap vs direct (off-heap) ByteBuffer input for every engine. All rows are written back to back into one heap
+ * and one direct buffer, and each row is a precomputed slice of those, so the measured loop allocates nothing
+ * itself. Run {@link #main} to get the GC profiler's allocation rate per operation alongside the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class ByteBufferBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ByteBufferBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+
+    private static ByteBuffer[] heapRows;
+    private static ByteBuffer[] directRows;
+    private static final String jsonKey = "correlationId";
+    private static final String jsonPath = "$.logger";
+
+    static {
+        List<String> validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        byte[][] encoded = new byte[validJsonInputs.size()][];
+        int total = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = validJsonInputs.get(i).getBytes(StandardCharsets.UTF_8);
+            total += encoded[i].length;
+        }
+        ByteBuffer heap = ByteBuffer.allocate(total);
+        ByteBuffer direct = ByteBuffer.allocateDirect(total);
+        heapRows = new ByteBuffer[encoded.length];
+        directRows = new ByteBuffer[encoded.length];
+        for (int i = 0; i < encoded.length; i++) {
+            int offset = heap.position();
+            heap.put(encoded[i]);
+            direct.put(encoded[i]);
+            heapRows[i] = heap.slice(offset, encoded[i].length);
+            directRows[i] = direct.slice(offset, encoded[i].length);
+        }
+        logger.info("Loaded {} valid JSON inputs ({} UTF-8 bytes) into heap and direct buffers",
+            encoded.length, total);
+    }
+
+    @Param({"JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+    }
+
+    @Benchmark
+    public void validInputs_Heap(Blackhole blackhole) {
+        for (ByteBuffer json : heapRows) {
+            blackhole.consume(parser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void validInputs_Direct(Blackhole blackhole) {
+        for (ByteBuffer json : directRows) {
+            blackhole.consume(parser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void hasKey_Heap(Blackhole blackhole) {
+        for (ByteBuffer json : heapRows) {
+            blackhole.consume(parser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void hasKey_Direct(Blackhole blackhole) {
+        for (ByteBuffer json : directRows) {
+            blackhole.consume(parser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void getValue_Heap(Blackhole blackhole) {
+        for (ByteBuffer json : heapRows) {
+            blackhole.consume(parser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    public void getValue_Direct(Blackhole blackhole) {
+        for (ByteBuffer json : directRows) {
+            blackhole.consume(parser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        ResultWriter.runWithGcProfiler(ByteBufferBenchmark.class);
+    }
+}
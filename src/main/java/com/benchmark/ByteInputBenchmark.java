@@ -0,0 +1,139 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * String vs UTF-8 byte input for every engine, side by side. The byte rows are packed back to back in one
+ * buffer (as they would sit in a Parquet page) and passed as (buffer, offset, length), so no per-row decoding
+ * or copying happens inside the measured loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class ByteInputBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ByteInputBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+
+    private static List<String> validJsonInputs;
+    private static List<String> invalidJsonInputs;
+    private static byte[] validArena;
+    private static int[] validOffsets;
+    private static byte[] invalidArena;
+    private static int[] invalidOffsets;
+    private static final String jsonKey = "correlationId";
+    private static final String jsonPath = "$.logger";
+
+    static {
+        validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        invalidJsonInputs = DataLoader.loadInvalidJsonInputs(SAMPLE_SIZE);
+        validOffsets = new int[validJsonInputs.size() + 1];
+        validArena = pack(validJsonInputs, validOffsets);
+        invalidOffsets = new int[invalidJsonInputs.size() + 1];
+        invalidArena = pack(invalidJsonInputs, invalidOffsets);
+        logger.info("Loaded {} valid and {} invalid JSON inputs ({} / {} UTF-8 bytes)",
+            validJsonInputs.size(), invalidJsonInputs.size(), validArena.length, invalidArena.length);
+    }
+
+    @Param({"JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+    }
+
+    /**
+     * Encode the rows back to back into one buffer; row i is [offsets[i], offsets[i + 1]).
+     */
+    private static byte[] pack(List<String> rows, int[] offsets) {
+        byte[][] encoded = new byte[rows.size()][];
+        int total = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = rows.get(i).getBytes(StandardCharsets.UTF_8);
+            total += encoded[i].length;
+        }
+        byte[] arena = new byte[total];
+        int pos = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            offsets[i] = pos;
+            System.arraycopy(encoded[i], 0, arena, pos, encoded[i].length);
+            pos += encoded[i].length;
+        }
+        offsets[encoded.length] = pos;
+        return arena;
+    }
+
+    @Benchmark
+    public void validInputs_String(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(parser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void validInputs_Bytes(Blackhole blackhole) {
+        for (int i = 0; i + 1 < validOffsets.length; i++) {
+            blackhole.consume(parser.isValidJson(validArena, validOffsets[i], validOffsets[i + 1] - validOffsets[i]));
+        }
+    }
+
+    @Benchmark
+    public void invalidInputs_String(Blackhole blackhole) {
+        for (String json : invalidJsonInputs) {
+            blackhole.consume(parser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void invalidInputs_Bytes(Blackhole blackhole) {
+        for (int i = 0; i + 1 < invalidOffsets.length; i++) {
+            blackhole.consume(parser.isValidJson(invalidArena, invalidOffsets[i],
+                invalidOffsets[i + 1] - invalidOffsets[i]));
+        }
+    }
+
+    @Benchmark
+    public void hasKey_String(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(parser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void hasKey_Bytes(Blackhole blackhole) {
+        for (int i = 0; i + 1 < validOffsets.length; i++) {
+            blackhole.consume(parser.hasJsonKey(validArena, validOffsets[i],
+                validOffsets[i + 1] - validOffsets[i], jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void getValue_String(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(parser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    public void getValue_Bytes(Blackhole blackhole) {
+        for (int i = 0; i + 1 < validOffsets.length; i++) {
+            blackhole.consume(parser.getJsonValue(validArena, validOffsets[i],
+                validOffsets[i + 1] - validOffsets[i], jsonPath));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code extractAll} against one {@code getJsonValue} call per path, for the four fields a dashboard row pulls.
+ * Both variants take the same compiled paths, so the difference is the number of traversals per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class ExtractAllBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ExtractAllBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+
+    private static List<String> validJsonInputs;
+    private static final CompiledPath[] paths = {
+        CompiledPath.compile("$.logger"),
+        CompiledPath.compile("$.level"),
+        CompiledPath.compile("$.thread"),
+        CompiledPath.compile("$.correlationId")
+    };
+
+    static {
+        validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        logger.info("Loaded {} valid JSON inputs", validJsonInputs.size());
+    }
+
+    @Param({"JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+    }
+
+    @Benchmark
+    public void extract_SeparateCalls(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            for (CompiledPath path : paths) {
+                blackhole.consume(parser.getJsonValue(json, path));
+            }
+        }
+    }
+
+    @Benchmark
+    public void extract_ExtractAll(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(parser.extractAll(json, paths));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code SELECT JSON_VALUE(json, '$.logger') WHERE isValidJSON(json) AND JSONHas(json, 'correlationId')} per row,
+ * as the three separate calls a query plan makes ({@code threeCalls}) and as one
+ * {@link JsonParserInterface#filterAndExtract(String, String, CompiledPath)} ({@code fused}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class FusedFilterBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(FusedFilterBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+
+    private static List<String> validJsonInputs;
+    private static final String jsonKey = "correlationId";
+    private static final CompiledPath jsonPath = CompiledPath.compile("$.logger");
+
+    static {
+        validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        logger.info("Loaded {} valid JSON inputs", validJsonInputs.size());
+    }
+
+    @Param({"JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+    }
+
+    @Benchmark
+    public void threeCalls(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            if (parser.isValidJson(json) && parser.hasJsonKey(json, jsonKey)) {
+                blackhole.consume(parser.getJsonValue(json, jsonPath));
+            }
+        }
+    }
+
+    @Benchmark
+    public void fused(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            FilterResult result = parser.filterAndExtract(json, jsonKey, jsonPath);
+            if (result.matches()) {
+                blackhole.consume(result.value());
+            }
+        }
+    }
+}
@@ -36,6 +36,15 @@ public class JsonParsingBenchmark {
     private final JsonParserInterface fastJsonDomParser = new FastJsonDomParser();
     private final JsonParserInterface fastJsonStreamingParser = new FastJsonStreamingParser();
     private final JsonParserInterface jsonIteratorParser = new JsonIteratorParser();
+    private final JsonParserInterface stateMachineParser = new StateMachineParser();
+    private final JsonParserInterface vectorIndexParser = new VectorIndexParser();
+    private final JsonParserInterface scalarIndexParser = new VectorIndexParser(false);
+    private final JsonParserInterface swarParser = new SwarParser();
+    private final JsonParserInterface tapeParser = new TapeParser();
+    private final JsonParserInterface onDemandParser = new OnDemandParser();
+    private final JsonParserInterface onDemandLazyParser = new OnDemandParser(true);
+    private final JsonParserInterface keyScanParser = new KeyScanParser();
+    private final JsonParserInterface adaptiveRouterParser = new AdaptiveRouterParser();
 
     @Benchmark
     public void jacksonDomParser_ValidInputs(Blackhole blackhole) {
@@ -177,6 +186,261 @@ public class JsonParsingBenchmark {
         }
     }
 
+    @Benchmark
+    public void stateMachineParser_ValidInputs(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(stateMachineParser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void stateMachineParser_InvalidInputs(Blackhole blackhole) {
+        for (String json : invalidJsonInputs) {
+            blackhole.consume(stateMachineParser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void stateMachineParser_HasKey(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(stateMachineParser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void stateMachineParser_GetValue(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(stateMachineParser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public void vectorIndexParser_ValidInputs(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(vectorIndexParser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public void vectorIndexParser_InvalidInputs(Blackhole blackhole) {
+        for (String json : invalidJsonInputs) {
+            blackhole.consume(vectorIndexParser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public void vectorIndexParser_HasKey(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(vectorIndexParser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public void vectorIndexParser_GetValue(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(vectorIndexParser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    public void scalarIndexParser_ValidInputs(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(scalarIndexParser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void scalarIndexParser_InvalidInputs(Blackhole blackhole) {
+        for (String json : invalidJsonInputs) {
+            blackhole.consume(scalarIndexParser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void scalarIndexParser_HasKey(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(scalarIndexParser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void scalarIndexParser_GetValue(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(scalarIndexParser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    public void swarParser_ValidInputs(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(swarParser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void swarParser_InvalidInputs(Blackhole blackhole) {
+        for (String json : invalidJsonInputs) {
+            blackhole.consume(swarParser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void swarParser_HasKey(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(swarParser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void swarParser_GetValue(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(swarParser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    public void tapeParser_ValidInputs(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(tapeParser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void tapeParser_InvalidInputs(Blackhole blackhole) {
+        for (String json : invalidJsonInputs) {
+            blackhole.consume(tapeParser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void tapeParser_HasKey(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(tapeParser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void tapeParser_GetValue(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(tapeParser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    public void tapeParser_AllOperations(Blackhole blackhole) {
+        // isValidJson + hasJsonKey + getJsonValue on the same row, as in a filtered projection
+        for (String json : validJsonInputs) {
+            blackhole.consume(tapeParser.isValidJson(json));
+            blackhole.consume(tapeParser.hasJsonKey(json, jsonKey));
+            blackhole.consume(tapeParser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    public void jacksonStreamingParser_AllOperations(Blackhole blackhole) {
+        // isValidJson + hasJsonKey + getJsonValue on the same row, as in a filtered projection
+        for (String json : validJsonInputs) {
+            blackhole.consume(jacksonStreamingParser.isValidJson(json));
+            blackhole.consume(jacksonStreamingParser.hasJsonKey(json, jsonKey));
+            blackhole.consume(jacksonStreamingParser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    public void fastJsonDomParser_AllOperations(Blackhole blackhole) {
+        // isValidJson + hasJsonKey + getJsonValue on the same row, as in a filtered projection
+        for (String json : validJsonInputs) {
+            blackhole.consume(fastJsonDomParser.isValidJson(json));
+            blackhole.consume(fastJsonDomParser.hasJsonKey(json, jsonKey));
+            blackhole.consume(fastJsonDomParser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    public void onDemandParser_ValidInputs(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(onDemandParser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void onDemandParser_InvalidInputs(Blackhole blackhole) {
+        for (String json : invalidJsonInputs) {
+            blackhole.consume(onDemandParser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void onDemandParser_HasKey(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(onDemandParser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void onDemandParser_GetValue(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(onDemandParser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    public void onDemandLazyParser_HasKey(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(onDemandLazyParser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void onDemandLazyParser_GetValue(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(onDemandLazyParser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    public void keyScanParser_HasKey(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(keyScanParser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public void adaptiveRouterParser_ValidInputs(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(adaptiveRouterParser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public void adaptiveRouterParser_InvalidInputs(Blackhole blackhole) {
+        for (String json : invalidJsonInputs) {
+            blackhole.consume(adaptiveRouterParser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public void adaptiveRouterParser_HasKey(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(adaptiveRouterParser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public void adaptiveRouterParser_GetValue(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(adaptiveRouterParser.getJsonValue(json, jsonPath));
+        }
+    }
+
     public static void main(String[] args) throws Exception {
         ResultWriter.runBenchmarkAndSaveResults();
     }
@@ -0,0 +1,76 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every engine with and without the KeyPrefilterParser decorator.
+ * About 41% of the valid rows lack correlationId, so those never reach the wrapped parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class KeyPrefilterBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(KeyPrefilterBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+
+    private static List<String> validJsonInputs;
+    private static final String jsonKey = "correlationId";
+    private static final String jsonPath = "$.correlationId";
+
+    static {
+        validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        logger.info("Loaded {} valid JSON inputs", validJsonInputs.size());
+    }
+
+    @Param({"JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "OnDemandLazy", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+    private JsonParserInterface prefilteredParser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+        prefilteredParser = new KeyPrefilterParser(JsonParsers.byName(parserName));
+    }
+
+    @Benchmark
+    public void hasKey(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(parser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void hasKey_Prefiltered(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(prefilteredParser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void getValue(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(parser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    public void getValue_Prefiltered(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(prefilteredParser.getJsonValue(json, jsonPath));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code JSONExtractKeys(json)} on the log lines, whose small key vocabulary ({@code correlationId}, {@code tm},
+ * {@code logger}, ...) repeats on every row. {@code keys_Root} takes String input and {@code keysBytes_Root}
+ * UTF-8 input. Run {@link #main} for the GC profiler's allocation rate per operation: once the names are in the
+ * symbol table, the byte-level engines should allocate only the returned array for each row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class KeysBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(KeysBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+
+    private static List<String> validJsonInputs;
+    private static List<byte[]> validJsonBytes;
+    private static final CompiledPath rootPath = CompiledPath.of();
+
+    static {
+        validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        validJsonBytes = new ArrayList<>(validJsonInputs.size());
+        for (String json : validJsonInputs) {
+            validJsonBytes.add(json.getBytes(StandardCharsets.UTF_8));
+        }
+        logger.info("Loaded {} valid JSON inputs", validJsonInputs.size());
+    }
+
+    @Param({"JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+    }
+
+    @Benchmark
+    public void keys_Root(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(parser.getJsonKeys(json, rootPath));
+        }
+    }
+
+    @Benchmark
+    public void keysBytes_Root(Blackhole blackhole) {
+        for (byte[] json : validJsonBytes) {
+            blackhole.consume(parser.getJsonKeys(json, 0, json.length, rootPath));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        ResultWriter.runWithGcProfiler(KeysBenchmark.class);
+    }
+}
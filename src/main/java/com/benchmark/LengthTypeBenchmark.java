@@ -0,0 +1,97 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code JSONLength(json, 'userMap')} and {@code JSONType(json, 'userMap')}. The sample lines carry their user
+ * map only as text inside the message, so each line is given a JSON {@code userMap} of the same kind of entries
+ * (counters, amounts, flags, tiers) next to its {@code body}. {@code length_UserMap} counts the map's fields,
+ * {@code length_Body} the fields of the original line, and {@code type_UserMap} only peeks at the map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class LengthTypeBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(LengthTypeBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+    private static final int USER_MAP_SIZE = 200;
+
+    private static List<String> wrappedInputs;
+    private static final CompiledPath userMapPath = CompiledPath.of("userMap");
+    private static final CompiledPath bodyPath = CompiledPath.of("body");
+
+    static {
+        List<String> validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        StringBuilder userMap = new StringBuilder("{");
+        for (int i = 0; i < USER_MAP_SIZE; i++) {
+            if (i > 0) {
+                userMap.append(", ");
+            }
+            userMap.append("\"field").append(i).append("\": ");
+            switch (i % 4) {
+                case 0:
+                    userMap.append(i * 37);
+                    break;
+                case 1:
+                    userMap.append(i * 12.5);
+                    break;
+                case 2:
+                    userMap.append(i % 3 == 0);
+                    break;
+                default:
+                    userMap.append("\"Gold\"");
+                    break;
+            }
+        }
+        userMap.append('}');
+        wrappedInputs = new ArrayList<>(validJsonInputs.size());
+        for (String json : validJsonInputs) {
+            wrappedInputs.add("{\"userMap\": " + userMap + ", \"body\": " + json + "}");
+        }
+        logger.info("Loaded {} valid JSON inputs", validJsonInputs.size());
+    }
+
+    @Param({"JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+    }
+
+    @Benchmark
+    public void length_UserMap(Blackhole blackhole) {
+        for (String json : wrappedInputs) {
+            blackhole.consume(parser.getJsonLength(json, userMapPath));
+        }
+    }
+
+    @Benchmark
+    public void length_Body(Blackhole blackhole) {
+        for (String json : wrappedInputs) {
+            blackhole.consume(parser.getJsonLength(json, bodyPath));
+        }
+    }
+
+    @Benchmark
+    public void type_UserMap(Blackhole blackhole) {
+        for (String json : wrappedInputs) {
+            blackhole.consume(parser.getJsonType(json, userMapPath));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nested {@code JSONHas(json, 'body', 'correlationId')} against the top-level check it extends. Each log line
+ * is wrapped as {@code {"meta": {...}, "body": <line>}}, so the nested check has to skip a sibling container
+ * and descend one level; {@code hasKey_TopLevel} runs the plain hasJsonKey on the unwrapped lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class NestedKeyBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(NestedKeyBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+
+    private static List<String> validJsonInputs;
+    private static List<String> wrappedInputs;
+    private static final String jsonKey = "correlationId";
+    private static final CompiledPath nestedPath = CompiledPath.of("body", jsonKey);
+    private static final CompiledPath indexedPath = CompiledPath.of("meta", "hosts", 1);
+
+    static {
+        validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        wrappedInputs = new ArrayList<>(validJsonInputs.size());
+        for (String json : validJsonInputs) {
+            wrappedInputs.add("{\"meta\": {\"source\": \"app\", \"hosts\": [\"a\", \"b\"], "
+                + "\"tags\": {\"env\": \"prod\"}}, \"body\": " + json + "}");
+        }
+        logger.info("Loaded {} valid JSON inputs", validJsonInputs.size());
+    }
+
+    @Param({"JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+    }
+
+    @Benchmark
+    public void hasKey_TopLevel(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(parser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void hasKey_Nested(Blackhole blackhole) {
+        for (String json : wrappedInputs) {
+            blackhole.consume(parser.hasJsonKey(json, nestedPath));
+        }
+    }
+
+    @Benchmark
+    public void hasKey_Indexed(Blackhole blackhole) {
+        for (String json : wrappedInputs) {
+            blackhole.consume(parser.hasJsonKey(json, indexedPath));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prepared {@link JsonQuery} handles against the per-call String arguments of {@link JsonParsingBenchmark},
+ * for the same key ({@code correlationId}) and path ({@code $.logger}). The {@code *_Strings} loops look the
+ * key or path up on every row; the {@code *_Query} loops run handles prepared once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class QueryBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(QueryBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+
+    private static List<String> validJsonInputs;
+    private static final String jsonKey = "correlationId";
+    private static final String jsonPath = "$.logger";
+
+    static {
+        validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        logger.info("Loaded {} valid JSON inputs", validJsonInputs.size());
+    }
+
+    @Param({"JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+    private JsonQuery hasKey;
+    private JsonQuery getValue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+        hasKey = JsonQuery.of(parser, JsonQuery.Operation.HAS_KEY, jsonKey);
+        getValue = JsonQuery.of(parser, JsonQuery.Operation.GET_VALUE, jsonPath);
+    }
+
+    @Benchmark
+    public void hasKey_Strings(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(parser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void hasKey_Query(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(hasKey.test(json));
+        }
+    }
+
+    @Benchmark
+    public void getValue_Strings(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(parser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    public void getValue_Query(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(getValue.extract(json));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code JSONExtractRaw(json, 'body')}: forwarding a sub-document as it is written. Each log line is wrapped as
+ * {@code {"meta": {...}, "body": <line>}}, so {@code raw_Object} returns the original line after skipping a
+ * sibling container, and {@code rawSlice_Object} views it in the UTF-8 input without building a String.
+ * {@code raw_Scalar} and {@code value_Scalar} compare the raw text of a string field with its unescaped value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class RawExtractionBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(RawExtractionBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+
+    private static List<String> wrappedInputs;
+    private static List<byte[]> wrappedBytes;
+    private static final CompiledPath bodyPath = CompiledPath.of("body");
+    private static final CompiledPath loggerPath = CompiledPath.of("body", "logger");
+
+    static {
+        List<String> validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        wrappedInputs = new ArrayList<>(validJsonInputs.size());
+        wrappedBytes = new ArrayList<>(validJsonInputs.size());
+        for (String json : validJsonInputs) {
+            String wrapped = "{\"meta\": {\"source\": \"app\", \"hosts\": [\"a\", \"b\"], "
+                + "\"tags\": {\"env\": \"prod\"}}, \"body\": " + json + "}";
+            wrappedInputs.add(wrapped);
+            wrappedBytes.add(wrapped.getBytes(StandardCharsets.UTF_8));
+        }
+        logger.info("Loaded {} valid JSON inputs", validJsonInputs.size());
+    }
+
+    @Param({"JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+    private final JsonSlice slice = new JsonSlice();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+    }
+
+    @Benchmark
+    public void raw_Object(Blackhole blackhole) {
+        for (String json : wrappedInputs) {
+            blackhole.consume(parser.getJsonRaw(json, bodyPath));
+        }
+    }
+
+    @Benchmark
+    public void rawSlice_Object(Blackhole blackhole) {
+        for (byte[] json : wrappedBytes) {
+            if (parser.getJsonRaw(json, 0, json.length, bodyPath, slice)) {
+                blackhole.consume(slice.length());
+            }
+        }
+    }
+
+    @Benchmark
+    public void raw_Scalar(Blackhole blackhole) {
+        for (String json : wrappedInputs) {
+            blackhole.consume(parser.getJsonRaw(json, loggerPath));
+        }
+    }
+
+    @Benchmark
+    public void value_Scalar(Blackhole blackhole) {
+        for (String json : wrappedInputs) {
+            blackhole.consume(parser.getJsonValue(json, loggerPath));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.benchmark;
 
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.results.RunResult;
 import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
@@ -23,6 +24,24 @@ public class ResultWriter {
 
         Options opt = new OptionsBuilder()
                 .include(JsonParsingBenchmark.class.getSimpleName())
+                .include(KeyPrefilterBenchmark.class.getSimpleName())
+                .include(AdaptiveRouterBenchmark.class.getSimpleName())
+                .include(ShapeSpeculationBenchmark.class.getSimpleName())
+                .include(ByteInputBenchmark.class.getSimpleName())
+                .include(ByteBufferBenchmark.class.getSimpleName())
+                .include(BatchBenchmark.class.getSimpleName())
+                .include(ExtractAllBenchmark.class.getSimpleName())
+                .include(TypedExtractionBenchmark.class.getSimpleName())
+                .include(SliceBenchmark.class.getSimpleName())
+                .include(QueryBenchmark.class.getSimpleName())
+                .include(FusedFilterBenchmark.class.getSimpleName())
+                .include(NestedKeyBenchmark.class.getSimpleName())
+                .include(ValidationBenchmark.class.getSimpleName())
+                .include(RawExtractionBenchmark.class.getSimpleName())
+                .include(LengthTypeBenchmark.class.getSimpleName())
+                .include(KeysBenchmark.class.getSimpleName())
+                .include(ArrayOffsetsBenchmark.class.getSimpleName())
+                .include(SimpleJsonBenchmark.class.getSimpleName())
                 .resultFormat(ResultFormatType.CSV)
                 .result(resultFile)
                 .build();
@@ -37,6 +56,25 @@ public class ResultWriter {
         logger.info("Results have been written to {}", resultFile);
     }
 
+    /**
+     * Run one benchmark class with the GC profiler, which adds the allocation rate and GC counts per operation
+     */
+    public static void runWithGcProfiler(Class<?> benchmark) throws RunnerException {
+        new File("data/results").mkdirs();
+        String resultFile = "data/results/" + benchmark.getSimpleName() + "_gc_" +
+                          System.currentTimeMillis() + ".csv";
+
+        Options opt = new OptionsBuilder()
+                .include(benchmark.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.CSV)
+                .result(resultFile)
+                .build();
+
+        new Runner(opt).run();
+        logger.info("Results have been written to {}", resultFile);
+    }
+
     public static void main(String[] args) throws RunnerException {
         // Create results directory if it doesn't exist
         new File("data/results").mkdirs();
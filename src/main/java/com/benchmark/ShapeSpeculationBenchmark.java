@@ -0,0 +1,127 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ShapeSpeculatingParser against the non-speculating navigator (OnDemandLazy, same validation semantics) on the
+ * real corpus and on a copy whose top-level keys are shuffled per row, which is the worst case for speculation.
+ * Hit/miss rates are logged at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class ShapeSpeculationBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ShapeSpeculationBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+
+    private static List<String> validJsonInputs;
+    private static List<String> shuffledJsonInputs;
+
+    static {
+        validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        shuffledJsonInputs = shuffleKeys(validJsonInputs);
+        logger.info("Loaded {} valid JSON inputs", validJsonInputs.size());
+    }
+
+    @Param({"original", "shuffled"})
+    private String corpus;
+
+    @Param({"correlationId", "level", "thread"})
+    private String jsonKey;
+
+    private List<String> inputs;
+    private String jsonPath;
+    private ShapeSpeculatingParser speculatingParser;
+    private JsonParserInterface baselineParser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        inputs = corpus.equals("shuffled") ? shuffledJsonInputs : validJsonInputs;
+        jsonPath = "$." + jsonKey;
+        speculatingParser = new ShapeSpeculatingParser();
+        baselineParser = new OnDemandParser(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        logger.info("{} corpus, key {}: {}", corpus, jsonKey, speculatingParser.getStatistics());
+    }
+
+    @Benchmark
+    public void hasKey(Blackhole blackhole) {
+        for (String json : inputs) {
+            blackhole.consume(speculatingParser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void hasKey_Baseline(Blackhole blackhole) {
+        for (String json : inputs) {
+            blackhole.consume(baselineParser.hasJsonKey(json, jsonKey));
+        }
+    }
+
+    @Benchmark
+    public void getValue(Blackhole blackhole) {
+        for (String json : inputs) {
+            blackhole.consume(speculatingParser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    @Benchmark
+    public void getValue_Baseline(Blackhole blackhole) {
+        for (String json : inputs) {
+            blackhole.consume(baselineParser.getJsonValue(json, jsonPath));
+        }
+    }
+
+    /**
+     * Re-serialize every row with its top-level fields in a random order (fixed seed).
+     * Rows that are not objects are kept as they are.
+     */
+    private static List<String> shuffleKeys(List<String> rows) {
+        ObjectMapper mapper = new ObjectMapper();
+        Random random = new Random(42);
+        List<String> shuffled = new ArrayList<>(rows.size());
+        for (String row : rows) {
+            try {
+                JsonNode node = mapper.readTree(row);
+                if (!node.isObject()) {
+                    shuffled.add(row);
+                    continue;
+                }
+                List<String> names = new ArrayList<>();
+                for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
+                    names.add(it.next());
+                }
+                Collections.shuffle(names, random);
+                ObjectNode copy = mapper.createObjectNode();
+                for (String name : names) {
+                    copy.set(name, node.get(name));
+                }
+                shuffled.add(mapper.writeValueAsString(copy));
+            } catch (Exception e) {
+                shuffled.add(row);
+            }
+        }
+        return shuffled;
+    }
+}
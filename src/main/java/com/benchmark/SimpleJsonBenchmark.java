@@ -0,0 +1,85 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relaxed {@code simpleJSONExtractString(json, 'thread')} against the strict engines' {@code getJsonValue} on the
+ * flat log lines. {@code SimpleJSON} stands for the relaxed mode, which is the same for every engine; the other
+ * parameters read the field with that engine's strict getJsonValue. {@code thread} is the last field of a line,
+ * so every variant has to get past {@code message}. The relaxed results differ from the strict ones only as
+ * listed in the README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class SimpleJsonBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(SimpleJsonBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+    private static final String RELAXED = "SimpleJSON";
+
+    private static List<String> validJsonInputs;
+    private static List<byte[]> validJsonBytes;
+    private static final CompiledPath threadPath = CompiledPath.compile("$.thread");
+
+    static {
+        validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        validJsonBytes = new ArrayList<>(validJsonInputs.size());
+        for (String json : validJsonInputs) {
+            validJsonBytes.add(json.getBytes(StandardCharsets.UTF_8));
+        }
+        logger.info("Loaded {} valid JSON inputs", validJsonInputs.size());
+    }
+
+    @Param({RELAXED, "JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+    private boolean relaxed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        relaxed = RELAXED.equals(parserName);
+        // The simpleJson* methods do not depend on the engine they are called on
+        parser = JsonParsers.byName(relaxed ? "JacksonStreaming" : parserName);
+    }
+
+    @Benchmark
+    public void extract_Thread(Blackhole blackhole) {
+        if (relaxed) {
+            for (String json : validJsonInputs) {
+                blackhole.consume(parser.simpleJsonExtractString(json, "thread"));
+            }
+        } else {
+            for (String json : validJsonInputs) {
+                blackhole.consume(parser.getJsonValue(json, threadPath));
+            }
+        }
+    }
+
+    @Benchmark
+    public void extractBytes_Thread(Blackhole blackhole) {
+        if (relaxed) {
+            for (byte[] json : validJsonBytes) {
+                blackhole.consume(parser.simpleJsonExtractString(json, 0, json.length, "thread"));
+            }
+        } else {
+            for (byte[] json : validJsonBytes) {
+                blackhole.consume(parser.getJsonValue(json, 0, json.length, threadPath));
+            }
+        }
+    }
+}
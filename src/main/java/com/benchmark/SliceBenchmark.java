@@ -0,0 +1,76 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getJsonSlice} against {@code getJsonValue} for the values dashboards only hash or compare
+ * ({@code $.logger}, {@code $.level}, {@code $.thread}). Each value is hashed and dropped, as a GROUP BY would.
+ * Run {@link #main} for the GC profiler's allocation rate per operation: the slice variants should drop the
+ * per-value String allocations of the {@code *_GetValue} loops wherever the engine locates values in the input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class SliceBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(SliceBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+
+    private static List<String> validJsonInputs;
+    private static final CompiledPath[] paths = {
+        CompiledPath.compile("$.logger"),
+        CompiledPath.compile("$.level"),
+        CompiledPath.compile("$.thread")
+    };
+
+    static {
+        validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        logger.info("Loaded {} valid JSON inputs", validJsonInputs.size());
+    }
+
+    @Param({"JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+    private final JsonSlice slice = new JsonSlice();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+    }
+
+    @Benchmark
+    public void string_GetValue(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            for (CompiledPath path : paths) {
+                blackhole.consume(parser.getJsonValue(json, path).hashCode());
+            }
+        }
+    }
+
+    @Benchmark
+    public void slice_GetValue(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            for (CompiledPath path : paths) {
+                parser.getJsonSlice(json, path, slice);
+                blackhole.consume(slice.contentHashCode());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        ResultWriter.runWithGcProfiler(SliceBenchmark.class);
+    }
+}
@@ -0,0 +1,102 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getJsonLong} / {@code getJsonDouble} against {@code getJsonValue} followed by Long.parseLong /
+ * Double.parseDouble, as callers do today. The sample's top-level fields are all strings, so every row gets
+ * an integer {@code userId} and a decimal {@code vipLoyaltyPoints} field prepended. Run {@link #main} to see
+ * the String allocations the typed calls avoid.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class TypedExtractionBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(TypedExtractionBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+
+    private static List<String> jsonInputs;
+    private static final CompiledPath longPath = CompiledPath.compile("$.userId");
+    private static final CompiledPath doublePath = CompiledPath.compile("$.vipLoyaltyPoints");
+
+    static {
+        List<String> validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        jsonInputs = new ArrayList<>(validJsonInputs.size());
+        int i = 0;
+        for (String json : validJsonInputs) {
+            String trimmed = json.trim();
+            if (trimmed.startsWith("{") && trimmed.length() > 2) {
+                jsonInputs.add("{\"userId\": " + (91259310L + i) + ", \"vipLoyaltyPoints\": " + (i % 5000) + ".25, "
+                    + trimmed.substring(1));
+                i++;
+            }
+        }
+        logger.info("Prepared {} JSON objects with numeric fields", jsonInputs.size());
+    }
+
+    @Param({"JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+    }
+
+    @Benchmark
+    public void long_ParseString(Blackhole blackhole) {
+        for (String json : jsonInputs) {
+            String value = parser.getJsonValue(json, longPath);
+            try {
+                blackhole.consume(Long.parseLong(value));
+            } catch (NumberFormatException e) {
+                blackhole.consume(Long.MIN_VALUE);
+            }
+        }
+    }
+
+    @Benchmark
+    public void long_Typed(Blackhole blackhole) {
+        for (String json : jsonInputs) {
+            blackhole.consume(parser.getJsonLong(json, longPath, Long.MIN_VALUE));
+        }
+    }
+
+    @Benchmark
+    public void double_ParseString(Blackhole blackhole) {
+        for (String json : jsonInputs) {
+            String value = parser.getJsonValue(json, doublePath);
+            try {
+                blackhole.consume(Double.parseDouble(value));
+            } catch (NumberFormatException e) {
+                blackhole.consume(Double.NaN);
+            }
+        }
+    }
+
+    @Benchmark
+    public void double_Typed(Blackhole blackhole) {
+        for (String json : jsonInputs) {
+            blackhole.consume(parser.getJsonDouble(json, doublePath, Double.NaN));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        ResultWriter.runWithGcProfiler(TypedExtractionBenchmark.class);
+    }
+}
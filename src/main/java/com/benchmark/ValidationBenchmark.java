@@ -0,0 +1,70 @@
+package com.benchmark;
+
+import com.benchmark.parser.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error reporting through {@link JsonParserInterface#validateJson(String, JsonValidation)} against the plain
+ * isValidJson of {@link JsonParsingBenchmark}'s {@code *_InvalidInputs}. The {@code validateJson_*} loops fill
+ * one reused {@link JsonValidation} with the reason and offset of each error.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Timeout(time = 10, timeUnit = TimeUnit.MINUTES)
+public class ValidationBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ValidationBenchmark.class);
+    private static final int SAMPLE_SIZE = 100000;
+
+    private static List<String> validJsonInputs;
+    private static List<String> invalidJsonInputs;
+
+    static {
+        validJsonInputs = DataLoader.loadValidJsonInputs(SAMPLE_SIZE);
+        invalidJsonInputs = DataLoader.loadInvalidJsonInputs(SAMPLE_SIZE);
+        logger.info("Loaded {} valid and {} invalid JSON inputs", validJsonInputs.size(), invalidJsonInputs.size());
+    }
+
+    @Param({"JacksonDOM", "JacksonStreaming", "FastJsonDOM", "FastJsonStreaming", "JsonIterator",
+            "StateMachine", "VectorIndex", "Swar", "Tape", "OnDemand", "KeyScan"})
+    private String parserName;
+
+    private JsonParserInterface parser;
+    private final JsonValidation result = new JsonValidation();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = JsonParsers.byName(parserName);
+    }
+
+    @Benchmark
+    public void isValidJson_InvalidInputs(Blackhole blackhole) {
+        for (String json : invalidJsonInputs) {
+            blackhole.consume(parser.isValidJson(json));
+        }
+    }
+
+    @Benchmark
+    public void validateJson_InvalidInputs(Blackhole blackhole) {
+        for (String json : invalidJsonInputs) {
+            parser.validateJson(json, result);
+            blackhole.consume(result.offset());
+        }
+    }
+
+    @Benchmark
+    public void validateJson_ValidInputs(Blackhole blackhole) {
+        for (String json : validJsonInputs) {
+            blackhole.consume(parser.validateJson(json, result));
+        }
+    }
+}
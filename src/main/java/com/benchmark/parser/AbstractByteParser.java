@@ -0,0 +1,620 @@
+package com.benchmark.parser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Base class for the in-house engines that work directly on UTF-8 bytes.
+ * String inputs are encoded into a per-thread buffer and handed to the byte-level methods,
+ * so subclasses only implement the byte[] variants. Heap ByteBuffers are read in place; direct ones are
+ * bulk-copied into a per-thread array, so no input allocates in steady state.
+ */
+public abstract class AbstractByteParser implements JsonParserInterface {
+    private final ThreadLocal<Utf8Buffer> input = ThreadLocal.withInitial(Utf8Buffer::new);
+    private final ThreadLocal<KeySymbols> symbols = ThreadLocal.withInitial(KeySymbols::new);
+
+    @Override
+    public boolean isValidJson(String json) {
+        if (json == null) {
+            return false;
+        }
+        Utf8Buffer in = input.get().encode(json);
+        return isValidJson(in.bytes(), 0, in.length());
+    }
+
+    /**
+     * Validates the per-thread encoding; a byte offset is turned into a char offset only for rejected input
+     * that is not ASCII
+     */
+    @Override
+    public boolean validateJson(String json, JsonValidation result) {
+        if (json == null) {
+            return result.fail(JsonValidation.Reason.EMPTY, 0);
+        }
+        Utf8Buffer in = input.get().encode(json);
+        if (validateJson(in.bytes(), 0, in.length(), result)) {
+            return true;
+        }
+        if (!in.isAscii()) {
+            result.toChars(in.bytes(), 0);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasJsonKey(String json, String key) {
+        return key != null && hasKey(json, CompiledPath.key(key));
+    }
+
+    /**
+     * The byte engines find a top-level key and a nested path with the same walk
+     */
+    @Override
+    public boolean hasJsonKey(String json, CompiledPath path) {
+        if (path == null) {
+            return false;
+        }
+        return path.size() == 0 ? isValidJson(json) : hasKey(json, path);
+    }
+
+    @Override
+    public String getJsonValue(String json, String path) {
+        if (json == null || path == null) {
+            return "";
+        }
+        Utf8Buffer in = input.get().encode(json);
+        return getJsonValue(in.bytes(), 0, in.length(), path);
+    }
+
+    @Override
+    public String getJsonValue(String json, CompiledPath path) {
+        if (json == null || path == null) {
+            return "";
+        }
+        Utf8Buffer in = input.get().encode(json);
+        return getJsonValue(in.bytes(), 0, in.length(), path);
+    }
+
+    @Override
+    public long getJsonLong(String json, CompiledPath path, long defaultValue) {
+        if (json == null || path == null) {
+            return defaultValue;
+        }
+        Utf8Buffer in = input.get().encode(json);
+        return getJsonLong(in.bytes(), 0, in.length(), path, defaultValue);
+    }
+
+    @Override
+    public double getJsonDouble(String json, CompiledPath path, double defaultValue) {
+        if (json == null || path == null) {
+            return defaultValue;
+        }
+        Utf8Buffer in = input.get().encode(json);
+        return getJsonDouble(in.bytes(), 0, in.length(), path, defaultValue);
+    }
+
+    @Override
+    public boolean getJsonBoolean(String json, CompiledPath path, boolean defaultValue) {
+        if (json == null || path == null) {
+            return defaultValue;
+        }
+        Utf8Buffer in = input.get().encode(json);
+        return getJsonBoolean(in.bytes(), 0, in.length(), path, defaultValue);
+    }
+
+    @Override
+    public boolean getJsonLong(String json, CompiledPath path, JsonScalar result) {
+        if (json == null || path == null) {
+            return result.missing();
+        }
+        Utf8Buffer in = input.get().encode(json);
+        return getJsonLong(in.bytes(), 0, in.length(), path, result);
+    }
+
+    @Override
+    public boolean getJsonDouble(String json, CompiledPath path, JsonScalar result) {
+        if (json == null || path == null) {
+            return result.missing();
+        }
+        Utf8Buffer in = input.get().encode(json);
+        return getJsonDouble(in.bytes(), 0, in.length(), path, result);
+    }
+
+    @Override
+    public boolean getJsonBoolean(String json, CompiledPath path, JsonScalar result) {
+        if (json == null || path == null) {
+            return result.missing();
+        }
+        Utf8Buffer in = input.get().encode(json);
+        return getJsonBoolean(in.bytes(), 0, in.length(), path, result);
+    }
+
+    /**
+     * The value is found in the per-thread encoding of the String; the slice is then pointed back at the
+     * String itself, so it stays valid after the next call.
+     */
+    @Override
+    public boolean getJsonSlice(String json, CompiledPath path, JsonSlice slice) {
+        if (json == null || path == null) {
+            slice.clear();
+            return false;
+        }
+        Utf8Buffer in = input.get().encode(json);
+        boolean found = getJsonSlice(in.bytes(), 0, in.length(), path, slice);
+        slice.rebase(json, in.isAscii());
+        return found;
+    }
+
+    /**
+     * The value is located in the per-thread encoding; for ASCII documents the text is cut from the String itself
+     */
+    @Override
+    public String getJsonRaw(String json, CompiledPath path) {
+        if (json == null || path == null) {
+            return "";
+        }
+        Utf8Buffer in = input.get().encode(json);
+        byte[] bytes = in.bytes();
+        int pos = rawStart(bytes, 0, in.length(), path);
+        int to = pos < 0 ? -1 : rawEnd(bytes, pos, in.length());
+        if (to < 0) {
+            return "";
+        }
+        return in.isAscii() ? json.substring(pos, to) : new String(bytes, pos, to - pos, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int getJsonLength(String json, CompiledPath path) {
+        if (json == null || path == null) {
+            return 0;
+        }
+        Utf8Buffer in = input.get().encode(json);
+        return getJsonLength(in.bytes(), 0, in.length(), path);
+    }
+
+    @Override
+    public JsonType getJsonType(String json, CompiledPath path) {
+        if (json == null || path == null) {
+            return JsonType.NONE;
+        }
+        Utf8Buffer in = input.get().encode(json);
+        return getJsonType(in.bytes(), 0, in.length(), path);
+    }
+
+    @Override
+    public String[] getJsonKeys(String json, CompiledPath path) {
+        if (json == null || path == null) {
+            return KeySymbols.NO_KEYS;
+        }
+        Utf8Buffer in = input.get().encode(json);
+        return getJsonKeys(in.bytes(), 0, in.length(), path);
+    }
+
+    /**
+     * Elements are located in the per-thread encoding; byte offsets become char offsets only for input that is
+     * not ASCII
+     */
+    @Override
+    public int[] getJsonArrayOffsets(String json, CompiledPath path) {
+        if (json == null || path == null) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+        Utf8Buffer in = input.get().encode(json);
+        int[] offsets = getJsonArrayOffsets(in.bytes(), 0, in.length(), path);
+        if (!in.isAscii()) {
+            Utf8Buffer.toChars(in.bytes(), offsets);
+        }
+        return offsets;
+    }
+
+    @Override
+    public FilterResult filterAndExtract(String json, String key, CompiledPath path) {
+        if (json == null) {
+            return FilterResult.INVALID;
+        }
+        Utf8Buffer in = input.get().encode(json);
+        return filterAndExtract(in.bytes(), 0, in.length(), key, path);
+    }
+
+    // Columns: every row is encoded into the same per-thread buffer, looked up once per column
+
+    @Override
+    public long[] isValidJsonBatch(List<String> column) {
+        Utf8Buffer in = input.get();
+        long[] bits = new long[(column.size() + 63) >>> 6];
+        int i = 0;
+        for (String json : column) {
+            if (json != null) {
+                in.encode(json);
+                if (isValidJson(in.bytes(), 0, in.length())) {
+                    bits[i >>> 6] |= 1L << i;
+                }
+            }
+            i++;
+        }
+        return bits;
+    }
+
+    @Override
+    public long[] hasJsonKeyBatch(List<String> column, String key) {
+        long[] bits = new long[(column.size() + 63) >>> 6];
+        if (key == null) {
+            return bits;
+        }
+        CompiledPath compiled = CompiledPath.key(key);
+        Utf8Buffer in = input.get();
+        int i = 0;
+        for (String json : column) {
+            if (json != null) {
+                in.encode(json);
+                if (hasKey(in.bytes(), 0, in.length(), compiled)) {
+                    bits[i >>> 6] |= 1L << i;
+                }
+            }
+            i++;
+        }
+        return bits;
+    }
+
+    @Override
+    public String[] extractAll(String json, CompiledPath... paths) {
+        if (json == null) {
+            return JsonParserInterface.super.extractAll(json, paths);
+        }
+        Utf8Buffer in = input.get().encode(json);
+        return extractAll(in.bytes(), 0, in.length(), paths);
+    }
+
+    @Override
+    public boolean isValidJson(ByteBuffer json) {
+        if (json == null) {
+            return false;
+        }
+        if (json.hasArray()) {
+            return isValidJson(json.array(), json.arrayOffset() + json.position(), json.remaining());
+        }
+        Utf8Buffer in = ByteBuffers.scratch(json);
+        return isValidJson(in.bytes(), 0, in.length());
+    }
+
+    @Override
+    public boolean hasJsonKey(ByteBuffer json, String key) {
+        if (json == null || key == null) {
+            return false;
+        }
+        if (json.hasArray()) {
+            return hasJsonKey(json.array(), json.arrayOffset() + json.position(), json.remaining(), key);
+        }
+        Utf8Buffer in = ByteBuffers.scratch(json);
+        return hasJsonKey(in.bytes(), 0, in.length(), key);
+    }
+
+    @Override
+    public String getJsonValue(ByteBuffer json, String path) {
+        if (json == null || path == null) {
+            return "";
+        }
+        if (json.hasArray()) {
+            return getJsonValue(json.array(), json.arrayOffset() + json.position(), json.remaining(), path);
+        }
+        Utf8Buffer in = ByteBuffers.scratch(json);
+        return getJsonValue(in.bytes(), 0, in.length(), path);
+    }
+
+    @Override
+    public String getJsonValue(ByteBuffer json, CompiledPath path) {
+        if (json == null || path == null) {
+            return "";
+        }
+        if (json.hasArray()) {
+            return getJsonValue(json.array(), json.arrayOffset() + json.position(), json.remaining(), path);
+        }
+        Utf8Buffer in = ByteBuffers.scratch(json);
+        return getJsonValue(in.bytes(), 0, in.length(), path);
+    }
+
+    /**
+     * Keys are looked up with the key path compiled at preparation, without the per-call cache lookup
+     */
+    @Override
+    public JsonQuery prepare(JsonQuery.Operation operation, CompiledPath path) {
+        return new JsonQuery(this, operation, path) {
+            @Override
+            boolean hasKey(String json) {
+                return AbstractByteParser.this.hasKey(json, path);
+            }
+
+            @Override
+            boolean hasKey(byte[] json, int offset, int length) {
+                return json != null && AbstractByteParser.this.hasKey(json, offset, offset + length, path);
+            }
+        };
+    }
+
+    /**
+     * Resolve all paths with one {@link JsonBytes#findValues} traversal, for the engines whose getJsonValue
+     * is {@link JsonBytes#findValue}
+     * @param checked true if the document was not validated, so each value found is checked with
+     *                {@link JsonBytes#checkValue}
+     */
+    static String[] findAll(byte[] json, int offset, int end, CompiledPath[] paths, boolean checked) {
+        int[] positions = new int[paths.length];
+        JsonBytes.findValues(json, offset, end, paths, positions);
+        String[] values = new String[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            int pos = checked ? JsonBytes.checkValue(json, positions[i], end) : positions[i];
+            values[i] = pos < 0 ? "" : JsonBytes.valueAsString(json, pos, end);
+        }
+        return values;
+    }
+
+    /**
+     * Check if the UTF-8 input is valid JSON
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @return true if valid JSON
+     */
+    @Override
+    public abstract boolean isValidJson(byte[] json, int offset, int length);
+
+    @Override
+    public boolean hasJsonKey(byte[] json, int offset, int length, String key) {
+        return json != null && key != null && hasKey(json, offset, offset + length, CompiledPath.key(key));
+    }
+
+    @Override
+    public boolean hasJsonKey(byte[] json, int offset, int length, CompiledPath path) {
+        if (json == null || path == null) {
+            return false;
+        }
+        return path.size() == 0 ? isValidJson(json, offset, length) : hasKey(json, offset, offset + length, path);
+    }
+
+    /**
+     * Check if the document has a key, encoding it into the per-thread buffer
+     * @param json Input JSON string
+     * @param key Key path from {@link CompiledPath#key(String)}, or a nested path of at least one segment
+     * @return true if key exists
+     */
+    boolean hasKey(String json, CompiledPath key) {
+        if (json == null) {
+            return false;
+        }
+        Utf8Buffer in = input.get().encode(json);
+        return hasKey(in.bytes(), 0, in.length(), key);
+    }
+
+    /**
+     * Check if the UTF-8 JSON object has a specific top-level key, or a value at a nested path
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param end End of the document in the buffer (exclusive)
+     * @param key Key path from {@link CompiledPath#key(String)}, whose encoded name is compared with the input,
+     *            or a path of at least one segment from hasJsonKey(json, CompiledPath)
+     * @return true if key exists
+     */
+    abstract boolean hasKey(byte[] json, int offset, int end, CompiledPath key);
+
+    /**
+     * Extract a value from UTF-8 JSON using a path
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Path to the value (e.g. "$.store.book[0].title" or "$.hello")
+     * @return The extracted value as a string, or empty string if not found or the path is malformed
+     */
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, String path) {
+        CompiledPath compiled;
+        try {
+            compiled = CompiledPath.compile(path);
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+        return getJsonValue(json, offset, length, compiled);
+    }
+
+    /**
+     * Extract a value from UTF-8 JSON using a compiled path
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path to the value
+     * @return The extracted value as a string, or empty string if not found
+     */
+    @Override
+    public abstract String getJsonValue(byte[] json, int offset, int length, CompiledPath path);
+
+    // Typed values are read straight from the input bytes at the position valueStart reports
+
+    @Override
+    public long getJsonLong(byte[] json, int offset, int length, CompiledPath path, long defaultValue) {
+        if (json == null || path == null) {
+            return defaultValue;
+        }
+        int end = offset + length;
+        int pos = valueStart(json, offset, end, path);
+        return pos < 0 ? defaultValue : JsonBytes.longValue(json, pos, end, defaultValue);
+    }
+
+    @Override
+    public double getJsonDouble(byte[] json, int offset, int length, CompiledPath path, double defaultValue) {
+        if (json == null || path == null) {
+            return defaultValue;
+        }
+        int end = offset + length;
+        int pos = valueStart(json, offset, end, path);
+        return pos < 0 ? defaultValue : JsonBytes.doubleValue(json, pos, end, defaultValue);
+    }
+
+    @Override
+    public boolean getJsonBoolean(byte[] json, int offset, int length, CompiledPath path, boolean defaultValue) {
+        if (json == null || path == null) {
+            return defaultValue;
+        }
+        int end = offset + length;
+        int pos = valueStart(json, offset, end, path);
+        return pos < 0 ? defaultValue : JsonBytes.booleanValue(json, pos, end, defaultValue);
+    }
+
+    // With a status, the value is located as for getJsonType, so that containers and null count as a mismatch
+
+    @Override
+    public boolean getJsonLong(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        int end = offset + length;
+        int pos = json == null || path == null ? -1 : rawStart(json, offset, end, path);
+        return pos < 0 ? result.missing() : JsonBytes.longValue(json, pos, end, result);
+    }
+
+    @Override
+    public boolean getJsonDouble(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        int end = offset + length;
+        int pos = json == null || path == null ? -1 : rawStart(json, offset, end, path);
+        return pos < 0 ? result.missing() : JsonBytes.doubleValue(json, pos, end, result);
+    }
+
+    @Override
+    public boolean getJsonBoolean(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        int end = offset + length;
+        int pos = json == null || path == null ? -1 : rawStart(json, offset, end, path);
+        return pos < 0 ? result.missing() : JsonBytes.booleanValue(json, pos, end, result);
+    }
+
+    @Override
+    public boolean getJsonSlice(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        int end = offset + length;
+        int pos = json == null || path == null ? -1 : valueStart(json, offset, end, path);
+        if (pos < 0 || !JsonBytes.slice(json, pos, end, slice)) {
+            slice.clear();
+            return false;
+        }
+        return true;
+    }
+
+    // Raw values end where rawEnd stops: by default where JsonBytes.skipValue does, strings at their closing quote
+    // and containers at the matching bracket, both without looking at the content
+
+    @Override
+    public String getJsonRaw(byte[] json, int offset, int length, CompiledPath path) {
+        int end = offset + length;
+        int pos = json == null || path == null ? -1 : rawStart(json, offset, end, path);
+        int to = pos < 0 ? -1 : rawEnd(json, pos, end);
+        return to < 0 ? "" : new String(json, pos, to - pos, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean getJsonRaw(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        int end = offset + length;
+        int pos = json == null || path == null ? -1 : rawStart(json, offset, end, path);
+        int to = pos < 0 ? -1 : rawEnd(json, pos, end);
+        if (to < 0) {
+            slice.clear();
+            return false;
+        }
+        slice.set(json, pos, to - pos);
+        return true;
+    }
+
+    // Length, type, keys and element offsets start where raw extraction does; a container's elements are skipped,
+    // not parsed
+
+    @Override
+    public int getJsonLength(byte[] json, int offset, int length, CompiledPath path) {
+        int end = offset + length;
+        int pos = json == null || path == null ? -1 : rawStart(json, offset, end, path);
+        return pos < 0 ? 0 : Math.max(JsonBytes.length(json, pos, end), 0);
+    }
+
+    @Override
+    public JsonType getJsonType(byte[] json, int offset, int length, CompiledPath path) {
+        int end = offset + length;
+        int pos = json == null || path == null ? -1 : rawStart(json, offset, end, path);
+        return pos < 0 ? JsonType.NONE : JsonBytes.type(json, pos, end);
+    }
+
+    /**
+     * Names are read where they lie in the input and resolved through the per-thread symbol table
+     */
+    @Override
+    public String[] getJsonKeys(byte[] json, int offset, int length, CompiledPath path) {
+        int end = offset + length;
+        int pos = json == null || path == null ? -1 : rawStart(json, offset, end, path);
+        KeySymbols keys = symbols.get().clear();
+        return pos >= 0 && JsonBytes.keys(json, pos, end, keys) ? keys.toArray() : KeySymbols.NO_KEYS;
+    }
+
+    @Override
+    public int[] getJsonArrayOffsets(byte[] json, int offset, int length, CompiledPath path) {
+        int end = offset + length;
+        int pos = json == null || path == null ? -1 : rawStart(json, offset, end, path);
+        int[] offsets = pos < 0 ? null : JsonBytes.elements(json, pos, end);
+        return offsets == null ? JsonBytes.NO_ELEMENTS : offsets;
+    }
+
+    /**
+     * The document is validated once; the key and the value are then located without validating it again
+     */
+    @Override
+    public FilterResult filterAndExtract(byte[] json, int offset, int length, String key, CompiledPath path) {
+        if (json == null || !isValidJson(json, offset, length)) {
+            return FilterResult.INVALID;
+        }
+        int end = offset + length;
+        if (key == null || findValidated(json, offset, end, CompiledPath.key(key)) < 0) {
+            return FilterResult.NO_KEY;
+        }
+        int pos = path == null ? -1 : findValidated(json, offset, end, path);
+        return FilterResult.match(pos < 0 ? "" : JsonBytes.valueAsString(json, pos, end));
+    }
+
+    /**
+     * Locate a value in a document that isValidJson has just accepted on this thread, finding the same value
+     * as getJsonValue. The default walks the bytes with {@link JsonBytes#findValue}.
+     * @return Position of the value's first byte, or -1 if the path does not resolve
+     */
+    int findValidated(byte[] json, int offset, int end, CompiledPath path) {
+        return JsonBytes.findValue(json, offset, end, path);
+    }
+
+    /**
+     * Locate any value a path addresses, objects and arrays included, applying the same validation as
+     * getJsonValue. The default is valueStart, whose walk stops at containers as well as at scalars.
+     * @return Position of the value's first byte, or -1 if the path does not resolve
+     */
+    int rawStart(byte[] json, int offset, int end, CompiledPath path) {
+        return valueStart(json, offset, end, path);
+    }
+
+    /**
+     * End of the raw value at pos, which rawStart has located. The default skips it by bracket and quote
+     * counting; engines that do not validate the document override it with {@link #validatedEnd}.
+     * @return End of the value, or -1 if it is malformed
+     */
+    int rawEnd(byte[] json, int pos, int end) {
+        return JsonBytes.skipValue(json, pos, end);
+    }
+
+    /**
+     * rawEnd for engines that navigate without validating: a container is run through the StateMachine
+     * validator, so its raw text is returned only if it is valid JSON on its own
+     */
+    static int validatedEnd(byte[] json, int pos, int end) {
+        int to = JsonBytes.skipValue(json, pos, end);
+        if (to >= 0 && (json[pos] == '{' || json[pos] == '[') && !StateMachineParser.validate(json, pos, to)) {
+            return -1;
+        }
+        return to;
+    }
+
+    /**
+     * Locate the value a path addresses, applying the same validation as getJsonValue
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param end End of the document in the buffer (exclusive)
+     * @param path Compiled path to the value
+     * @return Position of the value's first byte, or -1 if there is no scalar value to read there
+     */
+    abstract int valueStart(byte[] json, int offset, int end, CompiledPath path);
+}
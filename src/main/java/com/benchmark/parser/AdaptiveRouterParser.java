@@ -0,0 +1,742 @@
+package com.benchmark.parser;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes each operation to the engine that is currently fastest for it.
+ * Every (operation, size bucket) route alternates between two phases: an exploration phase that calls
+ * the candidates round-robin and times each call, and an exploitation phase that sends the next
+ * {@code period} calls to the candidate with the lowest mean time, untimed. After that the route explores again,
+ * so the choice follows JIT warm-up and changes in the input mix.
+ *
+ * <p>Statistics are kept per thread, so routing needs no synchronization. Results are those of whichever
+ * engine handled the call, so the candidates should agree on the inputs being routed.
+ */
+public class AdaptiveRouterParser implements JsonParserInterface {
+    public static final int IS_VALID = 0;
+    public static final int HAS_KEY = 1;
+    public static final int GET_VALUE = 2;
+    private static final String[] OPERATIONS = {"isValidJson", "hasJsonKey", "getJsonValue"};
+
+    // Upper bounds (exclusive, in chars or bytes) of the size buckets; larger documents go to the last bucket
+    private static final int[] BUCKET_LIMITS = {256, 1024, 4096};
+
+    private final JsonParserInterface[] candidates;
+    private final boolean bucketBySize;
+    private final int samplesPerCandidate;
+    private final int period;
+    private final ThreadLocal<Route[][]> routes;
+
+    /**
+     * Route between all registered engines except OnDemandLazy and ShapeSpeculating, whose getJsonValue skips validation.
+     */
+    public AdaptiveRouterParser() {
+        this(defaultCandidates(), true, 16, 10_000);
+    }
+
+    public AdaptiveRouterParser(List<JsonParserInterface> candidates) {
+        this(candidates, true, 16, 10_000);
+    }
+
+    /**
+     * @param candidates Engines to choose from
+     * @param bucketBySize true to keep a separate choice per document size bucket
+     * @param samplesPerCandidate Timed calls per candidate in each exploration phase
+     * @param period Untimed calls routed to the chosen engine before exploring again
+     */
+    public AdaptiveRouterParser(List<JsonParserInterface> candidates, boolean bucketBySize,
+                                int samplesPerCandidate, int period) {
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("At least one candidate parser is required");
+        }
+        if (samplesPerCandidate < 1 || period < 1) {
+            throw new IllegalArgumentException("samplesPerCandidate and period must be positive");
+        }
+        this.candidates = candidates.toArray(new JsonParserInterface[0]);
+        this.bucketBySize = bucketBySize;
+        this.samplesPerCandidate = samplesPerCandidate;
+        this.period = period;
+        int buckets = bucketBySize ? BUCKET_LIMITS.length + 1 : 1;
+        int count = this.candidates.length;
+        this.routes = ThreadLocal.withInitial(() -> {
+            Route[][] table = new Route[OPERATIONS.length][buckets];
+            for (Route[] row : table) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = new Route(count);
+                }
+            }
+            return table;
+        });
+    }
+
+    private static List<JsonParserInterface> defaultCandidates() {
+        List<JsonParserInterface> candidates = new ArrayList<>();
+        for (JsonParserInterface parser : JsonParsers.all()) {
+            boolean lazy = parser instanceof OnDemandParser && ((OnDemandParser) parser).isLazy();
+            if (!lazy && !(parser instanceof ShapeSpeculatingParser)) {
+                candidates.add(parser);
+            }
+        }
+        return candidates;
+    }
+
+    @Override
+    public boolean isValidJson(String json) {
+        Route route = route(IS_VALID, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].isValidJson(json);
+        }
+        long start = System.nanoTime();
+        boolean result = candidates[choice].isValidJson(json);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public boolean hasJsonKey(String json, String key) {
+        Route route = route(HAS_KEY, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].hasJsonKey(json, key);
+        }
+        long start = System.nanoTime();
+        boolean result = candidates[choice].hasJsonKey(json, key);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public boolean hasJsonKey(String json, CompiledPath path) {
+        Route route = route(HAS_KEY, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].hasJsonKey(json, path);
+        }
+        long start = System.nanoTime();
+        boolean result = candidates[choice].hasJsonKey(json, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public String getJsonValue(String json, String path) {
+        Route route = route(GET_VALUE, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonValue(json, path);
+        }
+        long start = System.nanoTime();
+        String result = candidates[choice].getJsonValue(json, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public String getJsonValue(String json, CompiledPath path) {
+        Route route = route(GET_VALUE, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonValue(json, path);
+        }
+        long start = System.nanoTime();
+        String result = candidates[choice].getJsonValue(json, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public boolean isValidJson(byte[] json, int offset, int length) {
+        Route route = route(IS_VALID, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].isValidJson(json, offset, length);
+        }
+        long start = System.nanoTime();
+        boolean result = candidates[choice].isValidJson(json, offset, length);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public boolean hasJsonKey(byte[] json, int offset, int length, String key) {
+        Route route = route(HAS_KEY, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].hasJsonKey(json, offset, length, key);
+        }
+        long start = System.nanoTime();
+        boolean result = candidates[choice].hasJsonKey(json, offset, length, key);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public boolean hasJsonKey(byte[] json, int offset, int length, CompiledPath path) {
+        Route route = route(HAS_KEY, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].hasJsonKey(json, offset, length, path);
+        }
+        long start = System.nanoTime();
+        boolean result = candidates[choice].hasJsonKey(json, offset, length, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, String path) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonValue(json, offset, length, path);
+        }
+        long start = System.nanoTime();
+        String result = candidates[choice].getJsonValue(json, offset, length, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, CompiledPath path) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonValue(json, offset, length, path);
+        }
+        long start = System.nanoTime();
+        String result = candidates[choice].getJsonValue(json, offset, length, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public String[] extractAll(String json, CompiledPath... paths) {
+        Route route = route(GET_VALUE, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].extractAll(json, paths);
+        }
+        // Timed per path, so the samples stay comparable with single getJsonValue calls on the same route
+        long start = System.nanoTime();
+        String[] result = candidates[choice].extractAll(json, paths);
+        route.record(choice, (System.nanoTime() - start) / Math.max(paths.length, 1));
+        return result;
+    }
+
+    @Override
+    public String[] extractAll(byte[] json, int offset, int length, CompiledPath... paths) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].extractAll(json, offset, length, paths);
+        }
+        long start = System.nanoTime();
+        String[] result = candidates[choice].extractAll(json, offset, length, paths);
+        route.record(choice, (System.nanoTime() - start) / Math.max(paths.length, 1));
+        return result;
+    }
+
+    @Override
+    public boolean getJsonSlice(String json, CompiledPath path, JsonSlice slice) {
+        Route route = route(GET_VALUE, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonSlice(json, path, slice);
+        }
+        // Slices, raw values, lengths, types and typed lookups share the GET_VALUE routes: they walk the same path
+        // as getJsonValue
+        long start = System.nanoTime();
+        boolean result = candidates[choice].getJsonSlice(json, path, slice);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public boolean getJsonSlice(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonSlice(json, offset, length, path, slice);
+        }
+        long start = System.nanoTime();
+        boolean result = candidates[choice].getJsonSlice(json, offset, length, path, slice);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public String getJsonRaw(String json, CompiledPath path) {
+        Route route = route(GET_VALUE, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonRaw(json, path);
+        }
+        long start = System.nanoTime();
+        String result = candidates[choice].getJsonRaw(json, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public String getJsonRaw(byte[] json, int offset, int length, CompiledPath path) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonRaw(json, offset, length, path);
+        }
+        long start = System.nanoTime();
+        String result = candidates[choice].getJsonRaw(json, offset, length, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public boolean getJsonRaw(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonRaw(json, offset, length, path, slice);
+        }
+        long start = System.nanoTime();
+        boolean result = candidates[choice].getJsonRaw(json, offset, length, path, slice);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public int getJsonLength(String json, CompiledPath path) {
+        Route route = route(GET_VALUE, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonLength(json, path);
+        }
+        long start = System.nanoTime();
+        int result = candidates[choice].getJsonLength(json, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public int getJsonLength(byte[] json, int offset, int length, CompiledPath path) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonLength(json, offset, length, path);
+        }
+        long start = System.nanoTime();
+        int result = candidates[choice].getJsonLength(json, offset, length, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public JsonType getJsonType(String json, CompiledPath path) {
+        Route route = route(GET_VALUE, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonType(json, path);
+        }
+        long start = System.nanoTime();
+        JsonType result = candidates[choice].getJsonType(json, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public JsonType getJsonType(byte[] json, int offset, int length, CompiledPath path) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonType(json, offset, length, path);
+        }
+        long start = System.nanoTime();
+        JsonType result = candidates[choice].getJsonType(json, offset, length, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public String[] getJsonKeys(String json, CompiledPath path) {
+        Route route = route(GET_VALUE, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonKeys(json, path);
+        }
+        long start = System.nanoTime();
+        String[] result = candidates[choice].getJsonKeys(json, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public String[] getJsonKeys(byte[] json, int offset, int length, CompiledPath path) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonKeys(json, offset, length, path);
+        }
+        long start = System.nanoTime();
+        String[] result = candidates[choice].getJsonKeys(json, offset, length, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public int[] getJsonArrayOffsets(String json, CompiledPath path) {
+        Route route = route(GET_VALUE, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonArrayOffsets(json, path);
+        }
+        long start = System.nanoTime();
+        int[] result = candidates[choice].getJsonArrayOffsets(json, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public int[] getJsonArrayOffsets(byte[] json, int offset, int length, CompiledPath path) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonArrayOffsets(json, offset, length, path);
+        }
+        long start = System.nanoTime();
+        int[] result = candidates[choice].getJsonArrayOffsets(json, offset, length, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public long getJsonLong(String json, CompiledPath path, long defaultValue) {
+        Route route = route(GET_VALUE, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonLong(json, path, defaultValue);
+        }
+        long start = System.nanoTime();
+        long result = candidates[choice].getJsonLong(json, path, defaultValue);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public long getJsonLong(byte[] json, int offset, int length, CompiledPath path, long defaultValue) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonLong(json, offset, length, path, defaultValue);
+        }
+        long start = System.nanoTime();
+        long result = candidates[choice].getJsonLong(json, offset, length, path, defaultValue);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public double getJsonDouble(String json, CompiledPath path, double defaultValue) {
+        Route route = route(GET_VALUE, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonDouble(json, path, defaultValue);
+        }
+        long start = System.nanoTime();
+        double result = candidates[choice].getJsonDouble(json, path, defaultValue);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public double getJsonDouble(byte[] json, int offset, int length, CompiledPath path, double defaultValue) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonDouble(json, offset, length, path, defaultValue);
+        }
+        long start = System.nanoTime();
+        double result = candidates[choice].getJsonDouble(json, offset, length, path, defaultValue);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public boolean getJsonBoolean(String json, CompiledPath path, boolean defaultValue) {
+        Route route = route(GET_VALUE, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonBoolean(json, path, defaultValue);
+        }
+        long start = System.nanoTime();
+        boolean result = candidates[choice].getJsonBoolean(json, path, defaultValue);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public boolean getJsonBoolean(byte[] json, int offset, int length, CompiledPath path, boolean defaultValue) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonBoolean(json, offset, length, path, defaultValue);
+        }
+        long start = System.nanoTime();
+        boolean result = candidates[choice].getJsonBoolean(json, offset, length, path, defaultValue);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public boolean getJsonLong(String json, CompiledPath path, JsonScalar result) {
+        Route route = route(GET_VALUE, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonLong(json, path, result);
+        }
+        long start = System.nanoTime();
+        boolean found = candidates[choice].getJsonLong(json, path, result);
+        route.record(choice, System.nanoTime() - start);
+        return found;
+    }
+
+    @Override
+    public boolean getJsonLong(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonLong(json, offset, length, path, result);
+        }
+        long start = System.nanoTime();
+        boolean found = candidates[choice].getJsonLong(json, offset, length, path, result);
+        route.record(choice, System.nanoTime() - start);
+        return found;
+    }
+
+    @Override
+    public boolean getJsonDouble(String json, CompiledPath path, JsonScalar result) {
+        Route route = route(GET_VALUE, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonDouble(json, path, result);
+        }
+        long start = System.nanoTime();
+        boolean found = candidates[choice].getJsonDouble(json, path, result);
+        route.record(choice, System.nanoTime() - start);
+        return found;
+    }
+
+    @Override
+    public boolean getJsonDouble(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonDouble(json, offset, length, path, result);
+        }
+        long start = System.nanoTime();
+        boolean found = candidates[choice].getJsonDouble(json, offset, length, path, result);
+        route.record(choice, System.nanoTime() - start);
+        return found;
+    }
+
+    @Override
+    public boolean getJsonBoolean(String json, CompiledPath path, JsonScalar result) {
+        Route route = route(GET_VALUE, json);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonBoolean(json, path, result);
+        }
+        long start = System.nanoTime();
+        boolean found = candidates[choice].getJsonBoolean(json, path, result);
+        route.record(choice, System.nanoTime() - start);
+        return found;
+    }
+
+    @Override
+    public boolean getJsonBoolean(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        Route route = route(GET_VALUE, length);
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonBoolean(json, offset, length, path, result);
+        }
+        long start = System.nanoTime();
+        boolean found = candidates[choice].getJsonBoolean(json, offset, length, path, result);
+        route.record(choice, System.nanoTime() - start);
+        return found;
+    }
+
+    @Override
+    public boolean isValidJson(ByteBuffer json) {
+        Route route = route(IS_VALID, json == null ? 0 : json.remaining());
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].isValidJson(json);
+        }
+        long start = System.nanoTime();
+        boolean result = candidates[choice].isValidJson(json);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public boolean hasJsonKey(ByteBuffer json, String key) {
+        Route route = route(HAS_KEY, json == null ? 0 : json.remaining());
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].hasJsonKey(json, key);
+        }
+        long start = System.nanoTime();
+        boolean result = candidates[choice].hasJsonKey(json, key);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public String getJsonValue(ByteBuffer json, String path) {
+        Route route = route(GET_VALUE, json == null ? 0 : json.remaining());
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonValue(json, path);
+        }
+        long start = System.nanoTime();
+        String result = candidates[choice].getJsonValue(json, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public String getJsonValue(ByteBuffer json, CompiledPath path) {
+        Route route = route(GET_VALUE, json == null ? 0 : json.remaining());
+        int choice = route.next();
+        if (!route.exploring) {
+            return candidates[choice].getJsonValue(json, path);
+        }
+        long start = System.nanoTime();
+        String result = candidates[choice].getJsonValue(json, path);
+        route.record(choice, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public String getName() {
+        return "AdaptiveRouter";
+    }
+
+    /**
+     * @param operation One of {@link #IS_VALID}, {@link #HAS_KEY}, {@link #GET_VALUE}
+     * @param length Document length in chars
+     * @return Name of the engine the calling thread currently uses for that route, or null while none is chosen yet
+     */
+    public String currentChoice(int operation, int length) {
+        Route route = routes.get()[operation][bucket(length)];
+        return route.best < 0 ? null : candidates[route.best].getName();
+    }
+
+    /**
+     * @return One line per route of the calling thread with its chosen engine and the mean times of the
+     * last completed exploration phase
+     */
+    public String describeRoutes() {
+        Route[][] table = routes.get();
+        StringBuilder sb = new StringBuilder();
+        for (int op = 0; op < table.length; op++) {
+            for (int b = 0; b < table[op].length; b++) {
+                Route route = table[op][b];
+                sb.append(OPERATIONS[op]).append(' ').append(bucketLabel(b)).append(": ")
+                    .append(route.best < 0 ? "-" : candidates[route.best].getName());
+                for (int c = 0; c < candidates.length; c++) {
+                    if (route.lastMeans[c] > 0) {
+                        sb.append(' ').append(candidates[c].getName()).append('=')
+                            .append(route.lastMeans[c]).append("ns");
+                    }
+                }
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private Route route(int operation, String json) {
+        return routes.get()[operation][json == null ? 0 : bucket(json.length())];
+    }
+
+    private Route route(int operation, int length) {
+        return routes.get()[operation][bucket(length)];
+    }
+
+    private int bucket(int length) {
+        if (!bucketBySize) {
+            return 0;
+        }
+        int b = 0;
+        while (b < BUCKET_LIMITS.length && length >= BUCKET_LIMITS[b]) {
+            b++;
+        }
+        return b;
+    }
+
+    private String bucketLabel(int b) {
+        if (!bucketBySize) {
+            return "[all sizes]";
+        }
+        int from = b == 0 ? 0 : BUCKET_LIMITS[b - 1];
+        return b == BUCKET_LIMITS.length ? "[" + from + "+)" : "[" + from + ", " + BUCKET_LIMITS[b] + ")";
+    }
+
+    /**
+     * Timing state of one (operation, size bucket) pair.
+     */
+    private final class Route {
+        final long[] nanos;
+        final int[] samples;
+        final long[] lastMeans;
+        boolean exploring = true;
+        int best = -1;
+        int cursor;
+        int remaining;
+
+        Route(int count) {
+            this.nanos = new long[count];
+            this.samples = new int[count];
+            this.lastMeans = new long[count];
+        }
+
+        /**
+         * @return Candidate for the next call; sets {@link #exploring} when that call must be timed
+         */
+        int next() {
+            if (!exploring) {
+                if (remaining-- > 0) {
+                    return best;
+                }
+                exploring = true;
+                cursor = 0;
+            }
+            int choice = cursor;
+            cursor = cursor + 1 == nanos.length ? 0 : cursor + 1;
+            return choice;
+        }
+
+        void record(int choice, long elapsed) {
+            nanos[choice] += elapsed;
+            if (++samples[choice] < samplesPerCandidate || choice != nanos.length - 1) {
+                return;
+            }
+            // Every candidate has its samples: pick the lowest mean and start exploiting
+            long bestMean = Long.MAX_VALUE;
+            for (int c = 0; c < nanos.length; c++) {
+                long mean = nanos[c] / samples[c];
+                lastMeans[c] = Math.max(mean, 1);
+                if (mean < bestMean) {
+                    bestMean = mean;
+                    best = c;
+                }
+                nanos[c] = 0;
+                samples[c] = 0;
+            }
+            exploring = false;
+            remaining = period;
+        }
+    }
+}
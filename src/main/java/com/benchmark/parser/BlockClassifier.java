@@ -0,0 +1,44 @@
+package com.benchmark.parser;
+
+/**
+ * Stage 1 character classification of a 64-byte block into bitmasks (bit i = byte i of the block).
+ */
+interface BlockClassifier {
+    int QUOTE = 0;
+    int BACKSLASH = 1;
+    int WHITESPACE = 2;
+    int STRUCTURAL = 3;
+
+    /**
+     * Classify b[pos, pos + 64) and store the quote, backslash, whitespace and structural
+     * ({@code {}[]:,}) masks into {@code masks} at the indexes above
+     */
+    void classify(byte[] b, int pos, long[] masks);
+
+    /**
+     * @return true if this classifier uses SIMD instructions
+     */
+    boolean isVectorized();
+
+    /**
+     * @return Short name used in engine names, e.g. "Vector"
+     */
+    String name();
+
+    /**
+     * Pick the Vector API classifier when the incubator module is present and the platform
+     * has a usable vector shape, otherwise the portable SWAR one.
+     */
+    static BlockClassifier best() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                if (VectorBlockClassifier.isSupported()) {
+                    return new VectorBlockClassifier();
+                }
+            } catch (LinkageError e) {
+                // Module present but not usable in this JVM: fall back to SWAR
+            }
+        }
+        return new SwarBlockClassifier();
+    }
+}
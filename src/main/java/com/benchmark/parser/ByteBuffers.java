@@ -0,0 +1,48 @@
+package com.benchmark.parser;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Helpers for {@link ByteBuffer} inputs. A document is the buffer's remaining bytes, [position, limit);
+ * neither is changed. Heap buffers are read in place through their backing array. Direct and read-only
+ * buffers have no accessible array, so engines that need one copy the bytes once: into a per-thread array
+ * when the engine does not keep the input past the call, otherwise into an exact-size array.
+ */
+final class ByteBuffers {
+    private static final ThreadLocal<Utf8Buffer> SCRATCH = ThreadLocal.withInitial(Utf8Buffer::new);
+
+    private ByteBuffers() {
+    }
+
+    /**
+     * Copy the remaining bytes into the calling thread's scratch array, which is overwritten by the next call
+     */
+    static Utf8Buffer scratch(ByteBuffer b) {
+        return SCRATCH.get().copy(b);
+    }
+
+    /**
+     * @return A new array holding exactly the remaining bytes
+     */
+    static byte[] toArray(ByteBuffer b) {
+        byte[] bytes = new byte[b.remaining()];
+        b.get(b.position(), bytes);
+        return bytes;
+    }
+
+    /**
+     * @return Absolute index of the first non-whitespace byte in [position, limit), or limit if there is none
+     */
+    static int skipWhitespace(ByteBuffer b) {
+        int i = b.position();
+        int end = b.limit();
+        while (i < end) {
+            byte c = b.get(i);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,265 @@
+package com.benchmark.parser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-parsed form of a "$.store.book[0].title" style path, accepted by every engine's getJsonValue.
+ * Each segment is either an object key (with its UTF-8 bytes) or an array index, so engines walk the
+ * document segment by segment without splitting, regex rewriting or re-encoding the path on each call.
+ * Instances are immutable and can be shared between threads; two paths are equal if their segments are.
+ */
+public final class CompiledPath {
+    private static final int CACHE_LIMIT = 1024;
+    private static final ConcurrentHashMap<String, CompiledPath> PATHS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, CompiledPath> KEYS = new ConcurrentHashMap<>();
+
+    private final String expression;
+    // names[i] == null means segment i is an array index
+    private final String[] names;
+    private final byte[][] nameBytes;
+    private final int[] indices;
+    // Segments as String keys and Integer indices, e.g. for jsoniter's Any.get(Object...)
+    private final Object[] segments;
+    private final int hash;
+
+    private CompiledPath(String expression, String[] names, int[] indices) {
+        this.expression = expression;
+        this.names = names;
+        this.indices = indices;
+        this.hash = 31 * Arrays.hashCode(names) + Arrays.hashCode(indices);
+        this.nameBytes = new byte[names.length][];
+        this.segments = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] != null) {
+                nameBytes[i] = names[i].getBytes(StandardCharsets.UTF_8);
+                segments[i] = names[i];
+            } else {
+                segments[i] = indices[i];
+            }
+        }
+    }
+
+    /**
+     * Compile a path, reusing a previously compiled instance when possible
+     * @param path Path such as "$.store.book[0].title", "$.hello" or "hello"
+     * @return Compiled path
+     * @throws IllegalArgumentException if the path is malformed
+     */
+    public static CompiledPath compile(String path) {
+        CompiledPath compiled = PATHS.get(path);
+        if (compiled == null) {
+            compiled = parse(path);
+            if (PATHS.size() < CACHE_LIMIT) {
+                PATHS.putIfAbsent(path, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Single-segment path addressing a top-level key, used by hasJsonKey.
+     * The key is taken literally, so it may contain '.' or '['.
+     */
+    static CompiledPath key(String key) {
+        CompiledPath compiled = KEYS.get(key);
+        if (compiled == null) {
+            compiled = new CompiledPath(appendKey(new StringBuilder("$"), key).toString(), new String[] {key},
+                new int[] {-1});
+            if (KEYS.size() < CACHE_LIMIT) {
+                KEYS.putIfAbsent(key, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Path from separate keys and indices, like the arguments of ClickHouse's {@code JSONHas(json, 'a', 'b', 1)}.
+     * Keys are taken literally; indices count from 0 as in "$.a.b[1]" (ClickHouse counts from 1). A key that
+     * would not read back as one segment is quoted in the expression, e.g. {@code of("a.b")} is "$['a.b']".
+     * @param segments String keys and non-negative Integer indices
+     * @return Compiled path
+     * @throws IllegalArgumentException if a segment is null, a negative index or neither a String nor an Integer
+     */
+    public static CompiledPath of(Object... segments) {
+        String[] names = new String[segments.length];
+        int[] indices = new int[segments.length];
+        StringBuilder expression = new StringBuilder("$");
+        for (int i = 0; i < segments.length; i++) {
+            Object segment = segments[i];
+            if (segment instanceof String) {
+                names[i] = (String) segment;
+                indices[i] = -1;
+                appendKey(expression, names[i]);
+            } else if (segment instanceof Integer && (Integer) segment >= 0) {
+                indices[i] = (Integer) segment;
+                expression.append('[').append(indices[i]).append(']');
+            } else {
+                throw new IllegalArgumentException("Path segment must be a key or an index >= 0: " + segment);
+            }
+        }
+        return new CompiledPath(expression.toString(), names, indices);
+    }
+
+    /**
+     * Append ".key", or "['key']" with ' and \ escaped if the key is empty or has characters the parser
+     * treats as syntax
+     */
+    private static StringBuilder appendKey(StringBuilder expression, String key) {
+        boolean plain = !key.isEmpty();
+        for (int i = 0; i < key.length() && plain; i++) {
+            char c = key.charAt(i);
+            plain = c != '.' && c != '[' && c != ']' && c != '\'' && c != '\\';
+        }
+        if (plain) {
+            return expression.append('.').append(key);
+        }
+        expression.append("['");
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == '\'' || c == '\\') {
+                expression.append('\\');
+            }
+            expression.append(c);
+        }
+        return expression.append("']");
+    }
+
+    private static CompiledPath parse(String path) {
+        List<String> names = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        int i = 0;
+        int n = path.length();
+        if (path.startsWith("$")) {
+            i = 1;
+            if (i < n && path.charAt(i) == '.') {
+                i++;
+            }
+        }
+        while (i < n) {
+            char c = path.charAt(i);
+            if (c == '[' && i + 1 < n && path.charAt(i + 1) == '\'') {
+                // Quoted key as written by of(): ['a.b'], with \' and \\ escaped
+                StringBuilder key = new StringBuilder();
+                int j = i + 2;
+                for (; j < n && path.charAt(j) != '\''; j++) {
+                    if (path.charAt(j) == '\\' && j + 1 < n) {
+                        j++;
+                    }
+                    key.append(path.charAt(j));
+                }
+                if (j + 1 >= n || path.charAt(j + 1) != ']') {
+                    throw new IllegalArgumentException("Malformed quoted key in path: " + path);
+                }
+                names.add(key.toString());
+                indices.add(-1);
+                i = j + 2;
+                if (i < n && path.charAt(i) == '.') {
+                    i++;
+                }
+            } else if (c == '[') {
+                int close = path.indexOf(']', i);
+                if (close < 0 || close == i + 1) {
+                    throw new IllegalArgumentException("Malformed array index in path: " + path);
+                }
+                int index = 0;
+                for (int j = i + 1; j < close; j++) {
+                    char d = path.charAt(j);
+                    if (d < '0' || d > '9') {
+                        throw new IllegalArgumentException("Malformed array index in path: " + path);
+                    }
+                    index = index * 10 + (d - '0');
+                }
+                names.add(null);
+                indices.add(index);
+                i = close + 1;
+                if (i < n && path.charAt(i) == '.') {
+                    i++;
+                }
+            } else {
+                int start = i;
+                while (i < n && path.charAt(i) != '.' && path.charAt(i) != '[') {
+                    i++;
+                }
+                if (i == start) {
+                    throw new IllegalArgumentException("Empty key in path: " + path);
+                }
+                names.add(path.substring(start, i));
+                indices.add(-1);
+                if (i < n && path.charAt(i) == '.') {
+                    i++;
+                }
+            }
+        }
+        int[] idx = new int[indices.size()];
+        for (int k = 0; k < idx.length; k++) {
+            idx[k] = indices.get(k);
+        }
+        return new CompiledPath(path, names.toArray(new String[0]), idx);
+    }
+
+    /**
+     * @return The path as it was written, or as built by {@link #of(Object...)}; compiling it gives an equal path
+     */
+    public String expression() {
+        return expression;
+    }
+
+    /**
+     * @return Number of segments; 0 for the root path "$"
+     */
+    public int size() {
+        return names.length;
+    }
+
+    public boolean isIndex(int segment) {
+        return names[segment] == null;
+    }
+
+    /**
+     * @return Object key of the segment, or null if it is an array index
+     */
+    public String name(int segment) {
+        return names[segment];
+    }
+
+    /**
+     * @return Array index of the segment, or -1 if it is an object key
+     */
+    public int index(int segment) {
+        return indices[segment];
+    }
+
+    byte[] nameBytes(int segment) {
+        return nameBytes[segment];
+    }
+
+    Object[] segments() {
+        return segments;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompiledPath)) {
+            return false;
+        }
+        CompiledPath other = (CompiledPath) o;
+        return hash == other.hash && Arrays.equals(names, other.names) && Arrays.equals(indices, other.indices);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -1,13 +1,48 @@
 package com.benchmark.parser;
 
 import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONFactory;
 import com.alibaba.fastjson2.JSONObject;
-import com.alibaba.fastjson2.JSONPath;
+import com.alibaba.fastjson2.JSONReader;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 public class FastJsonDomParser implements JsonParserInterface {
+    private static final byte[] TRAILING_COMMA_OBJECT = {',', '}'};
+    private static final byte[] TRAILING_COMMA_ARRAY = {',', ']'};
+    // Thrown by parse for every document with trailing data, so it is allocated once and has no stack trace
+    private static final JSONException INPUT_NOT_END = new JSONException("input not end") {
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    };
+    private final ThreadLocal<KeySymbols> symbols = ThreadLocal.withInitial(KeySymbols::new);
 
     @Override
     public boolean isValidJson(String json) {
+        if (!passesQuickChecks(json)) {
+            return false;
+        }
+        
+        try {
+            JSON.parse(json);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks isValidJson makes before parsing; JSON.parse alone would accept these inputs
+     */
+    private static boolean passesQuickChecks(String json) {
         if (json == null || json.trim().isEmpty()) {
             return false;
         }
@@ -24,60 +59,584 @@ public class FastJsonDomParser implements JsonParserInterface {
         }
         
         // Check for trailing commas
-        if (json.contains(",}") || json.contains(",]")) {
+        return !json.contains(",}") && !json.contains(",]");
+    }
+
+    @Override
+    public boolean hasJsonKey(String json, String key) {
+        try {
+            JSONObject obj = JSON.parseObject(json);
+            return obj != null && obj.containsKey(key);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean hasJsonKey(String json, CompiledPath path) {
+        if (path != null && path.size() == 0) {
+            return isValidJson(json);
+        }
+        try {
+            return has(JSON.parse(json), path);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getJsonValue(String json, String path) {
+        try {
+            return getJsonValue(json, CompiledPath.compile(path));
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String getJsonValue(String json, CompiledPath path) {
+        try {
+            return extract(JSON.parse(json), path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    // byte[] inputs are read as UTF-8 by JSONReader, without decoding to a String first
+
+    @Override
+    public boolean isValidJson(byte[] json, int offset, int length) {
+        return isValidJson(json, offset, length, JSONFactory.createReadContext());
+    }
+
+    private static boolean isValidJson(byte[] json, int offset, int length, JSONReader.Context context) {
+        if (!passesQuickChecks(json, offset, length)) {
             return false;
         }
         
         try {
-            JSON.parse(json);
+            parse(json, offset, length, context);
             return true;
         } catch (Exception e) {
             return false;
         }
     }
 
+    private static boolean passesQuickChecks(byte[] json, int offset, int length) {
+        if (json == null) {
+            return false;
+        }
+        int end = offset + length;
+        
+        // Basic JSON validation - must start with { or [ and use double quotes
+        int start = JsonBytes.skipWhitespace(json, offset, end);
+        if (start == end || (json[start] != '{' && json[start] != '[')) {
+            return false;
+        }
+        
+        // Check for single quotes which are not valid in JSON
+        if (JsonBytes.indexOf(json, offset, end, (byte) '\'') >= 0) {
+            return false;
+        }
+        
+        // Check for trailing commas
+        return Swar.indexOf(json, offset, end, TRAILING_COMMA_OBJECT) < 0
+            && Swar.indexOf(json, offset, end, TRAILING_COMMA_ARRAY) < 0;
+    }
+
     @Override
-    public boolean hasJsonKey(String json, String key) {
+    public boolean hasJsonKey(byte[] json, int offset, int length, String key) {
         try {
-            JSONObject obj = JSON.parseObject(json);
-            return obj != null && obj.containsKey(key);
+            return hasKey(parse(json, offset, length, JSONFactory.createReadContext()), key);
         } catch (Exception e) {
             return false;
         }
     }
 
     @Override
-    public String getJsonValue(String json, String path) {
+    public boolean hasJsonKey(byte[] json, int offset, int length, CompiledPath path) {
+        if (path != null && path.size() == 0) {
+            return isValidJson(json, offset, length);
+        }
         try {
-            Object obj = JSON.parse(json);
-            if (obj == null) {
-                return "";
+            return has(parse(json, offset, length, JSONFactory.createReadContext()), path);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, String path) {
+        try {
+            return getJsonValue(json, offset, length, CompiledPath.compile(path));
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, CompiledPath path) {
+        try {
+            return extract(parse(json, offset, length, JSONFactory.createReadContext()), path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    // Tree values already hold a String, which the slice views; found means the path leads to a value extract
+    // renders, so a present "" is found too
+
+    @Override
+    public boolean getJsonSlice(String json, CompiledPath path, JsonSlice slice) {
+        try {
+            return slice(JSON.parse(json), path, slice);
+        } catch (Exception e) {
+            slice.clear();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean getJsonSlice(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        try {
+            return slice(parse(json, offset, length, JSONFactory.createReadContext()), path, slice);
+        } catch (Exception e) {
+            slice.clear();
+            return false;
+        }
+    }
+
+    // The tree keeps no input offsets and containers would have to be written out again, so raw values come from
+    // a reader that skips everything but the path
+
+    @Override
+    public String getJsonRaw(String json, CompiledPath path) {
+        try (JSONReader reader = JSONReader.of(json)) {
+            return FastJsonStreamingParser.raw(reader, json, path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String getJsonRaw(byte[] json, int offset, int length, CompiledPath path) {
+        try (JSONReader reader = JSONReader.of(json, offset, length, JSONFactory.createReadContext())) {
+            return FastJsonStreamingParser.raw(reader, json, offset + length, path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public boolean getJsonRaw(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        try (JSONReader reader = JSONReader.of(json, offset, length, JSONFactory.createReadContext())) {
+            if (FastJsonStreamingParser.raw(reader, json, offset + length, path, slice)) {
+                return true;
             }
-            
-            // Handle root path
-            if (path.equals("$")) {
-                return obj.toString();
+        } catch (Exception e) {
+            // Not found
+        }
+        slice.clear();
+        return false;
+    }
+
+    // Counting a map's fields from the tree would build every entry first, so length and type use a reader that
+    // skips what it does not count
+
+    @Override
+    public int getJsonLength(String json, CompiledPath path) {
+        try (JSONReader reader = JSONReader.of(json)) {
+            return FastJsonStreamingParser.length(reader, path);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public int getJsonLength(byte[] json, int offset, int length, CompiledPath path) {
+        try (JSONReader reader = JSONReader.of(json, offset, length, JSONFactory.createReadContext())) {
+            return FastJsonStreamingParser.length(reader, path);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public JsonType getJsonType(String json, CompiledPath path) {
+        try (JSONReader reader = JSONReader.of(json)) {
+            return FastJsonStreamingParser.type(reader, path);
+        } catch (Exception e) {
+            return JsonType.NONE;
+        }
+    }
+
+    @Override
+    public String[] getJsonKeys(String json, CompiledPath path) {
+        try (JSONReader reader = JSONReader.of(json)) {
+            return FastJsonStreamingParser.keys(reader, path, symbols.get());
+        } catch (Exception e) {
+            return KeySymbols.NO_KEYS;
+        }
+    }
+
+    @Override
+    public int[] getJsonArrayOffsets(String json, CompiledPath path) {
+        try (JSONReader reader = JSONReader.of(json)) {
+            return FastJsonStreamingParser.elements(reader, json, path);
+        } catch (Exception e) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+    }
+
+    @Override
+    public JsonType getJsonType(byte[] json, int offset, int length, CompiledPath path) {
+        try (JSONReader reader = JSONReader.of(json, offset, length, JSONFactory.createReadContext())) {
+            return FastJsonStreamingParser.type(reader, path);
+        } catch (Exception e) {
+            return JsonType.NONE;
+        }
+    }
+
+    @Override
+    public String[] getJsonKeys(byte[] json, int offset, int length, CompiledPath path) {
+        try (JSONReader reader = JSONReader.of(json, offset, length, JSONFactory.createReadContext())) {
+            return FastJsonStreamingParser.keys(reader, path, symbols.get());
+        } catch (Exception e) {
+            return KeySymbols.NO_KEYS;
+        }
+    }
+
+    @Override
+    public int[] getJsonArrayOffsets(byte[] json, int offset, int length, CompiledPath path) {
+        try (JSONReader reader = JSONReader.of(json, offset, length, JSONFactory.createReadContext())) {
+            return FastJsonStreamingParser.elements(reader, json, offset + length, path);
+        } catch (Exception e) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+    }
+
+    // Typed values are taken from the parsed tree's Number and Boolean objects, without rendering them as text
+
+    @Override
+    public long getJsonLong(String json, CompiledPath path, long defaultValue) {
+        try {
+            return longValue(value(JSON.parse(json), path), defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public double getJsonDouble(String json, CompiledPath path, double defaultValue) {
+        try {
+            return doubleValue(value(JSON.parse(json), path), defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public boolean getJsonBoolean(String json, CompiledPath path, boolean defaultValue) {
+        try {
+            return booleanValue(value(JSON.parse(json), path), defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public long getJsonLong(byte[] json, int offset, int length, CompiledPath path, long defaultValue) {
+        try {
+            Object value = value(parse(json, offset, length, JSONFactory.createReadContext()), path);
+            return longValue(value, defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public double getJsonDouble(byte[] json, int offset, int length, CompiledPath path, double defaultValue) {
+        try {
+            Object value = value(parse(json, offset, length, JSONFactory.createReadContext()), path);
+            return doubleValue(value, defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public boolean getJsonBoolean(byte[] json, int offset, int length, CompiledPath path, boolean defaultValue) {
+        try {
+            Object value = value(parse(json, offset, length, JSONFactory.createReadContext()), path);
+            return booleanValue(value, defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    // One tree per document, walked once per path
+
+    @Override
+    public String[] extractAll(String json, CompiledPath... paths) {
+        String[] values = new String[paths.length];
+        Arrays.fill(values, "");
+        try {
+            Object root = JSON.parse(json);
+            for (int i = 0; i < paths.length; i++) {
+                values[i] = extract(root, paths[i]);
+            }
+        } catch (Exception e) {
+            // Not parseable: nothing found
+        }
+        return values;
+    }
+
+    @Override
+    public String[] extractAll(byte[] json, int offset, int length, CompiledPath... paths) {
+        String[] values = new String[paths.length];
+        Arrays.fill(values, "");
+        try {
+            Object root = parse(json, offset, length, JSONFactory.createReadContext());
+            for (int i = 0; i < paths.length; i++) {
+                values[i] = extract(root, paths[i]);
+            }
+        } catch (Exception e) {
+            // Not parseable: nothing found
+        }
+        return values;
+    }
+
+    // The tree isValidJson builds also answers the key check and the projection
+
+    @Override
+    public FilterResult filterAndExtract(String json, String key, CompiledPath path) {
+        if (!passesQuickChecks(json)) {
+            return FilterResult.INVALID;
+        }
+        Object root;
+        try {
+            root = JSON.parse(json);
+        } catch (Exception e) {
+            return FilterResult.INVALID;
+        }
+        return filter(root, key, path);
+    }
+
+    @Override
+    public FilterResult filterAndExtract(byte[] json, int offset, int length, String key, CompiledPath path) {
+        if (!passesQuickChecks(json, offset, length)) {
+            return FilterResult.INVALID;
+        }
+        Object root;
+        try {
+            root = parse(json, offset, length, JSONFactory.createReadContext());
+        } catch (Exception e) {
+            return FilterResult.INVALID;
+        }
+        return filter(root, key, path);
+    }
+
+    // Columns reuse one reader context for every row instead of creating one per row
+
+    @Override
+    public long[] isValidJsonBatch(byte[] arena, int[] offsets) {
+        JSONReader.Context context = JSONFactory.createReadContext();
+        int rows = offsets.length - 1;
+        long[] bits = new long[(rows + 63) >>> 6];
+        for (int i = 0; i < rows; i++) {
+            if (isValidJson(arena, offsets[i], offsets[i + 1] - offsets[i], context)) {
+                bits[i >>> 6] |= 1L << i;
             }
-            
-            // Remove leading $. if present
-            String normalizedPath = path.startsWith("$.") ? path : "$." + path;
-            Object value = JSONPath.extract(json, normalizedPath);
-            
-            if (value == null) {
-                return "";
+        }
+        return bits;
+    }
+
+    @Override
+    public long[] hasJsonKeyBatch(byte[] arena, int[] offsets, String key) {
+        JSONReader.Context context = JSONFactory.createReadContext();
+        int rows = offsets.length - 1;
+        long[] bits = new long[(rows + 63) >>> 6];
+        for (int i = 0; i < rows; i++) {
+            try {
+                if (hasKey(parse(arena, offsets[i], offsets[i + 1] - offsets[i], context), key)) {
+                    bits[i >>> 6] |= 1L << i;
+                }
+            } catch (Exception e) {
+                // Malformed row: key not found
             }
-            
-            // Handle different value types
-            if (value instanceof String || value instanceof Number || value instanceof Boolean) {
-                return value.toString();
+        }
+        return bits;
+    }
+
+    // Direct buffers are copied once into a per-thread array and take the byte[] path. JSONReader.of(ByteBuffer)
+    // would copy them into its own pooled array just the same, and this keeps the quick checks above.
+
+    @Override
+    public boolean isValidJson(ByteBuffer json) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.isValidJson(json);
+        }
+        Utf8Buffer in = ByteBuffers.scratch(json);
+        return isValidJson(in.bytes(), 0, in.length());
+    }
+
+    @Override
+    public boolean hasJsonKey(ByteBuffer json, String key) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.hasJsonKey(json, key);
+        }
+        Utf8Buffer in = ByteBuffers.scratch(json);
+        return hasJsonKey(in.bytes(), 0, in.length(), key);
+    }
+
+    @Override
+    public String getJsonValue(ByteBuffer json, String path) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.getJsonValue(json, path);
+        }
+        Utf8Buffer in = ByteBuffers.scratch(json);
+        return getJsonValue(in.bytes(), 0, in.length(), path);
+    }
+
+    @Override
+    public String getJsonValue(ByteBuffer json, CompiledPath path) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.getJsonValue(json, path);
+        }
+        Utf8Buffer in = ByteBuffers.scratch(json);
+        return getJsonValue(in.bytes(), 0, in.length(), path);
+    }
+
+    /**
+     * Byte counterpart of {@code JSON.parse(String)}: read one value and require the input to end there.
+     * Objects and arrays go through {@code read(Map)} / {@code read(List)} as JSON.parse does; readAny would
+     * accept a missing value such as {@code {"key": }}.
+     */
+    private static Object parse(byte[] json, int offset, int length, JSONReader.Context context) {
+        try (JSONReader reader = JSONReader.of(json, offset, length, context)) {
+            Object obj;
+            if (reader.current() == '{') {
+                JSONObject object = new JSONObject();
+                reader.read(object, 0L);
+                obj = object;
+            } else if (reader.current() == '[') {
+                JSONArray array = new JSONArray();
+                reader.read(array);
+                obj = array;
+            } else {
+                obj = reader.readAny();
             }
-            
-            // For complex types (arrays/objects), return empty string
+            if (!reader.isEnd()) {
+                throw INPUT_NOT_END;
+            }
+            return obj;
+        }
+    }
+
+    private static boolean hasKey(Object obj, String key) {
+        return obj instanceof JSONObject && ((JSONObject) obj).containsKey(key);
+    }
+
+    private static FilterResult filter(Object root, String key, CompiledPath path) {
+        if (key == null || !hasKey(root, key)) {
+            return FilterResult.NO_KEY;
+        }
+        return FilterResult.match(path == null ? "" : extract(root, path));
+    }
+
+    private static String extract(Object obj, CompiledPath path) {
+        if (obj == null) {
             return "";
-            
-        } catch (Exception e) {
+        }
+        
+        // Handle root path
+        if (path.size() == 0) {
+            return obj.toString();
+        }
+        
+        Object value = value(obj, path);
+        if (value == null) {
             return "";
         }
+        
+        // Handle different value types
+        if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        
+        // For complex types (arrays/objects), return empty string
+        return "";
+    }
+
+    /**
+     * As {@link #extract(Object, CompiledPath)}, into a slice
+     * @return false, with the slice cleared, where extract returns "" for a missing value, null or a container
+     */
+    private static boolean slice(Object obj, CompiledPath path, JsonSlice slice) {
+        Object value = obj == null || path.size() == 0 ? obj : value(obj, path);
+        if (value == null
+            || (path.size() > 0 && !(value instanceof String || value instanceof Number || value instanceof Boolean))) {
+            slice.clear();
+            return false;
+        }
+        String text = value.toString();
+        slice.set(text, 0, text.length());
+        return true;
+    }
+
+    private static Object value(Object obj, CompiledPath path) {
+        // Walk the parsed tree instead of evaluating a JSONPath over the text again
+        Object value = obj;
+        for (int s = 0; s < path.size() && value != null; s++) {
+            value = child(value, path, s);
+        }
+        return value;
+    }
+
+    /**
+     * Walk to the parent of the last segment, which is then checked with containsKey or the list size:
+     * a field whose value is null is present.
+     */
+    private static boolean has(Object obj, CompiledPath path) {
+        int last = path.size() - 1;
+        for (int s = 0; s < last && obj != null; s++) {
+            obj = child(obj, path, s);
+        }
+        if (path.isIndex(last)) {
+            return obj instanceof List && path.index(last) < ((List<?>) obj).size();
+        }
+        return obj instanceof Map && ((Map<?, ?>) obj).containsKey(path.name(last));
+    }
+
+    private static Object child(Object value, CompiledPath path, int s) {
+        if (path.isIndex(s)) {
+            return value instanceof List && path.index(s) < ((List<?>) value).size()
+                ? ((List<?>) value).get(path.index(s))
+                : null;
+        }
+        return value instanceof Map ? ((Map<?, ?>) value).get(path.name(s)) : null;
+    }
+
+    /**
+     * Integers parse to Integer or Long, or BigInteger past the long range; fractions and exponents to
+     * BigDecimal or Double, which do not count as integers.
+     */
+    static long longValue(Object value, long defaultValue) {
+        if (value instanceof Integer || value instanceof Long) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof BigInteger && ((BigInteger) value).bitLength() < 64) {
+            return ((BigInteger) value).longValue();
+        }
+        return defaultValue;
+    }
+
+    private static double doubleValue(Object value, double defaultValue) {
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
+
+    private static boolean booleanValue(Object value, boolean defaultValue) {
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
     }
 
     @Override
@@ -1,9 +1,16 @@
 package com.benchmark.parser;
 
 import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONFactory;
 import com.alibaba.fastjson2.JSONObject;
-import com.alibaba.fastjson2.JSONPath;
 import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.util.Fnv;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 
 public class FastJsonStreamingParser implements JsonParserInterface {
     
@@ -11,125 +18,1202 @@ public class FastJsonStreamingParser implements JsonParserInterface {
         JSONReader.Feature.IgnoreNoneSerializable,
         JSONReader.Feature.ErrorOnNoneSerializable
     };
+    private final ThreadLocal<KeySymbols> symbols = ThreadLocal.withInitial(KeySymbols::new);
 
     @Override
     public boolean isValidJson(String json) {
-        if (json == null || json.trim().isEmpty()) {
+        return isValidJson(json, context());
+    }
+
+    private static boolean isValidJson(String json, JSONReader.Context context) {
+        char first = quickCheck(json);
+        if (first == 0) {
+            return false;
+        }
+        
+        try {
+            return validate(JSONReader.of(json, context), first);
+        } catch (Exception e) {
+            // JSONException, or an index error from readFieldName on some truncated names
             return false;
         }
+    }
+
+    /**
+     * Checks made before the reader runs
+     * @return The first non-whitespace char, '{' or '[', or 0 if the input fails a check
+     */
+    private static char quickCheck(String json) {
+        if (json == null || json.trim().isEmpty()) {
+            return 0;
+        }
         
         String trimmed = json.trim();
         // Quick validation - must start with { or [
         if (!trimmed.startsWith("{") && !trimmed.startsWith("[")) {
-            return false;
+            return 0;
         }
         
         // Quick validation - no single quotes allowed
         if (trimmed.contains("'")) {
-            return false;
+            return 0;
         }
         
         // Quick validation - no trailing commas
         if (trimmed.matches(".*,\\s*[}\\]]")) {
+            return 0;
+        }
+        return trimmed.charAt(0);
+    }
+
+    @Override
+    public boolean hasJsonKey(String json, String key) {
+        try {
+            return hasKey(reader(json), key);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * seek enters only the field or element on the path; skipValue passes over everything else
+     */
+    @Override
+    public boolean hasJsonKey(String json, CompiledPath path) {
+        if (path != null && path.size() == 0) {
+            return isValidJson(json);
+        }
+        try {
+            return seek(reader(json), path);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getJsonValue(String json, String path) {
+        try {
+            return getJsonValue(json, CompiledPath.compile(path));
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String getJsonValue(String json, CompiledPath path) {
+        try {
+            return extract(reader(json), path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public boolean getJsonSlice(String json, CompiledPath path, JsonSlice slice) {
+        try {
+            return slice(reader(json), path, slice);
+        } catch (Exception e) {
+            slice.clear();
+            return false;
+        }
+    }
+
+    @Override
+    public String getJsonRaw(String json, CompiledPath path) {
+        try {
+            return raw(reader(json), json, path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public int getJsonLength(String json, CompiledPath path) {
+        try {
+            return length(reader(json), path);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public JsonType getJsonType(String json, CompiledPath path) {
+        try {
+            return type(reader(json), path);
+        } catch (Exception e) {
+            return JsonType.NONE;
+        }
+    }
+
+    @Override
+    public String[] getJsonKeys(String json, CompiledPath path) {
+        try {
+            return keys(reader(json), path, symbols.get());
+        } catch (Exception e) {
+            return KeySymbols.NO_KEYS;
+        }
+    }
+
+    @Override
+    public int[] getJsonArrayOffsets(String json, CompiledPath path) {
+        try {
+            return elements(reader(json), json, path);
+        } catch (Exception e) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+    }
+
+    @Override
+    public long getJsonLong(String json, CompiledPath path, long defaultValue) {
+        try {
+            return longValue(reader(json), path, defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public double getJsonDouble(String json, CompiledPath path, double defaultValue) {
+        try {
+            return doubleValue(reader(json), path, defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public boolean getJsonBoolean(String json, CompiledPath path, boolean defaultValue) {
+        try {
+            return booleanValue(reader(json), path, defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    // byte[] inputs are read as UTF-8 by JSONReader, without decoding to a String first
+
+    @Override
+    public boolean isValidJson(byte[] json, int offset, int length) {
+        return isValidJson(json, offset, length, context());
+    }
+
+    private static boolean isValidJson(byte[] json, int offset, int length, JSONReader.Context context) {
+        char first = quickCheck(json, offset, length);
+        if (first == 0) {
             return false;
         }
         
         try {
-            JSONReader reader = JSONReader.of(json);
-            reader.getContext().config(STRICT_FEATURES);
-            
-            // For objects, verify each key-value pair
-            if (trimmed.startsWith("{")) {
-                if (!reader.nextIfMatch('{')) {
-                    return false;
+            return validate(JSONReader.of(json, offset, length, context), first);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Same quick checks as for String input, on the trimmed byte range
+     */
+    private static char quickCheck(byte[] json, int offset, int length) {
+        if (json == null) {
+            return 0;
+        }
+        int start = offset;
+        int end = offset + length;
+        while (start < end && (json[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (json[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+        if (start == end || (json[start] != '{' && json[start] != '[')) {
+            return 0;
+        }
+        if (JsonBytes.indexOf(json, start, end, (byte) '\'') >= 0) {
+            return 0;
+        }
+        if (endsWithTrailingComma(json, start, end)) {
+            return 0;
+        }
+        return (char) json[start];
+    }
+
+    @Override
+    public boolean hasJsonKey(byte[] json, int offset, int length, String key) {
+        try {
+            return hasKey(reader(json, offset, length), key);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean hasJsonKey(byte[] json, int offset, int length, CompiledPath path) {
+        if (path != null && path.size() == 0) {
+            return isValidJson(json, offset, length);
+        }
+        try {
+            return seek(reader(json, offset, length), path);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, String path) {
+        try {
+            return getJsonValue(json, offset, length, CompiledPath.compile(path));
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, CompiledPath path) {
+        try {
+            return extract(reader(json, offset, length), path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public boolean getJsonSlice(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        try {
+            return slice(reader(json, offset, length), path, slice);
+        } catch (Exception e) {
+            slice.clear();
+            return false;
+        }
+    }
+
+    @Override
+    public String getJsonRaw(byte[] json, int offset, int length, CompiledPath path) {
+        try {
+            return raw(reader(json, offset, length), json, offset + length, path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public boolean getJsonRaw(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        try {
+            if (raw(reader(json, offset, length), json, offset + length, path, slice)) {
+                return true;
+            }
+        } catch (Exception e) {
+            // Not found
+        }
+        slice.clear();
+        return false;
+    }
+
+    @Override
+    public int getJsonLength(byte[] json, int offset, int length, CompiledPath path) {
+        try {
+            return length(reader(json, offset, length), path);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public JsonType getJsonType(byte[] json, int offset, int length, CompiledPath path) {
+        try {
+            return type(reader(json, offset, length), path);
+        } catch (Exception e) {
+            return JsonType.NONE;
+        }
+    }
+
+    @Override
+    public String[] getJsonKeys(byte[] json, int offset, int length, CompiledPath path) {
+        try {
+            return keys(reader(json, offset, length), path, symbols.get());
+        } catch (Exception e) {
+            return KeySymbols.NO_KEYS;
+        }
+    }
+
+    @Override
+    public int[] getJsonArrayOffsets(byte[] json, int offset, int length, CompiledPath path) {
+        try {
+            return elements(reader(json, offset, length), json, offset + length, path);
+        } catch (Exception e) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+    }
+
+    @Override
+    public long getJsonLong(byte[] json, int offset, int length, CompiledPath path, long defaultValue) {
+        try {
+            return longValue(reader(json, offset, length), path, defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public double getJsonDouble(byte[] json, int offset, int length, CompiledPath path, double defaultValue) {
+        try {
+            return doubleValue(reader(json, offset, length), path, defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public boolean getJsonBoolean(byte[] json, int offset, int length, CompiledPath path, boolean defaultValue) {
+        try {
+            return booleanValue(reader(json, offset, length), path, defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    // All paths are resolved in one pass over the document, which stops once the last one is found
+
+    @Override
+    public String[] extractAll(String json, CompiledPath... paths) {
+        String[] values = new String[paths.length];
+        Arrays.fill(values, "");
+        try {
+            collect(reader(json), paths, values);
+        } catch (Exception e) {
+            // Malformed input: paths not reached before the error are not found
+        }
+        return values;
+    }
+
+    @Override
+    public String[] extractAll(byte[] json, int offset, int length, CompiledPath... paths) {
+        String[] values = new String[paths.length];
+        Arrays.fill(values, "");
+        try {
+            collect(reader(json, offset, length), paths, values);
+        } catch (Exception e) {
+            // Malformed input: paths not reached before the error are not found
+        }
+        return values;
+    }
+
+    // Validation reads every top-level field anyway, so the key check and a top-level field's value come from the
+    // same pass; deeper paths, and top-level values that are objects, are looked up afterwards, in matching rows only
+
+    @Override
+    public FilterResult filterAndExtract(String json, String key, CompiledPath path) {
+        char first = quickCheck(json);
+        if (first == 0) {
+            return FilterResult.INVALID;
+        }
+        FilterResult result;
+        try {
+            result = filter(reader(json), first, key, topLevelName(path));
+        } catch (Exception e) {
+            return FilterResult.INVALID;
+        }
+        return result != null ? result : FilterResult.match(path == null ? "" : getJsonValue(json, path));
+    }
+
+    @Override
+    public FilterResult filterAndExtract(byte[] json, int offset, int length, String key, CompiledPath path) {
+        char first = quickCheck(json, offset, length);
+        if (first == 0) {
+            return FilterResult.INVALID;
+        }
+        FilterResult result;
+        try {
+            result = filter(reader(json, offset, length), first, key, topLevelName(path));
+        } catch (Exception e) {
+            return FilterResult.INVALID;
+        }
+        return result != null
+            ? result
+            : FilterResult.match(path == null ? "" : getJsonValue(json, offset, length, path));
+    }
+
+    // Columns reuse one configured reader context for every row instead of creating and configuring one per row
+
+    @Override
+    public long[] isValidJsonBatch(List<String> column) {
+        JSONReader.Context context = context();
+        long[] bits = new long[(column.size() + 63) >>> 6];
+        int i = 0;
+        for (String json : column) {
+            if (isValidJson(json, context)) {
+                bits[i >>> 6] |= 1L << i;
+            }
+            i++;
+        }
+        return bits;
+    }
+
+    @Override
+    public long[] isValidJsonBatch(byte[] arena, int[] offsets) {
+        JSONReader.Context context = context();
+        int rows = offsets.length - 1;
+        long[] bits = new long[(rows + 63) >>> 6];
+        for (int i = 0; i < rows; i++) {
+            if (isValidJson(arena, offsets[i], offsets[i + 1] - offsets[i], context)) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    @Override
+    public long[] hasJsonKeyBatch(List<String> column, String key) {
+        JSONReader.Context context = context();
+        long[] bits = new long[(column.size() + 63) >>> 6];
+        int i = 0;
+        for (String json : column) {
+            try {
+                if (hasKey(JSONReader.of(json, context), key)) {
+                    bits[i >>> 6] |= 1L << i;
                 }
-                
-                // Handle empty object
-                if (reader.nextIfMatch('}')) {
-                    return true;
+            } catch (Exception e) {
+                // Malformed or null row: key not found
+            }
+            i++;
+        }
+        return bits;
+    }
+
+    @Override
+    public long[] hasJsonKeyBatch(byte[] arena, int[] offsets, String key) {
+        JSONReader.Context context = context();
+        int rows = offsets.length - 1;
+        long[] bits = new long[(rows + 63) >>> 6];
+        for (int i = 0; i < rows; i++) {
+            try {
+                if (hasKey(JSONReader.of(arena, offsets[i], offsets[i + 1] - offsets[i], context), key)) {
+                    bits[i >>> 6] |= 1L << i;
                 }
-                
-                while (true) {
-                    // Must have a field name
-                    String fieldName = reader.readFieldName();
-                    if (fieldName == null) {
-                        return false;
-                    }
-                    
-                    // Must have a value (null is allowed)
-                    try {
-                        reader.readAny();
-                    } catch (Exception e) {
-                        return false;
-                    }
-                    
-                    // Check for end of object or next field
-                    if (reader.nextIfMatch('}')) {
-                        return reader.isEnd();
-                    }
-                    if (!reader.nextIfMatch(',')) {
-                        return false;
-                    }
+            } catch (Exception e) {
+                // Malformed row: key not found
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Field names are matched by the 64-bit hash FastJSON2's own JSONPath uses: the query hashes its names once,
+     * and readFieldNameHashCode hashes the input's names without building Strings.
+     */
+    @Override
+    public JsonQuery prepare(JsonQuery.Operation operation, CompiledPath path) {
+        if (operation == JsonQuery.Operation.IS_VALID) {
+            return JsonParserInterface.super.prepare(operation, path);
+        }
+        long[] hashes = new long[path.size()];
+        for (int s = 0; s < hashes.length; s++) {
+            hashes[s] = path.isIndex(s) ? 0 : Fnv.hashCode64(path.name(s));
+        }
+        return new JsonQuery(this, operation, path) {
+            @Override
+            boolean hasKey(String json) {
+                try {
+                    return seekField(reader(json), hashes[0]);
+                } catch (Exception e) {
+                    return super.hasKey(json);
+                }
+            }
+
+            @Override
+            boolean hasKey(byte[] json, int offset, int length) {
+                try {
+                    return seekField(reader(json, offset, length), hashes[0]);
+                } catch (Exception e) {
+                    return super.hasKey(json, offset, length);
+                }
+            }
+
+            @Override
+            String value(String json) {
+                try {
+                    return FastJsonStreamingParser.extract(reader(json), path, hashes);
+                } catch (Exception e) {
+                    return super.value(json);
+                }
+            }
+
+            @Override
+            String value(byte[] json, int offset, int length) {
+                try {
+                    return FastJsonStreamingParser.extract(reader(json, offset, length), path, hashes);
+                } catch (Exception e) {
+                    return super.value(json, offset, length);
                 }
             }
-            
-            // For arrays, verify each value
-            if (trimmed.startsWith("[")) {
-                // Read the array and validate it
+        };
+    }
+
+    // Direct buffers are copied once into a per-thread array and take the byte[] path. JSONReader.of(ByteBuffer)
+    // would copy them into its own pooled array just the same, and this keeps the quick checks above.
+
+    @Override
+    public boolean isValidJson(ByteBuffer json) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.isValidJson(json);
+        }
+        Utf8Buffer in = ByteBuffers.scratch(json);
+        return isValidJson(in.bytes(), 0, in.length());
+    }
+
+    @Override
+    public boolean hasJsonKey(ByteBuffer json, String key) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.hasJsonKey(json, key);
+        }
+        Utf8Buffer in = ByteBuffers.scratch(json);
+        return hasJsonKey(in.bytes(), 0, in.length(), key);
+    }
+
+    @Override
+    public String getJsonValue(ByteBuffer json, String path) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.getJsonValue(json, path);
+        }
+        Utf8Buffer in = ByteBuffers.scratch(json);
+        return getJsonValue(in.bytes(), 0, in.length(), path);
+    }
+
+    @Override
+    public String getJsonValue(ByteBuffer json, CompiledPath path) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.getJsonValue(json, path);
+        }
+        Utf8Buffer in = ByteBuffers.scratch(json);
+        return getJsonValue(in.bytes(), 0, in.length(), path);
+    }
+
+    private static JSONReader.Context context() {
+        JSONReader.Context context = JSONFactory.createReadContext();
+        context.config(STRICT_FEATURES);
+        return context;
+    }
+
+    private static JSONReader reader(String json) {
+        return JSONReader.of(json, context());
+    }
+
+    private static JSONReader reader(byte[] json, int offset, int length) {
+        return JSONReader.of(json, offset, length, context());
+    }
+
+    private static boolean validate(JSONReader reader, char first) {
+        // For objects, verify each key-value pair
+        if (first == '{') {
+            return reader.nextIfMatch('{') && validateObject(reader) && reader.isEnd();
+        }
+        
+        // For arrays, verify each value
+        if (first == '[') {
+            // Read the array and validate it
+            try {
+                reader.readArray();
+                return reader.isEnd();
+            } catch (Exception e) {
+                return false;
+            }
+        }
+        
+        return false;
+    }
+
+    /**
+     * Verify the fields of an object whose '{' has been read, up to and including its '}'. readAny consumes the
+     * comma after a value itself and records it in hasComma, except after an empty object, where the flag keeps
+     * its previous value; so nested objects are read by this loop instead, which leaves their comma to nextIfMatch.
+     * This differs from the original validation loop, which rejected valid documents with an empty object after
+     * another field and could not tell a trailing or missing comma after an empty object from a separator.
+     */
+    private static boolean validateObject(JSONReader reader) {
+        // Handle empty object
+        if (reader.nextIfMatch('}')) {
+            return true;
+        }
+        while (true) {
+            // Must have a field name; after a trailing comma there is none
+            if (reader.readFieldName() == null) {
+                return false;
+            }
+            // Must have a value (null is allowed)
+            boolean comma;
+            if (reader.nextIfMatch('{')) {
+                if (!validateObject(reader)) {
+                    return false;
+                }
+                comma = reader.nextIfMatch(',');
+            } else {
                 try {
-                    reader.readArray();
-                    return reader.isEnd();
+                    reader.readAny();
                 } catch (Exception e) {
                     return false;
                 }
+                comma = reader.hasComma() || reader.nextIfMatch(',');
+            }
+            // Check for end of object or next field
+            if (!comma) {
+                return reader.nextIfMatch('}');
+            }
+        }
+    }
+
+    /**
+     * validate, also comparing the top-level field names with the key and keeping the readAny result of the first
+     * field called {@code name}, which is what extract would return for it. The fields are read as in
+     * validateObject, so an object value is verified rather than read and its text is not kept.
+     * @param name Field whose value is kept, or null
+     * @return The result, or null for a matching row whose value still has to be looked up: no name was given
+     *         or its value is an object
+     */
+    private static FilterResult filter(JSONReader reader, char first, String key, String name) {
+        if (first != '{') {
+            return validate(reader, first) ? FilterResult.NO_KEY : FilterResult.INVALID;
+        }
+        if (!reader.nextIfMatch('{')) {
+            return FilterResult.INVALID;
+        }
+        // An empty object is accepted as validate accepts it
+        if (reader.nextIfMatch('}')) {
+            return reader.isEnd() ? FilterResult.NO_KEY : FilterResult.INVALID;
+        }
+        boolean hasKey = false;
+        boolean captured = false;
+        String value = null;
+        while (true) {
+            String fieldName = reader.readFieldName();
+            if (fieldName == null) {
+                return FilterResult.INVALID;
+            }
+            hasKey |= fieldName.equals(key);
+            boolean capture = !captured && fieldName.equals(name);
+            captured |= capture;
+            boolean comma;
+            if (reader.nextIfMatch('{')) {
+                if (!validateObject(reader)) {
+                    return FilterResult.INVALID;
+                }
+                comma = reader.nextIfMatch(',');
+            } else {
+                Object fieldValue;
+                try {
+                    fieldValue = reader.readAny();
+                } catch (Exception e) {
+                    return FilterResult.INVALID;
+                }
+                if (capture) {
+                    value = fieldValue == null ? "" : fieldValue.toString();
+                }
+                comma = reader.hasComma() || reader.nextIfMatch(',');
+            }
+            if (!comma) {
+                if (!reader.nextIfMatch('}') || !reader.isEnd()) {
+                    return FilterResult.INVALID;
+                }
+                break;
             }
-            
+        }
+        if (!hasKey) {
+            return FilterResult.NO_KEY;
+        }
+        if (name == null || (captured && value == null)) {
+            return null;
+        }
+        return FilterResult.match(captured ? value : "");
+    }
+
+    /**
+     * @return The field name of a path that addresses a top-level field, or null for other paths
+     */
+    private static String topLevelName(CompiledPath path) {
+        return path != null && path.size() == 1 && !path.isIndex(0) ? path.name(0) : null;
+    }
+
+    /**
+     * Byte form of {@code trimmed.matches(".*,\\s*[}\\]]")} on the trimmed range [start, end):
+     * a comma, optional whitespace and a closing bracket at the very end, with no line terminator before the comma
+     * (regex '.' does not match one).
+     */
+    private static boolean endsWithTrailingComma(byte[] json, int start, int end) {
+        int i = end - 1;
+        if (json[i] != '}' && json[i] != ']') {
             return false;
-        } catch (JSONException e) {
+        }
+        i--;
+        while (i >= start && (json[i] == ' ' || json[i] == '\t' || json[i] == '\n'
+            || json[i] == 0x0B || json[i] == '\f' || json[i] == '\r')) {
+            i--;
+        }
+        if (i < start || json[i] != ',') {
             return false;
         }
+        for (int j = start; j < i; j++) {
+            int c = json[j] & 0xFF;
+            if (c == '\n' || c == '\r') {
+                return false;
+            }
+            // U+0085, U+2028 and U+2029 in UTF-8
+            if ((c == 0xC2 && json[j + 1] == (byte) 0x85)
+                || (c == 0xE2 && j + 2 < i && json[j + 1] == (byte) 0x80
+                    && (json[j + 2] == (byte) 0xA8 || json[j + 2] == (byte) 0xA9))) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    @Override
-    public boolean hasJsonKey(String json, String key) {
-        try {
-            JSONReader reader = JSONReader.of(json);
-            reader.getContext().config(STRICT_FEATURES);
-            
-            if (reader.nextIfMatch('{')) {
-                while (reader.nextIfMatch(',') || !reader.nextIfMatch('}')) {
-                    String fieldName = reader.readFieldName();
-                    if (key.equals(fieldName)) {
-                        return true;
-                    }
-                    reader.skipValue();
+    private static boolean hasKey(JSONReader reader, String key) {
+        if (reader.nextIfMatch('{')) {
+            while (reader.nextIfMatch(',') || !reader.nextIfMatch('}')) {
+                String fieldName = reader.readFieldName();
+                if (key.equals(fieldName)) {
+                    return true;
                 }
+                reader.skipValue();
             }
+        }
+        return false;
+    }
+
+    private static String extract(JSONReader reader, CompiledPath path) {
+        if (!seek(reader, path)) {
+            return "";
+        }
+        Object value = reader.readAny();
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * As {@link #extract(JSONReader, CompiledPath)}, into a slice
+     * @return false, with the slice cleared, if the path does not resolve or leads to null
+     */
+    private static boolean slice(JSONReader reader, CompiledPath path, JsonSlice slice) {
+        Object value = seek(reader, path) ? reader.readAny() : null;
+        if (value == null) {
+            slice.clear();
             return false;
-        } catch (Exception e) {
+        }
+        String text = value.toString();
+        slice.set(text, 0, text.length());
+        return true;
+    }
+
+    /**
+     * As {@link #extract(JSONReader, CompiledPath)}, matching field names by their precomputed hashes
+     */
+    private static String extract(JSONReader reader, CompiledPath path, long[] hashes) {
+        for (int s = 0; s < path.size(); s++) {
+            boolean found = path.isIndex(s)
+                ? seekElement(reader, path.index(s))
+                : seekField(reader, hashes[s]);
+            if (!found) {
+                return "";
+            }
+        }
+        Object value = reader.readAny();
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * Position the reader at the value a path addresses.
+     */
+    private static boolean seek(JSONReader reader, CompiledPath path) {
+        for (int s = 0; s < path.size(); s++) {
+            boolean found = path.isIndex(s)
+                ? seekElement(reader, path.index(s))
+                : seekField(reader, path.name(s));
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Raw values: the reader's current char is one position behind getOffset, so a value starts there once seek
+    // stops on it. skipValue stops on the token after the value, past the whitespace and comma in between, which
+    // are trimmed off again. These helpers are shared with FastJsonDomParser.
+
+    static String raw(JSONReader reader, String json, CompiledPath path) {
+        if (!seek(reader, path)) {
+            return "";
+        }
+        int start = reader.getOffset() - 1;
+        reader.skipValue();
+        int end = reader.isEnd() ? json.length() : reader.getOffset() - 1;
+        while (end > start && isSeparator(json.charAt(end - 1))) {
+            end--;
+        }
+        return isClosed(json, start, end) ? json.substring(start, end) : "";
+    }
+
+    static String raw(JSONReader reader, byte[] json, int limit, CompiledPath path) {
+        if (!seek(reader, path)) {
+            return "";
+        }
+        int start = reader.getOffset() - 1;
+        reader.skipValue();
+        int end = rawEnd(reader, json, start, limit);
+        return isClosed(json, start, end) ? new String(json, start, end - start, StandardCharsets.UTF_8) : "";
+    }
+
+    static boolean raw(JSONReader reader, byte[] json, int limit, CompiledPath path, JsonSlice slice) {
+        if (!seek(reader, path)) {
+            return false;
+        }
+        int start = reader.getOffset() - 1;
+        reader.skipValue();
+        int end = rawEnd(reader, json, start, limit);
+        if (!isClosed(json, start, end)) {
             return false;
         }
+        slice.set(json, start, end - start);
+        return true;
     }
 
-    @Override
-    public String getJsonValue(String json, String path) {
-        try {
-            JSONReader reader = JSONReader.of(json);
-            reader.getContext().config(STRICT_FEATURES);
-            
-            if (reader.nextIfMatch('{')) {
-                while (reader.nextIfMatch(',') || !reader.nextIfMatch('}')) {
-                    String fieldName = reader.readFieldName();
-                    if (path.equals(fieldName)) {
-                        Object value = reader.readAny();
-                        return value == null ? "" : value.toString();
+    /**
+     * Each element is skipped with skipValue and ends where raw extraction ends a value
+     */
+    static int[] elements(JSONReader reader, String json, CompiledPath path) {
+        if (!seek(reader, path) || !reader.nextIfMatch('[')) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+        int[] offsets = new int[16];
+        int n = 0;
+        while (!reader.nextIfMatch(']')) {
+            if (reader.isEnd()) {
+                return JsonBytes.NO_ELEMENTS;
+            }
+            int start = reader.getOffset() - 1;
+            reader.skipValue();
+            int end = reader.isEnd() ? json.length() : reader.getOffset() - 1;
+            while (end > start && isSeparator(json.charAt(end - 1))) {
+                end--;
+            }
+            offsets = JsonBytes.grow(offsets, n);
+            offsets[n++] = start;
+            offsets[n++] = end;
+            reader.nextIfMatch(',');
+        }
+        return Arrays.copyOf(offsets, n);
+    }
+
+    static int[] elements(JSONReader reader, byte[] json, int limit, CompiledPath path) {
+        if (!seek(reader, path) || !reader.nextIfMatch('[')) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+        int[] offsets = new int[16];
+        int n = 0;
+        while (!reader.nextIfMatch(']')) {
+            if (reader.isEnd()) {
+                return JsonBytes.NO_ELEMENTS;
+            }
+            int start = reader.getOffset() - 1;
+            reader.skipValue();
+            offsets = JsonBytes.grow(offsets, n);
+            offsets[n++] = start;
+            offsets[n++] = rawEnd(reader, json, start, limit);
+            reader.nextIfMatch(',');
+        }
+        return Arrays.copyOf(offsets, n);
+    }
+
+    private static int rawEnd(JSONReader reader, byte[] json, int start, int limit) {
+        int end = reader.isEnd() ? limit : reader.getOffset() - 1;
+        while (end > start && isSeparator(json[end - 1])) {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * skipValue runs a string without its closing quote to the end of the input, so its raw text would take the
+     * rest of the document along
+     * @return false if the value in [start, end) is such a string
+     */
+    private static boolean isClosed(String json, int start, int end) {
+        if (json.charAt(start) != '"') {
+            return true;
+        }
+        int i = end - 1;
+        if (i <= start || json.charAt(i) != '"') {
+            return false;
+        }
+        // The quote is escaped if an odd number of backslashes precede it; the opening quote stops the count
+        int backslashes = 0;
+        while (json.charAt(i - 1 - backslashes) == '\\') {
+            backslashes++;
+        }
+        return backslashes % 2 == 0;
+    }
+
+    private static boolean isClosed(byte[] json, int start, int end) {
+        return json[start] != '"' || JsonBytes.skipString(json, start, end) == end;
+    }
+
+    private static boolean isSeparator(int c) {
+        return c == ',' || c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    // Length counts a container's elements with skipValue and field names by their hash, so no name or value is
+    // built; type looks at the current char and reads only a number. Also used by FastJsonDomParser.
+
+    static int length(JSONReader reader, CompiledPath path) {
+        if (!seek(reader, path)) {
+            return 0;
+        }
+        int n = 0;
+        if (reader.nextIfMatch('{')) {
+            while (reader.nextIfMatch(',') || !reader.nextIfMatch('}')) {
+                if (reader.isEnd()) {
+                    return 0;
+                }
+                reader.readFieldNameHashCode();
+                reader.skipValue();
+                n++;
+            }
+        } else if (reader.nextIfMatch('[')) {
+            while (!reader.nextIfMatch(']')) {
+                if (reader.isEnd()) {
+                    return 0;
+                }
+                reader.skipValue();
+                reader.nextIfMatch(',');
+                n++;
+            }
+        }
+        return n;
+    }
+
+    static JsonType type(JSONReader reader, CompiledPath path) {
+        if (!seek(reader, path)) {
+            return JsonType.NONE;
+        }
+        switch (reader.current()) {
+            case '{':
+                return JsonType.OBJECT;
+            case '[':
+                return JsonType.ARRAY;
+            case '"':
+                return JsonType.STRING;
+            case 't':
+            case 'f':
+                return JsonType.BOOLEAN;
+            case 'n':
+                return JsonType.NULL;
+            default:
+                break;
+        }
+        if (!reader.isNumber()) {
+            return JsonType.NONE;
+        }
+        Number number = reader.readNumber();
+        return number instanceof Integer || number instanceof Long || number instanceof BigInteger
+            ? JsonType.INTEGER : JsonType.DOUBLE;
+    }
+
+    /**
+     * Each name is read as FastJSON2's name hash; only a hash the symbol table has not seen builds the name
+     */
+    static String[] keys(JSONReader reader, CompiledPath path, KeySymbols keys) {
+        if (!seek(reader, path) || !reader.nextIfMatch('{')) {
+            return KeySymbols.NO_KEYS;
+        }
+        keys.clear();
+        while (reader.nextIfMatch(',') || !reader.nextIfMatch('}')) {
+            if (reader.isEnd()) {
+                return KeySymbols.NO_KEYS;
+            }
+            long nameHash = reader.readFieldNameHashCode();
+            String name = keys.symbol(nameHash);
+            keys.add(name != null ? name : keys.add(nameHash, reader.getFieldName()));
+            reader.skipValue();
+        }
+        return keys.toArray();
+    }
+
+    // Typed values are read with the reader's number and boolean decoders instead of readAny
+
+    private static long longValue(JSONReader reader, CompiledPath path, long defaultValue) {
+        if (!seek(reader, path) || !reader.isNumber()) {
+            return defaultValue;
+        }
+        // readInt64Value would truncate 1.5, so the number's type decides
+        return FastJsonDomParser.longValue(reader.readNumber(), defaultValue);
+    }
+
+    private static double doubleValue(JSONReader reader, CompiledPath path, double defaultValue) {
+        return seek(reader, path) && reader.isNumber() ? reader.readDoubleValue() : defaultValue;
+    }
+
+    private static boolean booleanValue(JSONReader reader, CompiledPath path, boolean defaultValue) {
+        if (!seek(reader, path) || (reader.current() != 't' && reader.current() != 'f')) {
+            return defaultValue;
+        }
+        return reader.readBoolValue();
+    }
+
+    /**
+     * Position the reader at the value of the named field of the object that starts at the reader.
+     */
+    private static boolean seekField(JSONReader reader, String name) {
+        if (reader.nextIfMatch('{')) {
+            while (reader.nextIfMatch(',') || !reader.nextIfMatch('}')) {
+                String fieldName = reader.readFieldName();
+                if (name.equals(fieldName)) {
+                    return true;
+                }
+                reader.skipValue();
+            }
+        }
+        return false;
+    }
+
+    private static boolean seekField(JSONReader reader, long nameHash) {
+        if (reader.nextIfMatch('{')) {
+            while (reader.nextIfMatch(',') || !reader.nextIfMatch('}')) {
+                if (reader.readFieldNameHashCode() == nameHash) {
+                    return true;
+                }
+                reader.skipValue();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Position the reader at the element at the index of the array that starts at the reader.
+     */
+    private static boolean seekElement(JSONReader reader, int index) {
+        if (!reader.nextIfMatch('[')) {
+            return false;
+        }
+        for (int i = 0; i < index; i++) {
+            if (reader.nextIfMatch(']')) {
+                return false;
+            }
+            reader.skipValue();
+            reader.nextIfMatch(',');
+        }
+        return !reader.nextIfMatch(']');
+    }
+
+    private static void collect(JSONReader reader, CompiledPath[] paths, String[] values) {
+        int[] active = new int[paths.length];
+        for (int i = 0; i < active.length; i++) {
+            active[i] = i;
+        }
+        if (active.length > 0) {
+            collect(reader, paths, active, active.length, 0, values, new int[] {paths.length});
+        }
+    }
+
+    /**
+     * Resolve the {@code n} paths listed in {@code active}, whose first {@code depth} segments lead to the value
+     * at the reader, and move past that value. Paths that end here get readAny, as in extract. A container that
+     * paths continue into is walked with the seekField / seekElement loops. While other paths are pending the
+     * reader is then reset and the value stepped over with skipValue, so later siblings are reached (or not)
+     * exactly as by a separate call, which skips rather than reads this value.
+     * @param remaining Number of paths still unresolved overall; 0 means every caller can stop
+     */
+    private static void collect(JSONReader reader, CompiledPath[] paths, int[] active, int n, int depth,
+                                String[] values, int[] remaining) {
+        int descend = 0;
+        int ending = 0;
+        for (int k = 0; k < n; k++) {
+            if (paths[active[k]].size() == depth) {
+                ending++;
+            }
+        }
+        int[] here = new int[ending];
+        for (int k = 0, e = 0; k < n; k++) {
+            int p = active[k];
+            if (paths[p].size() == depth) {
+                here[e++] = p;
+            } else {
+                active[descend++] = p;
+            }
+        }
+        remaining[0] -= ending;
+        if (descend == 0 && remaining[0] == 0) {
+            // Last paths: nothing follows, so the value need not be stepped over
+            Object value = reader.readAny();
+            for (int p : here) {
+                values[p] = value == null ? "" : value.toString();
+            }
+            return;
+        }
+        
+        JSONReader.SavePoint start = reader.mark();
+        if (ending > 0) {
+            try {
+                Object value = reader.readAny();
+                for (int p : here) {
+                    values[p] = value == null ? "" : value.toString();
+                }
+            } catch (JSONException e) {
+                // Not readable: these paths are not found
+            }
+            reader.reset(start);
+        }
+        if (descend > 0) {
+            try {
+                walk(reader, paths, active, descend, depth, values, remaining);
+            } catch (JSONException e) {
+                // Paths inside the container that were not reached before the error are not found
+            }
+            if (remaining[0] == 0) {
+                return;
+            }
+            reader.reset(start);
+        }
+        reader.skipValue();
+    }
+
+    private static void walk(JSONReader reader, CompiledPath[] paths, int[] active, int n, int depth,
+                             String[] values, int[] remaining) {
+        int[] child = new int[n];
+        if (reader.nextIfMatch('{')) {
+            while (reader.nextIfMatch(',') || !reader.nextIfMatch('}')) {
+                String fieldName = reader.readFieldName();
+                int m = 0;
+                for (int k = 0; k < n; k++) {
+                    int p = active[k];
+                    if (p >= 0 && !paths[p].isIndex(depth) && paths[p].name(depth).equals(fieldName)) {
+                        child[m++] = p;
+                        active[k] = -1;
                     }
+                }
+                if (m == 0) {
                     reader.skipValue();
+                } else {
+                    collect(reader, paths, child, m, depth + 1, values, remaining);
+                    if (remaining[0] == 0) {
+                        return;
+                    }
                 }
             }
-            return "";
-        } catch (Exception e) {
-            return "";
+        } else if (reader.nextIfMatch('[')) {
+            for (int i = 0; !reader.nextIfMatch(']'); i++) {
+                int m = 0;
+                for (int k = 0; k < n; k++) {
+                    int p = active[k];
+                    if (p >= 0 && paths[p].isIndex(depth) && paths[p].index(depth) == i) {
+                        child[m++] = p;
+                        active[k] = -1;
+                    }
+                }
+                if (m == 0) {
+                    reader.skipValue();
+                } else {
+                    collect(reader, paths, child, m, depth + 1, values, remaining);
+                    if (remaining[0] == 0) {
+                        return;
+                    }
+                }
+                reader.nextIfMatch(',');
+            }
         }
     }
 
@@ -0,0 +1,77 @@
+package com.benchmark.parser;
+
+/**
+ * One row of {@code SELECT JSON_VALUE(json, path) WHERE isValidJSON(json) AND JSONHas(json, key)}, as returned by
+ * {@link JsonParserInterface#filterAndExtract(String, String, CompiledPath)}. Rows that fail the filter share
+ * two constant instances, so only matching rows allocate.
+ */
+public final class FilterResult {
+    static final FilterResult INVALID = new FilterResult(false, false, "");
+    static final FilterResult NO_KEY = new FilterResult(true, false, "");
+    private static final FilterResult EMPTY_MATCH = new FilterResult(true, true, "");
+
+    private final boolean valid;
+    private final boolean hasKey;
+    private final String value;
+
+    private FilterResult(boolean valid, boolean hasKey, String value) {
+        this.valid = valid;
+        this.hasKey = hasKey;
+        this.value = value;
+    }
+
+    /**
+     * Result of a valid document that has the key
+     * @param value The extracted value as getJsonValue returns it
+     */
+    static FilterResult match(String value) {
+        return value.isEmpty() ? EMPTY_MATCH : new FilterResult(true, true, value);
+    }
+
+    /**
+     * @return true if the document is valid JSON
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * @return true if the document is valid and has the key; the key is not checked in invalid documents
+     */
+    public boolean hasKey() {
+        return hasKey;
+    }
+
+    /**
+     * @return true if the row passes the filter
+     */
+    public boolean matches() {
+        return valid && hasKey;
+    }
+
+    /**
+     * @return The extracted value for matching rows, or empty string if not found or if the row does not match
+     */
+    public String value() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof FilterResult)) {
+            return false;
+        }
+        FilterResult other = (FilterResult) o;
+        return valid == other.valid && hasKey == other.hasKey && value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return (valid ? 2 : 0) + (hasKey ? 1 : 0) + 31 * value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "FilterResult{valid=" + valid + ", hasKey=" + hasKey + ", value=" + value + "}";
+    }
+}
@@ -1,15 +1,19 @@
 package com.benchmark.parser;
 
-import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 public class JacksonDomParser implements JsonParserInterface {
     private static final ObjectMapper mapper = new ObjectMapper()
         .configure(JsonParser.Feature.STRICT_DUPLICATE_DETECTION, true)
         .configure(JsonParser.Feature.ALLOW_TRAILING_COMMA, false);
+    private final ThreadLocal<KeySymbols> symbols = ThreadLocal.withInitial(KeySymbols::new);
 
     @Override
     public boolean isValidJson(String json) {
@@ -41,42 +45,462 @@ public class JacksonDomParser implements JsonParserInterface {
         }
     }
 
+    @Override
+    public boolean hasJsonKey(String json, CompiledPath path) {
+        if (path != null && path.size() == 0) {
+            return isValidJson(json);
+        }
+        try {
+            // get() returns a NullNode for an explicit null, so only a missing segment ends the walk with null
+            return node(mapper.readTree(json), path) != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     @Override
     public String getJsonValue(String json, String path) {
         try {
-            JsonNode root = mapper.readTree(json);
-            
-            // Convert path from $.store.book[0] format to /store/book/0 format
-            String jsonPointerPath = path.startsWith("$.") ? path.substring(2) : path;
-            jsonPointerPath = jsonPointerPath.replace(".", "/")
-                                          .replaceAll("\\[(\\d+)\\]", "/$1");
-            if (!jsonPointerPath.startsWith("/")) {
-                jsonPointerPath = "/" + jsonPointerPath;
+            return getJsonValue(json, CompiledPath.compile(path));
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String getJsonValue(String json, CompiledPath path) {
+        try {
+            return extract(mapper.readTree(json), path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public boolean isValidJson(byte[] json, int offset, int length) {
+        if (json == null) {
+            return false;
+        }
+        int start = JsonBytes.skipWhitespace(json, offset, offset + length);
+        // Only accept objects and arrays as valid JSON
+        if (start == offset + length || (json[start] != '{' && json[start] != '[')) {
+            return false;
+        }
+        
+        try {
+            mapper.readTree(json, offset, length);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean hasJsonKey(byte[] json, int offset, int length, String key) {
+        try {
+            JsonNode node = mapper.readTree(json, offset, length);
+            return node.isObject() && node.has(key);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean hasJsonKey(byte[] json, int offset, int length, CompiledPath path) {
+        if (path != null && path.size() == 0) {
+            return isValidJson(json, offset, length);
+        }
+        try {
+            return node(mapper.readTree(json, offset, length), path) != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, String path) {
+        try {
+            return getJsonValue(json, offset, length, CompiledPath.compile(path));
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, CompiledPath path) {
+        try {
+            return extract(mapper.readTree(json, offset, length), path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    // Text nodes already hold a String, which the slice views instead of copying
+
+    @Override
+    public boolean getJsonSlice(String json, CompiledPath path, JsonSlice slice) {
+        try {
+            return slice(node(mapper.readTree(json), path), slice);
+        } catch (Exception e) {
+            slice.clear();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean getJsonSlice(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        try {
+            return slice(node(mapper.readTree(json, offset, length), path), slice);
+        } catch (Exception e) {
+            slice.clear();
+            return false;
+        }
+    }
+
+    // Tree nodes keep no input offsets and containers would have to be written out again, so raw values come from
+    // a token walk over the mapper's parser that skips everything but the path
+
+    @Override
+    public String getJsonRaw(String json, CompiledPath path) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            return JacksonStreamingParser.raw(parser, json, path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String getJsonRaw(byte[] json, int offset, int length, CompiledPath path) {
+        try (JsonParser parser = mapper.createParser(json, offset, length)) {
+            return JacksonStreamingParser.raw(parser, json, offset, path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public boolean getJsonRaw(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        try (JsonParser parser = mapper.createParser(json, offset, length)) {
+            if (JacksonStreamingParser.raw(parser, json, offset, path, slice)) {
+                return true;
             }
-            
-            JsonPointer pointer = JsonPointer.compile(jsonPointerPath);
-            JsonNode current = root.at(pointer);
-            
-            if (current.isMissingNode()) {
-                return "";
+        } catch (Exception e) {
+            // Not found
+        }
+        slice.clear();
+        return false;
+    }
+
+    // Counting a map's fields from the tree would build a node for every one of them first, so length and type
+    // walk the mapper's tokens like raw values do
+
+    @Override
+    public int getJsonLength(String json, CompiledPath path) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            return JacksonStreamingParser.length(parser, path);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public int getJsonLength(byte[] json, int offset, int length, CompiledPath path) {
+        try (JsonParser parser = mapper.createParser(json, offset, length)) {
+            return JacksonStreamingParser.length(parser, path);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public JsonType getJsonType(String json, CompiledPath path) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            return JacksonStreamingParser.type(parser, path);
+        } catch (Exception e) {
+            return JsonType.NONE;
+        }
+    }
+
+    @Override
+    public String[] getJsonKeys(String json, CompiledPath path) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            return JacksonStreamingParser.keys(parser, path, symbols.get());
+        } catch (Exception e) {
+            return KeySymbols.NO_KEYS;
+        }
+    }
+
+    @Override
+    public int[] getJsonArrayOffsets(String json, CompiledPath path) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            return JacksonStreamingParser.elements(parser, path, false, 0);
+        } catch (Exception e) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+    }
+
+    @Override
+    public JsonType getJsonType(byte[] json, int offset, int length, CompiledPath path) {
+        try (JsonParser parser = mapper.createParser(json, offset, length)) {
+            return JacksonStreamingParser.type(parser, path);
+        } catch (Exception e) {
+            return JsonType.NONE;
+        }
+    }
+
+    @Override
+    public String[] getJsonKeys(byte[] json, int offset, int length, CompiledPath path) {
+        try (JsonParser parser = mapper.createParser(json, offset, length)) {
+            return JacksonStreamingParser.keys(parser, path, symbols.get());
+        } catch (Exception e) {
+            return KeySymbols.NO_KEYS;
+        }
+    }
+
+    @Override
+    public int[] getJsonArrayOffsets(byte[] json, int offset, int length, CompiledPath path) {
+        try (JsonParser parser = mapper.createParser(json, offset, length)) {
+            return JacksonStreamingParser.elements(parser, path, true, offset);
+        } catch (Exception e) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+    }
+
+    // Typed values are read from the tree's number and boolean nodes, without rendering them as text
+
+    @Override
+    public long getJsonLong(String json, CompiledPath path, long defaultValue) {
+        try {
+            return longValue(node(mapper.readTree(json), path), defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public double getJsonDouble(String json, CompiledPath path, double defaultValue) {
+        try {
+            return doubleValue(node(mapper.readTree(json), path), defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public boolean getJsonBoolean(String json, CompiledPath path, boolean defaultValue) {
+        try {
+            return booleanValue(node(mapper.readTree(json), path), defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public long getJsonLong(byte[] json, int offset, int length, CompiledPath path, long defaultValue) {
+        try {
+            return longValue(node(mapper.readTree(json, offset, length), path), defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public double getJsonDouble(byte[] json, int offset, int length, CompiledPath path, double defaultValue) {
+        try {
+            return doubleValue(node(mapper.readTree(json, offset, length), path), defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public boolean getJsonBoolean(byte[] json, int offset, int length, CompiledPath path, boolean defaultValue) {
+        try {
+            return booleanValue(node(mapper.readTree(json, offset, length), path), defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    // One tree per document, walked once per path
+
+    @Override
+    public String[] extractAll(String json, CompiledPath... paths) {
+        String[] values = new String[paths.length];
+        Arrays.fill(values, "");
+        try {
+            JsonNode root = mapper.readTree(json);
+            for (int i = 0; i < paths.length; i++) {
+                values[i] = extract(root, paths[i]);
             }
-            
-            // Handle different value types
-            if (current.isValueNode()) {
-                if (current.isNull()) {
-                    return "";
-                }
-                return current.asText();
+        } catch (Exception e) {
+            // Not parseable: nothing found
+        }
+        return values;
+    }
+
+    @Override
+    public String[] extractAll(byte[] json, int offset, int length, CompiledPath... paths) {
+        String[] values = new String[paths.length];
+        Arrays.fill(values, "");
+        try {
+            JsonNode root = mapper.readTree(json, offset, length);
+            for (int i = 0; i < paths.length; i++) {
+                values[i] = extract(root, paths[i]);
             }
-            
-            // For complex types (arrays/objects), return empty string
+        } catch (Exception e) {
+            // Not parseable: nothing found
+        }
+        return values;
+    }
+
+    // The tree isValidJson builds also answers the key check and the projection
+
+    @Override
+    public FilterResult filterAndExtract(String json, String key, CompiledPath path) {
+        String trimmed = json == null ? "" : json.trim();
+        // Only accept objects and arrays as valid JSON
+        if (!trimmed.startsWith("{") && !trimmed.startsWith("[")) {
+            return FilterResult.INVALID;
+        }
+        try {
+            return filter(mapper.readTree(json), key, path);
+        } catch (JsonProcessingException e) {
+            return FilterResult.INVALID;
+        }
+    }
+
+    @Override
+    public FilterResult filterAndExtract(byte[] json, int offset, int length, String key, CompiledPath path) {
+        if (json == null) {
+            return FilterResult.INVALID;
+        }
+        int start = JsonBytes.skipWhitespace(json, offset, offset + length);
+        // Only accept objects and arrays as valid JSON
+        if (start == offset + length || (json[start] != '{' && json[start] != '[')) {
+            return FilterResult.INVALID;
+        }
+        try {
+            return filter(mapper.readTree(json, offset, length), key, path);
+        } catch (IOException e) {
+            return FilterResult.INVALID;
+        }
+    }
+
+    // Direct buffers are streamed through Jackson's recycled input buffer rather than copied onto the heap whole
+
+    @Override
+    public boolean isValidJson(ByteBuffer json) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.isValidJson(json);
+        }
+        int start = ByteBuffers.skipWhitespace(json);
+        // Only accept objects and arrays as valid JSON
+        if (start == json.limit() || (json.get(start) != '{' && json.get(start) != '[')) {
+            return false;
+        }
+        
+        try {
+            mapper.readTree(new ByteBufferBackedInputStream(json.duplicate()));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean hasJsonKey(ByteBuffer json, String key) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.hasJsonKey(json, key);
+        }
+        try {
+            JsonNode node = mapper.readTree(new ByteBufferBackedInputStream(json.duplicate()));
+            return node.isObject() && node.has(key);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getJsonValue(ByteBuffer json, String path) {
+        try {
+            return getJsonValue(json, CompiledPath.compile(path));
+        } catch (Exception e) {
             return "";
-            
+        }
+    }
+
+    @Override
+    public String getJsonValue(ByteBuffer json, CompiledPath path) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.getJsonValue(json, path);
+        }
+        try {
+            return extract(mapper.readTree(new ByteBufferBackedInputStream(json.duplicate())), path);
         } catch (Exception e) {
             return "";
         }
     }
 
+    private static FilterResult filter(JsonNode root, String key, CompiledPath path) {
+        if (key == null || !root.isObject() || !root.has(key)) {
+            return FilterResult.NO_KEY;
+        }
+        return FilterResult.match(path == null ? "" : extract(root, path));
+    }
+
+    private static String extract(JsonNode current, CompiledPath path) {
+        current = node(current, path);
+        if (current == null || current.isMissingNode()) {
+            return "";
+        }
+        
+        // Handle different value types
+        if (current.isValueNode()) {
+            if (current.isNull()) {
+                return "";
+            }
+            return current.asText();
+        }
+        
+        // For complex types (arrays/objects), return empty string
+        return "";
+    }
+
+    private static JsonNode node(JsonNode current, CompiledPath path) {
+        // Walk the compiled segments: object keys on objects, indices on arrays
+        for (int s = 0; s < path.size() && current != null; s++) {
+            if (path.isIndex(s)) {
+                current = current.isArray() ? current.get(path.index(s)) : null;
+            } else {
+                current = current.isObject() ? current.get(path.name(s)) : null;
+            }
+        }
+        return current;
+    }
+
+    private static boolean slice(JsonNode node, JsonSlice slice) {
+        if (node == null || !node.isValueNode() || node.isNull()) {
+            slice.clear();
+            return false;
+        }
+        String text = node.isTextual() ? node.textValue() : node.asText();
+        slice.set(text, 0, text.length());
+        return true;
+    }
+
+    private static long longValue(JsonNode node, long defaultValue) {
+        return node != null && node.isIntegralNumber() && node.canConvertToLong() ? node.longValue() : defaultValue;
+    }
+
+    private static double doubleValue(JsonNode node, double defaultValue) {
+        return node != null && node.isNumber() ? node.doubleValue() : defaultValue;
+    }
+
+    private static boolean booleanValue(JsonNode node, boolean defaultValue) {
+        return node != null && node.isBoolean() ? node.booleanValue() : defaultValue;
+    }
+
     @Override
     public String getName() {
         return "JacksonDOM";
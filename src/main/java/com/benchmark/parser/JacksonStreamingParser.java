@@ -1,14 +1,22 @@
 package com.benchmark.parser;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 public class JacksonStreamingParser implements JsonParserInterface {
     private static final JsonFactory factory = new JsonFactory();
+    private final ThreadLocal<KeySymbols> symbols = ThreadLocal.withInitial(KeySymbols::new);
 
     @Override
     public boolean isValidJson(String json) {
@@ -23,11 +31,7 @@ public class JacksonStreamingParser implements JsonParserInterface {
         }
         
         try {
-            JsonParser parser = factory.createParser(json);
-            while (parser.nextToken() != null) {
-                // Keep parsing until the end to validate the entire content
-            }
-            return true;
+            return readToEnd(factory.createParser(json));
         } catch (IOException e) {
             return false;
         }
@@ -36,96 +40,1002 @@ public class JacksonStreamingParser implements JsonParserInterface {
     @Override
     public boolean hasJsonKey(String json, String key) {
         try (JsonParser parser = factory.createParser(json)) {
-            if (parser.nextToken() != JsonToken.START_OBJECT) {
-                return false;
+            return hasKey(parser, key);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * seek descends only into the field or element on the path and skipChildren past the others, so the
+     * cost depends on what precedes the path, not on the size of the document
+     */
+    @Override
+    public boolean hasJsonKey(String json, CompiledPath path) {
+        if (path != null && path.size() == 0) {
+            return isValidJson(json);
+        }
+        try (JsonParser parser = factory.createParser(json)) {
+            return seek(parser, path) != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getJsonValue(String json, String path) {
+        try {
+            return getJsonValue(json, CompiledPath.compile(path));
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String getJsonValue(String json, CompiledPath path) {
+        try (JsonParser parser = factory.createParser(json)) {
+            return extract(parser, path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public boolean getJsonSlice(String json, CompiledPath path, JsonSlice slice) {
+        try (JsonParser parser = factory.createParser(json)) {
+            if (slice(parser, path, slice)) {
+                return true;
+            }
+        } catch (Exception e) {
+            // Not found
+        }
+        slice.clear();
+        return false;
+    }
+
+    @Override
+    public String getJsonRaw(String json, CompiledPath path) {
+        try (JsonParser parser = factory.createParser(json)) {
+            return raw(parser, json, path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public int getJsonLength(String json, CompiledPath path) {
+        try (JsonParser parser = factory.createParser(json)) {
+            return length(parser, path);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public JsonType getJsonType(String json, CompiledPath path) {
+        try (JsonParser parser = factory.createParser(json)) {
+            return type(parser, path);
+        } catch (Exception e) {
+            return JsonType.NONE;
+        }
+    }
+
+    @Override
+    public String[] getJsonKeys(String json, CompiledPath path) {
+        try (JsonParser parser = factory.createParser(json)) {
+            return keys(parser, path, symbols.get());
+        } catch (Exception e) {
+            return KeySymbols.NO_KEYS;
+        }
+    }
+
+    @Override
+    public int[] getJsonArrayOffsets(String json, CompiledPath path) {
+        try (JsonParser parser = factory.createParser(json)) {
+            return elements(parser, path, false, 0);
+        } catch (Exception e) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+    }
+
+    @Override
+    public long getJsonLong(String json, CompiledPath path, long defaultValue) {
+        try (JsonParser parser = factory.createParser(json)) {
+            return longValue(parser, path, defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public double getJsonDouble(String json, CompiledPath path, double defaultValue) {
+        try (JsonParser parser = factory.createParser(json)) {
+            return doubleValue(parser, path, defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public boolean getJsonBoolean(String json, CompiledPath path, boolean defaultValue) {
+        try (JsonParser parser = factory.createParser(json)) {
+            return booleanValue(parser, path, defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public boolean getJsonLong(String json, CompiledPath path, JsonScalar result) {
+        try (JsonParser parser = factory.createParser(json)) {
+            return longValue(parser, path, result);
+        } catch (Exception e) {
+            return result.missing();
+        }
+    }
+
+    @Override
+    public boolean getJsonDouble(String json, CompiledPath path, JsonScalar result) {
+        try (JsonParser parser = factory.createParser(json)) {
+            return doubleValue(parser, path, result);
+        } catch (Exception e) {
+            return result.missing();
+        }
+    }
+
+    @Override
+    public boolean getJsonBoolean(String json, CompiledPath path, JsonScalar result) {
+        try (JsonParser parser = factory.createParser(json)) {
+            return booleanValue(parser, path, result);
+        } catch (Exception e) {
+            return result.missing();
+        }
+    }
+
+    // byte[] inputs go straight to the UTF-8 parser, without decoding to a String first
+
+    @Override
+    public boolean isValidJson(byte[] json, int offset, int length) {
+        if (json == null) {
+            return false;
+        }
+        int start = JsonBytes.skipWhitespace(json, offset, offset + length);
+        // Only accept objects and arrays as valid JSON
+        if (start == offset + length || (json[start] != '{' && json[start] != '[')) {
+            return false;
+        }
+        
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return readToEnd(parser);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean hasJsonKey(byte[] json, int offset, int length, String key) {
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return hasKey(parser, key);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean hasJsonKey(byte[] json, int offset, int length, CompiledPath path) {
+        if (path != null && path.size() == 0) {
+            return isValidJson(json, offset, length);
+        }
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return seek(parser, path) != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, String path) {
+        try {
+            return getJsonValue(json, offset, length, CompiledPath.compile(path));
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, CompiledPath path) {
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return extract(parser, path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public boolean getJsonSlice(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            if (slice(parser, path, slice)) {
+                return true;
+            }
+        } catch (Exception e) {
+            // Not found
+        }
+        slice.clear();
+        return false;
+    }
+
+    @Override
+    public String getJsonRaw(byte[] json, int offset, int length, CompiledPath path) {
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return raw(parser, json, offset, path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public boolean getJsonRaw(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            if (raw(parser, json, offset, path, slice)) {
+                return true;
+            }
+        } catch (Exception e) {
+            // Not found
+        }
+        slice.clear();
+        return false;
+    }
+
+    @Override
+    public int getJsonLength(byte[] json, int offset, int length, CompiledPath path) {
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return length(parser, path);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public JsonType getJsonType(byte[] json, int offset, int length, CompiledPath path) {
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return type(parser, path);
+        } catch (Exception e) {
+            return JsonType.NONE;
+        }
+    }
+
+    @Override
+    public String[] getJsonKeys(byte[] json, int offset, int length, CompiledPath path) {
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return keys(parser, path, symbols.get());
+        } catch (Exception e) {
+            return KeySymbols.NO_KEYS;
+        }
+    }
+
+    @Override
+    public int[] getJsonArrayOffsets(byte[] json, int offset, int length, CompiledPath path) {
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return elements(parser, path, true, offset);
+        } catch (Exception e) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+    }
+
+    @Override
+    public long getJsonLong(byte[] json, int offset, int length, CompiledPath path, long defaultValue) {
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return longValue(parser, path, defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public double getJsonDouble(byte[] json, int offset, int length, CompiledPath path, double defaultValue) {
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return doubleValue(parser, path, defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public boolean getJsonBoolean(byte[] json, int offset, int length, CompiledPath path, boolean defaultValue) {
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return booleanValue(parser, path, defaultValue);
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public boolean getJsonLong(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return longValue(parser, path, result);
+        } catch (Exception e) {
+            return result.missing();
+        }
+    }
+
+    @Override
+    public boolean getJsonDouble(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return doubleValue(parser, path, result);
+        } catch (Exception e) {
+            return result.missing();
+        }
+    }
+
+    @Override
+    public boolean getJsonBoolean(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return booleanValue(parser, path, result);
+        } catch (Exception e) {
+            return result.missing();
+        }
+    }
+
+    // All paths are resolved in one pass over the token stream, which stops once the last one is found
+
+    @Override
+    public String[] extractAll(String json, CompiledPath... paths) {
+        String[] values = new String[paths.length];
+        Arrays.fill(values, "");
+        try (JsonParser parser = factory.createParser(json)) {
+            collect(parser, paths, values);
+        } catch (Exception e) {
+            // Malformed input: paths not reached before the error are not found
+        }
+        return values;
+    }
+
+    @Override
+    public String[] extractAll(byte[] json, int offset, int length, CompiledPath... paths) {
+        String[] values = new String[paths.length];
+        Arrays.fill(values, "");
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            collect(parser, paths, values);
+        } catch (Exception e) {
+            // Malformed input: paths not reached before the error are not found
+        }
+        return values;
+    }
+
+    // One pass over the token stream validates, checks the key and extracts the value
+
+    @Override
+    public FilterResult filterAndExtract(String json, String key, CompiledPath path) {
+        String trimmed = json == null ? "" : json.trim();
+        // Only accept objects and arrays as valid JSON
+        if (!trimmed.startsWith("{") && !trimmed.startsWith("[")) {
+            return FilterResult.INVALID;
+        }
+        try (JsonParser parser = factory.createParser(json)) {
+            return filter(parser, key, path);
+        } catch (IOException e) {
+            return FilterResult.INVALID;
+        }
+    }
+
+    @Override
+    public FilterResult filterAndExtract(byte[] json, int offset, int length, String key, CompiledPath path) {
+        if (json == null) {
+            return FilterResult.INVALID;
+        }
+        int start = JsonBytes.skipWhitespace(json, offset, offset + length);
+        // Only accept objects and arrays as valid JSON
+        if (start == offset + length || (json[start] != '{' && json[start] != '[')) {
+            return FilterResult.INVALID;
+        }
+        try (JsonParser parser = factory.createParser(json, offset, length)) {
+            return filter(parser, key, path);
+        } catch (IOException e) {
+            return FilterResult.INVALID;
+        }
+    }
+
+    /**
+     * Field names are matched against SerializedStrings built once per query: nextFieldName compares the input
+     * with their pre-encoded form instead of first canonicalizing the name.
+     */
+    @Override
+    public JsonQuery prepare(JsonQuery.Operation operation, CompiledPath path) {
+        if (operation == JsonQuery.Operation.IS_VALID) {
+            return JsonParserInterface.super.prepare(operation, path);
+        }
+        SerializableString[] names = new SerializableString[path.size()];
+        for (int s = 0; s < names.length; s++) {
+            names[s] = path.isIndex(s) ? null : new SerializedString(path.name(s));
+        }
+        return new JsonQuery(this, operation, path) {
+            @Override
+            boolean hasKey(String json) {
+                try (JsonParser parser = factory.createParser(json)) {
+                    return JacksonStreamingParser.hasKey(parser, names[0]);
+                } catch (Exception e) {
+                    return false;
+                }
+            }
+
+            @Override
+            boolean hasKey(byte[] json, int offset, int length) {
+                try (JsonParser parser = factory.createParser(json, offset, length)) {
+                    return JacksonStreamingParser.hasKey(parser, names[0]);
+                } catch (Exception e) {
+                    return false;
+                }
+            }
+
+            @Override
+            String value(String json) {
+                try (JsonParser parser = factory.createParser(json)) {
+                    return scalar(parser, seek(parser, path, names));
+                } catch (Exception e) {
+                    return "";
+                }
             }
-            
-            while (parser.nextToken() != JsonToken.END_OBJECT) {
-                String fieldName = parser.getCurrentName();
-                if (key.equals(fieldName)) {
-                    return true;
+
+            @Override
+            String value(byte[] json, int offset, int length) {
+                try (JsonParser parser = factory.createParser(json, offset, length)) {
+                    return scalar(parser, seek(parser, path, names));
+                } catch (Exception e) {
+                    return "";
                 }
-                parser.nextToken(); // Skip value
-                parser.skipChildren(); // Skip nested objects/arrays
             }
+        };
+    }
+
+    // Direct buffers are streamed through Jackson's recycled input buffer rather than copied onto the heap whole
+
+    @Override
+    public boolean isValidJson(ByteBuffer json) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.isValidJson(json);
+        }
+        int start = ByteBuffers.skipWhitespace(json);
+        // Only accept objects and arrays as valid JSON
+        if (start == json.limit() || (json.get(start) != '{' && json.get(start) != '[')) {
             return false;
+        }
+        
+        try (JsonParser parser = factory.createParser(new ByteBufferBackedInputStream(json.duplicate()))) {
+            return readToEnd(parser);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean hasJsonKey(ByteBuffer json, String key) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.hasJsonKey(json, key);
+        }
+        try (JsonParser parser = factory.createParser(new ByteBufferBackedInputStream(json.duplicate()))) {
+            return hasKey(parser, key);
         } catch (Exception e) {
             return false;
         }
     }
 
     @Override
-    public String getJsonValue(String json, String path) {
-        try (JsonParser parser = factory.createParser(json)) {
-            // Remove the leading "$." if present
-            String normalizedPath = path.startsWith("$.") ? path.substring(2) : path;
-            String[] segments = normalizedPath.split("\\.");
-            int currentSegment = 0;
-            
-            JsonToken token = parser.nextToken();
-            while (token != null && currentSegment < segments.length) {
-                String segment = segments[currentSegment];
-                
-                // Handle array access
-                if (segment.contains("[") && segment.contains("]")) {
-                    String arrayName = segment.substring(0, segment.indexOf('['));
-                    int targetIndex = Integer.parseInt(segment.substring(segment.indexOf('[') + 1, segment.indexOf(']')));
-                    
-                    // Find the array field
-                    while (token != null) {
-                        if (token == JsonToken.FIELD_NAME && arrayName.equals(parser.getCurrentName())) {
-                            token = parser.nextToken(); // Move to array start
-                            if (token != JsonToken.START_ARRAY) return "";
-                            
-                            // Skip to target index
-                            int currentIndex = 0;
-                            while (currentIndex < targetIndex) {
-                                parser.skipChildren();
-                                token = parser.nextToken();
-                                if (token == JsonToken.END_ARRAY) return "";
-                                currentIndex++;
-                            }
-                            currentSegment++;
-                            break;
-                        }
-                        token = parser.nextToken();
-                        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
-                            parser.skipChildren();
-                        }
-                    }
+    public String getJsonValue(ByteBuffer json, String path) {
+        try {
+            return getJsonValue(json, CompiledPath.compile(path));
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String getJsonValue(ByteBuffer json, CompiledPath path) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.getJsonValue(json, path);
+        }
+        try (JsonParser parser = factory.createParser(new ByteBufferBackedInputStream(json.duplicate()))) {
+            return extract(parser, path);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    private static boolean readToEnd(JsonParser parser) throws IOException {
+        while (parser.nextToken() != null) {
+            // Keep parsing until the end to validate the entire content
+        }
+        return true;
+    }
+
+    private static boolean hasKey(JsonParser parser, String key) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        
+        while (parser.nextToken() != JsonToken.END_OBJECT) {
+            String fieldName = parser.getCurrentName();
+            if (key.equals(fieldName)) {
+                return true;
+            }
+            parser.nextToken(); // Skip value
+            parser.skipChildren(); // Skip nested objects/arrays
+        }
+        return false;
+    }
+
+    /**
+     * Read every token as readToEnd does. The first document's top-level field names are compared with the key,
+     * and the path is followed the way seek does: into the first matching field or element only, after which
+     * it is settled whether or not the value was found.
+     */
+    private static FilterResult filter(JsonParser parser, String key, CompiledPath path) throws IOException {
+        JsonToken token = parser.nextToken();
+        boolean object = token == JsonToken.START_OBJECT;
+        boolean hasKey = false;
+        String value = "";
+        // Depth of the container the next path segment is looked up in; 0 once the path is settled
+        int pathDepth = path == null ? 0 : 1;
+        int segment = 0;
+        int element = 0;
+        boolean fieldMatched = false;
+        if (path != null && (path.size() == 0 || !opens(token, path, 0))) {
+            pathDepth = 0;
+        }
+        int depth = 1;
+        while (depth > 0 && (token = parser.nextToken()) != null) {
+            if (token == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                if (depth == 1 && object && name.equals(key)) {
+                    hasKey = true;
+                }
+                fieldMatched = depth == pathDepth && name.equals(path.name(segment));
+                continue;
+            }
+            if (token.isStructEnd()) {
+                if (depth-- == pathDepth) {
+                    pathDepth = 0;
+                }
+                continue;
+            }
+            if (depth == pathDepth && (fieldMatched || (path.isIndex(segment) && element++ == path.index(segment)))) {
+                // This is the value the segment addresses
+                fieldMatched = false;
+                if (segment == path.size() - 1) {
+                    value = scalar(parser, token);
+                    pathDepth = 0;
+                } else if (opens(token, path, segment + 1)) {
+                    segment++;
+                    element = 0;
+                    pathDepth = depth + 1;
                 } else {
-                    // Find the field
-                    while (token != null) {
-                        if (token == JsonToken.FIELD_NAME && segment.equals(parser.getCurrentName())) {
-                            if (currentSegment == segments.length - 1) {
-                                // This is the target field, get its value
-                                token = parser.nextToken();
-                                if (token == JsonToken.VALUE_NULL) {
-                                    return "";
-                                }
-                                if (token.isScalarValue()) {
-                                    return parser.getValueAsString();
-                                }
-                                return ""; // Non-scalar value
-                            }
-                            currentSegment++;
-                            break;
-                        }
-                        token = parser.nextToken();
-                        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
-                            parser.skipChildren();
-                        }
-                    }
+                    pathDepth = 0;
                 }
-                
-                if (token == null) return "";
-                token = parser.nextToken();
             }
-            
+            if (token.isStructStart()) {
+                depth++;
+            }
+        }
+        readToEnd(parser);
+        if (!hasKey) {
+            return FilterResult.NO_KEY;
+        }
+        return FilterResult.match(value);
+    }
+
+    /**
+     * @return true if the token starts the kind of container path segment {@code s} looks into
+     */
+    private static boolean opens(JsonToken token, CompiledPath path, int s) {
+        return token == (path.isIndex(s) ? JsonToken.START_ARRAY : JsonToken.START_OBJECT);
+    }
+
+    private static boolean hasKey(JsonParser parser, SerializableString key) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (!parser.nextFieldName(key)) {
+            if (parser.currentToken() != JsonToken.FIELD_NAME) {
+                return false;
+            }
+            parser.nextToken(); // Skip value
+            parser.skipChildren(); // Skip nested objects/arrays
+        }
+        return true;
+    }
+
+    private static String extract(JsonParser parser, CompiledPath path) throws IOException {
+        return scalar(parser, seek(parser, path));
+    }
+
+    /**
+     * @return The text of the scalar value token, or "" for null, containers and no token
+     */
+    private static String scalar(JsonParser parser, JsonToken token) throws IOException {
+        if (token == null || token == JsonToken.VALUE_NULL) {
             return "";
-        } catch (Exception e) {
+        }
+        if (token.isScalarValue()) {
+            return parser.getValueAsString();
+        }
+        return ""; // Non-scalar value
+    }
+
+    /**
+     * Move to the value a path addresses.
+     * @return The value token, or null if the path does not resolve
+     */
+    private static JsonToken seek(JsonParser parser, CompiledPath path) throws IOException {
+        JsonToken token = parser.nextToken();
+        for (int s = 0; s < path.size() && token != null; s++) {
+            if (path.isIndex(s)) {
+                token = seekElement(parser, token, path.index(s));
+            } else {
+                token = seekField(parser, token, path.name(s));
+            }
+        }
+        return token;
+    }
+
+    /**
+     * As {@link #seek(JsonParser, CompiledPath)}, matching field names with the query's SerializedStrings
+     */
+    private static JsonToken seek(JsonParser parser, CompiledPath path, SerializableString[] names)
+            throws IOException {
+        JsonToken token = parser.nextToken();
+        for (int s = 0; s < path.size() && token != null; s++) {
+            if (path.isIndex(s)) {
+                token = seekElement(parser, token, path.index(s));
+            } else {
+                token = seekField(parser, token, names[s]);
+            }
+        }
+        return token;
+    }
+
+    /**
+     * Copy the token's text from the parser's buffer into the slice: the buffer is recycled on close,
+     * but no String is built.
+     */
+    private static boolean slice(JsonParser parser, CompiledPath path, JsonSlice slice) throws IOException {
+        JsonToken token = seek(parser, path);
+        if (token == null || token == JsonToken.VALUE_NULL || !token.isScalarValue()) {
+            return false;
+        }
+        slice.set(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        return true;
+    }
+
+    // Raw values are cut from the input between the token locations Jackson reports. These helpers are shared with
+    // JacksonDomParser, whose nodes keep no input offsets
+
+    static String raw(JsonParser parser, String json, CompiledPath path) throws IOException {
+        int start = skipRaw(parser, path, false);
+        return start < 0 ? "" : json.substring(start, offset(parser.currentLocation(), false));
+    }
+
+    /**
+     * @param offset Where the parser's input starts in the buffer; its byte offsets count from there
+     */
+    static String raw(JsonParser parser, byte[] json, int offset, CompiledPath path) throws IOException {
+        int start = skipRaw(parser, path, true);
+        if (start < 0) {
             return "";
         }
+        return new String(json, offset + start, offset(parser.currentLocation(), true) - start,
+            StandardCharsets.UTF_8);
+    }
+
+    static boolean raw(JsonParser parser, byte[] json, int offset, CompiledPath path, JsonSlice slice)
+            throws IOException {
+        int start = skipRaw(parser, path, true);
+        if (start < 0) {
+            return false;
+        }
+        slice.set(json, offset + start, offset(parser.currentLocation(), true) - start);
+        return true;
+    }
+
+    /**
+     * Elements end where raw extraction ends a value, after skipChildren or finishToken
+     * @param offset Where the parser's input starts in the buffer, added to its offsets; 0 for String input
+     */
+    static int[] elements(JsonParser parser, CompiledPath path, boolean bytes, int offset) throws IOException {
+        if (seek(parser, path) != JsonToken.START_ARRAY) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+        int[] offsets = new int[16];
+        int n = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                return JsonBytes.NO_ELEMENTS;
+            }
+            offsets = JsonBytes.grow(offsets, n);
+            offsets[n++] = offset + offset(parser.currentTokenLocation(), bytes);
+            if (token.isStructStart()) {
+                parser.skipChildren();
+            } else {
+                parser.finishToken();
+            }
+            offsets[n++] = offset + offset(parser.currentLocation(), bytes);
+        }
+        return Arrays.copyOf(offsets, n);
+    }
+
+    /**
+     * Move to the value a path addresses and past its end: skipChildren for containers, finishToken for scalars.
+     * finishToken reads a string into the parser's text buffer but builds no String.
+     * @return Offset of the value's first char, or first byte for byte[] input, or -1 if the path does not resolve
+     */
+    private static int skipRaw(JsonParser parser, CompiledPath path, boolean bytes) throws IOException {
+        JsonToken token = seek(parser, path);
+        if (token == null) {
+            return -1;
+        }
+        int start = offset(parser.currentTokenLocation(), bytes);
+        if (token.isStructStart()) {
+            parser.skipChildren();
+        } else {
+            parser.finishToken();
+        }
+        return start;
+    }
+
+    /**
+     * @return Char or byte offset of a location, counted from the start of the parser's input
+     */
+    private static int offset(JsonLocation location, boolean bytes) {
+        return (int) (bytes ? location.getByteOffset() : location.getCharOffset());
+    }
+
+    // Length and type read the container's own tokens only: skipChildren passes over each element, and the
+    // text of a string token is never read. Also used by JacksonDomParser.
+
+    static int length(JsonParser parser, CompiledPath path) throws IOException {
+        JsonToken token = seek(parser, path);
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+            return 0;
+        }
+        JsonToken close = token == JsonToken.START_OBJECT ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+        int n = 0;
+        while ((token = parser.nextToken()) != close) {
+            if (token == null) {
+                return 0;
+            }
+            if (token == JsonToken.FIELD_NAME) {
+                parser.nextToken();
+            }
+            parser.skipChildren();
+            n++;
+        }
+        return n;
+    }
+
+    static JsonType type(JsonParser parser, CompiledPath path) throws IOException {
+        return type(seek(parser, path));
+    }
+
+    private static JsonType type(JsonToken token) {
+        if (token == null) {
+            return JsonType.NONE;
+        }
+        switch (token) {
+            case START_OBJECT:
+                return JsonType.OBJECT;
+            case START_ARRAY:
+                return JsonType.ARRAY;
+            case VALUE_STRING:
+                return JsonType.STRING;
+            case VALUE_NUMBER_INT:
+                return JsonType.INTEGER;
+            case VALUE_NUMBER_FLOAT:
+                return JsonType.DOUBLE;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return JsonType.BOOLEAN;
+            case VALUE_NULL:
+                return JsonType.NULL;
+            default:
+                return JsonType.NONE;
+        }
+    }
+
+    /**
+     * Field names come from the factory's own symbol table, which canonicalizes them across parsers, so a
+     * repeated name is already the same String instance; {@code keys} only collects them
+     */
+    static String[] keys(JsonParser parser, CompiledPath path, KeySymbols keys) throws IOException {
+        if (seek(parser, path) != JsonToken.START_OBJECT) {
+            return KeySymbols.NO_KEYS;
+        }
+        keys.clear();
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            keys.add(parser.currentName());
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return token == JsonToken.END_OBJECT ? keys.toArray() : KeySymbols.NO_KEYS;
+    }
+
+    // Typed values come from the parser's own number decoding, without building the text of the token
+
+    private static long longValue(JsonParser parser, CompiledPath path, long defaultValue) throws IOException {
+        JsonToken token = seek(parser, path);
+        if (token != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+            return defaultValue;
+        }
+        return parser.getLongValue();
+    }
+
+    private static double doubleValue(JsonParser parser, CompiledPath path, double defaultValue) throws IOException {
+        JsonToken token = seek(parser, path);
+        return token != null && token.isNumeric() ? parser.getDoubleValue() : defaultValue;
+    }
+
+    private static boolean booleanValue(JsonParser parser, CompiledPath path, boolean defaultValue)
+            throws IOException {
+        JsonToken token = seek(parser, path);
+        return token != null && token.isBoolean() ? token == JsonToken.VALUE_TRUE : defaultValue;
+    }
+
+    private static boolean longValue(JsonParser parser, CompiledPath path, JsonScalar result) throws IOException {
+        JsonToken token = seek(parser, path);
+        if (token != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+            return result.mismatch(type(token));
+        }
+        return result.setLong(parser.getLongValue());
+    }
+
+    private static boolean doubleValue(JsonParser parser, CompiledPath path, JsonScalar result) throws IOException {
+        JsonToken token = seek(parser, path);
+        if (token == null || !token.isNumeric()) {
+            return result.mismatch(type(token));
+        }
+        return result.setDouble(parser.getDoubleValue(), type(token));
+    }
+
+    private static boolean booleanValue(JsonParser parser, CompiledPath path, JsonScalar result) throws IOException {
+        JsonToken token = seek(parser, path);
+        return token != null && token.isBoolean()
+            ? result.setBoolean(token == JsonToken.VALUE_TRUE)
+            : result.mismatch(type(token));
+    }
+
+    /**
+     * Move from START_OBJECT to the value of the named field, skipping the other fields' values.
+     * @return The value token, or null if the current token is not an object or the field is missing
+     */
+    private static JsonToken seekField(JsonParser parser, JsonToken token, String name) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            return null;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            boolean match = name.equals(parser.getCurrentName());
+            token = parser.nextToken();
+            if (match) {
+                return token;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private static JsonToken seekField(JsonParser parser, JsonToken token, SerializableString name)
+            throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            return null;
+        }
+        while (!parser.nextFieldName(name)) {
+            if (parser.currentToken() != JsonToken.FIELD_NAME) {
+                return null;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return parser.nextToken();
+    }
+
+    /**
+     * Move from START_ARRAY to the element at the index, skipping the elements before it.
+     * @return The element token, or null if the current token is not an array or the index is out of range
+     */
+    private static JsonToken seekElement(JsonParser parser, JsonToken token, int index) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            return null;
+        }
+        for (int i = 0; ; i++) {
+            token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            if (i == index) {
+                return token;
+            }
+            parser.skipChildren();
+        }
+    }
+
+    private static void collect(JsonParser parser, CompiledPath[] paths, String[] values) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || paths.length == 0) {
+            return;
+        }
+        int[] active = new int[paths.length];
+        for (int i = 0; i < active.length; i++) {
+            active[i] = i;
+        }
+        collect(parser, token, paths, active, active.length, 0, values, paths.length);
+    }
+
+    /**
+     * Resolve the {@code n} paths listed in {@code active}, whose first {@code depth} segments lead to the current
+     * token, leaving the parser on the last token of that value. Like seekField / seekElement, a path follows the
+     * first matching field or element only.
+     * @return Number of paths still unresolved overall; 0 means the caller can stop
+     */
+    private static int collect(JsonParser parser, JsonToken token, CompiledPath[] paths, int[] active, int n,
+                               int depth, String[] values, int remaining) throws IOException {
+        int descend = 0;
+        for (int k = 0; k < n; k++) {
+            int p = active[k];
+            if (paths[p].size() == depth) {
+                if (token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+                    values[p] = parser.getValueAsString();
+                }
+                remaining--;
+            } else {
+                active[descend++] = p;
+            }
+        }
+        if (remaining == 0) {
+            return 0;
+        }
+        if (descend == 0 || !token.isStructStart()) {
+            parser.skipChildren();
+            return remaining;
+        }
+        
+        int[] child = new int[descend];
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                int m = 0;
+                for (int k = 0; k < descend; k++) {
+                    int p = active[k];
+                    if (p >= 0 && !paths[p].isIndex(depth) && name.equals(paths[p].name(depth))) {
+                        child[m++] = p;
+                        active[k] = -1;
+                    }
+                }
+                JsonToken value = parser.nextToken();
+                if (m == 0) {
+                    parser.skipChildren();
+                } else if ((remaining = collect(parser, value, paths, child, m, depth + 1, values, remaining)) == 0) {
+                    return 0;
+                }
+            }
+            return remaining;
+        }
+        for (int i = 0; ; i++) {
+            JsonToken value = parser.nextToken();
+            if (value == null || value == JsonToken.END_ARRAY) {
+                return remaining;
+            }
+            int m = 0;
+            for (int k = 0; k < descend; k++) {
+                int p = active[k];
+                if (p >= 0 && paths[p].isIndex(depth) && paths[p].index(depth) == i) {
+                    child[m++] = p;
+                    active[k] = -1;
+                }
+            }
+            if (m == 0) {
+                parser.skipChildren();
+            } else if ((remaining = collect(parser, value, paths, child, m, depth + 1, values, remaining)) == 0) {
+                return 0;
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,1040 @@
+package com.benchmark.parser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Byte-level building blocks shared by the in-house engines.
+ * All positions are absolute indexes into the buffer and {@code end} is exclusive.
+ * Methods return the position just past what they consumed, or -1 if the input is malformed.
+ */
+final class JsonBytes {
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    static final int[] NO_ELEMENTS = new int[0];
+    // Exactly representable as doubles
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private JsonBytes() {
+    }
+
+    static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    static int skipWhitespace(byte[] b, int pos, int end) {
+        while (pos < end) {
+            byte c = b[pos];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    // ---------------------------------------------------------------------
+    // Validating scanners (RFC 8259)
+    // ---------------------------------------------------------------------
+
+    /**
+     * Validate a string token starting at the opening quote: escapes, control characters and UTF-8.
+     */
+    static int validateString(byte[] b, int pos, int end) {
+        int i = pos + 1;
+        while (i < end) {
+            int c = b[i];
+            if (c == '"') {
+                return i + 1;
+            }
+            if (c == '\\') {
+                if (++i >= end) {
+                    return -1;
+                }
+                switch (b[i]) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                    case 'b':
+                    case 'f':
+                    case 'n':
+                    case 'r':
+                    case 't':
+                        i++;
+                        break;
+                    case 'u':
+                        if (i + 4 >= end || !isHex(b[i + 1]) || !isHex(b[i + 2]) || !isHex(b[i + 3]) || !isHex(b[i + 4])) {
+                            return -1;
+                        }
+                        i += 5;
+                        break;
+                    default:
+                        return -1;
+                }
+            } else if (c >= 0) {
+                if (c < 0x20) {
+                    return -1;
+                }
+                i++;
+            } else {
+                i = validateUtf8(b, i, end);
+                if (i < 0) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Locate why {@link #validateString} rejected the string that starts at {@code pos}
+     * @return Position of the invalid escape, control character or UTF-8 sequence, or -1 if the input ends
+     *         inside the string
+     */
+    static int stringError(byte[] b, int pos, int end) {
+        int i = pos + 1;
+        while (i < end) {
+            int c = b[i];
+            if (c == '\\') {
+                if (i + 1 >= end) {
+                    return -1;
+                }
+                byte escape = b[i + 1];
+                if (escape == 'u') {
+                    if (i + 5 >= end) {
+                        return -1;
+                    }
+                    if (!isHex(b[i + 2]) || !isHex(b[i + 3]) || !isHex(b[i + 4]) || !isHex(b[i + 5])) {
+                        return i;
+                    }
+                    i += 6;
+                } else if (escape == '"' || escape == '\\' || escape == '/' || escape == 'b' || escape == 'f'
+                        || escape == 'n' || escape == 'r' || escape == 't') {
+                    i += 2;
+                } else {
+                    return i;
+                }
+            } else if (c >= 0) {
+                if (c < 0x20) {
+                    return i;
+                }
+                if (c == '"') {
+                    // Not reached for a string validateString rejected
+                    return -1;
+                }
+                i++;
+            } else {
+                int next = validateUtf8(b, i, end);
+                if (next < 0) {
+                    return i;
+                }
+                i = next;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Validate one multi-byte UTF-8 sequence (RFC 3629: no overlongs, surrogates or code points above U+10FFFF).
+     */
+    static int validateUtf8(byte[] b, int i, int end) {
+        int lead = b[i] & 0xFF;
+        if (lead < 0xC2) {
+            return -1;
+        }
+        if (lead < 0xE0) {
+            return i + 1 < end && isContinuation(b[i + 1]) ? i + 2 : -1;
+        }
+        if (lead < 0xF0) {
+            if (i + 2 >= end) {
+                return -1;
+            }
+            int b1 = b[i + 1] & 0xFF;
+            if ((lead == 0xE0 && b1 < 0xA0) || (lead == 0xED && b1 > 0x9F)
+                    || !isContinuation(b1) || !isContinuation(b[i + 2])) {
+                return -1;
+            }
+            return i + 3;
+        }
+        if (lead < 0xF5) {
+            if (i + 3 >= end) {
+                return -1;
+            }
+            int b1 = b[i + 1] & 0xFF;
+            if ((lead == 0xF0 && b1 < 0x90) || (lead == 0xF4 && b1 > 0x8F)
+                    || !isContinuation(b1) || !isContinuation(b[i + 2]) || !isContinuation(b[i + 3])) {
+                return -1;
+            }
+            return i + 4;
+        }
+        return -1;
+    }
+
+    /**
+     * Validate a number token: -?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?
+     */
+    static int validateNumber(byte[] b, int pos, int end) {
+        int i = pos;
+        if (b[i] == '-' && ++i >= end) {
+            return -1;
+        }
+        if (b[i] == '0') {
+            i++;
+        } else if (isDigit(b[i])) {
+            i++;
+            while (i < end && isDigit(b[i])) {
+                i++;
+            }
+        } else {
+            return -1;
+        }
+        if (i < end && b[i] == '.') {
+            int start = ++i;
+            while (i < end && isDigit(b[i])) {
+                i++;
+            }
+            if (i == start) {
+                return -1;
+            }
+        }
+        if (i < end && (b[i] == 'e' || b[i] == 'E')) {
+            i++;
+            if (i < end && (b[i] == '+' || b[i] == '-')) {
+                i++;
+            }
+            int start = i;
+            while (i < end && isDigit(b[i])) {
+                i++;
+            }
+            if (i == start) {
+                return -1;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Validate one of the literals true, false or null.
+     */
+    static int validateLiteral(byte[] b, int pos, int end) {
+        switch (b[pos]) {
+            case 't':
+                return matches(b, pos, end, TRUE);
+            case 'f':
+                return matches(b, pos, end, FALSE);
+            case 'n':
+                return matches(b, pos, end, NULL);
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Validate the string, number or literal token at {@code pos} and check that a delimiter follows it, for
+     * engines that find a scalar by skipping rather than validating
+     * @return End of the token, or -1 if it is malformed or runs into other bytes, as {@code -3"64} and a
+     *         truncated {@code tru} would
+     */
+    static int validateScalar(byte[] b, int pos, int end) {
+        byte c = b[pos];
+        int to = c == '"' ? validateString(b, pos, end)
+            : c == '-' || isDigit(c) ? validateNumber(b, pos, end)
+            : validateLiteral(b, pos, end);
+        return to >= 0 && isDelimiter(b, to, end) ? to : -1;
+    }
+
+    /**
+     * Check the value a non-validating walk has found: a container is returned as it is, a scalar only if
+     * {@link #validateScalar} accepts it
+     * @return pos, or -1 if it is -1 or a malformed scalar starts there
+     */
+    static int checkValue(byte[] b, int pos, int end) {
+        return pos < 0 || b[pos] == '{' || b[pos] == '[' || validateScalar(b, pos, end) >= 0 ? pos : -1;
+    }
+
+    private static int matches(byte[] b, int pos, int end, byte[] literal) {
+        int to = pos + literal.length;
+        if (to > end || !Arrays.equals(b, pos, to, literal, 0, literal.length)) {
+            return -1;
+        }
+        return to;
+    }
+
+    // ---------------------------------------------------------------------
+    // Non-validating skipping (bracket and quote counting only)
+    // ---------------------------------------------------------------------
+
+    /**
+     * Skip a string starting at the opening quote without looking at its content.
+     */
+    static int skipString(byte[] b, int pos, int end) {
+        int i = pos + 1;
+        while (i < end) {
+            byte c = b[i];
+            if (c == '"') {
+                return i + 1;
+            }
+            i += c == '\\' ? 2 : 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Skip any value starting at {@code pos}. Containers are skipped by counting brackets outside strings.
+     */
+    static int skipValue(byte[] b, int pos, int end) {
+        byte c = b[pos];
+        if (c == '"') {
+            return skipString(b, pos, end);
+        }
+        if (c == '{' || c == '[') {
+            return skipContainer(b, pos, end);
+        }
+        return skipScalar(b, pos, end);
+    }
+
+    static int skipContainer(byte[] b, int pos, int end) {
+        int depth = 0;
+        int i = pos;
+        while (i < end) {
+            byte c = b[i];
+            if (c == '"') {
+                i = skipString(b, i, end);
+                if (i < 0) {
+                    return -1;
+                }
+                continue;
+            }
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if ((c == '}' || c == ']') && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * Skip a number or literal: everything up to the next delimiter.
+     */
+    static int skipScalar(byte[] b, int pos, int end) {
+        int i = pos;
+        while (i < end) {
+            byte c = b[i];
+            if (c == ',' || c == '}' || c == ']' || c == ':' || isWhitespace(c)) {
+                break;
+            }
+            i++;
+        }
+        return i == pos ? -1 : i;
+    }
+
+    // ---------------------------------------------------------------------
+    // Navigation
+    // ---------------------------------------------------------------------
+
+    /**
+     * Walk a compiled path from the value at {@code pos}, skipping unrelated siblings.
+     * @return Position of the first byte of the addressed value, or -1 if not found
+     */
+    static int findValue(byte[] b, int pos, int end, CompiledPath path) {
+        pos = skipWhitespace(b, pos, end);
+        for (int s = 0; s < path.size() && pos >= 0; s++) {
+            if (pos >= end) {
+                return -1;
+            }
+            pos = path.isIndex(s)
+                ? findElement(b, pos, end, path.index(s))
+                : findField(b, pos, end, path.nameBytes(s));
+        }
+        return pos < end ? pos : -1;
+    }
+
+    /**
+     * Find a field in the object starting at {@code pos}.
+     * @return Position of the field's value, or -1
+     */
+    static int findField(byte[] b, int pos, int end, byte[] key) {
+        if (b[pos] != '{') {
+            return -1;
+        }
+        pos = skipWhitespace(b, pos + 1, end);
+        if (pos < end && b[pos] == '}') {
+            return -1;
+        }
+        while (pos < end) {
+            if (b[pos] != '"') {
+                return -1;
+            }
+            int keyEnd = skipString(b, pos, end);
+            if (keyEnd < 0) {
+                return -1;
+            }
+            boolean match = keyEquals(b, pos, keyEnd, key);
+            pos = skipWhitespace(b, keyEnd, end);
+            if (pos >= end || b[pos] != ':') {
+                return -1;
+            }
+            pos = skipWhitespace(b, pos + 1, end);
+            if (pos >= end) {
+                return -1;
+            }
+            if (match) {
+                return pos;
+            }
+            pos = skipValue(b, pos, end);
+            if (pos < 0) {
+                return -1;
+            }
+            pos = skipWhitespace(b, pos, end);
+            if (pos >= end || b[pos] != ',') {
+                return -1;
+            }
+            pos = skipWhitespace(b, pos + 1, end);
+        }
+        return -1;
+    }
+
+    /**
+     * Find an element in the array starting at {@code pos}.
+     * @return Position of the element, or -1
+     */
+    static int findElement(byte[] b, int pos, int end, int index) {
+        if (b[pos] != '[') {
+            return -1;
+        }
+        pos = skipWhitespace(b, pos + 1, end);
+        if (pos < end && b[pos] == ']') {
+            return -1;
+        }
+        for (int i = 0; pos < end; i++) {
+            if (i == index) {
+                return pos;
+            }
+            pos = skipValue(b, pos, end);
+            if (pos < 0) {
+                return -1;
+            }
+            pos = skipWhitespace(b, pos, end);
+            if (pos >= end || b[pos] != ',') {
+                return -1;
+            }
+            pos = skipWhitespace(b, pos + 1, end);
+        }
+        return -1;
+    }
+
+    /**
+     * Walk several compiled paths from the value at {@code pos} in one traversal: each container on the way is
+     * scanned once for all paths that pass through it, and the scan stops as soon as every path is resolved.
+     * Each path gets the position {@link #findValue} would return for it (first matching field, no backtracking).
+     * @param out Receives the value position of path i at index i, or -1 if not found
+     * @return Number of paths found
+     */
+    static int findValues(byte[] b, int pos, int end, CompiledPath[] paths, int[] out) {
+        int n = paths.length;
+        Arrays.fill(out, 0, n, -1);
+        pos = skipWhitespace(b, pos, end);
+        if (n == 0 || pos >= end) {
+            return 0;
+        }
+        int[] active = new int[n];
+        for (int i = 0; i < n; i++) {
+            active[i] = i;
+        }
+        int[] remaining = {n};
+        collect(b, pos, end, paths, active, n, 0, out, remaining);
+        return n - remaining[0];
+    }
+
+    /**
+     * Resolve the {@code n} paths listed in {@code active}, whose first {@code depth} segments lead to the value at pos.
+     * A container is walked field by field like findField / findElement, then stepped over with skipValue as a
+     * separate findValue call for a sibling path would, so malformed input ends the walk in the same place.
+     * @return Position after the value, -1 if it is malformed, or -2 once every path is resolved
+     */
+    private static int collect(byte[] b, int pos, int end, CompiledPath[] paths, int[] active, int n, int depth,
+                               int[] out, int[] remaining) {
+        int descend = 0;
+        for (int k = 0; k < n; k++) {
+            int p = active[k];
+            if (paths[p].size() == depth) {
+                out[p] = pos;
+                remaining[0]--;
+            } else {
+                active[descend++] = p;
+            }
+        }
+        if (remaining[0] == 0) {
+            return -2;
+        }
+        byte c = b[pos];
+        if (descend == 0 || (c != '{' && c != '[')) {
+            return skipValue(b, pos, end);
+        }
+        if (walk(b, pos, end, paths, active, descend, depth, out, remaining) == -2) {
+            return -2;
+        }
+        // The document itself has no siblings, so only nested containers need stepping over
+        return depth == 0 ? -1 : skipValue(b, pos, end);
+    }
+
+    /**
+     * Walk the container at pos, handing each child that some active path continues into to collect.
+     * Paths move into a child as soon as its field name or index matches, so later duplicates are ignored.
+     * @return -2 once every path is resolved, otherwise -1
+     */
+    private static int walk(byte[] b, int pos, int end, CompiledPath[] paths, int[] active, int n, int depth,
+                            int[] out, int[] remaining) {
+        byte c = b[pos];
+        int[] child = new int[n];
+        pos = skipWhitespace(b, pos + 1, end);
+        for (int i = 0; pos < end && b[pos] != (c == '{' ? '}' : ']'); i++) {
+            int m = 0;
+            if (c == '{') {
+                if (b[pos] != '"') {
+                    return -1;
+                }
+                int keyEnd = skipString(b, pos, end);
+                if (keyEnd < 0) {
+                    return -1;
+                }
+                for (int k = 0; k < n; k++) {
+                    int p = active[k];
+                    if (p >= 0 && !paths[p].isIndex(depth) && keyEquals(b, pos, keyEnd, paths[p].nameBytes(depth))) {
+                        child[m++] = p;
+                        active[k] = -1;
+                    }
+                }
+                pos = skipWhitespace(b, keyEnd, end);
+                if (pos >= end || b[pos] != ':') {
+                    return -1;
+                }
+                pos = skipWhitespace(b, pos + 1, end);
+                if (pos >= end) {
+                    return -1;
+                }
+            } else {
+                for (int k = 0; k < n; k++) {
+                    int p = active[k];
+                    if (p >= 0 && paths[p].isIndex(depth) && paths[p].index(depth) == i) {
+                        child[m++] = p;
+                        active[k] = -1;
+                    }
+                }
+            }
+            pos = m == 0 ? skipValue(b, pos, end) : collect(b, pos, end, paths, child, m, depth + 1, out, remaining);
+            if (pos < 0) {
+                return pos;
+            }
+            pos = skipWhitespace(b, pos, end);
+            if (pos >= end || b[pos] != ',') {
+                return -1;
+            }
+            pos = skipWhitespace(b, pos + 1, end);
+        }
+        return -1;
+    }
+
+    /**
+     * Compare the string token [quote, keyEnd) with the UTF-8 bytes of a key.
+     * Escaped field names are validated and decoded before comparing, so a malformed escape matches nothing.
+     */
+    static boolean keyEquals(byte[] b, int quote, int keyEnd, byte[] key) {
+        int start = quote + 1;
+        int len = keyEnd - 1 - start;
+        if (len < key.length) {
+            return false;
+        }
+        boolean escaped = indexOf(b, start, start + len, (byte) '\\') >= 0;
+        if (!escaped) {
+            return len == key.length && Arrays.equals(b, start, start + len, key, 0, key.length);
+        }
+        return validateString(b, quote, keyEnd) == keyEnd
+            && Arrays.equals(decodeString(b, quote, keyEnd).getBytes(StandardCharsets.UTF_8), key);
+    }
+
+    static int indexOf(byte[] b, int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (b[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ---------------------------------------------------------------------
+    // Materialization
+    // ---------------------------------------------------------------------
+
+    /**
+     * Render the value at {@code pos} the way getJsonValue reports it:
+     * strings unescaped, numbers and booleans as written, null and containers as "".
+     */
+    static String valueAsString(byte[] b, int pos, int end) {
+        byte c = b[pos];
+        if (c == '"') {
+            int to = skipString(b, pos, end);
+            return to < 0 ? "" : decodeString(b, pos, to);
+        }
+        if (c == '{' || c == '[' || c == 'n') {
+            return "";
+        }
+        int to = skipScalar(b, pos, end);
+        return to < 0 ? "" : new String(b, pos, to - pos, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Point a slice at the value at {@code pos}, with the text valueAsString would return. String contents
+     * are viewed in place unless they contain escapes, which are decoded into a new String.
+     * @return false for null, containers and malformed values
+     */
+    static boolean slice(byte[] b, int pos, int end, JsonSlice slice) {
+        byte c = b[pos];
+        if (c == '"') {
+            int to = skipString(b, pos, end);
+            if (to < 0) {
+                return false;
+            }
+            if (indexOf(b, pos + 1, to - 1, (byte) '\\') >= 0) {
+                String value = decodeString(b, pos, to);
+                slice.set(value, 0, value.length());
+            } else {
+                slice.set(b, pos + 1, to - pos - 2);
+            }
+            return true;
+        }
+        if (c == '{' || c == '[' || c == 'n') {
+            return false;
+        }
+        int to = skipScalar(b, pos, end);
+        if (to < 0) {
+            return false;
+        }
+        slice.set(b, pos, to - pos);
+        return true;
+    }
+
+    /**
+     * Decode the string token [quote, to) into a Java String, resolving escapes.
+     */
+    static String decodeString(byte[] b, int quote, int to) {
+        int start = quote + 1;
+        int stop = to - 1;
+        int backslash = indexOf(b, start, stop, (byte) '\\');
+        if (backslash < 0) {
+            return new String(b, start, stop - start, StandardCharsets.UTF_8);
+        }
+        StringBuilder sb = new StringBuilder(stop - start);
+        sb.append(new String(b, start, backslash - start, StandardCharsets.UTF_8));
+        int i = backslash;
+        while (i < stop) {
+            int run = i;
+            while (run < stop && b[run] != '\\') {
+                run++;
+            }
+            if (run > i) {
+                sb.append(new String(b, i, run - i, StandardCharsets.UTF_8));
+                i = run;
+                continue;
+            }
+            if (i + 1 >= stop) {
+                break;
+            }
+            byte e = b[i + 1];
+            switch (e) {
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'u':
+                    if (i + 5 < stop) {
+                        sb.append((char) ((hexValue(b[i + 2]) << 12) | (hexValue(b[i + 3]) << 8)
+                            | (hexValue(b[i + 4]) << 4) | hexValue(b[i + 5])));
+                        i += 6;
+                        continue;
+                    }
+                    break;
+                default: sb.append((char) e); break;
+            }
+            i += 2;
+        }
+        return sb.toString();
+    }
+
+    // ---------------------------------------------------------------------
+    // Typed values
+    // ---------------------------------------------------------------------
+
+    /**
+     * Read the value at {@code pos} as a long, straight from the bytes. It must be a number token without
+     * fraction or exponent that fits in a long.
+     * @return The value, or defaultValue for anything else
+     */
+    static long longValue(byte[] b, int pos, int end, long defaultValue) {
+        int to = validateNumber(b, pos, end);
+        if (to < 0 || !isDelimiter(b, to, end)) {
+            return defaultValue;
+        }
+        boolean negative = b[pos] == '-';
+        long value = negatedDigits(b, negative ? pos + 1 : pos, to);
+        if (value > 0 || !negative && value == Long.MIN_VALUE) {
+            return defaultValue;
+        }
+        return negative ? value : -value;
+    }
+
+    /**
+     * @return The digits from {@code pos} to {@code to} as a negative number, so Long.MIN_VALUE fits, or 1 if
+     *         there is a fraction or an exponent, or the number does not fit
+     */
+    private static long negatedDigits(byte[] b, int pos, int to) {
+        long value = 0;
+        for (int i = pos; i < to; i++) {
+            int digit = b[i] - '0';
+            if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+                return 1;
+            }
+            value = value * 10 - digit;
+        }
+        return value;
+    }
+
+    /**
+     * Read the number at {@code pos} as a double. Up to 15 significant digits scaled by at most 10^22 are
+     * computed exactly from the bytes; longer numbers fall back to Double.parseDouble.
+     * @return The value, or defaultValue if it is not a number
+     */
+    static double doubleValue(byte[] b, int pos, int end, double defaultValue) {
+        int to = validateNumber(b, pos, end);
+        return to < 0 || !isDelimiter(b, to, end) ? defaultValue : parseDouble(b, pos, to);
+    }
+
+    /**
+     * @return The validated number from {@code pos} to {@code to} as a double
+     */
+    private static double parseDouble(byte[] b, int pos, int to) {
+        boolean negative = b[pos] == '-';
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+        int i = negative ? pos + 1 : pos;
+        for (; i < to && b[i] != 'e' && b[i] != 'E'; i++) {
+            if (b[i] == '.') {
+                fraction = true;
+                continue;
+            }
+            if (mantissa != 0 || b[i] != '0') {
+                mantissa = mantissa * 10 + (b[i] - '0');
+                digits++;
+            }
+            if (fraction) {
+                scale++;
+            }
+            if (digits > 15) {
+                return Double.parseDouble(new String(b, pos, to - pos, StandardCharsets.US_ASCII));
+            }
+        }
+        int exponent = 0;
+        boolean integer = !fraction && i == to;
+        if (i < to) {
+            i++;
+            boolean negativeExponent = b[i] == '-';
+            if (b[i] == '-' || b[i] == '+') {
+                i++;
+            }
+            for (; i < to && exponent < 1000; i++) {
+                exponent = exponent * 10 + (b[i] - '0');
+            }
+            exponent = negativeExponent ? -exponent : exponent;
+        }
+        if (mantissa == 0) {
+            // -0 is an integer and widens to 0.0, as the library engines read it; -0.0 keeps its sign
+            return negative && !integer ? -0.0 : 0.0;
+        }
+        exponent -= scale;
+        if (exponent < -22 || exponent > 22) {
+            return Double.parseDouble(new String(b, pos, to - pos, StandardCharsets.US_ASCII));
+        }
+        double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Read the literal true or false at {@code pos}.
+     * @return The value, or defaultValue for anything else
+     */
+    static boolean booleanValue(byte[] b, int pos, int end, boolean defaultValue) {
+        int to = b[pos] == 't' || b[pos] == 'f' ? validateLiteral(b, pos, end) : -1;
+        if (to < 0 || !isDelimiter(b, to, end)) {
+            return defaultValue;
+        }
+        return b[pos] == 't';
+    }
+
+    // The same readers with an explicit status: the token is validated and read once, and only a token that is
+    // not the requested type is classified further, to report what was found instead
+
+    /**
+     * Read the value at {@code pos} as {@link #longValue(byte[], int, int, long)} does, into a result
+     * @return true if an integer that fits in a long was read
+     */
+    static boolean longValue(byte[] b, int pos, int end, JsonScalar result) {
+        int to = validateNumber(b, pos, end);
+        if (to >= 0 && isDelimiter(b, to, end)) {
+            boolean negative = b[pos] == '-';
+            long value = negatedDigits(b, negative ? pos + 1 : pos, to);
+            if (value <= 0 && (negative || value != Long.MIN_VALUE)) {
+                return result.setLong(negative ? value : -value);
+            }
+        }
+        return result.mismatch(type(b, pos, end));
+    }
+
+    /**
+     * Read the number at {@code pos} as {@link #doubleValue(byte[], int, int, double)} does, into a result
+     * @return true if a number was read
+     */
+    static boolean doubleValue(byte[] b, int pos, int end, JsonScalar result) {
+        int to = validateNumber(b, pos, end);
+        if (to < 0 || !isDelimiter(b, to, end)) {
+            return result.mismatch(type(b, pos, end));
+        }
+        JsonType type = JsonType.INTEGER;
+        for (int i = pos; i < to; i++) {
+            if (b[i] == '.' || b[i] == 'e' || b[i] == 'E') {
+                type = JsonType.DOUBLE;
+                break;
+            }
+        }
+        return result.setDouble(parseDouble(b, pos, to), type);
+    }
+
+    /**
+     * Read the literal at {@code pos} as {@link #booleanValue(byte[], int, int, boolean)} does, into a result
+     * @return true if true or false was read
+     */
+    static boolean booleanValue(byte[] b, int pos, int end, JsonScalar result) {
+        int to = b[pos] == 't' || b[pos] == 'f' ? validateLiteral(b, pos, end) : -1;
+        if (to < 0 || !isDelimiter(b, to, end)) {
+            return result.mismatch(type(b, pos, end));
+        }
+        return result.setBoolean(b[pos] == 't');
+    }
+
+    /**
+     * @return true if a scalar token ending at {@code pos} ends there, as skipScalar would see it
+     */
+    private static boolean isDelimiter(byte[] b, int pos, int end) {
+        if (pos >= end) {
+            return true;
+        }
+        byte c = b[pos];
+        return c == ',' || c == '}' || c == ']' || c == ':' || isWhitespace(c);
+    }
+
+    // ---------------------------------------------------------------------
+    // Shape
+    // ---------------------------------------------------------------------
+
+    /**
+     * Type of the value at {@code pos}, from its first byte. Only a number is read further, to its end, for a
+     * fraction or an exponent.
+     * @return The type, or NONE if no value starts there
+     */
+    static JsonType type(byte[] b, int pos, int end) {
+        switch (b[pos]) {
+            case '{':
+                return JsonType.OBJECT;
+            case '[':
+                return JsonType.ARRAY;
+            case '"':
+                return JsonType.STRING;
+            case 't':
+            case 'f':
+                return JsonType.BOOLEAN;
+            case 'n':
+                return JsonType.NULL;
+            default:
+                break;
+        }
+        if (b[pos] != '-' && !isDigit(b[pos])) {
+            return JsonType.NONE;
+        }
+        for (int i = pos; !isDelimiter(b, i, end); i++) {
+            if (b[i] == '.' || b[i] == 'e' || b[i] == 'E') {
+                return JsonType.DOUBLE;
+            }
+        }
+        return JsonType.INTEGER;
+    }
+
+    /**
+     * Count the elements of the array, or the fields of the object, at {@code pos}. Each one is skipped by
+     * bracket and quote counting, so nothing inside it is parsed.
+     * @return The count, 0 for a scalar, or -1 if the container is malformed
+     */
+    static int length(byte[] b, int pos, int end) {
+        byte open = b[pos];
+        if (open != '{' && open != '[') {
+            return 0;
+        }
+        byte close = open == '{' ? (byte) '}' : (byte) ']';
+        pos = skipWhitespace(b, pos + 1, end);
+        if (pos < end && b[pos] == close) {
+            return 0;
+        }
+        int n = 0;
+        while (pos < end) {
+            if (open == '{') {
+                pos = b[pos] == '"' ? skipString(b, pos, end) : -1;
+                pos = pos < 0 ? -1 : skipWhitespace(b, pos, end);
+                if (pos < 0 || pos >= end || b[pos] != ':') {
+                    return -1;
+                }
+                pos = skipWhitespace(b, pos + 1, end);
+                if (pos >= end) {
+                    return -1;
+                }
+            }
+            pos = skipValue(b, pos, end);
+            if (pos < 0) {
+                return -1;
+            }
+            n++;
+            pos = skipWhitespace(b, pos, end);
+            if (pos >= end) {
+                return -1;
+            }
+            if (b[pos] == close) {
+                return n;
+            }
+            if (b[pos] != ',') {
+                return -1;
+            }
+            pos = skipWhitespace(b, pos + 1, end);
+        }
+        return -1;
+    }
+
+    /**
+     * Locate the elements of the array at {@code pos}, each skipped as {@link #length} does.
+     * @return Start and end of each element, in pairs; empty if there is no array at {@code pos}; null if the
+     *         array is malformed
+     */
+    static int[] elements(byte[] b, int pos, int end) {
+        if (b[pos] != '[') {
+            return NO_ELEMENTS;
+        }
+        pos = skipWhitespace(b, pos + 1, end);
+        if (pos < end && b[pos] == ']') {
+            return NO_ELEMENTS;
+        }
+        int[] offsets = new int[16];
+        int n = 0;
+        while (pos < end) {
+            int start = pos;
+            pos = skipValue(b, pos, end);
+            if (pos < 0) {
+                return null;
+            }
+            offsets = grow(offsets, n);
+            offsets[n++] = start;
+            offsets[n++] = pos;
+            pos = skipWhitespace(b, pos, end);
+            if (pos >= end) {
+                return null;
+            }
+            if (b[pos] == ']') {
+                return Arrays.copyOf(offsets, n);
+            }
+            if (b[pos] != ',') {
+                return null;
+            }
+            pos = skipWhitespace(b, pos + 1, end);
+        }
+        return null;
+    }
+
+    /**
+     * Make room for one more (start, end) pair after the first {@code n} offsets
+     */
+    static int[] grow(int[] offsets, int n) {
+        return n + 2 <= offsets.length ? offsets : Arrays.copyOf(offsets, offsets.length * 2);
+    }
+
+    /**
+     * Collect the field names of the object at {@code pos}, skipping every value as {@link #length} does.
+     * Escape-free names resolve through the symbol table without allocating; escaped ones are decoded.
+     * @return false if there is no object at {@code pos} or it is malformed
+     */
+    static boolean keys(byte[] b, int pos, int end, KeySymbols keys) {
+        if (b[pos] != '{') {
+            return false;
+        }
+        pos = skipWhitespace(b, pos + 1, end);
+        if (pos < end && b[pos] == '}') {
+            return true;
+        }
+        while (pos < end) {
+            int quote = pos;
+            pos = b[pos] == '"' ? skipString(b, pos, end) : -1;
+            if (pos < 0) {
+                return false;
+            }
+            keys.add(indexOf(b, quote + 1, pos - 1, (byte) '\\') < 0
+                ? keys.symbol(b, quote + 1, pos - 1) : decodeString(b, quote, pos));
+            pos = skipWhitespace(b, pos, end);
+            if (pos >= end || b[pos] != ':') {
+                return false;
+            }
+            pos = skipWhitespace(b, pos + 1, end);
+            pos = pos < end ? skipValue(b, pos, end) : -1;
+            if (pos < 0) {
+                return false;
+            }
+            pos = skipWhitespace(b, pos, end);
+            if (pos >= end) {
+                return false;
+            }
+            if (b[pos] == '}') {
+                return true;
+            }
+            if (b[pos] != ',') {
+                return false;
+            }
+            pos = skipWhitespace(b, pos + 1, end);
+        }
+        return false;
+    }
+
+    // ---------------------------------------------------------------------
+    // Character classes
+    // ---------------------------------------------------------------------
+
+    static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    static boolean isHex(int c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    static int hexValue(int c) {
+        if (c <= '9') {
+            return c - '0';
+        }
+        return (c | 0x20) - 'a' + 10;
+    }
+
+    private static boolean isContinuation(int c) {
+        return (c & 0xC0) == 0x80;
+    }
+}
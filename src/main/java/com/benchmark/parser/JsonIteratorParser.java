@@ -1,13 +1,41 @@
 package com.benchmark.parser;
 
+import com.jsoniter.CodegenAccess;
 import com.jsoniter.JsonIterator;
+import com.jsoniter.ValueType;
 import com.jsoniter.any.Any;
-import com.jsoniter.spi.JsonException;
+import com.jsoniter.spi.Slice;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 public class JsonIteratorParser implements JsonParserInterface {
+    // Byte forms of the "common invalid JSON patterns" rejected for String input
+    private static final byte[][] INVALID_PATTERNS = {
+        ascii(": }"), ascii(": ]"), ascii(",}"), ascii(",]"), ascii("'"), ascii("undefined"), ascii(": value")
+    };
+    private final ThreadLocal<KeySymbols> symbols = ThreadLocal.withInitial(KeySymbols::new);
 
     @Override
     public boolean isValidJson(String json) {
+        if (!passesQuickChecks(json)) {
+            return false;
+        }
+        
+        try {
+            // Let JsonIterator do the heavy lifting for validation
+            Any parsed = JsonIterator.deserialize(json);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks isValidJson makes before deserializing; jsoniter's lazy parsing would accept these inputs
+     */
+    private static boolean passesQuickChecks(String json) {
         if (json == null || json.trim().isEmpty()) {
             return false;
         }
@@ -61,43 +89,629 @@ public class JsonIteratorParser implements JsonParserInterface {
                 }
             }
         }
-        
+        return true;
+    }
+    
+    // Values are found by walking the path with readObject / readArray and skip(), which stop at a tokenizer
+    // error. The lazy Any.get walk is not used: on some malformed objects it never advances. String input is
+    // encoded once and takes the byte[] path.
+
+    @Override
+    public boolean hasJsonKey(String json, String key) {
+        return key != null && hasJsonKey(json, CompiledPath.key(key));
+    }
+
+    /**
+     * A top-level key and a nested path are found with the same walk
+     */
+    @Override
+    public boolean hasJsonKey(String json, CompiledPath path) {
+        if (json == null || path == null) {
+            return false;
+        }
+        if (path.size() == 0) {
+            return isValidJson(json);
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return span(bytes, 0, bytes.length, path) >= 0;
+    }
+
+    @Override
+    public String getJsonValue(String json, String path) {
         try {
-            // Let JsonIterator do the heavy lifting for validation
-            Any parsed = JsonIterator.deserialize(json);
-            return true;
+            return getJsonValue(json, CompiledPath.compile(path));
         } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String getJsonValue(String json, CompiledPath path) {
+        if (json == null) {
+            return "";
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return getJsonValue(bytes, 0, bytes.length, path);
+    }
+
+    @Override
+    public boolean getJsonSlice(String json, CompiledPath path, JsonSlice slice) {
+        if (json == null) {
+            slice.clear();
             return false;
         }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return getJsonSlice(bytes, 0, bytes.length, path, slice);
     }
-    
+
     @Override
-    public boolean hasJsonKey(String json, String key) {
+    public long getJsonLong(String json, CompiledPath path, long defaultValue) {
+        if (json == null) {
+            return defaultValue;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return getJsonLong(bytes, 0, bytes.length, path, defaultValue);
+    }
+
+    @Override
+    public double getJsonDouble(String json, CompiledPath path, double defaultValue) {
+        if (json == null) {
+            return defaultValue;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return getJsonDouble(bytes, 0, bytes.length, path, defaultValue);
+    }
+
+    @Override
+    public boolean getJsonBoolean(String json, CompiledPath path, boolean defaultValue) {
+        if (json == null) {
+            return defaultValue;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return getJsonBoolean(bytes, 0, bytes.length, path, defaultValue);
+    }
+
+    @Override
+    public boolean getJsonLong(String json, CompiledPath path, JsonScalar result) {
+        if (json == null) {
+            return result.missing();
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return getJsonLong(bytes, 0, bytes.length, path, result);
+    }
+
+    @Override
+    public boolean getJsonDouble(String json, CompiledPath path, JsonScalar result) {
+        if (json == null) {
+            return result.missing();
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return getJsonDouble(bytes, 0, bytes.length, path, result);
+    }
+
+    @Override
+    public boolean getJsonBoolean(String json, CompiledPath path, JsonScalar result) {
+        if (json == null) {
+            return result.missing();
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return getJsonBoolean(bytes, 0, bytes.length, path, result);
+    }
+
+    // byte[] inputs go straight to JsonIterator.parse(byte[], int, int), without decoding to a String first
+
+    @Override
+    public boolean isValidJson(byte[] json, int offset, int length) {
+        if (!passesQuickChecks(json, offset, length)) {
+            return false;
+        }
+        
         try {
-            Any any = JsonIterator.deserialize(json);
-            if (!any.toString().startsWith("{")) {
+            deserialize(json, offset, length);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean passesQuickChecks(byte[] json, int offset, int length) {
+        if (json == null) {
+            return false;
+        }
+        int end = offset + length;
+        int start = offset;
+        int trimmedEnd = end;
+        while (start < trimmedEnd && (json[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (trimmedEnd > start && (json[trimmedEnd - 1] & 0xFF) <= ' ') {
+            trimmedEnd--;
+        }
+        
+        // Basic JSON validation
+        if (start == trimmedEnd || (json[start] != '{' && json[start] != '[')) {
+            return false;
+        }
+        
+        // Same pattern checks as for String input
+        for (byte[] pattern : INVALID_PATTERNS) {
+            if (Swar.indexOf(json, offset, end, pattern) >= 0) {
                 return false;
             }
-            
-            // Check if the key exists and has a non-null value
-            String jsonStr = any.toString();
-            return jsonStr.contains("\"" + key + "\":");
-        } catch (Exception e) {
+        }
+        if (hasMultipleDots(json, offset, end)) {
             return false;
         }
+        return json[start] != '{' || !hasUnquotedKey(json, start, trimmedEnd);
     }
 
     @Override
-    public String getJsonValue(String json, String path) {
+    public boolean hasJsonKey(byte[] json, int offset, int length, String key) {
+        return key != null && hasJsonKey(json, offset, length, CompiledPath.key(key));
+    }
+
+    @Override
+    public boolean hasJsonKey(byte[] json, int offset, int length, CompiledPath path) {
+        if (json == null || path == null) {
+            return false;
+        }
+        if (path.size() == 0) {
+            return isValidJson(json, offset, length);
+        }
+        return span(json, offset, offset + length, path) >= 0;
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, String path) {
         try {
-            Any any = JsonIterator.deserialize(json);
-            Any value = any.get(path);
-            return value == null || value.valueType().name().equals("NULL") ? "" : value.toString();
+            return getJsonValue(json, offset, length, CompiledPath.compile(path));
         } catch (Exception e) {
             return "";
         }
     }
 
+    /**
+     * Strings are decoded and null is ""; numbers, booleans and containers are the input text
+     */
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, CompiledPath path) {
+        long span = json == null || path == null ? -1 : span(json, offset, offset + length, path);
+        if (span < 0) {
+            return "";
+        }
+        int start = start(span);
+        int to = end(span);
+        switch (json[start]) {
+            case '"':
+                return JsonBytes.decodeString(json, start, to);
+            case 'n':
+                return "";
+            default:
+                return new String(json, start, to - start, StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public boolean getJsonSlice(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        long span = json == null || path == null ? -1 : span(json, offset, offset + length, path);
+        if (span >= 0) {
+            int start = start(span);
+            int to = end(span);
+            if (json[start] == '{' || json[start] == '[') {
+                slice.set(json, start, to - start);
+                return true;
+            }
+            if (JsonBytes.slice(json, start, to, slice)) {
+                return true;
+            }
+        }
+        slice.clear();
+        return false;
+    }
+
+    @Override
+    public long getJsonLong(byte[] json, int offset, int length, CompiledPath path, long defaultValue) {
+        long span = json == null || path == null ? -1 : span(json, offset, offset + length, path);
+        return span < 0 ? defaultValue : JsonBytes.longValue(json, start(span), end(span), defaultValue);
+    }
+
+    @Override
+    public double getJsonDouble(byte[] json, int offset, int length, CompiledPath path, double defaultValue) {
+        long span = json == null || path == null ? -1 : span(json, offset, offset + length, path);
+        return span < 0 ? defaultValue : JsonBytes.doubleValue(json, start(span), end(span), defaultValue);
+    }
+
+    @Override
+    public boolean getJsonBoolean(byte[] json, int offset, int length, CompiledPath path, boolean defaultValue) {
+        long span = json == null || path == null ? -1 : span(json, offset, offset + length, path);
+        return span < 0 ? defaultValue : JsonBytes.booleanValue(json, start(span), end(span), defaultValue);
+    }
+
+    @Override
+    public boolean getJsonLong(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        long span = json == null || path == null ? -1 : span(json, offset, offset + length, path);
+        return span < 0 ? result.missing() : JsonBytes.longValue(json, start(span), end(span), result);
+    }
+
+    @Override
+    public boolean getJsonDouble(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        long span = json == null || path == null ? -1 : span(json, offset, offset + length, path);
+        return span < 0 ? result.missing() : JsonBytes.doubleValue(json, start(span), end(span), result);
+    }
+
+    @Override
+    public boolean getJsonBoolean(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        long span = json == null || path == null ? -1 : span(json, offset, offset + length, path);
+        return span < 0 ? result.missing() : JsonBytes.booleanValue(json, start(span), end(span), result);
+    }
+
+    // Raw values are cut from the input where the walk finds them: the walk never binds a value to an Any, which
+    // would print a partly parsed object back out instead of its input
+
+    @Override
+    public String getJsonRaw(String json, CompiledPath path) {
+        if (json == null) {
+            return "";
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return getJsonRaw(bytes, 0, bytes.length, path);
+    }
+
+    @Override
+    public String getJsonRaw(byte[] json, int offset, int length, CompiledPath path) {
+        long span = json == null || path == null ? -1 : span(json, offset, offset + length, path);
+        return span < 0 ? "" : new String(json, start(span), end(span) - start(span), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean getJsonRaw(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        long span = json == null || path == null ? -1 : span(json, offset, offset + length, path);
+        if (span < 0) {
+            slice.clear();
+            return false;
+        }
+        slice.set(json, start(span), end(span) - start(span));
+        return true;
+    }
+
+    // Length skips each element with skip() and binds only the field names, which readObjectFieldAsHash would
+    // get wrong for escaped names; type is jsoniter's own peek at the next byte, with a number's text checked for
+    // a fraction or exponent
+
+    @Override
+    public int getJsonLength(String json, CompiledPath path) {
+        if (json == null) {
+            return 0;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return getJsonLength(bytes, 0, bytes.length, path);
+    }
+
+    @Override
+    public int getJsonLength(byte[] json, int offset, int length, CompiledPath path) {
+        try {
+            JsonIterator iter = JsonIterator.parse(json, offset, offset + length);
+            if (!seek(iter, path)) {
+                return 0;
+            }
+            ValueType type = iter.whatIsNext();
+            int n = 0;
+            if (type == ValueType.OBJECT) {
+                for (String field = iter.readObject(); field != null; field = iter.readObject()) {
+                    iter.skip();
+                    n++;
+                }
+            } else if (type == ValueType.ARRAY) {
+                while (iter.readArray()) {
+                    iter.skip();
+                    n++;
+                }
+            }
+            return n;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public JsonType getJsonType(String json, CompiledPath path) {
+        if (json == null) {
+            return JsonType.NONE;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return getJsonType(bytes, 0, bytes.length, path);
+    }
+
+    @Override
+    public JsonType getJsonType(byte[] json, int offset, int length, CompiledPath path) {
+        long span = json == null || path == null ? -1 : span(json, offset, offset + length, path);
+        return span < 0 ? JsonType.NONE : JsonBytes.type(json, start(span), end(span));
+    }
+
+    @Override
+    public String[] getJsonKeys(String json, CompiledPath path) {
+        if (json == null) {
+            return KeySymbols.NO_KEYS;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return getJsonKeys(bytes, 0, bytes.length, path);
+    }
+
+    /**
+     * Names are read as slices of the input and resolved through the per-thread symbol table. The slice reader
+     * rejects escapes, so an escaped name, found by looking ahead in the input, is read as a String instead.
+     */
+    @Override
+    public String[] getJsonKeys(byte[] json, int offset, int length, CompiledPath path) {
+        int end = offset + length;
+        try {
+            JsonIterator iter = JsonIterator.parse(json, offset, end);
+            if (!seek(iter, path) || iter.whatIsNext() != ValueType.OBJECT) {
+                return KeySymbols.NO_KEYS;
+            }
+            KeySymbols keys = symbols.get().clear();
+            if (CodegenAccess.readObjectStart(iter)) {
+                do {
+                    int quote = JsonBytes.skipWhitespace(json, CodegenAccess.head(iter), end);
+                    int to = quote < end && json[quote] == '"' ? JsonBytes.skipString(json, quote, end) : -1;
+                    if (to >= 0 && JsonBytes.indexOf(json, quote + 1, to - 1, (byte) '\\') < 0) {
+                        Slice name = CodegenAccess.readObjectFieldAsSlice(iter);
+                        keys.add(keys.symbol(name.data(), name.head(), name.tail()));
+                    } else {
+                        keys.add(CodegenAccess.readObjectFieldAsString(iter));
+                    }
+                    iter.skip();
+                } while (CodegenAccess.nextTokenIsComma(iter));
+            }
+            return keys.toArray();
+        } catch (Exception e) {
+            return KeySymbols.NO_KEYS;
+        }
+    }
+
+    @Override
+    public int[] getJsonArrayOffsets(String json, CompiledPath path) {
+        if (json == null) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        int[] offsets = getJsonArrayOffsets(bytes, 0, bytes.length, path);
+        if (bytes.length != json.length()) {
+            Utf8Buffer.toChars(bytes, offsets);
+        }
+        return offsets;
+    }
+
+    /**
+     * Each element starts after readArray's comma and the whitespace that follows it, and ends where it is skipped
+     */
+    @Override
+    public int[] getJsonArrayOffsets(byte[] json, int offset, int length, CompiledPath path) {
+        int end = offset + length;
+        try {
+            JsonIterator iter = JsonIterator.parse(json, offset, end);
+            if (!seek(iter, path) || iter.whatIsNext() != ValueType.ARRAY) {
+                return JsonBytes.NO_ELEMENTS;
+            }
+            int[] offsets = new int[16];
+            int n = 0;
+            while (iter.readArray()) {
+                offsets = JsonBytes.grow(offsets, n);
+                offsets[n++] = JsonBytes.skipWhitespace(json, CodegenAccess.head(iter), end);
+                int to = skip(iter, json, end);
+                if (to < 0) {
+                    return JsonBytes.NO_ELEMENTS;
+                }
+                offsets[n++] = to;
+            }
+            return Arrays.copyOf(offsets, n);
+        } catch (Exception e) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+    }
+
+    // Each path is walked on its own
+
+    @Override
+    public String[] extractAll(String json, CompiledPath... paths) {
+        if (json == null) {
+            return JsonParserInterface.super.extractAll(json, paths);
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return extractAll(bytes, 0, bytes.length, paths);
+    }
+
+    @Override
+    public String[] extractAll(byte[] json, int offset, int length, CompiledPath... paths) {
+        String[] values = new String[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            values[i] = getJsonValue(json, offset, length, paths[i]);
+        }
+        return values;
+    }
+
+    // The row is validated as isValidJson does; the key and the projection are then found as hasJsonKey and
+    // getJsonValue find them
+
+    @Override
+    public FilterResult filterAndExtract(String json, String key, CompiledPath path) {
+        if (!passesQuickChecks(json)) {
+            return FilterResult.INVALID;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return filterAndExtract(bytes, 0, bytes.length, key, path);
+    }
+
+    @Override
+    public FilterResult filterAndExtract(byte[] json, int offset, int length, String key, CompiledPath path) {
+        if (!isValidJson(json, offset, length)) {
+            return FilterResult.INVALID;
+        }
+        if (!hasJsonKey(json, offset, length, key)) {
+            return FilterResult.NO_KEY;
+        }
+        return FilterResult.match(path == null ? "" : getJsonValue(json, offset, length, path));
+    }
+
+    /**
+     * Walk a path with readObject / readArray, skipping every value that is not on it
+     * @return true with the iterator in front of the addressed value, false if the path does not resolve
+     */
+    private static boolean seek(JsonIterator iter, CompiledPath path) throws IOException {
+        for (int s = 0; s < path.size(); s++) {
+            if (path.isIndex(s)) {
+                if (iter.whatIsNext() != ValueType.ARRAY) {
+                    return false;
+                }
+                int i = 0;
+                while (true) {
+                    if (!iter.readArray()) {
+                        return false;
+                    }
+                    if (i++ == path.index(s)) {
+                        break;
+                    }
+                    iter.skip();
+                }
+            } else {
+                if (iter.whatIsNext() != ValueType.OBJECT) {
+                    return false;
+                }
+                String field = iter.readObject();
+                while (field != null && !field.equals(path.name(s))) {
+                    iter.skip();
+                    field = iter.readObject();
+                }
+                if (field == null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Walk a path and skip the value it addresses
+     * @return {@code start << 32 | end} of the value, or -1 if the path does not resolve, the walk hits a
+     *         tokenizer error or the value is a malformed scalar
+     */
+    private static long span(byte[] json, int offset, int end, CompiledPath path) {
+        try {
+            JsonIterator iter = JsonIterator.parse(json, offset, end);
+            if (!seek(iter, path) || iter.whatIsNext() == ValueType.INVALID) {
+                return -1;
+            }
+            int start = CodegenAccess.head(iter);
+            int to = skip(iter, json, end);
+            return to < 0 ? -1 : (long) start << 32 | to;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static int start(long span) {
+        return (int) (span >>> 32);
+    }
+
+    private static int end(long span) {
+        return (int) span;
+    }
+
+    /**
+     * Skip the value in front of the iterator. skip() runs a number or literal up to a delimiter, and past it
+     * when the token is malformed, so a scalar ends where it validates instead.
+     * @return End of the value, or -1 for a malformed scalar
+     */
+    private static int skip(JsonIterator iter, byte[] json, int end) throws IOException {
+        ValueType type = iter.whatIsNext();
+        int start = CodegenAccess.head(iter);
+        iter.skip();
+        if (type == ValueType.OBJECT || type == ValueType.ARRAY) {
+            return CodegenAccess.head(iter);
+        }
+        return type == ValueType.INVALID ? -1 : JsonBytes.validateScalar(json, start, end);
+    }
+
+    /**
+     * Byte-range counterpart of {@code JsonIterator.deserialize(byte[])}. jsoniter only checks for trailing
+     * garbage on whole arrays, and its lazy skipping accepts input a strict scanner rejects, so a sub-range is
+     * copied out rather than re-implementing that check. Whole arrays are parsed in place.
+     */
+    private static Any deserialize(byte[] json, int offset, int length) {
+        if (offset != 0 || length != json.length) {
+            json = Arrays.copyOfRange(json, offset, offset + length);
+        }
+        return JsonIterator.deserialize(json);
+    }
+
+    /**
+     * Byte form of {@code json.matches(".*[0-9]+\\.[0-9]+\\.[0-9]+.*")}: digits, dot, digits, dot, digit
+     * on input without line terminators (regex '.' does not match one).
+     */
+    private static boolean hasMultipleDots(byte[] json, int start, int end) {
+        boolean found = false;
+        for (int i = start; i < end; i++) {
+            int c = json[i] & 0xFF;
+            if (c == '\n' || c == '\r') {
+                return false;
+            }
+            // U+0085, U+2028 and U+2029 in UTF-8
+            if ((c == 0xC2 && i + 1 < end && json[i + 1] == (byte) 0x85)
+                || (c == 0xE2 && i + 2 < end && json[i + 1] == (byte) 0x80
+                    && (json[i + 2] == (byte) 0xA8 || json[i + 2] == (byte) 0xA9))) {
+                return false;
+            }
+            if (!found && JsonBytes.isDigit(c) && i + 1 < end && json[i + 1] == '.') {
+                int j = i + 2;
+                while (j < end && JsonBytes.isDigit(json[j])) {
+                    j++;
+                }
+                found = j > i + 2 && j + 1 < end && json[j] == '.' && JsonBytes.isDigit(json[j + 1]);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Byte form of the unquoted-key scan done for String input: a top-level colon not preceded by a quote.
+     */
+    private static boolean hasUnquotedKey(byte[] json, int start, int end) {
+        int braceCount = 0;
+        boolean inQuotes = false;
+        for (int i = start; i < end; i++) {
+            byte c = json[i];
+            if (c == '"' && (i == start || json[i - 1] != '\\')) {
+                inQuotes = !inQuotes;
+            } else if (!inQuotes) {
+                if (c == '{') {
+                    braceCount++;
+                } else if (c == '}') {
+                    braceCount--;
+                } else if (c == ':' && braceCount == 1) {
+                    int j = i - 1;
+                    while (j >= start && isJavaWhitespace(json[j])) {
+                        j--;
+                    }
+                    if (j >= start && json[j] != '"') {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@link Character#isWhitespace(char)} restricted to ASCII.
+     */
+    private static boolean isJavaWhitespace(byte c) {
+        return c == ' ' || (c >= 0x09 && c <= 0x0D) || (c >= 0x1C && c <= 0x1F);
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
     @Override
     public String getName() {
         return "JsonIterator";
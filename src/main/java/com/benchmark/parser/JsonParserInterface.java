@@ -1,5 +1,9 @@
 package com.benchmark.parser;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 public interface JsonParserInterface {
     /**
      * Check if input is valid JSON
@@ -25,6 +29,899 @@ public interface JsonParserInterface {
      */
     String getJsonValue(String json, String path);
 
+    /**
+     * Extract a value from JSON using a path compiled once with {@link CompiledPath#compile(String)}. The default
+     * checks isValidJson and then walks the UTF-8 encoding segment by segment, so keys from
+     * {@link CompiledPath#of(Object...)} stay literal; engines override it with their own walk.
+     * @param json Input JSON string
+     * @param path Compiled path to the value
+     * @return The extracted value as a string, or empty string if not found
+     */
+    default String getJsonValue(String json, CompiledPath path) {
+        if (json == null || path == null || !isValidJson(json)) {
+            return "";
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        int pos = JsonBytes.findValue(bytes, 0, bytes.length, path);
+        return pos < 0 ? "" : JsonBytes.valueAsString(bytes, pos, bytes.length);
+    }
+
+    /**
+     * Check if a value exists at a path of keys and array indices, like ClickHouse's
+     * {@code JSONHas(json, 'a', 'b', 1)} with {@code CompiledPath.of("a", "b", 0)} (indices count from 0 here).
+     * Unlike a non-empty getJsonValue this also finds null, "" and containers. A single-key path answers as
+     * {@link #hasJsonKey(String, String)} does and the root path "$" as isValidJson. The default checks
+     * isValidJson and then walks the UTF-8 encoding; engines override it to descend only into the containers
+     * on the path.
+     * @param json Input JSON string
+     * @param path Compiled path, e.g. from {@link CompiledPath#of(Object...)}
+     * @return true if the path resolves to a value
+     */
+    default boolean hasJsonKey(String json, CompiledPath path) {
+        if (json == null || path == null) {
+            return false;
+        }
+        if (path.size() == 0) {
+            return isValidJson(json);
+        }
+        if (path.size() == 1 && !path.isIndex(0)) {
+            return hasJsonKey(json, path.name(0));
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return isValidJson(json) && JsonBytes.findValue(bytes, 0, bytes.length, path) >= 0;
+    }
+
+    /**
+     * Check if UTF-8 input is valid JSON. The default decodes to a String; engines override it to read the bytes directly.
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @return true if valid JSON
+     */
+    default boolean isValidJson(byte[] json, int offset, int length) {
+        return json != null && isValidJson(new String(json, offset, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Validate as isValidJson does and report why the input was rejected: a {@link JsonValidation.Reason} and
+     * the offset of the error, without an exception reaching the caller. The default asks isValidJson and then
+     * locates the error with the StateMachine validator; engines built on that validator do both in one pass.
+     * @param json Input JSON string
+     * @param result Receives the reason and the char offset of the error
+     * @return The isValidJson verdict
+     */
+    default boolean validateJson(String json, JsonValidation result) {
+        return isValidJson(json) ? result.pass() : JsonValidation.locate(json, result);
+    }
+
+    /**
+     * Validate UTF-8 input and report why it was rejected, as {@link #validateJson(String, JsonValidation)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param result Receives the reason and the byte offset of the error, counted from {@code offset}
+     * @return The isValidJson verdict
+     */
+    default boolean validateJson(byte[] json, int offset, int length, JsonValidation result) {
+        if (isValidJson(json, offset, length)) {
+            return result.pass();
+        }
+        return JsonValidation.locate(json, offset, length, result);
+    }
+
+    /**
+     * Check if a UTF-8 JSON object has a specific key
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param key Key to look for
+     * @return true if key exists
+     */
+    default boolean hasJsonKey(byte[] json, int offset, int length, String key) {
+        return json != null && hasJsonKey(new String(json, offset, length, StandardCharsets.UTF_8), key);
+    }
+
+    /**
+     * Check if a value exists at a path in UTF-8 JSON, as {@link #hasJsonKey(String, CompiledPath)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path, e.g. from {@link CompiledPath#of(Object...)}
+     * @return true if the path resolves to a value
+     */
+    default boolean hasJsonKey(byte[] json, int offset, int length, CompiledPath path) {
+        return json != null && hasJsonKey(new String(json, offset, length, StandardCharsets.UTF_8), path);
+    }
+
+    /**
+     * Extract a value from UTF-8 JSON using a path
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Path to the value (e.g. "$.store.book[0].title" or "$.hello")
+     * @return The extracted value as a string, or empty string if not found
+     */
+    default String getJsonValue(byte[] json, int offset, int length, String path) {
+        return json == null ? "" : getJsonValue(new String(json, offset, length, StandardCharsets.UTF_8), path);
+    }
+
+    /**
+     * Extract a value from UTF-8 JSON using a compiled path
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path to the value
+     * @return The extracted value as a string, or empty string if not found
+     */
+    default String getJsonValue(byte[] json, int offset, int length, CompiledPath path) {
+        return json == null ? "" : getJsonValue(new String(json, offset, length, StandardCharsets.UTF_8), path);
+    }
+
+    /**
+     * Extract a value into a reusable view instead of a new String, for values that are only compared or hashed.
+     * The view holds the same text getJsonValue returns. Engines that locate values in the input point it
+     * there when the value has no escapes; the default wraps getJsonValue's String.
+     * @param json Input JSON string
+     * @param path Compiled path to the value
+     * @param slice View to fill; its previous value is replaced
+     * @return true if a value was found (the default also returns false for an empty string); false leaves
+     *         the slice empty
+     */
+    default boolean getJsonSlice(String json, CompiledPath path, JsonSlice slice) {
+        String value = getJsonValue(json, path);
+        slice.set(value, 0, value.length());
+        return !value.isEmpty();
+    }
+
+    /**
+     * Extract a value from UTF-8 JSON into a reusable view. ASCII values without escapes are viewed in place,
+     * so the slice is only valid while the buffer is unchanged.
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path to the value
+     * @param slice View to fill; its previous value is replaced
+     * @return true if a value was found; false leaves the slice empty
+     */
+    default boolean getJsonSlice(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        String value = getJsonValue(json, offset, length, path);
+        slice.set(value, 0, value.length());
+        return !value.isEmpty();
+    }
+
+    /**
+     * Extract the value at a path as the JSON text it is written as, like ClickHouse's JSONExtractRaw: strings keep
+     * their quotes and escapes, null is "null", and objects and arrays are returned as they appear in the input
+     * instead of as "". The value's end is found by skipping over it, so nothing is decoded, built into a tree or
+     * serialized again. Engines check the document as far as their lookup reads it: the validating byte engines
+     * reject invalid documents, streaming walks stop at the end of the value.
+     * @param json Input JSON string
+     * @param path Compiled path to the value
+     * @return The value's text, or empty string if not found
+     */
+    String getJsonRaw(String json, CompiledPath path);
+
+    /**
+     * Extract the raw text of the value at a path in UTF-8 JSON, as {@link #getJsonRaw(String, CompiledPath)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path to the value
+     * @return The value's text, or empty string if not found
+     */
+    default String getJsonRaw(byte[] json, int offset, int length, CompiledPath path) {
+        return json == null ? "" : getJsonRaw(new String(json, offset, length, StandardCharsets.UTF_8), path);
+    }
+
+    /**
+     * Extract the raw text of the value at a path into a reusable view of the input bytes, for sub-documents that
+     * are forwarded as they are. ASCII values are viewed in place, so the slice is only valid while the buffer is
+     * unchanged; the default wraps getJsonRaw's String.
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path to the value
+     * @param slice View to fill; its previous value is replaced
+     * @return true if a value was found; false leaves the slice empty
+     */
+    default boolean getJsonRaw(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        String value = getJsonRaw(json, offset, length, path);
+        slice.set(value, 0, value.length());
+        return !value.isEmpty();
+    }
+
+    /**
+     * Count the elements of the array, or the fields of the object, at a path, like ClickHouse's JSONLength.
+     * Engines skip over each element without parsing it, and the streaming ones never build the container.
+     * @param json Input JSON string
+     * @param path Compiled path to the container; the root path counts the document's own elements
+     * @return The count, or 0 for scalars and for values that are not found
+     */
+    int getJsonLength(String json, CompiledPath path);
+
+    /**
+     * Count the elements or fields of the container at a path in UTF-8 JSON, as
+     * {@link #getJsonLength(String, CompiledPath)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path to the container
+     * @return The count, or 0 for scalars and for values that are not found
+     */
+    default int getJsonLength(byte[] json, int offset, int length, CompiledPath path) {
+        return json == null ? 0 : getJsonLength(new String(json, offset, length, StandardCharsets.UTF_8), path);
+    }
+
+    /**
+     * Type of the value at a path, like ClickHouse's JSONType. Engines decide it from the value's first token
+     * and read no further into it, except to the end of a number.
+     * @param json Input JSON string
+     * @param path Compiled path to the value
+     * @return The type, or {@link JsonType#NONE} if the value is not found
+     */
+    JsonType getJsonType(String json, CompiledPath path);
+
+    /**
+     * Type of the value at a path in UTF-8 JSON, as {@link #getJsonType(String, CompiledPath)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path to the value
+     * @return The type, or {@link JsonType#NONE} if the value is not found
+     */
+    default JsonType getJsonType(byte[] json, int offset, int length, CompiledPath path) {
+        return json == null ? JsonType.NONE
+            : getJsonType(new String(json, offset, length, StandardCharsets.UTF_8), path);
+    }
+
+    /**
+     * Field names of the object at a path, in document order, like ClickHouse's JSONExtractKeys. Values are
+     * skipped, not parsed. Names resolve through a symbol table (a per-thread one, or the library's own), so a
+     * name that repeats across documents is returned as the same String instance instead of a new one per call.
+     * @param json Input JSON string
+     * @param path Compiled path to the object; the root path lists the document's own fields
+     * @return The names, or an empty array for anything but an object and for values that are not found
+     */
+    String[] getJsonKeys(String json, CompiledPath path);
+
+    /**
+     * Field names of the object at a path in UTF-8 JSON, as {@link #getJsonKeys(String, CompiledPath)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path to the object
+     * @return The names, or an empty array for anything but an object and for values that are not found
+     */
+    default String[] getJsonKeys(byte[] json, int offset, int length, CompiledPath path) {
+        return json == null ? new String[0]
+            : getJsonKeys(new String(json, offset, length, StandardCharsets.UTF_8), path);
+    }
+
+    /**
+     * Locate the elements of the array at a path, like ClickHouse's JSONExtractArrayRaw but without building
+     * their text: element i is the raw text from {@code offsets[2 * i]} to {@code offsets[2 * i + 1]} (exclusive).
+     * Elements are skipped, not parsed, so each one can be parsed later, or on another thread, on its own.
+     * @param json Input JSON string
+     * @param path Compiled path to the array
+     * @return Start and end char offset of each element, or an empty array for anything but an array and for
+     *         values that are not found
+     */
+    int[] getJsonArrayOffsets(String json, CompiledPath path);
+
+    /**
+     * Locate the elements of the array at a path in UTF-8 JSON, as
+     * {@link #getJsonArrayOffsets(String, CompiledPath)}. Offsets are positions in {@code json} itself, not
+     * relative to {@code offset}, so an element can be passed on as {@code (json, start, end - start)}. The
+     * default maps the String offsets back to bytes.
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path to the array
+     * @return Start and end byte position of each element, or an empty array for anything but an array and for
+     *         values that are not found
+     */
+    default int[] getJsonArrayOffsets(byte[] json, int offset, int length, CompiledPath path) {
+        if (json == null) {
+            return new int[0];
+        }
+        String s = new String(json, offset, length, StandardCharsets.UTF_8);
+        int[] offsets = getJsonArrayOffsets(s, path);
+        int pos = offset;
+        int c = 0;
+        for (int k = 0; k < offsets.length; k++) {
+            for (; c < offsets[k]; c++) {
+                char ch = s.charAt(c);
+                pos += ch < 0x80 ? 1 : ch < 0x800 || Character.isSurrogate(ch) ? 2 : 3;
+            }
+            offsets[k] = pos;
+        }
+        return offsets;
+    }
+
+    /**
+     * Extract several values from one document. Engines override it to parse the document once and to resolve
+     * all paths in a single traversal that stops when the last one is found; the default calls getJsonValue per path.
+     * @param json Input JSON string
+     * @param paths Compiled paths to the values
+     * @return The value of path i at index i, or empty string where not found, as getJsonValue returns it
+     */
+    default String[] extractAll(String json, CompiledPath... paths) {
+        String[] values = new String[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            values[i] = getJsonValue(json, paths[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Extract several values from one UTF-8 document
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param paths Compiled paths to the values
+     * @return The value of path i at index i, or empty string where not found
+     */
+    default String[] extractAll(byte[] json, int offset, int length, CompiledPath... paths) {
+        String[] values = new String[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            values[i] = getJsonValue(json, offset, length, paths[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Extract an integer without materializing it as a String, like ClickHouse's JSONExtractInt.
+     * Only a number without fraction or exponent that fits in a long is read. Anything else (missing, null,
+     * strings, booleans, containers, 1.5, 1e3, overflow) yields defaultValue instead of an exception; the
+     * {@link JsonScalar} overload tells a missing value apart from one of another type.
+     * The default parses getJsonValue's String, so it also accepts "42" as a string; engines override it.
+     * @param json Input JSON string
+     * @param path Compiled path to the value
+     * @param defaultValue Returned when there is no integer at the path
+     * @return The value, or defaultValue
+     */
+    default long getJsonLong(String json, CompiledPath path, long defaultValue) {
+        String value = getJsonValue(json, path);
+        if (value.isEmpty()) {
+            return defaultValue;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return JsonBytes.longValue(bytes, 0, bytes.length, defaultValue);
+    }
+
+    /**
+     * Extract a number as a double, like ClickHouse's JSONExtractFloat. Integers are widened;
+     * anything that is not a number yields defaultValue (e.g. Double.NaN).
+     * @param json Input JSON string
+     * @param path Compiled path to the value
+     * @param defaultValue Returned when there is no number at the path
+     * @return The value, or defaultValue
+     */
+    default double getJsonDouble(String json, CompiledPath path, double defaultValue) {
+        String value = getJsonValue(json, path);
+        if (value.isEmpty()) {
+            return defaultValue;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return JsonBytes.doubleValue(bytes, 0, bytes.length, defaultValue);
+    }
+
+    /**
+     * Extract the literal true or false, like ClickHouse's JSONExtractBool. Anything else yields defaultValue;
+     * callers that must tell false from missing use the {@link JsonScalar} overload.
+     * @param json Input JSON string
+     * @param path Compiled path to the value
+     * @param defaultValue Returned when there is no boolean at the path
+     * @return The value, or defaultValue
+     */
+    default boolean getJsonBoolean(String json, CompiledPath path, boolean defaultValue) {
+        String value = getJsonValue(json, path);
+        if (value.isEmpty()) {
+            return defaultValue;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return JsonBytes.booleanValue(bytes, 0, bytes.length, defaultValue);
+    }
+
+    /**
+     * Extract an integer from UTF-8 JSON, as {@link #getJsonLong(String, CompiledPath, long)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path to the value
+     * @param defaultValue Returned when there is no integer at the path
+     * @return The value, or defaultValue
+     */
+    default long getJsonLong(byte[] json, int offset, int length, CompiledPath path, long defaultValue) {
+        return json == null
+            ? defaultValue
+            : getJsonLong(new String(json, offset, length, StandardCharsets.UTF_8), path, defaultValue);
+    }
+
+    /**
+     * Extract a number from UTF-8 JSON, as {@link #getJsonDouble(String, CompiledPath, double)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path to the value
+     * @param defaultValue Returned when there is no number at the path
+     * @return The value, or defaultValue
+     */
+    default double getJsonDouble(byte[] json, int offset, int length, CompiledPath path, double defaultValue) {
+        return json == null
+            ? defaultValue
+            : getJsonDouble(new String(json, offset, length, StandardCharsets.UTF_8), path, defaultValue);
+    }
+
+    /**
+     * Extract a boolean from UTF-8 JSON, as {@link #getJsonBoolean(String, CompiledPath, boolean)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path to the value
+     * @param defaultValue Returned when there is no boolean at the path
+     * @return The value, or defaultValue
+     */
+    default boolean getJsonBoolean(byte[] json, int offset, int length, CompiledPath path, boolean defaultValue) {
+        return json == null
+            ? defaultValue
+            : getJsonBoolean(new String(json, offset, length, StandardCharsets.UTF_8), path, defaultValue);
+    }
+
+    // Typed extraction with an explicit status: the value goes into a reusable JsonScalar along with the type found
+    // at the path, so missing, null and wrong-type values are told apart without exceptions or boxing. The
+    // defaults locate the value once, as its raw text, and read status and value from that text in one pass.
+
+    /**
+     * Extract an integer as {@link #getJsonLong(String, CompiledPath, long)} does, reporting why there is none
+     * @param json Input JSON string
+     * @param path Compiled path to the value
+     * @param result Filled with the value, or with the type found instead ({@link JsonType#NONE} if missing)
+     * @return true if an integer was read
+     */
+    default boolean getJsonLong(String json, CompiledPath path, JsonScalar result) {
+        byte[] raw = json == null || path == null ? null : getJsonRaw(json, path).getBytes(StandardCharsets.UTF_8);
+        return raw == null || raw.length == 0 ? result.missing() : JsonBytes.longValue(raw, 0, raw.length, result);
+    }
+
+    /**
+     * Extract a number as {@link #getJsonDouble(String, CompiledPath, double)} does, reporting why there is none
+     * @param json Input JSON string
+     * @param path Compiled path to the value
+     * @param result Filled with the value, or with the type found instead ({@link JsonType#NONE} if missing)
+     * @return true if a number was read
+     */
+    default boolean getJsonDouble(String json, CompiledPath path, JsonScalar result) {
+        byte[] raw = json == null || path == null ? null : getJsonRaw(json, path).getBytes(StandardCharsets.UTF_8);
+        return raw == null || raw.length == 0 ? result.missing() : JsonBytes.doubleValue(raw, 0, raw.length, result);
+    }
+
+    /**
+     * Extract true or false as {@link #getJsonBoolean(String, CompiledPath, boolean)} does, reporting why there
+     * is none
+     * @param json Input JSON string
+     * @param path Compiled path to the value
+     * @param result Filled with the value, or with the type found instead ({@link JsonType#NONE} if missing)
+     * @return true if a boolean was read
+     */
+    default boolean getJsonBoolean(String json, CompiledPath path, JsonScalar result) {
+        byte[] raw = json == null || path == null ? null : getJsonRaw(json, path).getBytes(StandardCharsets.UTF_8);
+        return raw == null || raw.length == 0
+            ? result.missing()
+            : JsonBytes.booleanValue(raw, 0, raw.length, result);
+    }
+
+    /**
+     * Extract an integer from UTF-8 JSON, as {@link #getJsonLong(String, CompiledPath, JsonScalar)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path to the value
+     * @param result Filled with the value, or with the type found instead ({@link JsonType#NONE} if missing)
+     * @return true if an integer was read
+     */
+    default boolean getJsonLong(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        return json == null
+            ? result.missing()
+            : getJsonLong(new String(json, offset, length, StandardCharsets.UTF_8), path, result);
+    }
+
+    /**
+     * Extract a number from UTF-8 JSON, as {@link #getJsonDouble(String, CompiledPath, JsonScalar)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path to the value
+     * @param result Filled with the value, or with the type found instead ({@link JsonType#NONE} if missing)
+     * @return true if a number was read
+     */
+    default boolean getJsonDouble(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        return json == null
+            ? result.missing()
+            : getJsonDouble(new String(json, offset, length, StandardCharsets.UTF_8), path, result);
+    }
+
+    /**
+     * Extract true or false from UTF-8 JSON, as {@link #getJsonBoolean(String, CompiledPath, JsonScalar)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param path Compiled path to the value
+     * @param result Filled with the value, or with the type found instead ({@link JsonType#NONE} if missing)
+     * @return true if a boolean was read
+     */
+    default boolean getJsonBoolean(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        return json == null
+            ? result.missing()
+            : getJsonBoolean(new String(json, offset, length, StandardCharsets.UTF_8), path, result);
+    }
+
+    /**
+     * Check if the UTF-8 document in the buffer's remaining bytes is valid JSON; the position is not changed.
+     * Heap buffers are read through their backing array. The default copies other buffers onto the heap;
+     * engines override it to avoid that copy.
+     * @param json Buffer holding the document between its position and limit
+     * @return true if valid JSON
+     */
+    default boolean isValidJson(ByteBuffer json) {
+        if (json == null) {
+            return false;
+        }
+        if (json.hasArray()) {
+            return isValidJson(json.array(), json.arrayOffset() + json.position(), json.remaining());
+        }
+        byte[] bytes = ByteBuffers.toArray(json);
+        return isValidJson(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Check if the UTF-8 JSON object in the buffer's remaining bytes has a specific key
+     * @param json Buffer holding the document between its position and limit
+     * @param key Key to look for
+     * @return true if key exists
+     */
+    default boolean hasJsonKey(ByteBuffer json, String key) {
+        if (json == null) {
+            return false;
+        }
+        if (json.hasArray()) {
+            return hasJsonKey(json.array(), json.arrayOffset() + json.position(), json.remaining(), key);
+        }
+        byte[] bytes = ByteBuffers.toArray(json);
+        return hasJsonKey(bytes, 0, bytes.length, key);
+    }
+
+    /**
+     * Extract a value from the UTF-8 JSON in the buffer's remaining bytes using a path
+     * @param json Buffer holding the document between its position and limit
+     * @param path Path to the value (e.g. "$.store.book[0].title" or "$.hello")
+     * @return The extracted value as a string, or empty string if not found
+     */
+    default String getJsonValue(ByteBuffer json, String path) {
+        if (json == null) {
+            return "";
+        }
+        if (json.hasArray()) {
+            return getJsonValue(json.array(), json.arrayOffset() + json.position(), json.remaining(), path);
+        }
+        byte[] bytes = ByteBuffers.toArray(json);
+        return getJsonValue(bytes, 0, bytes.length, path);
+    }
+
+    /**
+     * Extract a value from the UTF-8 JSON in the buffer's remaining bytes using a compiled path
+     * @param json Buffer holding the document between its position and limit
+     * @param path Compiled path to the value
+     * @return The extracted value as a string, or empty string if not found
+     */
+    default String getJsonValue(ByteBuffer json, CompiledPath path) {
+        if (json == null) {
+            return "";
+        }
+        if (json.hasArray()) {
+            return getJsonValue(json.array(), json.arrayOffset() + json.position(), json.remaining(), path);
+        }
+        byte[] bytes = ByteBuffers.toArray(json);
+        return getJsonValue(bytes, 0, bytes.length, path);
+    }
+
+    /**
+     * Validate a whole column of documents in one call, the way ClickHouse evaluates isValidJSON over a block.
+     * The default checks row by row; engines override it to set up readers and per-thread state once per column.
+     * @param column Documents; null rows are invalid
+     * @return Result bitmap: bit {@code i & 63} of word {@code i >>> 6} is set if row i is valid JSON
+     * (the layout of {@link java.util.BitSet#valueOf(long[])})
+     */
+    default long[] isValidJsonBatch(List<String> column) {
+        long[] bits = new long[(column.size() + 63) >>> 6];
+        int i = 0;
+        for (String json : column) {
+            if (isValidJson(json)) {
+                bits[i >>> 6] |= 1L << i;
+            }
+            i++;
+        }
+        return bits;
+    }
+
+    /**
+     * Validate a column of UTF-8 documents stored back to back in one buffer
+     * @param arena Buffer holding all rows
+     * @param offsets Row boundaries: row i is [offsets[i], offsets[i + 1]), so there are offsets.length - 1 rows
+     * @return Result bitmap, see {@link #isValidJsonBatch(List)}
+     */
+    default long[] isValidJsonBatch(byte[] arena, int[] offsets) {
+        int rows = offsets.length - 1;
+        long[] bits = new long[(rows + 63) >>> 6];
+        for (int i = 0; i < rows; i++) {
+            if (isValidJson(arena, offsets[i], offsets[i + 1] - offsets[i])) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Check a whole column of documents for a key in one call
+     * @param column Documents; null rows do not have the key
+     * @param key Key to look for
+     * @return Result bitmap with bit i set if row i has the key, see {@link #isValidJsonBatch(List)}
+     */
+    default long[] hasJsonKeyBatch(List<String> column, String key) {
+        long[] bits = new long[(column.size() + 63) >>> 6];
+        int i = 0;
+        for (String json : column) {
+            if (hasJsonKey(json, key)) {
+                bits[i >>> 6] |= 1L << i;
+            }
+            i++;
+        }
+        return bits;
+    }
+
+    /**
+     * Check a column of UTF-8 documents stored back to back in one buffer for a key
+     * @param arena Buffer holding all rows
+     * @param offsets Row boundaries: row i is [offsets[i], offsets[i + 1])
+     * @param key Key to look for
+     * @return Result bitmap with bit i set if row i has the key, see {@link #isValidJsonBatch(List)}
+     */
+    default long[] hasJsonKeyBatch(byte[] arena, int[] offsets, String key) {
+        int rows = offsets.length - 1;
+        long[] bits = new long[(rows + 63) >>> 6];
+        for (int i = 0; i < rows; i++) {
+            if (hasJsonKey(arena, offsets[i], offsets[i + 1] - offsets[i], key)) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Evaluate {@code SELECT JSON_VALUE(json, path) WHERE isValidJSON(json) AND JSONHas(json, key)} for one row.
+     * The answers are those of isValidJson, hasJsonKey and getJsonValue called in that order, stopping at the
+     * first false. The default makes those calls; engines override it to read the document once instead of up
+     * to three times.
+     * @param json Input JSON string
+     * @param key Top-level key the row must have
+     * @param path Compiled path to the value to extract
+     * @return Whether the row is valid and has the key, and the value of matching rows
+     */
+    default FilterResult filterAndExtract(String json, String key, CompiledPath path) {
+        if (!isValidJson(json)) {
+            return FilterResult.INVALID;
+        }
+        if (!hasJsonKey(json, key)) {
+            return FilterResult.NO_KEY;
+        }
+        return FilterResult.match(getJsonValue(json, path));
+    }
+
+    /**
+     * Filter and extract one UTF-8 row, as {@link #filterAndExtract(String, String, CompiledPath)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param key Top-level key the row must have
+     * @param path Compiled path to the value to extract
+     * @return Whether the row is valid and has the key, and the value of matching rows
+     */
+    default FilterResult filterAndExtract(byte[] json, int offset, int length, String key, CompiledPath path) {
+        if (!isValidJson(json, offset, length)) {
+            return FilterResult.INVALID;
+        }
+        if (!hasJsonKey(json, offset, length, key)) {
+            return FilterResult.NO_KEY;
+        }
+        return FilterResult.match(getJsonValue(json, offset, length, path));
+    }
+
+    // Relaxed extraction after ClickHouse's simpleJSON* (visitParam*) functions: no validation and no walk, the
+    // first "field": anywhere in the document wins. The same for every engine; see SimpleJson.
+
+    /**
+     * Check whether {@code "field":} occurs anywhere in the document, like ClickHouse's simpleJSONHas. Unlike
+     * hasJsonKey it does not validate the document and also finds the field in nested objects.
+     * @param json Input JSON string
+     * @param field Field name as written in the document, without escapes
+     * @return true if the field occurs
+     */
+    default boolean simpleJsonHas(String json, String field) {
+        if (json == null) {
+            return false;
+        }
+        Utf8Buffer in = SimpleJson.encode(json, field);
+        return SimpleJson.find(in.bytes(), 0, in.length(), field) >= 0;
+    }
+
+    /**
+     * Check whether {@code "field":} occurs anywhere in UTF-8 JSON, as
+     * {@link #simpleJsonHas(String, String)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param field Field name as written in the document, without escapes
+     * @return true if the field occurs
+     */
+    default boolean simpleJsonHas(byte[] json, int offset, int length, String field) {
+        return SimpleJson.find(json, offset, offset + length, field) >= 0;
+    }
+
+    /**
+     * Extract the first string value of a field, unescaped, like ClickHouse's simpleJSONExtractString. The
+     * document is not validated: the first {@code "field":} at any depth is the match, and the value is read
+     * from there. Several times cheaper than a strict getJsonValue on flat records, at the cost of the
+     * differences listed in the README.
+     * @param json Input JSON string
+     * @param field Field name as written in the document, without escapes
+     * @return The value, or "" if the field does not occur or its value is not a string
+     */
+    default String simpleJsonExtractString(String json, String field) {
+        if (json == null) {
+            return "";
+        }
+        Utf8Buffer in = SimpleJson.encode(json, field);
+        return SimpleJson.string(in.bytes(), SimpleJson.find(in.bytes(), 0, in.length(), field), in.length());
+    }
+
+    /**
+     * Extract the first string value of a field from UTF-8 JSON, as
+     * {@link #simpleJsonExtractString(String, String)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param field Field name as written in the document, without escapes
+     * @return The value, or "" if the field does not occur or its value is not a string
+     */
+    default String simpleJsonExtractString(byte[] json, int offset, int length, String field) {
+        return SimpleJson.string(json, SimpleJson.find(json, offset, offset + length, field), offset + length);
+    }
+
+    /**
+     * Extract the first value of a field as written, like ClickHouse's simpleJSONExtractRaw, with the relaxed
+     * matching of {@link #simpleJsonExtractString(String, String)}
+     * @param json Input JSON string
+     * @param field Field name as written in the document, without escapes
+     * @return The raw value, or "" if the field does not occur
+     */
+    default String simpleJsonExtractRaw(String json, String field) {
+        if (json == null) {
+            return "";
+        }
+        Utf8Buffer in = SimpleJson.encode(json, field);
+        return SimpleJson.raw(in.bytes(), SimpleJson.find(in.bytes(), 0, in.length(), field), in.length());
+    }
+
+    /**
+     * Extract the first value of a field from UTF-8 JSON as written, as
+     * {@link #simpleJsonExtractRaw(String, String)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param field Field name as written in the document, without escapes
+     * @return The raw value, or "" if the field does not occur
+     */
+    default String simpleJsonExtractRaw(byte[] json, int offset, int length, String field) {
+        return SimpleJson.raw(json, SimpleJson.find(json, offset, offset + length, field), offset + length);
+    }
+
+    /**
+     * Extract the leading integer of the first value of a field, like ClickHouse's simpleJSONExtractInt: 12.5
+     * reads as 12 and a string as the number it starts with. Matching is relaxed as in
+     * {@link #simpleJsonExtractString(String, String)}.
+     * @param json Input JSON string
+     * @param field Field name as written in the document, without escapes
+     * @return The value, or 0 if the field does not occur or holds no number
+     */
+    default long simpleJsonExtractLong(String json, String field) {
+        if (json == null) {
+            return 0;
+        }
+        Utf8Buffer in = SimpleJson.encode(json, field);
+        return SimpleJson.longValue(in.bytes(), SimpleJson.find(in.bytes(), 0, in.length(), field), in.length());
+    }
+
+    /**
+     * Extract the leading integer of the first value of a field from UTF-8 JSON, as
+     * {@link #simpleJsonExtractLong(String, String)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param field Field name as written in the document, without escapes
+     * @return The value, or 0 if the field does not occur or holds no number
+     */
+    default long simpleJsonExtractLong(byte[] json, int offset, int length, String field) {
+        return SimpleJson.longValue(json, SimpleJson.find(json, offset, offset + length, field), offset + length);
+    }
+
+    /**
+     * Extract the first value of a field as a double, like ClickHouse's simpleJSONExtractFloat; a string reads
+     * as the number it starts with. Matching is relaxed as in {@link #simpleJsonExtractString(String, String)}.
+     * @param json Input JSON string
+     * @param field Field name as written in the document, without escapes
+     * @return The value, or 0 if the field does not occur or holds no number
+     */
+    default double simpleJsonExtractDouble(String json, String field) {
+        if (json == null) {
+            return 0;
+        }
+        Utf8Buffer in = SimpleJson.encode(json, field);
+        return SimpleJson.doubleValue(in.bytes(), SimpleJson.find(in.bytes(), 0, in.length(), field), in.length());
+    }
+
+    /**
+     * Extract the first value of a field from UTF-8 JSON as a double, as
+     * {@link #simpleJsonExtractDouble(String, String)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param field Field name as written in the document, without escapes
+     * @return The value, or 0 if the field does not occur or holds no number
+     */
+    default double simpleJsonExtractDouble(byte[] json, int offset, int length, String field) {
+        return SimpleJson.doubleValue(json, SimpleJson.find(json, offset, offset + length, field), offset + length);
+    }
+
+    /**
+     * Check whether the first value of a field is the literal true, like ClickHouse's simpleJSONExtractBool.
+     * Matching is relaxed as in {@link #simpleJsonExtractString(String, String)}.
+     * @param json Input JSON string
+     * @param field Field name as written in the document, without escapes
+     * @return true only for the literal true
+     */
+    default boolean simpleJsonExtractBool(String json, String field) {
+        if (json == null) {
+            return false;
+        }
+        Utf8Buffer in = SimpleJson.encode(json, field);
+        return SimpleJson.booleanValue(in.bytes(), SimpleJson.find(in.bytes(), 0, in.length(), field), in.length());
+    }
+
+    /**
+     * Check whether the first value of a field in UTF-8 JSON is the literal true, as
+     * {@link #simpleJsonExtractBool(String, String)}
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @param field Field name as written in the document, without escapes
+     * @return true only for the literal true
+     */
+    default boolean simpleJsonExtractBool(byte[] json, int offset, int length, String field) {
+        return SimpleJson.booleanValue(json, SimpleJson.find(json, offset, offset + length, field), offset + length);
+    }
+
+    /**
+     * Prepare one operation with a fixed key or path; callers use {@link JsonQuery#of}, which compiles the
+     * argument. Engines override it to return a query with their own precomputed matching state.
+     * @param operation Operation to run
+     * @param path Key path for HAS_KEY (see {@link CompiledPath#name(int)}), compiled path for GET_VALUE,
+     *             null for IS_VALID
+     * @return Query that calls this engine's methods
+     */
+    default JsonQuery prepare(JsonQuery.Operation operation, CompiledPath path) {
+        return new JsonQuery(this, operation, path);
+    }
+
     /**
      * Get parser name for benchmarking
      * @return Parser name
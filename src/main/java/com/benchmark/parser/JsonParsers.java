@@ -0,0 +1,48 @@
+package com.benchmark.parser;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Registry of all engines, so benchmarks and composite parsers can look them up by {@link JsonParserInterface#getName()}.
+ */
+public final class JsonParsers {
+
+    private JsonParsers() {
+    }
+
+    /**
+     * @return A fresh instance of every engine
+     */
+    public static List<JsonParserInterface> all() {
+        return Arrays.asList(
+            new JacksonDomParser(),
+            new JacksonStreamingParser(),
+            new FastJsonDomParser(),
+            new FastJsonStreamingParser(),
+            new JsonIteratorParser(),
+            new StateMachineParser(),
+            new VectorIndexParser(),
+            new SwarParser(),
+            new TapeParser(),
+            new OnDemandParser(),
+            new OnDemandParser(true),
+            new KeyScanParser(),
+            new ShapeSpeculatingParser()
+        );
+    }
+
+    /**
+     * @param name Engine name as returned by getName()
+     * @return A fresh instance of that engine
+     * @throws IllegalArgumentException if no engine has that name
+     */
+    public static JsonParserInterface byName(String name) {
+        for (JsonParserInterface parser : all()) {
+            if (parser.getName().equals(name)) {
+                return parser;
+            }
+        }
+        throw new IllegalArgumentException("Unknown parser: " + name);
+    }
+}
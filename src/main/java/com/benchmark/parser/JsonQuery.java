@@ -0,0 +1,154 @@
+package com.benchmark.parser;
+
+/**
+ * One operation with a fixed key or path, prepared once and then run against many documents, the way ClickHouse
+ * evaluates {@code JSONHas(Body, 'correlationId')} with a constant argument over a whole column.
+ * Preparing takes the per-call setup out of the row loop: the key or path is compiled once, and engines
+ * precompute what they match with (encoded key bytes, Jackson {@code SerializedString}s, FastJSON2 field-name
+ * hashes, prefilter needles).
+ *
+ * <p>A query returns exactly what the engine's own method returns for the same input. Queries are immutable and
+ * can be shared between threads. Engines hand out subclasses from
+ * {@link JsonParserInterface#prepare(Operation, CompiledPath)} that override the hooks below; this class runs
+ * the operation through the engine's regular methods.
+ */
+public class JsonQuery {
+
+    public enum Operation {
+        /** isValidJson; takes no argument */
+        IS_VALID,
+        /** hasJsonKey with a top-level key */
+        HAS_KEY,
+        /** getJsonValue with a path */
+        GET_VALUE
+    }
+
+    final JsonParserInterface engine;
+    final Operation operation;
+    // Single-segment key path for HAS_KEY, the compiled path for GET_VALUE, null for IS_VALID
+    final CompiledPath path;
+
+    JsonQuery(JsonParserInterface engine, Operation operation, CompiledPath path) {
+        this.engine = engine;
+        this.operation = operation;
+        this.path = path;
+    }
+
+    /**
+     * Prepare a query
+     * @param engine Engine that runs the query
+     * @param operation Operation to run
+     * @param argument Key for HAS_KEY, path for GET_VALUE (e.g. "$.store.book[0].title"); ignored for IS_VALID
+     * @return Query to run against any number of documents
+     * @throws IllegalArgumentException if the key or path is missing, or the path is malformed
+     */
+    public static JsonQuery of(JsonParserInterface engine, Operation operation, String argument) {
+        CompiledPath path = null;
+        if (operation != Operation.IS_VALID) {
+            if (argument == null) {
+                throw new IllegalArgumentException(operation + " needs a key or path");
+            }
+            path = operation == Operation.HAS_KEY ? CompiledPath.key(argument) : CompiledPath.compile(argument);
+        }
+        return engine.prepare(operation, path);
+    }
+
+    public Operation operation() {
+        return operation;
+    }
+
+    /**
+     * Run the query as a predicate
+     * @param json Input JSON string
+     * @return For IS_VALID and HAS_KEY the engine's answer; for GET_VALUE whether a value was found
+     */
+    public boolean test(String json) {
+        switch (operation) {
+            case IS_VALID:
+                return isValid(json);
+            case HAS_KEY:
+                return hasKey(json);
+            default:
+                return !value(json).isEmpty();
+        }
+    }
+
+    /**
+     * Run the query as a predicate on UTF-8 input
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @return For IS_VALID and HAS_KEY the engine's answer; for GET_VALUE whether a value was found
+     */
+    public boolean test(byte[] json, int offset, int length) {
+        switch (operation) {
+            case IS_VALID:
+                return isValid(json, offset, length);
+            case HAS_KEY:
+                return hasKey(json, offset, length);
+            default:
+                return !value(json, offset, length).isEmpty();
+        }
+    }
+
+    /**
+     * Run a GET_VALUE query
+     * @param json Input JSON string
+     * @return The extracted value as a string, or empty string if not found
+     * @throws IllegalStateException if the query is a predicate without a value
+     */
+    public String extract(String json) {
+        checkValue();
+        return value(json);
+    }
+
+    /**
+     * Run a GET_VALUE query on UTF-8 input
+     * @param json Buffer holding the document
+     * @param offset Start of the document in the buffer
+     * @param length Length of the document in bytes
+     * @return The extracted value as a string, or empty string if not found
+     * @throws IllegalStateException if the query is a predicate without a value
+     */
+    public String extract(byte[] json, int offset, int length) {
+        checkValue();
+        return value(json, offset, length);
+    }
+
+    @Override
+    public String toString() {
+        return engine.getName() + " " + operation + (path == null ? "" : " " + path.expression());
+    }
+
+    private void checkValue() {
+        if (operation != Operation.GET_VALUE) {
+            throw new IllegalStateException(operation + " query has no value to extract");
+        }
+    }
+
+    // Hooks for engine-specific queries; arguments are as in the engine methods they stand for
+
+    boolean isValid(String json) {
+        return engine.isValidJson(json);
+    }
+
+    boolean isValid(byte[] json, int offset, int length) {
+        return engine.isValidJson(json, offset, length);
+    }
+
+    boolean hasKey(String json) {
+        return engine.hasJsonKey(json, path.name(0));
+    }
+
+    boolean hasKey(byte[] json, int offset, int length) {
+        return engine.hasJsonKey(json, offset, length, path.name(0));
+    }
+
+    String value(String json) {
+        return engine.getJsonValue(json, path);
+    }
+
+    String value(byte[] json, int offset, int length) {
+        return engine.getJsonValue(json, offset, length, path);
+    }
+}
@@ -0,0 +1,114 @@
+package com.benchmark.parser;
+
+/**
+ * Reusable outcome of the typed getters that take one, e.g.
+ * {@link JsonParserInterface#getJsonLong(String, CompiledPath, JsonScalar)}: the value, or whether it was missing
+ * or of another type, without an exception or a boxed value. One instance per thread is enough; every call
+ * replaces the previous outcome.
+ *
+ * <p>{@link #type()} is the type of the value at the path as getJsonType reports it, also when it is not the
+ * type that was asked for, so a caller can tell {@code "42"} or null apart from no value at all.
+ */
+public final class JsonScalar {
+    private JsonType type = JsonType.NONE;
+    private boolean found;
+    private long longValue;
+    private double doubleValue;
+    private boolean booleanValue;
+
+    /**
+     * @return true if the last call read a value of the requested type
+     */
+    public boolean isFound() {
+        return found;
+    }
+
+    /**
+     * @return true if the path did not resolve, or the engine rejected the document
+     */
+    public boolean isMissing() {
+        return type == JsonType.NONE;
+    }
+
+    /**
+     * @return true if there is a value of another type, or an integer a long cannot hold
+     */
+    public boolean isMismatch() {
+        return !found && type != JsonType.NONE;
+    }
+
+    /**
+     * @return Type of the value at the path, or {@link JsonType#NONE} if it is missing
+     */
+    public JsonType type() {
+        return type;
+    }
+
+    /**
+     * @return The value read by getJsonLong, or 0 if none was found
+     */
+    public long longValue() {
+        return longValue;
+    }
+
+    /**
+     * @return The value read by getJsonDouble, or 0 if none was found
+     */
+    public double doubleValue() {
+        return doubleValue;
+    }
+
+    /**
+     * @return The value read by getJsonBoolean, or false if none was found
+     */
+    public boolean booleanValue() {
+        return booleanValue;
+    }
+
+    boolean setLong(long value) {
+        set(JsonType.INTEGER);
+        longValue = value;
+        return true;
+    }
+
+    /**
+     * @param type INTEGER or DOUBLE, as the number is written
+     */
+    boolean setDouble(double value, JsonType type) {
+        set(type);
+        doubleValue = value;
+        return true;
+    }
+
+    boolean setBoolean(boolean value) {
+        set(JsonType.BOOLEAN);
+        booleanValue = value;
+        return true;
+    }
+
+    /**
+     * @return false, so that getters can {@code return result.mismatch(type)}
+     */
+    boolean mismatch(JsonType type) {
+        set(type);
+        found = false;
+        return false;
+    }
+
+    boolean missing() {
+        return mismatch(JsonType.NONE);
+    }
+
+    private void set(JsonType type) {
+        this.type = type;
+        found = true;
+        longValue = 0;
+        doubleValue = 0;
+        booleanValue = false;
+    }
+
+    @Override
+    public String toString() {
+        return found ? "found " + type : isMissing() ? "missing" : "mismatch " + type;
+    }
+}
@@ -0,0 +1,178 @@
+package com.benchmark.parser;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reusable {@link CharSequence} view of an extracted value, filled by
+ * {@link JsonParserInterface#getJsonSlice(String, CompiledPath, JsonSlice)}. Values without escapes are not
+ * copied: the view points into the caller's String, or into the caller's byte[] when the value is ASCII.
+ * Other values are copied into a char buffer owned by the slice, which grows once and is then reused.
+ *
+ * <p>Compare or hash the view with {@link #contentEquals(CharSequence)} / {@link #contentHashCode()} and call
+ * {@link #toString()} only for values that are kept. A view into the input is valid while the input is unchanged;
+ * every fill replaces the previous value, so one slice per thread is enough.
+ */
+public final class JsonSlice implements CharSequence {
+    private CharSequence source;
+    private byte[] bytes;
+    private char[] chars = new char[64];
+    private int offset;
+    private int length;
+
+    /**
+     * View {@code length} chars of a String or other CharSequence, starting at {@code offset}
+     */
+    void set(CharSequence source, int offset, int length) {
+        this.source = source;
+        this.bytes = null;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * View UTF-8 bytes in place if they are ASCII; otherwise decode them into the owned char buffer
+     */
+    void set(byte[] bytes, int offset, int length) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (bytes[i] < 0) {
+                decode(bytes, offset, end);
+                return;
+            }
+        }
+        this.source = null;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Copy chars into the owned buffer, e.g. from a parser's recycled text buffer
+     */
+    void set(char[] text, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(text, offset, chars, 0, length);
+        ownChars(length);
+    }
+
+    /**
+     * Re-point a view of the UTF-8 encoding of {@code json} at {@code json} itself. Byte and char offsets agree
+     * when the encoding was pure ASCII; otherwise the value is copied out, since the encoding is a scratch buffer.
+     */
+    void rebase(String json, boolean ascii) {
+        if (bytes == null) {
+            return;
+        }
+        if (ascii) {
+            set(json, offset, length);
+        } else {
+            ensureCapacity(length);
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) bytes[offset + i];
+            }
+            ownChars(length);
+        }
+    }
+
+    void clear() {
+        set("", 0, 0);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        if (bytes != null) {
+            return (char) bytes[offset + index];
+        }
+        return source != null ? source.charAt(offset + index) : chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    /**
+     * @return true if the view holds exactly the chars of {@code other}, without materializing a String
+     */
+    public boolean contentEquals(CharSequence other) {
+        if (other == null || other.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (charAt(i) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The hash code the same chars have as a String
+     */
+    public int contentHashCode() {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + charAt(i);
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        if (bytes != null) {
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+        return source != null ? source.subSequence(offset, offset + length).toString() : new String(chars, 0, length);
+    }
+
+    private void decode(byte[] b, int from, int to) {
+        ensureCapacity(to - from);
+        int n = 0;
+        int i = from;
+        while (i < to) {
+            int c = b[i] & 0xFF;
+            if (c < 0x80) {
+                chars[n++] = (char) c;
+                i++;
+            } else if (c < 0xE0 && i + 1 < to) {
+                chars[n++] = (char) (((c & 0x1F) << 6) | (b[i + 1] & 0x3F));
+                i += 2;
+            } else if (c < 0xF0 && i + 2 < to) {
+                chars[n++] = (char) (((c & 0x0F) << 12) | ((b[i + 1] & 0x3F) << 6) | (b[i + 2] & 0x3F));
+                i += 3;
+            } else if (i + 3 < to) {
+                int cp = ((c & 0x07) << 18) | ((b[i + 1] & 0x3F) << 12)
+                    | ((b[i + 2] & 0x3F) << 6) | (b[i + 3] & 0x3F);
+                chars[n++] = Character.highSurrogate(cp);
+                chars[n++] = Character.lowSurrogate(cp);
+                i += 4;
+            } else {
+                // Truncated sequence
+                chars[n++] = '\uFFFD';
+                i = to;
+            }
+        }
+        ownChars(n);
+    }
+
+    private void ensureCapacity(int n) {
+        if (chars.length < n) {
+            chars = new char[Math.max(n, chars.length * 2)];
+        }
+    }
+
+    private void ownChars(int length) {
+        this.source = null;
+        this.bytes = null;
+        this.offset = 0;
+        this.length = length;
+    }
+}
@@ -0,0 +1,20 @@
+package com.benchmark.parser;
+
+/**
+ * Type of the value at a path, as {@link JsonParserInterface#getJsonType(String, CompiledPath)} reports it.
+ * The constants follow ClickHouse's {@code JSONType} result, except that a missing value is {@link #NONE}
+ * rather than Null, so that a JSON null can be told apart from no value at all.
+ */
+public enum JsonType {
+    OBJECT,
+    ARRAY,
+    STRING,
+    /** A number without fraction or exponent, whatever its magnitude */
+    INTEGER,
+    /** A number with a fraction or an exponent */
+    DOUBLE,
+    BOOLEAN,
+    NULL,
+    /** The path does not resolve, or the engine rejected the document */
+    NONE
+}
@@ -0,0 +1,125 @@
+package com.benchmark.parser;
+
+/**
+ * Reusable outcome of {@link JsonParserInterface#validateJson(String, JsonValidation)}: why the input was
+ * rejected and where. Validation reports errors through this object instead of exceptions, and the byte-level
+ * engines fill it without allocating. One instance per thread is enough; every call replaces the previous outcome.
+ *
+ * <p>Offsets count from the start of the document: chars for String input, bytes for UTF-8 input.
+ * Errors are located by the StateMachine validator; an engine that rejects what that validator accepts
+ * (e.g. through a quick check) reports {@link Reason#REJECTED} without an offset.
+ */
+public final class JsonValidation {
+    private static final ThreadLocal<Utf8Buffer> INPUT = ThreadLocal.withInitial(Utf8Buffer::new);
+
+    public enum Reason {
+        /** The input is valid */
+        NONE,
+        /** Null, empty or only whitespace */
+        EMPTY,
+        /** The root value is not an object or array */
+        NOT_CONTAINER,
+        /** A structural character is missing or out of place, e.g. no ':' after a key or an unquoted key */
+        UNEXPECTED_CHAR,
+        /** A malformed number or true/false/null literal; the offset is where the token starts */
+        INVALID_VALUE,
+        /** An invalid escape, unescaped control character or malformed UTF-8 inside a string */
+        INVALID_STRING,
+        /** A string runs to the end of the input; the offset is its opening quote */
+        UNTERMINATED_STRING,
+        /** The input ends inside a container */
+        UNEXPECTED_END,
+        /** Containers nest deeper than {@code StateMachineParser.MAX_DEPTH} */
+        DEPTH,
+        /** Something other than whitespace follows the root value */
+        TRAILING_DATA,
+        /** The engine rejected the input but the error could not be located */
+        REJECTED
+    }
+
+    private Reason reason = Reason.NONE;
+    private int offset = -1;
+
+    /**
+     * @return true if the last validation accepted the input
+     */
+    public boolean isValid() {
+        return reason == Reason.NONE;
+    }
+
+    public Reason reason() {
+        return reason;
+    }
+
+    /**
+     * @return Offset of the error in the document, or -1 for valid input and {@link Reason#REJECTED}
+     */
+    public int offset() {
+        return offset;
+    }
+
+    boolean pass() {
+        reason = Reason.NONE;
+        offset = -1;
+        return true;
+    }
+
+    /**
+     * @return false, so that validators can {@code return result.fail(...)}
+     */
+    boolean fail(Reason reason, int offset) {
+        this.reason = reason;
+        this.offset = offset;
+        return false;
+    }
+
+    /**
+     * Locate the error in a String the engine rejected, through a per-thread encoding of it
+     */
+    static boolean locate(String json, JsonValidation result) {
+        if (json == null) {
+            return result.fail(Reason.EMPTY, 0);
+        }
+        Utf8Buffer in = INPUT.get().encode(json);
+        locate(in.bytes(), 0, in.length(), result);
+        if (!in.isAscii()) {
+            result.toChars(in.bytes(), 0);
+        }
+        return false;
+    }
+
+    /**
+     * Locate the error in UTF-8 input the engine rejected
+     */
+    static boolean locate(byte[] json, int offset, int length, JsonValidation result) {
+        if (json == null) {
+            return result.fail(Reason.EMPTY, 0);
+        }
+        if (StateMachineParser.validate(json, offset, offset + length, result)) {
+            return result.fail(Reason.REJECTED, -1);
+        }
+        return false;
+    }
+
+    /**
+     * Turn the byte offset into the UTF-8 encoding of a String, starting at {@code start}, into a char offset:
+     * each byte that starts a sequence is one char, and a four-byte sequence is a surrogate pair.
+     */
+    void toChars(byte[] utf8, int start) {
+        int chars = 0;
+        for (int i = start; i < start + offset; i++) {
+            int c = utf8[i] & 0xFF;
+            if (c < 0x80 || c >= 0xC0) {
+                chars += c >= 0xF0 ? 2 : 1;
+            }
+        }
+        if (offset > 0) {
+            offset = chars;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "valid" : offset < 0 ? reason.toString() : reason + " at " + offset;
+    }
+}
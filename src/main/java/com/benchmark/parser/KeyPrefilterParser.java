@@ -0,0 +1,609 @@
+package com.benchmark.parser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorator that rules out documents which cannot contain the requested key before calling the wrapped parser.
+ * It searches for the quoted key (e.g. {@code "correlationId"}) as a plain substring: if it is absent,
+ * hasJsonKey returns false and getJsonValue returns "" without invoking the delegate.
+ * Only candidate documents reach the real parser.
+ *
+ * <p>String inputs use {@link String#indexOf(String)}, which HotSpot compiles to a vectorized intrinsic;
+ * byte inputs use a SWAR search. A field name could also be written with unicode escapes, so documents containing
+ * a backslash-u sequence are always treated as candidates, as are keys with characters that have short escapes.
+ */
+public class KeyPrefilterParser implements JsonParserInterface {
+    private static final int CACHE_LIMIT = 1024;
+    private static final byte[] UNICODE_ESCAPE = {'\\', 'u'};
+
+    private final JsonParserInterface delegate;
+    private final ConcurrentHashMap<String, Needle> keys = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<CompiledPath, Needle[]> paths = new ConcurrentHashMap<>();
+
+    public KeyPrefilterParser(JsonParserInterface delegate) {
+        this.delegate = delegate;
+    }
+
+    public JsonParserInterface getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean isValidJson(String json) {
+        return delegate.isValidJson(json);
+    }
+
+    @Override
+    public boolean validateJson(String json, JsonValidation result) {
+        return delegate.validateJson(json, result);
+    }
+
+    @Override
+    public boolean hasJsonKey(String json, String key) {
+        if (json == null || key == null || !mayContain(json, needle(key))) {
+            return false;
+        }
+        return delegate.hasJsonKey(json, key);
+    }
+
+    @Override
+    public boolean hasJsonKey(String json, CompiledPath path) {
+        if (json == null || path == null || !mayContainAll(json, needles(path))) {
+            return false;
+        }
+        return delegate.hasJsonKey(json, path);
+    }
+
+    @Override
+    public String getJsonValue(String json, String path) {
+        if (json == null || path == null) {
+            return "";
+        }
+        Needle[] needles = needles(path);
+        if (needles == null) {
+            return delegate.getJsonValue(json, path);
+        }
+        for (Needle needle : needles) {
+            if (!mayContain(json, needle)) {
+                return "";
+            }
+        }
+        return delegate.getJsonValue(json, path);
+    }
+
+    @Override
+    public String getJsonValue(String json, CompiledPath path) {
+        if (json == null || path == null) {
+            return "";
+        }
+        for (Needle needle : needles(path)) {
+            if (!mayContain(json, needle)) {
+                return "";
+            }
+        }
+        return delegate.getJsonValue(json, path);
+    }
+
+    @Override
+    public boolean isValidJson(byte[] json, int offset, int length) {
+        return delegate.isValidJson(json, offset, length);
+    }
+
+    @Override
+    public boolean validateJson(byte[] json, int offset, int length, JsonValidation result) {
+        return delegate.validateJson(json, offset, length, result);
+    }
+
+    @Override
+    public boolean hasJsonKey(byte[] json, int offset, int length, String key) {
+        if (json == null || key == null || !mayContain(json, offset, offset + length, needle(key))) {
+            return false;
+        }
+        return delegate.hasJsonKey(json, offset, length, key);
+    }
+
+    @Override
+    public boolean hasJsonKey(byte[] json, int offset, int length, CompiledPath path) {
+        if (json == null || path == null || !mayContainAll(json, offset, offset + length, needles(path))) {
+            return false;
+        }
+        return delegate.hasJsonKey(json, offset, length, path);
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, String path) {
+        if (json == null || path == null) {
+            return "";
+        }
+        Needle[] needles = needles(path);
+        if (needles != null) {
+            for (Needle needle : needles) {
+                if (!mayContain(json, offset, offset + length, needle)) {
+                    return "";
+                }
+            }
+        }
+        return delegate.getJsonValue(json, offset, length, path);
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, CompiledPath path) {
+        if (json == null || path == null) {
+            return "";
+        }
+        for (Needle needle : needles(path)) {
+            if (!mayContain(json, offset, offset + length, needle)) {
+                return "";
+            }
+        }
+        return delegate.getJsonValue(json, offset, length, path);
+    }
+
+    @Override
+    public boolean getJsonSlice(String json, CompiledPath path, JsonSlice slice) {
+        if (json == null || path == null || !mayContainAll(json, needles(path))) {
+            slice.clear();
+            return false;
+        }
+        return delegate.getJsonSlice(json, path, slice);
+    }
+
+    @Override
+    public boolean getJsonSlice(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        if (json == null || path == null || !mayContainAll(json, offset, offset + length, needles(path))) {
+            slice.clear();
+            return false;
+        }
+        return delegate.getJsonSlice(json, offset, length, path, slice);
+    }
+
+    @Override
+    public String getJsonRaw(String json, CompiledPath path) {
+        if (json == null || path == null || !mayContainAll(json, needles(path))) {
+            return "";
+        }
+        return delegate.getJsonRaw(json, path);
+    }
+
+    @Override
+    public String getJsonRaw(byte[] json, int offset, int length, CompiledPath path) {
+        if (json == null || path == null || !mayContainAll(json, offset, offset + length, needles(path))) {
+            return "";
+        }
+        return delegate.getJsonRaw(json, offset, length, path);
+    }
+
+    @Override
+    public boolean getJsonRaw(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        if (json == null || path == null || !mayContainAll(json, offset, offset + length, needles(path))) {
+            slice.clear();
+            return false;
+        }
+        return delegate.getJsonRaw(json, offset, length, path, slice);
+    }
+
+    @Override
+    public int getJsonLength(String json, CompiledPath path) {
+        if (json == null || path == null || !mayContainAll(json, needles(path))) {
+            return 0;
+        }
+        return delegate.getJsonLength(json, path);
+    }
+
+    @Override
+    public int getJsonLength(byte[] json, int offset, int length, CompiledPath path) {
+        if (json == null || path == null || !mayContainAll(json, offset, offset + length, needles(path))) {
+            return 0;
+        }
+        return delegate.getJsonLength(json, offset, length, path);
+    }
+
+    @Override
+    public JsonType getJsonType(String json, CompiledPath path) {
+        if (json == null || path == null || !mayContainAll(json, needles(path))) {
+            return JsonType.NONE;
+        }
+        return delegate.getJsonType(json, path);
+    }
+
+    @Override
+    public JsonType getJsonType(byte[] json, int offset, int length, CompiledPath path) {
+        if (json == null || path == null || !mayContainAll(json, offset, offset + length, needles(path))) {
+            return JsonType.NONE;
+        }
+        return delegate.getJsonType(json, offset, length, path);
+    }
+
+    @Override
+    public String[] getJsonKeys(String json, CompiledPath path) {
+        if (json == null || path == null || !mayContainAll(json, needles(path))) {
+            return KeySymbols.NO_KEYS;
+        }
+        return delegate.getJsonKeys(json, path);
+    }
+
+    @Override
+    public String[] getJsonKeys(byte[] json, int offset, int length, CompiledPath path) {
+        if (json == null || path == null || !mayContainAll(json, offset, offset + length, needles(path))) {
+            return KeySymbols.NO_KEYS;
+        }
+        return delegate.getJsonKeys(json, offset, length, path);
+    }
+
+    @Override
+    public int[] getJsonArrayOffsets(String json, CompiledPath path) {
+        if (json == null || path == null || !mayContainAll(json, needles(path))) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+        return delegate.getJsonArrayOffsets(json, path);
+    }
+
+    @Override
+    public int[] getJsonArrayOffsets(byte[] json, int offset, int length, CompiledPath path) {
+        if (json == null || path == null || !mayContainAll(json, offset, offset + length, needles(path))) {
+            return JsonBytes.NO_ELEMENTS;
+        }
+        return delegate.getJsonArrayOffsets(json, offset, length, path);
+    }
+
+    // Typed values: a row that cannot contain the path's keys gets the default without being parsed
+
+    @Override
+    public long getJsonLong(String json, CompiledPath path, long defaultValue) {
+        if (json == null || path == null || !mayContainAll(json, needles(path))) {
+            return defaultValue;
+        }
+        return delegate.getJsonLong(json, path, defaultValue);
+    }
+
+    @Override
+    public double getJsonDouble(String json, CompiledPath path, double defaultValue) {
+        if (json == null || path == null || !mayContainAll(json, needles(path))) {
+            return defaultValue;
+        }
+        return delegate.getJsonDouble(json, path, defaultValue);
+    }
+
+    @Override
+    public boolean getJsonBoolean(String json, CompiledPath path, boolean defaultValue) {
+        if (json == null || path == null || !mayContainAll(json, needles(path))) {
+            return defaultValue;
+        }
+        return delegate.getJsonBoolean(json, path, defaultValue);
+    }
+
+    @Override
+    public long getJsonLong(byte[] json, int offset, int length, CompiledPath path, long defaultValue) {
+        if (json == null || path == null || !mayContainAll(json, offset, offset + length, needles(path))) {
+            return defaultValue;
+        }
+        return delegate.getJsonLong(json, offset, length, path, defaultValue);
+    }
+
+    @Override
+    public double getJsonDouble(byte[] json, int offset, int length, CompiledPath path, double defaultValue) {
+        if (json == null || path == null || !mayContainAll(json, offset, offset + length, needles(path))) {
+            return defaultValue;
+        }
+        return delegate.getJsonDouble(json, offset, length, path, defaultValue);
+    }
+
+    @Override
+    public boolean getJsonBoolean(byte[] json, int offset, int length, CompiledPath path, boolean defaultValue) {
+        if (json == null || path == null || !mayContainAll(json, offset, offset + length, needles(path))) {
+            return defaultValue;
+        }
+        return delegate.getJsonBoolean(json, offset, length, path, defaultValue);
+    }
+
+    @Override
+    public boolean getJsonLong(String json, CompiledPath path, JsonScalar result) {
+        if (json == null || path == null || !mayContainAll(json, needles(path))) {
+            return result.missing();
+        }
+        return delegate.getJsonLong(json, path, result);
+    }
+
+    @Override
+    public boolean getJsonDouble(String json, CompiledPath path, JsonScalar result) {
+        if (json == null || path == null || !mayContainAll(json, needles(path))) {
+            return result.missing();
+        }
+        return delegate.getJsonDouble(json, path, result);
+    }
+
+    @Override
+    public boolean getJsonBoolean(String json, CompiledPath path, JsonScalar result) {
+        if (json == null || path == null || !mayContainAll(json, needles(path))) {
+            return result.missing();
+        }
+        return delegate.getJsonBoolean(json, path, result);
+    }
+
+    @Override
+    public boolean getJsonLong(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        if (json == null || path == null || !mayContainAll(json, offset, offset + length, needles(path))) {
+            return result.missing();
+        }
+        return delegate.getJsonLong(json, offset, length, path, result);
+    }
+
+    @Override
+    public boolean getJsonDouble(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        if (json == null || path == null || !mayContainAll(json, offset, offset + length, needles(path))) {
+            return result.missing();
+        }
+        return delegate.getJsonDouble(json, offset, length, path, result);
+    }
+
+    @Override
+    public boolean getJsonBoolean(byte[] json, int offset, int length, CompiledPath path, JsonScalar result) {
+        if (json == null || path == null || !mayContainAll(json, offset, offset + length, needles(path))) {
+            return result.missing();
+        }
+        return delegate.getJsonBoolean(json, offset, length, path, result);
+    }
+
+    /**
+     * A row that cannot contain the key is only validated; the others go to the delegate's fused evaluation,
+     * whose value is dropped when the path keys are not all in the document, as getJsonValue does
+     */
+    @Override
+    public FilterResult filterAndExtract(String json, String key, CompiledPath path) {
+        if (json == null || key == null || !mayContain(json, needle(key))) {
+            return delegate.isValidJson(json) ? FilterResult.NO_KEY : FilterResult.INVALID;
+        }
+        FilterResult result = delegate.filterAndExtract(json, key, path);
+        return result.matches() && !mayContainAll(json, needles(path)) ? FilterResult.match("") : result;
+    }
+
+    @Override
+    public FilterResult filterAndExtract(byte[] json, int offset, int length, String key, CompiledPath path) {
+        if (json == null || key == null || !mayContain(json, offset, offset + length, needle(key))) {
+            return delegate.isValidJson(json, offset, length) ? FilterResult.NO_KEY : FilterResult.INVALID;
+        }
+        FilterResult result = delegate.filterAndExtract(json, offset, length, key, path);
+        return result.matches() && !mayContainAll(json, offset, offset + length, needles(path))
+            ? FilterResult.match("") : result;
+    }
+
+    /**
+     * Only paths whose keys all occur in the document are passed on, in one delegate call.
+     */
+    @Override
+    public String[] extractAll(String json, CompiledPath... paths) {
+        String[] values = new String[paths.length];
+        Arrays.fill(values, "");
+        if (json == null) {
+            return values;
+        }
+        int[] candidates = new int[paths.length];
+        int count = 0;
+        for (int i = 0; i < paths.length; i++) {
+            if (mayContainAll(json, needles(paths[i]))) {
+                candidates[count++] = i;
+            }
+        }
+        return extractCandidates(delegate.extractAll(json, select(paths, candidates, count)), values, candidates);
+    }
+
+    @Override
+    public String[] extractAll(byte[] json, int offset, int length, CompiledPath... paths) {
+        String[] values = new String[paths.length];
+        Arrays.fill(values, "");
+        if (json == null) {
+            return values;
+        }
+        int[] candidates = new int[paths.length];
+        int count = 0;
+        for (int i = 0; i < paths.length; i++) {
+            if (mayContainAll(json, offset, offset + length, needles(paths[i]))) {
+                candidates[count++] = i;
+            }
+        }
+        return extractCandidates(delegate.extractAll(json, offset, length, select(paths, candidates, count)),
+            values, candidates);
+    }
+
+    @Override
+    public long[] isValidJsonBatch(List<String> column) {
+        return delegate.isValidJsonBatch(column);
+    }
+
+    @Override
+    public long[] isValidJsonBatch(byte[] arena, int[] offsets) {
+        return delegate.isValidJsonBatch(arena, offsets);
+    }
+
+    @Override
+    public boolean isValidJson(ByteBuffer json) {
+        return delegate.isValidJson(json);
+    }
+
+    // Direct buffers are searched after one copy into a per-thread array, which then goes to the delegate
+
+    @Override
+    public boolean hasJsonKey(ByteBuffer json, String key) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.hasJsonKey(json, key);
+        }
+        Utf8Buffer in = ByteBuffers.scratch(json);
+        return hasJsonKey(in.bytes(), 0, in.length(), key);
+    }
+
+    @Override
+    public String getJsonValue(ByteBuffer json, String path) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.getJsonValue(json, path);
+        }
+        Utf8Buffer in = ByteBuffers.scratch(json);
+        return getJsonValue(in.bytes(), 0, in.length(), path);
+    }
+
+    @Override
+    public String getJsonValue(ByteBuffer json, CompiledPath path) {
+        if (json == null || json.hasArray()) {
+            return JsonParserInterface.super.getJsonValue(json, path);
+        }
+        Utf8Buffer in = ByteBuffers.scratch(json);
+        return getJsonValue(in.bytes(), 0, in.length(), path);
+    }
+
+    /**
+     * The needles are looked up once, and candidate documents go to the delegate's own prepared query
+     */
+    @Override
+    public JsonQuery prepare(JsonQuery.Operation operation, CompiledPath path) {
+        JsonQuery query = delegate.prepare(operation, path);
+        if (operation == JsonQuery.Operation.IS_VALID) {
+            return query;
+        }
+        Needle[] needles = operation == JsonQuery.Operation.HAS_KEY
+            ? new Needle[] {needle(path.name(0))}
+            : needles(path);
+        return new JsonQuery(this, operation, path) {
+            @Override
+            boolean hasKey(String json) {
+                return json != null && mayContainAll(json, needles) && query.hasKey(json);
+            }
+
+            @Override
+            boolean hasKey(byte[] json, int offset, int length) {
+                return json != null && mayContainAll(json, offset, offset + length, needles)
+                    && query.hasKey(json, offset, length);
+            }
+
+            @Override
+            String value(String json) {
+                return json != null && mayContainAll(json, needles) ? query.value(json) : "";
+            }
+
+            @Override
+            String value(byte[] json, int offset, int length) {
+                return json != null && mayContainAll(json, offset, offset + length, needles)
+                    ? query.value(json, offset, length)
+                    : "";
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName() + "+Prefilter";
+    }
+
+    private static boolean mayContain(String json, Needle needle) {
+        return !needle.plain || json.indexOf(needle.quoted) >= 0 || json.indexOf("\\u") >= 0;
+    }
+
+    private static boolean mayContain(byte[] json, int from, int to, Needle needle) {
+        return !needle.plain
+            || Swar.indexOf(json, from, to, needle.quotedBytes) >= 0
+            || Swar.indexOf(json, from, to, UNICODE_ESCAPE) >= 0;
+    }
+
+    private static boolean mayContainAll(String json, Needle[] needles) {
+        for (Needle needle : needles) {
+            if (!mayContain(json, needle)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean mayContainAll(byte[] json, int from, int to, Needle[] needles) {
+        for (Needle needle : needles) {
+            if (!mayContain(json, from, to, needle)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static CompiledPath[] select(CompiledPath[] paths, int[] candidates, int count) {
+        CompiledPath[] selected = new CompiledPath[count];
+        for (int i = 0; i < count; i++) {
+            selected[i] = paths[candidates[i]];
+        }
+        return selected;
+    }
+
+    private static String[] extractCandidates(String[] found, String[] values, int[] candidates) {
+        for (int i = 0; i < found.length; i++) {
+            values[candidates[i]] = found[i];
+        }
+        return values;
+    }
+
+    private Needle needle(String key) {
+        Needle needle = keys.get(key);
+        if (needle == null) {
+            needle = new Needle(key);
+            if (keys.size() < CACHE_LIMIT) {
+                keys.putIfAbsent(key, needle);
+            }
+        }
+        return needle;
+    }
+
+    /**
+     * One needle per key segment of the path, all of which must occur; null if the path is malformed
+     * and should be left to the delegate.
+     */
+    private Needle[] needles(String path) {
+        try {
+            return needles(CompiledPath.compile(path));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Cached by the path's segments, not its expression: "$.a.b" and {@code CompiledPath.of("a.b")} need
+     * different needles
+     */
+    private Needle[] needles(CompiledPath path) {
+        Needle[] needles = paths.get(path);
+        if (needles == null) {
+            int count = 0;
+            for (int s = 0; s < path.size(); s++) {
+                count += path.isIndex(s) ? 0 : 1;
+            }
+            needles = new Needle[count];
+            for (int s = 0, n = 0; s < path.size(); s++) {
+                if (!path.isIndex(s)) {
+                    needles[n++] = needle(path.name(s));
+                }
+            }
+            if (paths.size() < CACHE_LIMIT) {
+                paths.putIfAbsent(path, needles);
+            }
+        }
+        return needles;
+    }
+
+    private static final class Needle {
+        final String quoted;
+        final byte[] quotedBytes;
+        // false if the key has characters that may be written with short escapes (\" \\ \/ \n ...)
+        final boolean plain;
+
+        Needle(String key) {
+            this.quoted = "\"" + key + "\"";
+            this.quotedBytes = quoted.getBytes(StandardCharsets.UTF_8);
+            boolean plain = true;
+            for (int i = 0; i < key.length(); i++) {
+                char c = key.charAt(i);
+                if (c == '"' || c == '\\' || c == '/' || c < 0x20) {
+                    plain = false;
+                    break;
+                }
+            }
+            this.plain = plain;
+        }
+    }
+}
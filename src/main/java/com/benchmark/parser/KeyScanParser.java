@@ -0,0 +1,143 @@
+package com.benchmark.parser;
+
+/**
+ * hasJsonKey engine that scans raw bytes once, tracking only nesting depth and string state.
+ * Field names at depth 1 are compared in place against the pre-encoded key bytes, so no tokenizer
+ * objects or field-name Strings are created. Like the streaming engines it returns as soon as the key
+ * is found and does not validate the rest of the document.
+ *
+ * <p>isValidJson uses the StateMachine validator and getJsonValue the non-validating navigator, which checks
+ * only the value it returns.
+ */
+public class KeyScanParser extends AbstractByteParser {
+
+    @Override
+    public boolean isValidJson(byte[] json, int offset, int length) {
+        return StateMachineParser.validate(json, offset, offset + length);
+    }
+
+    @Override
+    public boolean validateJson(byte[] json, int offset, int length, JsonValidation result) {
+        return StateMachineParser.validate(json, offset, offset + length, result);
+    }
+
+    @Override
+    boolean hasKey(byte[] json, int offset, int end, CompiledPath key) {
+        if (key.size() > 1 || key.isIndex(0)) {
+            // Nested paths go through the navigator, which skips the containers off the path
+            return JsonBytes.checkValue(json, JsonBytes.findValue(json, offset, end, key), end) >= 0;
+        }
+        return scan(json, offset, end, key.nameBytes(0));
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, CompiledPath path) {
+        int end = offset + length;
+        int pos = valueStart(json, offset, end, path);
+        return pos < 0 ? "" : JsonBytes.valueAsString(json, pos, end);
+    }
+
+    @Override
+    int valueStart(byte[] json, int offset, int end, CompiledPath path) {
+        return JsonBytes.checkValue(json, JsonBytes.findValue(json, offset, end, path), end);
+    }
+
+    @Override
+    int rawEnd(byte[] json, int pos, int end) {
+        return validatedEnd(json, pos, end);
+    }
+
+    @Override
+    public String[] extractAll(byte[] json, int offset, int length, CompiledPath... paths) {
+        return findAll(json, offset, offset + length, paths, true);
+    }
+
+    @Override
+    public String getName() {
+        return "KeyScan";
+    }
+
+    /**
+     * Single forward scan over [pos, end) looking for {@code key} among the top-level field names.
+     */
+    static boolean scan(byte[] b, int pos, int end, byte[] key) {
+        pos = JsonBytes.skipWhitespace(b, pos, end);
+        if (pos >= end || b[pos] != '{') {
+            return false;
+        }
+        int depth = 1;
+        boolean expectKey = true;
+        int i = pos + 1;
+        while (i < end) {
+            byte c = b[i];
+            if (c == '"') {
+                // Find the closing quote, remembering whether the string has escapes
+                int j = i + 1;
+                boolean escaped = false;
+                while (j < end) {
+                    byte s = b[j];
+                    if (s == '"') {
+                        break;
+                    }
+                    if (s == '\\') {
+                        escaped = true;
+                        j++;
+                    }
+                    j++;
+                }
+                if (j >= end) {
+                    return false;
+                }
+                if (depth == 1 && expectKey) {
+                    if (escaped ? JsonBytes.keyEquals(b, i, j + 1, key) : rawEquals(b, i + 1, j, key)) {
+                        return hasValue(b, j + 1, end);
+                    }
+                    expectKey = false;
+                }
+                i = j + 1;
+                continue;
+            }
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (--depth == 0) {
+                    return false;
+                }
+            } else if (c == ',' && depth == 1) {
+                expectKey = true;
+            }
+            i++;
+        }
+        return false;
+    }
+
+    /**
+     * A matched name is a key only if a ':' and the start of a value follow it, as in the structural index walk;
+     * a document cut off after the name has no such field.
+     */
+    private static boolean hasValue(byte[] b, int pos, int end) {
+        pos = JsonBytes.skipWhitespace(b, pos, end);
+        if (pos >= end || b[pos] != ':') {
+            return false;
+        }
+        pos = JsonBytes.skipWhitespace(b, pos + 1, end);
+        if (pos >= end) {
+            return false;
+        }
+        byte c = b[pos];
+        return c == '{' || c == '[' || c == '"' || c == '-' || JsonBytes.isDigit(c) || c == 't' || c == 'f'
+            || c == 'n';
+    }
+
+    private static boolean rawEquals(byte[] b, int from, int to, byte[] key) {
+        if (to - from != key.length) {
+            return false;
+        }
+        for (int k = 0; k < key.length; k++) {
+            if (b[from + k] != key[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,117 @@
+package com.benchmark.parser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Per-thread symbol table of field names for {@link JsonParserInterface#getJsonKeys(String, CompiledPath)}.
+ * A name is looked up by its UTF-8 bytes, or by the 64-bit name hash FastJSON2 computes while reading it, and
+ * a name seen before comes back as the same String instance without allocating. Log schemas have a small, stable
+ * key vocabulary, so the table is fixed-size: once it is half full, new names are returned as plain Strings and
+ * not added. Also holds the list the names of one object are collected into.
+ */
+final class KeySymbols {
+    static final String[] NO_KEYS = new String[0];
+
+    private static final int CAPACITY = 1024;
+    private static final int MAX_SYMBOLS = CAPACITY / 2;
+    /** Longer names are unlikely to repeat and are not worth the byte comparison */
+    private static final int MAX_NAME_LENGTH = 64;
+
+    private final int[] hashes = new int[CAPACITY];
+    private final byte[][] names = new byte[CAPACITY][];
+    private final String[] symbols = new String[CAPACITY];
+    private int size;
+
+    private final long[] nameHashes = new long[CAPACITY];
+    private final String[] hashedSymbols = new String[CAPACITY];
+    private int hashedSize;
+
+    private String[] keys = new String[16];
+    private int count;
+
+    /**
+     * Canonical String for the escape-free UTF-8 name in [start, end)
+     */
+    String symbol(byte[] b, int start, int end) {
+        int len = end - start;
+        if (len > MAX_NAME_LENGTH) {
+            return new String(b, start, len, StandardCharsets.UTF_8);
+        }
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + b[i];
+        }
+        h ^= h >>> 16;
+        for (int i = h & (CAPACITY - 1); ; i = (i + 1) & (CAPACITY - 1)) {
+            String symbol = symbols[i];
+            if (symbol == null) {
+                symbol = new String(b, start, len, StandardCharsets.UTF_8);
+                if (size < MAX_SYMBOLS) {
+                    hashes[i] = h;
+                    names[i] = Arrays.copyOfRange(b, start, end);
+                    symbols[i] = symbol;
+                    size++;
+                }
+                return symbol;
+            }
+            if (hashes[i] == h && Arrays.equals(names[i], 0, names[i].length, b, start, end)) {
+                return symbol;
+            }
+        }
+    }
+
+    /**
+     * Canonical String for a name FastJSON2 has hashed, or null if the hash has not been seen. Like FastJSON2's own
+     * field matching, this trusts the 64-bit hash to tell names apart.
+     */
+    String symbol(long nameHash) {
+        for (int i = slot(nameHash); ; i = (i + 1) & (CAPACITY - 1)) {
+            String symbol = hashedSymbols[i];
+            if (symbol == null || nameHashes[i] == nameHash) {
+                return symbol;
+            }
+        }
+    }
+
+    /**
+     * Remember the name for a hash that {@link #symbol(long)} did not find
+     * @return The name
+     */
+    String add(long nameHash, String name) {
+        if (hashedSize >= MAX_SYMBOLS) {
+            return name;
+        }
+        int i = slot(nameHash);
+        while (hashedSymbols[i] != null) {
+            i = (i + 1) & (CAPACITY - 1);
+        }
+        nameHashes[i] = nameHash;
+        hashedSymbols[i] = name;
+        hashedSize++;
+        return name;
+    }
+
+    private static int slot(long nameHash) {
+        int h = (int) (nameHash ^ (nameHash >>> 32));
+        return (h ^ (h >>> 16)) & (CAPACITY - 1);
+    }
+
+    // The names of one object, in document order
+
+    KeySymbols clear() {
+        count = 0;
+        return this;
+    }
+
+    void add(String key) {
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, count * 2);
+        }
+        keys[count++] = key;
+    }
+
+    String[] toArray() {
+        return count == 0 ? NO_KEYS : Arrays.copyOf(keys, count);
+    }
+}
@@ -0,0 +1,85 @@
+package com.benchmark.parser;
+
+import java.util.Arrays;
+
+/**
+ * On-demand navigator: getJsonValue walks only the path segments it needs and steps over sibling
+ * values by bracket and quote counting, without validating or materializing them.
+ *
+ * <p>By default the document must still be valid JSON for a value to be returned, which costs one
+ * allocation-free validation pass. In lazy mode (ClickHouse-style lazy JSON_VALUE) only the value itself is
+ * validated: it is returned as soon as the path resolves, even if content after it is malformed.
+ */
+public class OnDemandParser extends AbstractByteParser {
+    private final boolean lazy;
+
+    public OnDemandParser() {
+        this(false);
+    }
+
+    /**
+     * @param lazy true to skip validation in hasJsonKey and getJsonValue
+     */
+    public OnDemandParser(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    @Override
+    public boolean isValidJson(byte[] json, int offset, int length) {
+        return StateMachineParser.validate(json, offset, offset + length);
+    }
+
+    @Override
+    public boolean validateJson(byte[] json, int offset, int length, JsonValidation result) {
+        return StateMachineParser.validate(json, offset, offset + length, result);
+    }
+
+    @Override
+    boolean hasKey(byte[] json, int offset, int end, CompiledPath key) {
+        if (!lazy && !StateMachineParser.validate(json, offset, end)) {
+            return false;
+        }
+        return JsonBytes.checkValue(json, JsonBytes.findValue(json, offset, end, key), end) >= 0;
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, CompiledPath path) {
+        int end = offset + length;
+        int pos = valueStart(json, offset, end, path);
+        return pos < 0 ? "" : JsonBytes.valueAsString(json, pos, end);
+    }
+
+    @Override
+    int valueStart(byte[] json, int offset, int end, CompiledPath path) {
+        if (!lazy && !StateMachineParser.validate(json, offset, end)) {
+            return -1;
+        }
+        int pos = JsonBytes.findValue(json, offset, end, path);
+        return lazy ? JsonBytes.checkValue(json, pos, end) : pos;
+    }
+
+    @Override
+    int rawEnd(byte[] json, int pos, int end) {
+        return lazy ? validatedEnd(json, pos, end) : JsonBytes.skipValue(json, pos, end);
+    }
+
+    @Override
+    public String[] extractAll(byte[] json, int offset, int length, CompiledPath... paths) {
+        int end = offset + length;
+        if (!lazy && !StateMachineParser.validate(json, offset, end)) {
+            String[] values = new String[paths.length];
+            Arrays.fill(values, "");
+            return values;
+        }
+        return findAll(json, offset, end, paths, lazy);
+    }
+
+    @Override
+    public String getName() {
+        return lazy ? "OnDemandLazy" : "OnDemand";
+    }
+}
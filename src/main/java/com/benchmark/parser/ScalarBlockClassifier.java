@@ -0,0 +1,56 @@
+package com.benchmark.parser;
+
+/**
+ * Portable byte-at-a-time classifier, used when the Vector API is not available.
+ */
+final class ScalarBlockClassifier implements BlockClassifier {
+
+    @Override
+    public void classify(byte[] b, int pos, long[] masks) {
+        long quote = 0;
+        long backslash = 0;
+        long whitespace = 0;
+        long structural = 0;
+        for (int i = 0; i < 64; i++) {
+            long bit = 1L << i;
+            switch (b[pos + i]) {
+                case '"':
+                    quote |= bit;
+                    break;
+                case '\\':
+                    backslash |= bit;
+                    break;
+                case ' ':
+                case '\t':
+                case '\n':
+                case '\r':
+                    whitespace |= bit;
+                    break;
+                case '{':
+                case '}':
+                case '[':
+                case ']':
+                case ':':
+                case ',':
+                    structural |= bit;
+                    break;
+                default:
+                    break;
+            }
+        }
+        masks[QUOTE] = quote;
+        masks[BACKSLASH] = backslash;
+        masks[WHITESPACE] = whitespace;
+        masks[STRUCTURAL] = structural;
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+
+    @Override
+    public String name() {
+        return "Scalar";
+    }
+}
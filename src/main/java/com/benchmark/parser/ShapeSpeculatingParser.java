@@ -0,0 +1,263 @@
+package com.benchmark.parser;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Navigator that learns the record layout: for every top-level key it remembers the field ordinal where the key
+ * is usually found (our log rows almost always use the order correlationId, tm, logger, message, level, thread).
+ * A lookup first speculates that the key sits at that ordinal: it steps over the preceding fields without
+ * comparing their names and checks the one field name at the predicted slot. On a miss it falls back to the
+ * normal field-by-field scan, which also feeds the layout model.
+ *
+ * <p>Like OnDemandLazy, hasJsonKey and getJsonValue validate only the value they find, not the document;
+ * isValidJson uses the StateMachine validator. With duplicate keys a hit returns the occurrence at the predicted ordinal rather
+ * than the first one. Hit and miss counts are kept for reporting, see {@link #getStatistics()}.
+ */
+public class ShapeSpeculatingParser extends AbstractByteParser {
+    private static final int CACHE_LIMIT = 1024;
+    // Consecutive disagreeing scans needed before a learned ordinal is replaced
+    private static final int MAX_CONFIDENCE = 3;
+
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder unpredicted = new LongAdder();
+
+    @Override
+    public boolean isValidJson(byte[] json, int offset, int length) {
+        return StateMachineParser.validate(json, offset, offset + length);
+    }
+
+    @Override
+    public boolean validateJson(byte[] json, int offset, int length, JsonValidation result) {
+        return StateMachineParser.validate(json, offset, offset + length, result);
+    }
+
+    @Override
+    boolean hasKey(byte[] json, int offset, int end, CompiledPath key) {
+        return find(json, offset, end, key) >= 0;
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, CompiledPath path) {
+        int end = offset + length;
+        int pos = find(json, offset, end, path);
+        return pos < 0 ? "" : JsonBytes.valueAsString(json, pos, end);
+    }
+
+    @Override
+    int valueStart(byte[] json, int offset, int end, CompiledPath path) {
+        return find(json, offset, end, path);
+    }
+
+    @Override
+    int findValidated(byte[] json, int offset, int end, CompiledPath path) {
+        return find(json, offset, end, path);
+    }
+
+    @Override
+    int rawEnd(byte[] json, int pos, int end) {
+        return validatedEnd(json, pos, end);
+    }
+
+    @Override
+    public String getName() {
+        return "ShapeSpeculating";
+    }
+
+    /**
+     * @return Lookups whose predicted field ordinal held the key
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Lookups that had a prediction but had to fall back to a full scan
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Lookups with no learned ordinal yet (key never found before)
+     */
+    public long getUnpredicted() {
+        return unpredicted.sum();
+    }
+
+    /**
+     * @return Hits divided by speculated lookups, or 0 if nothing was speculated
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public String getStatistics() {
+        return String.format("hits=%d misses=%d unpredicted=%d hitRate=%.2f%%",
+            getHits(), getMisses(), getUnpredicted(), getHitRate() * 100);
+    }
+
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        unpredicted.reset();
+    }
+
+    private int find(byte[] b, int pos, int end, CompiledPath path) {
+        pos = JsonBytes.skipWhitespace(b, pos, end);
+        if (path.size() == 0 || path.isIndex(0)) {
+            return JsonBytes.checkValue(b, JsonBytes.findValue(b, pos, end, path), end);
+        }
+        if (pos >= end) {
+            return -1;
+        }
+        pos = findTopLevelField(b, pos, end, path.name(0), path.nameBytes(0));
+        for (int s = 1; s < path.size() && pos >= 0; s++) {
+            pos = path.isIndex(s)
+                ? JsonBytes.findElement(b, pos, end, path.index(s))
+                : JsonBytes.findField(b, pos, end, path.nameBytes(s));
+        }
+        return pos >= 0 && pos < end ? JsonBytes.checkValue(b, pos, end) : -1;
+    }
+
+    private int findTopLevelField(byte[] b, int pos, int end, String name, byte[] key) {
+        if (b[pos] != '{') {
+            return -1;
+        }
+        Slot slot = slot(name);
+        int predicted = slot.ordinal;
+        if (predicted >= 0) {
+            int at = speculate(b, pos, end, predicted, key);
+            if (at >= 0) {
+                hits.increment();
+                slot.learn(predicted);
+                return at;
+            }
+            misses.increment();
+        } else {
+            unpredicted.increment();
+        }
+        return scan(b, pos, end, key, slot);
+    }
+
+    /**
+     * Step over {@code ordinal} fields of the object at {@code pos} without looking at their names,
+     * then compare the name of the next field with the key.
+     * @return Position of the value if that field is the key, otherwise -1
+     */
+    private static int speculate(byte[] b, int pos, int end, int ordinal, byte[] key) {
+        pos = JsonBytes.skipWhitespace(b, pos + 1, end);
+        for (int i = 0; ; i++) {
+            if (pos >= end || b[pos] != '"') {
+                return -1;
+            }
+            int keyEnd = JsonBytes.skipString(b, pos, end);
+            if (keyEnd < 0) {
+                return -1;
+            }
+            boolean match = i == ordinal && JsonBytes.keyEquals(b, pos, keyEnd, key);
+            pos = JsonBytes.skipWhitespace(b, keyEnd, end);
+            if (pos >= end || b[pos] != ':') {
+                return -1;
+            }
+            pos = JsonBytes.skipWhitespace(b, pos + 1, end);
+            if (i == ordinal) {
+                return match && pos < end ? pos : -1;
+            }
+            pos = skipField(b, pos, end);
+            if (pos < 0) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Field-by-field scan like {@link JsonBytes#findField}, recording the ordinal of the key when found.
+     */
+    private static int scan(byte[] b, int pos, int end, byte[] key, Slot slot) {
+        pos = JsonBytes.skipWhitespace(b, pos + 1, end);
+        for (int i = 0; pos < end; i++) {
+            if (b[pos] != '"') {
+                return -1;
+            }
+            int keyEnd = JsonBytes.skipString(b, pos, end);
+            if (keyEnd < 0) {
+                return -1;
+            }
+            boolean match = JsonBytes.keyEquals(b, pos, keyEnd, key);
+            pos = JsonBytes.skipWhitespace(b, keyEnd, end);
+            if (pos >= end || b[pos] != ':') {
+                return -1;
+            }
+            pos = JsonBytes.skipWhitespace(b, pos + 1, end);
+            if (pos >= end) {
+                return -1;
+            }
+            if (match) {
+                slot.learn(i);
+                return pos;
+            }
+            pos = skipField(b, pos, end);
+            if (pos < 0) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Skip a field value and the comma after it.
+     * @return Position of the next field name, or -1 if the object ends or is malformed
+     */
+    private static int skipField(byte[] b, int pos, int end) {
+        if (pos >= end) {
+            return -1;
+        }
+        pos = JsonBytes.skipValue(b, pos, end);
+        if (pos < 0) {
+            return -1;
+        }
+        pos = JsonBytes.skipWhitespace(b, pos, end);
+        if (pos >= end || b[pos] != ',') {
+            return -1;
+        }
+        return JsonBytes.skipWhitespace(b, pos + 1, end);
+    }
+
+    private Slot slot(String name) {
+        Slot slot = slots.get(name);
+        if (slot == null) {
+            slot = new Slot();
+            if (slots.size() < CACHE_LIMIT) {
+                Slot previous = slots.putIfAbsent(name, slot);
+                if (previous != null) {
+                    slot = previous;
+                }
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Learned ordinal of one key. Shared by all threads without synchronization: a lost update only delays learning.
+     */
+    private static final class Slot {
+        int ordinal = -1;
+        int confidence;
+
+        void learn(int observed) {
+            if (observed == ordinal) {
+                if (confidence < MAX_CONFIDENCE) {
+                    confidence++;
+                }
+            } else if (--confidence < 0) {
+                ordinal = observed;
+                confidence = 0;
+            }
+        }
+    }
+}
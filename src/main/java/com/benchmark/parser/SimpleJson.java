@@ -0,0 +1,133 @@
+package com.benchmark.parser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Relaxed extraction behind the {@code simpleJson*} methods of {@link JsonParserInterface}, after ClickHouse's
+ * {@code simpleJSONExtract*} / {@code visitParam*} functions. The document is never validated or walked: the
+ * first {@code "field":} at any depth is the match, and its value is read from there. String input is searched
+ * with {@link String#indexOf(String)} and only the rest from the match on is encoded into a per-thread buffer,
+ * so both forms share the byte readers and a missing field costs no encoding.
+ */
+final class SimpleJson {
+    private static final int CACHE_LIMIT = 1024;
+    private static final ConcurrentHashMap<String, Needle> NEEDLES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Utf8Buffer> INPUT = ThreadLocal.withInitial(Utf8Buffer::new);
+
+    private SimpleJson() {
+    }
+
+    /**
+     * Encode the document from the first {@code "field":} on, so that {@link #find} matches at byte 0
+     * @return The per-thread buffer, empty if the field does not occur
+     */
+    static Utf8Buffer encode(String json, String field) {
+        int at = field == null ? -1 : json.indexOf(needle(field).text);
+        return INPUT.get().encode(json, at < 0 ? json.length() : at);
+    }
+
+    /**
+     * Find the value of the first occurrence of the field with {@link Swar#indexOf} on {@code "field":}, whose
+     * closing colon is a rare anchor byte
+     * @return Position of the value's first byte, or -1 if the field does not occur
+     */
+    static int find(byte[] b, int from, int end, String field) {
+        if (b == null || field == null) {
+            return -1;
+        }
+        byte[] needle = needle(field).bytes;
+        int at = Swar.indexOf(b, from, end, needle);
+        int pos = at < 0 ? end : JsonBytes.skipWhitespace(b, at + needle.length, end);
+        return pos < end ? pos : -1;
+    }
+
+    /**
+     * A string value, unescaped; "" for any other value
+     */
+    static String string(byte[] b, int pos, int end) {
+        if (pos < 0 || b[pos] != '"') {
+            return "";
+        }
+        int to = JsonBytes.skipString(b, pos, end);
+        return to < 0 ? "" : JsonBytes.decodeString(b, pos, to);
+    }
+
+    /**
+     * The value as written, ended by quote and bracket counting
+     */
+    static String raw(byte[] b, int pos, int end) {
+        int to = pos < 0 ? -1 : JsonBytes.skipValue(b, pos, end);
+        return to < 0 ? "" : new String(b, pos, to - pos, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The leading integer digits of a number, or of a string's content: 12.5 and "12abc" are 12.
+     * @return The value, or 0 without digits or beyond the range of a long
+     */
+    static long longValue(byte[] b, int pos, int end) {
+        if (pos < 0) {
+            return 0;
+        }
+        if (b[pos] == '"') {
+            pos++;
+        }
+        boolean negative = pos < end && b[pos] == '-';
+        if (negative) {
+            pos++;
+        }
+        long value = 0;
+        for (; pos < end && JsonBytes.isDigit(b[pos]); pos++) {
+            int digit = b[pos] - '0';
+            if (value > (Long.MAX_VALUE - digit) / 10) {
+                return 0;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * The longest valid JSON number at the value, or at the start of a string's content
+     * @return The value, or 0 if no number starts there
+     */
+    static double doubleValue(byte[] b, int pos, int end) {
+        if (pos < 0) {
+            return 0;
+        }
+        if (b[pos] == '"') {
+            pos++;
+        }
+        int to = pos < end ? JsonBytes.validateNumber(b, pos, end) : -1;
+        return to < 0 ? 0 : JsonBytes.doubleValue(b, pos, to, 0);
+    }
+
+    /**
+     * @return true only if the value starts with the literal true
+     */
+    static boolean booleanValue(byte[] b, int pos, int end) {
+        return pos >= 0 && pos + 4 <= end && b[pos] == 't' && b[pos + 1] == 'r' && b[pos + 2] == 'u'
+            && b[pos + 3] == 'e';
+    }
+
+    private static Needle needle(String field) {
+        Needle needle = NEEDLES.get(field);
+        if (needle == null) {
+            needle = new Needle("\"" + field + "\":");
+            if (NEEDLES.size() < CACHE_LIMIT) {
+                NEEDLES.putIfAbsent(field, needle);
+            }
+        }
+        return needle;
+    }
+
+    private static final class Needle {
+        final String text;
+        final byte[] bytes;
+
+        Needle(String text) {
+            this.text = text;
+            this.bytes = text.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.benchmark.parser;
+
+import java.util.Arrays;
+
+/**
+ * In-house RFC 8259 validator: a hand-written state machine over UTF-8 bytes.
+ * It never builds tokens, Strings or exceptions, so isValidJson allocates nothing in steady state.
+ * Like the other engines, only objects and arrays are accepted as top-level values.
+ */
+public class StateMachineParser extends AbstractByteParser {
+    static final int MAX_DEPTH = 1024;
+
+    // Parser states
+    private static final int VALUE = 0;         // expecting a value
+    private static final int ARRAY_FIRST = 1;   // after '[': value or ']'
+    private static final int OBJECT_FIRST = 2;  // after '{': key or '}'
+    private static final int KEY = 3;           // after ',' in an object
+    private static final int COLON = 4;         // after a key
+    private static final int AFTER_VALUE = 5;   // expecting ',' or a closing bracket
+
+    @Override
+    public boolean isValidJson(byte[] json, int offset, int length) {
+        return validate(json, offset, offset + length);
+    }
+
+    @Override
+    public boolean validateJson(byte[] json, int offset, int length, JsonValidation result) {
+        return validate(json, offset, offset + length, result);
+    }
+
+    @Override
+    boolean hasKey(byte[] json, int offset, int end, CompiledPath key) {
+        return validate(json, offset, end) && JsonBytes.findValue(json, offset, end, key) >= 0;
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, CompiledPath path) {
+        int end = offset + length;
+        int pos = valueStart(json, offset, end, path);
+        return pos < 0 ? "" : JsonBytes.valueAsString(json, pos, end);
+    }
+
+    @Override
+    int valueStart(byte[] json, int offset, int end, CompiledPath path) {
+        return validate(json, offset, end) ? JsonBytes.findValue(json, offset, end, path) : -1;
+    }
+
+    @Override
+    public String[] extractAll(byte[] json, int offset, int length, CompiledPath... paths) {
+        int end = offset + length;
+        if (!validate(json, offset, end)) {
+            String[] values = new String[paths.length];
+            Arrays.fill(values, "");
+            return values;
+        }
+        return findAll(json, offset, end, paths, false);
+    }
+
+    @Override
+    public String getName() {
+        return "StateMachine";
+    }
+
+    /**
+     * Validate the document in [pos, end).
+     * Open containers are tracked as one bit per level (1 = object); levels past 64 spill into a lazily
+     * allocated array, so ordinary documents never allocate.
+     */
+    static boolean validate(byte[] b, int pos, int end) {
+        return validate(b, pos, end, null);
+    }
+
+    /**
+     * Validate the document in [pos, end), reporting the outcome to {@code result} if it is not null.
+     * The result is only touched once the outcome is known, so isValidJson pays nothing for it.
+     */
+    static boolean validate(byte[] b, int pos, int end, JsonValidation result) {
+        int start = pos;
+        pos = JsonBytes.skipWhitespace(b, pos, end);
+        if (pos >= end) {
+            return fail(result, JsonValidation.Reason.EMPTY, pos, start);
+        }
+        if (b[pos] != '{' && b[pos] != '[') {
+            return fail(result, JsonValidation.Reason.NOT_CONTAINER, pos, start);
+        }
+
+        long stack = 0;
+        long[] deep = null;
+        int depth = 0;
+        int state = VALUE;
+
+        while (true) {
+            pos = JsonBytes.skipWhitespace(b, pos, end);
+            if (pos >= end) {
+                return fail(result, JsonValidation.Reason.UNEXPECTED_END, end, start);
+            }
+            byte c = b[pos];
+            switch (state) {
+                case ARRAY_FIRST:
+                    if (c == ']') {
+                        depth--;
+                        pos++;
+                        state = AFTER_VALUE;
+                        break;
+                    }
+                    // fall through
+                case VALUE:
+                    if (c == '{' || c == '[') {
+                        if (depth == MAX_DEPTH) {
+                            return fail(result, JsonValidation.Reason.DEPTH, pos, start);
+                        }
+                        boolean object = c == '{';
+                        if (depth < 64) {
+                            stack = object ? stack | (1L << depth) : stack & ~(1L << depth);
+                        } else {
+                            if (deep == null) {
+                                deep = new long[MAX_DEPTH / 64];
+                            }
+                            long bit = 1L << (depth & 63);
+                            deep[depth >> 6] = object ? deep[depth >> 6] | bit : deep[depth >> 6] & ~bit;
+                        }
+                        depth++;
+                        pos++;
+                        state = object ? OBJECT_FIRST : ARRAY_FIRST;
+                        break;
+                    }
+                    int next;
+                    if (c == '"') {
+                        next = JsonBytes.validateString(b, pos, end);
+                    } else if (c == '-' || JsonBytes.isDigit(c)) {
+                        next = JsonBytes.validateNumber(b, pos, end);
+                    } else {
+                        next = JsonBytes.validateLiteral(b, pos, end);
+                    }
+                    if (next < 0) {
+                        return failValue(result, b, pos, end, start);
+                    }
+                    pos = next;
+                    state = AFTER_VALUE;
+                    break;
+                case OBJECT_FIRST:
+                    if (c == '}') {
+                        depth--;
+                        pos++;
+                        state = AFTER_VALUE;
+                        break;
+                    }
+                    // fall through
+                case KEY:
+                    if (c != '"') {
+                        return fail(result, JsonValidation.Reason.UNEXPECTED_CHAR, pos, start);
+                    }
+                    next = JsonBytes.validateString(b, pos, end);
+                    if (next < 0) {
+                        return failValue(result, b, pos, end, start);
+                    }
+                    pos = next;
+                    state = COLON;
+                    break;
+                case COLON:
+                    if (c != ':') {
+                        return fail(result, JsonValidation.Reason.UNEXPECTED_CHAR, pos, start);
+                    }
+                    pos++;
+                    state = VALUE;
+                    break;
+                default: // AFTER_VALUE
+                    boolean inObject = depth <= 64
+                        ? (stack & (1L << (depth - 1))) != 0
+                        : (deep[(depth - 1) >> 6] & (1L << ((depth - 1) & 63))) != 0;
+                    if (c == ',') {
+                        pos++;
+                        state = inObject ? KEY : VALUE;
+                    } else if (c == (inObject ? '}' : ']')) {
+                        depth--;
+                        pos++;
+                    } else {
+                        return fail(result, JsonValidation.Reason.UNEXPECTED_CHAR, pos, start);
+                    }
+                    break;
+            }
+            if (depth == 0) {
+                // Root container closed: only whitespace may follow
+                pos = JsonBytes.skipWhitespace(b, pos, end);
+                if (pos != end) {
+                    return fail(result, JsonValidation.Reason.TRAILING_DATA, pos, start);
+                }
+                return result == null || result.pass();
+            }
+        }
+    }
+
+    private static boolean fail(JsonValidation result, JsonValidation.Reason reason, int pos, int start) {
+        return result != null && result.fail(reason, pos - start);
+    }
+
+    /**
+     * Classify a string, number or literal token the validator rejected
+     */
+    private static boolean failValue(JsonValidation result, byte[] b, int pos, int end, int start) {
+        if (result == null) {
+            return false;
+        }
+        byte c = b[pos];
+        if (c == '"') {
+            int error = JsonBytes.stringError(b, pos, end);
+            return error < 0
+                ? result.fail(JsonValidation.Reason.UNTERMINATED_STRING, pos - start)
+                : result.fail(JsonValidation.Reason.INVALID_STRING, error - start);
+        }
+        if (c == '-' || JsonBytes.isDigit(c) || c == 't' || c == 'f' || c == 'n') {
+            return result.fail(JsonValidation.Reason.INVALID_VALUE, pos - start);
+        }
+        return result.fail(JsonValidation.Reason.UNEXPECTED_CHAR, pos - start);
+    }
+}
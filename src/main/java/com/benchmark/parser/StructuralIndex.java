@@ -0,0 +1,134 @@
+package com.benchmark.parser;
+
+import java.util.Arrays;
+
+/**
+ * simdjson-style stage 1: the positions of every structural character, opening quote and
+ * scalar start outside strings, computed 64 bytes at a time from classifier bitmasks.
+ * Blocks are indexed on demand, so a lookup that finds its answer early never classifies the
+ * rest of the document. Instances are reused per thread; the position array only grows.
+ */
+final class StructuralIndex {
+    private final BlockClassifier classifier;
+    private final long[] masks = new long[4];
+    private final byte[] tail = new byte[64];
+
+    private byte[] doc;
+    private int next;             // start of the next block to classify
+    private int end;
+    private long prevEscaped;     // 1 if the first byte of the next block is escaped
+    private long prevInString;    // all ones if the previous block ended inside a string
+    private long prevBoundary;    // 1 if the last byte of the previous block ends a token
+
+    int[] positions = new int[256];
+    int count;
+
+    StructuralIndex(BlockClassifier classifier) {
+        this.classifier = classifier;
+    }
+
+    /**
+     * Start indexing the document in [offset, end)
+     */
+    void reset(byte[] b, int offset, int end) {
+        int length = end - offset;
+        if (positions.length < length + 1) {
+            positions = new int[Math.max(length + 1, positions.length * 2)];
+        }
+        this.doc = b;
+        this.next = offset;
+        this.end = end;
+        this.count = 0;
+        this.prevEscaped = 0;
+        this.prevInString = 0;
+        this.prevBoundary = 1;
+    }
+
+    /**
+     * Index more blocks until entry {@code k} exists
+     * @return false if the document has fewer entries
+     */
+    boolean ensure(int k) {
+        while (count <= k) {
+            if (next >= end) {
+                return false;
+            }
+            indexBlock();
+        }
+        return true;
+    }
+
+    /**
+     * Index the rest of the document
+     * @return false if the document ends inside a string
+     */
+    boolean finish() {
+        while (next < end) {
+            indexBlock();
+        }
+        return prevInString == 0;
+    }
+
+    private void indexBlock() {
+        int pos = next;
+        next += 64;
+        if (end - pos >= 64) {
+            classifier.classify(doc, pos, masks);
+        } else {
+            // Pad the final partial block with whitespace
+            int remaining = end - pos;
+            System.arraycopy(doc, pos, tail, 0, remaining);
+            Arrays.fill(tail, remaining, 64, (byte) ' ');
+            classifier.classify(tail, 0, masks);
+        }
+        long quote = masks[BlockClassifier.QUOTE];
+        long backslash = masks[BlockClassifier.BACKSLASH];
+        long whitespace = masks[BlockClassifier.WHITESPACE];
+        long structural = masks[BlockClassifier.STRUCTURAL];
+
+        // Escaped characters: walk backslashes in order, most blocks have none
+        long escaped = prevEscaped;
+        prevEscaped = 0;
+        for (long bits = backslash; bits != 0; bits &= bits - 1) {
+            int bit = Long.numberOfTrailingZeros(bits);
+            if ((escaped & (1L << bit)) != 0) {
+                continue;
+            }
+            if (bit == 63) {
+                prevEscaped = 1;
+            } else {
+                escaped |= 1L << (bit + 1);
+            }
+        }
+        quote &= ~escaped;
+
+        // Bits set from an opening quote up to (not including) its closing quote
+        long inString = prefixXor(quote) ^ prevInString;
+        prevInString = inString >> 63;
+
+        long outside = ~(inString | quote);
+        long boundary = structural | whitespace | quote;
+        long scalar = outside & ~structural & ~whitespace;
+        long scalarStart = scalar & ((boundary << 1) | prevBoundary);
+        prevBoundary = boundary >>> 63;
+
+        long tokens = (structural & outside) | (quote & inString) | scalarStart;
+        int[] out = positions;
+        int n = count;
+        while (tokens != 0) {
+            out[n++] = pos + Long.numberOfTrailingZeros(tokens);
+            tokens &= tokens - 1;
+        }
+        count = n;
+    }
+
+    private static long prefixXor(long x) {
+        x ^= x << 1;
+        x ^= x << 2;
+        x ^= x << 4;
+        x ^= x << 8;
+        x ^= x << 16;
+        x ^= x << 32;
+        return x;
+    }
+}
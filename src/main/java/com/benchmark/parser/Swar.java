@@ -0,0 +1,95 @@
+package com.benchmark.parser;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * SWAR (SIMD within a register) helpers: eight bytes at a time in a {@code long},
+ * loaded through a little-endian byte-array view so byte i of the word is bits [8i, 8i + 8).
+ */
+final class Swar {
+    static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+
+    private Swar() {
+    }
+
+    static long load(byte[] b, int pos) {
+        return (long) LONGS.get(b, pos);
+    }
+
+    static long broadcast(byte value) {
+        return (value & 0xFFL) * ONES;
+    }
+
+    /**
+     * @return word with the high bit of every byte that equals the broadcast pattern set, all other bits clear
+     */
+    static long eq(long word, long pattern) {
+        long x = word ^ pattern;
+        // Exact zero-byte test (no false positives from borrows)
+        return ~(((x & LOW7) + LOW7) | x | LOW7);
+    }
+
+    /**
+     * Gather the high bit of each byte into an 8-bit mask (bit i = byte i), like SSE movemask.
+     */
+    static long movemask(long mask) {
+        return ((mask >>> 7) * 0x0102040810204080L) >>> 56;
+    }
+
+    /**
+     * Byte index within the word of the lowest flagged byte in a mask produced by {@link #eq}.
+     */
+    static int firstByte(long mask) {
+        return Long.numberOfTrailingZeros(mask) >>> 3;
+    }
+
+    /**
+     * Substring search: candidate positions are those where both the first and the last needle byte
+     * match, eight start positions per step; candidates are then verified byte by byte.
+     * @return Position of the first occurrence in [from, to), or -1
+     */
+    static int indexOf(byte[] b, int from, int to, byte[] needle) {
+        int n = needle.length;
+        if (n == 0) {
+            return from;
+        }
+        int last = to - n;
+        if (last < from) {
+            return -1;
+        }
+        long first = broadcast(needle[0]);
+        long tail = broadcast(needle[n - 1]);
+        int i = from;
+        // Eight start positions per step; the second load ends at i + n + 6 <= to - 1, so both stay in bounds
+        for (; i + 7 <= last; i += 8) {
+            long candidates = eq(load(b, i), first) & eq(load(b, i + n - 1), tail);
+            while (candidates != 0) {
+                int at = i + firstByte(candidates);
+                if (matchesAt(b, at, needle)) {
+                    return at;
+                }
+                candidates &= candidates - 1;
+            }
+        }
+        for (; i <= last; i++) {
+            if (b[i] == needle[0] && matchesAt(b, i, needle)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matchesAt(byte[] b, int at, byte[] needle) {
+        for (int k = 1; k < needle.length; k++) {
+            if (b[at + k] != needle[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
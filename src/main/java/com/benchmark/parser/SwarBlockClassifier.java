@@ -0,0 +1,52 @@
+package com.benchmark.parser;
+
+/**
+ * Classifier that needs no Vector API: each 64-byte block is read as eight {@code long} words and every
+ * character class is found eight bytes at a time with SWAR byte compares.
+ */
+final class SwarBlockClassifier implements BlockClassifier {
+    private static final long QUOTES = Swar.broadcast((byte) '"');
+    private static final long BACKSLASHES = Swar.broadcast((byte) '\\');
+    private static final long SPACES = Swar.broadcast((byte) ' ');
+    private static final long TABS = Swar.broadcast((byte) '\t');
+    private static final long NEWLINES = Swar.broadcast((byte) '\n');
+    private static final long RETURNS = Swar.broadcast((byte) '\r');
+    private static final long OPEN = Swar.broadcast((byte) '{');
+    private static final long CLOSE = Swar.broadcast((byte) '}');
+    private static final long COLONS = Swar.broadcast((byte) ':');
+    private static final long COMMAS = Swar.broadcast((byte) ',');
+    private static final long CASE_BIT = Swar.broadcast((byte) 0x20);
+
+    @Override
+    public void classify(byte[] b, int pos, long[] masks) {
+        long quote = 0;
+        long backslash = 0;
+        long whitespace = 0;
+        long structural = 0;
+        for (int i = 0; i < 64; i += 8) {
+            long w = Swar.load(b, pos + i);
+            // '{' | 0x20 == '{' == '[' | 0x20, likewise for '}' and ']'
+            long folded = w | CASE_BIT;
+            quote |= Swar.movemask(Swar.eq(w, QUOTES)) << i;
+            backslash |= Swar.movemask(Swar.eq(w, BACKSLASHES)) << i;
+            whitespace |= Swar.movemask(Swar.eq(w, SPACES) | Swar.eq(w, TABS)
+                | Swar.eq(w, NEWLINES) | Swar.eq(w, RETURNS)) << i;
+            structural |= Swar.movemask(Swar.eq(folded, OPEN) | Swar.eq(folded, CLOSE)
+                | Swar.eq(w, COLONS) | Swar.eq(w, COMMAS)) << i;
+        }
+        masks[QUOTE] = quote;
+        masks[BACKSLASH] = backslash;
+        masks[WHITESPACE] = whitespace;
+        masks[STRUCTURAL] = structural;
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+
+    @Override
+    public String name() {
+        return "Swar";
+    }
+}
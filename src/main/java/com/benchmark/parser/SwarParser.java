@@ -0,0 +1,19 @@
+package com.benchmark.parser;
+
+/**
+ * Structural-index engine without the Vector API: stage 1 reads each 64-byte block as eight
+ * {@code long} words through a {@link java.lang.invoke.VarHandle} byte-array view and finds quotes,
+ * backslashes, whitespace and structural characters eight bytes at a time with SWAR arithmetic.
+ * Stage 2 is shared with {@link VectorIndexParser}. Needs no incubator module or JVM flags.
+ */
+public class SwarParser extends VectorIndexParser {
+
+    public SwarParser() {
+        super(new SwarBlockClassifier());
+    }
+
+    @Override
+    public String getName() {
+        return "Swar";
+    }
+}
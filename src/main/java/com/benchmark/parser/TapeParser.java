@@ -0,0 +1,677 @@
+package com.benchmark.parser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * One validating pass writes a flat {@code long[]} tape, and isValidJson, hasJsonKey and getJsonValue
+ * are all answered from it. The tape of the last String document is kept per thread, so calling
+ * several operations on the same row parses it only once.
+ *
+ * <p>Tape layout: each entry is a word {@code type << 56 | payload} followed by a byte offset.
+ * <ul>
+ *   <li>{@code '{'} / {@code '['}: payload is the tape index just past the matching close entry, and the next word
+ *       holds the byte offset of the bracket</li>
+ *   <li>{@code '}'} / {@code ']'}: payload is the tape index of the matching open word, and the next word holds
+ *       the byte offset just past the bracket</li>
+ *   <li>{@code '"'} string (keys included), {@code 'N'} number, {@code 't'} / {@code 'f'} / {@code 'n'} literals:
+ *       payload is the start byte offset, and the next word holds the end byte offset</li>
+ * </ul>
+ * Every value therefore has its byte range on the tape, so raw text, lengths, keys and element offsets are read
+ * from the tape without scanning the document again.
+ */
+public class TapeParser extends AbstractByteParser {
+    static final long STRING = '"';
+    static final long NUMBER = 'N';
+    private static final long PAYLOAD_MASK = (1L << 56) - 1;
+
+    private final ThreadLocal<Tape> tapes = ThreadLocal.withInitial(Tape::new);
+
+    @Override
+    public boolean isValidJson(String json) {
+        return json != null && tapes.get().parse(json);
+    }
+
+    @Override
+    boolean hasKey(String json, CompiledPath key) {
+        if (json == null) {
+            return false;
+        }
+        Tape tape = tapes.get();
+        return tape.parse(json) && tape.find(key) >= 0;
+    }
+
+    @Override
+    public String getJsonValue(String json, String path) {
+        if (json == null || path == null) {
+            return "";
+        }
+        try {
+            return getJsonValue(json, CompiledPath.compile(path));
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String getJsonValue(String json, CompiledPath path) {
+        if (json == null || path == null) {
+            return "";
+        }
+        Tape tape = tapes.get();
+        return tape.parse(json) ? tape.valueAsString(tape.find(path)) : "";
+    }
+
+    // Typed values are read from the document bytes at the position the tape records, reusing the cached tape
+
+    @Override
+    public long getJsonLong(String json, CompiledPath path, long defaultValue) {
+        if (json == null || path == null) {
+            return defaultValue;
+        }
+        Tape tape = tapes.get();
+        int t = tape.parse(json) ? tape.find(path) : -1;
+        if (!tape.isScalar(t)) {
+            return defaultValue;
+        }
+        return JsonBytes.longValue(tape.doc, tape.start(t), tape.end(t), defaultValue);
+    }
+
+    @Override
+    public double getJsonDouble(String json, CompiledPath path, double defaultValue) {
+        if (json == null || path == null) {
+            return defaultValue;
+        }
+        Tape tape = tapes.get();
+        int t = tape.parse(json) ? tape.find(path) : -1;
+        if (!tape.isScalar(t)) {
+            return defaultValue;
+        }
+        return JsonBytes.doubleValue(tape.doc, tape.start(t), tape.end(t), defaultValue);
+    }
+
+    @Override
+    public boolean getJsonBoolean(String json, CompiledPath path, boolean defaultValue) {
+        if (json == null || path == null) {
+            return defaultValue;
+        }
+        Tape tape = tapes.get();
+        int t = tape.parse(json) ? tape.find(path) : -1;
+        if (!tape.isScalar(t)) {
+            return defaultValue;
+        }
+        return JsonBytes.booleanValue(tape.doc, tape.start(t), tape.end(t), defaultValue);
+    }
+
+    @Override
+    public boolean getJsonSlice(String json, CompiledPath path, JsonSlice slice) {
+        Tape tape = tapes.get();
+        int t = json != null && path != null && tape.parse(json) ? tape.find(path) : -1;
+        if (!tape.isScalar(t) || !JsonBytes.slice(tape.doc, tape.start(t), tape.end(t), slice)) {
+            slice.clear();
+            return false;
+        }
+        slice.rebase(json, tape.isAscii());
+        return true;
+    }
+
+    // Raw text, length, type, keys and element offsets come from the byte ranges on the cached tape
+
+    @Override
+    public String getJsonRaw(String json, CompiledPath path) {
+        Tape tape = tapes.get();
+        int t = json != null && path != null && tape.parse(json) ? tape.find(path) : -1;
+        if (t < 0) {
+            return "";
+        }
+        int start = tape.start(t);
+        int end = tape.end(t);
+        return tape.isAscii()
+            ? json.substring(start, end)
+            : new String(tape.doc, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int getJsonLength(String json, CompiledPath path) {
+        Tape tape = tapes.get();
+        return json != null && path != null && tape.parse(json) ? tape.length(tape.find(path)) : 0;
+    }
+
+    @Override
+    public JsonType getJsonType(String json, CompiledPath path) {
+        Tape tape = tapes.get();
+        return json != null && path != null && tape.parse(json) ? tape.jsonType(tape.find(path)) : JsonType.NONE;
+    }
+
+    @Override
+    public String[] getJsonKeys(String json, CompiledPath path) {
+        Tape tape = tapes.get();
+        int t = json != null && path != null && tape.parse(json) ? tape.find(path) : -1;
+        return tape.keys(t);
+    }
+
+    /**
+     * Byte offsets become char offsets only for input that is not ASCII
+     */
+    @Override
+    public int[] getJsonArrayOffsets(String json, CompiledPath path) {
+        Tape tape = tapes.get();
+        int t = json != null && path != null && tape.parse(json) ? tape.find(path) : -1;
+        int[] offsets = tape.elements(t);
+        if (!tape.isAscii()) {
+            Utf8Buffer.toChars(tape.doc, offsets);
+        }
+        return offsets;
+    }
+
+    @Override
+    public boolean getJsonLong(String json, CompiledPath path, JsonScalar result) {
+        Tape tape = tapes.get();
+        int t = json != null && path != null && tape.parse(json) ? tape.find(path) : -1;
+        return t < 0 ? result.missing() : JsonBytes.longValue(tape.doc, tape.start(t), tape.end(t), result);
+    }
+
+    @Override
+    public boolean getJsonDouble(String json, CompiledPath path, JsonScalar result) {
+        Tape tape = tapes.get();
+        int t = json != null && path != null && tape.parse(json) ? tape.find(path) : -1;
+        return t < 0 ? result.missing() : JsonBytes.doubleValue(tape.doc, tape.start(t), tape.end(t), result);
+    }
+
+    @Override
+    public boolean getJsonBoolean(String json, CompiledPath path, JsonScalar result) {
+        Tape tape = tapes.get();
+        int t = json != null && path != null && tape.parse(json) ? tape.find(path) : -1;
+        return t < 0 ? result.missing() : JsonBytes.booleanValue(tape.doc, tape.start(t), tape.end(t), result);
+    }
+
+    // byte[] inputs may be mutated by the caller between calls, so they are never served from the cached tape
+
+    @Override
+    public boolean isValidJson(byte[] json, int offset, int length) {
+        return tapes.get().parse(json, offset, offset + length);
+    }
+
+    @Override
+    boolean hasKey(byte[] json, int offset, int end, CompiledPath key) {
+        Tape tape = tapes.get();
+        return tape.parse(json, offset, end) && tape.find(key) >= 0;
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, CompiledPath path) {
+        Tape tape = tapes.get();
+        return tape.parse(json, offset, offset + length) ? tape.valueAsString(tape.find(path)) : "";
+    }
+
+    @Override
+    int valueStart(byte[] json, int offset, int end, CompiledPath path) {
+        Tape tape = tapes.get();
+        int t = tape.parse(json, offset, end) ? tape.find(path) : -1;
+        return tape.isScalar(t) ? tape.start(t) : -1;
+    }
+
+    @Override
+    int rawStart(byte[] json, int offset, int end, CompiledPath path) {
+        Tape tape = tapes.get();
+        int t = tape.parse(json, offset, end) ? tape.find(path) : -1;
+        return t < 0 ? -1 : tape.start(t);
+    }
+
+    @Override
+    public String getJsonRaw(byte[] json, int offset, int length, CompiledPath path) {
+        Tape tape = tapes.get();
+        int t = json != null && path != null && tape.parse(json, offset, offset + length) ? tape.find(path) : -1;
+        return t < 0 ? "" : new String(json, tape.start(t), tape.end(t) - tape.start(t), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean getJsonRaw(byte[] json, int offset, int length, CompiledPath path, JsonSlice slice) {
+        Tape tape = tapes.get();
+        int t = json != null && path != null && tape.parse(json, offset, offset + length) ? tape.find(path) : -1;
+        if (t < 0) {
+            slice.clear();
+            return false;
+        }
+        slice.set(json, tape.start(t), tape.end(t) - tape.start(t));
+        return true;
+    }
+
+    @Override
+    public int getJsonLength(byte[] json, int offset, int length, CompiledPath path) {
+        Tape tape = tapes.get();
+        int t = json != null && path != null && tape.parse(json, offset, offset + length) ? tape.find(path) : -1;
+        return tape.length(t);
+    }
+
+    @Override
+    public JsonType getJsonType(byte[] json, int offset, int length, CompiledPath path) {
+        Tape tape = tapes.get();
+        int t = json != null && path != null && tape.parse(json, offset, offset + length) ? tape.find(path) : -1;
+        return tape.jsonType(t);
+    }
+
+    @Override
+    public String[] getJsonKeys(byte[] json, int offset, int length, CompiledPath path) {
+        Tape tape = tapes.get();
+        int t = json != null && path != null && tape.parse(json, offset, offset + length) ? tape.find(path) : -1;
+        return tape.keys(t);
+    }
+
+    @Override
+    public int[] getJsonArrayOffsets(byte[] json, int offset, int length, CompiledPath path) {
+        Tape tape = tapes.get();
+        int t = json != null && path != null && tape.parse(json, offset, offset + length) ? tape.find(path) : -1;
+        return tape.elements(t);
+    }
+
+    @Override
+    public String[] extractAll(String json, CompiledPath... paths) {
+        if (json == null) {
+            return super.extractAll(json, paths);
+        }
+        Tape tape = tapes.get();
+        boolean valid = tape.parse(json);
+        String[] values = new String[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            values[i] = valid ? tape.valueAsString(tape.find(paths[i])) : "";
+        }
+        return values;
+    }
+
+    @Override
+    public String[] extractAll(byte[] json, int offset, int length, CompiledPath... paths) {
+        Tape tape = tapes.get();
+        boolean valid = tape.parse(json, offset, offset + length);
+        String[] values = new String[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            values[i] = valid ? tape.valueAsString(tape.find(paths[i])) : "";
+        }
+        return values;
+    }
+
+    // The filter and the projection are all answered from one tape
+
+    @Override
+    public FilterResult filterAndExtract(String json, String key, CompiledPath path) {
+        if (json == null) {
+            return FilterResult.INVALID;
+        }
+        Tape tape = tapes.get();
+        return filter(tape, tape.parse(json), key, path);
+    }
+
+    @Override
+    public FilterResult filterAndExtract(byte[] json, int offset, int length, String key, CompiledPath path) {
+        Tape tape = tapes.get();
+        return filter(tape, tape.parse(json, offset, offset + length), key, path);
+    }
+
+    private static FilterResult filter(Tape tape, boolean valid, String key, CompiledPath path) {
+        if (!valid) {
+            return FilterResult.INVALID;
+        }
+        if (key == null || tape.find(CompiledPath.key(key)) < 0) {
+            return FilterResult.NO_KEY;
+        }
+        return FilterResult.match(path == null ? "" : tape.valueAsString(tape.find(path)));
+    }
+
+    @Override
+    public long[] isValidJsonBatch(byte[] arena, int[] offsets) {
+        Tape tape = tapes.get();
+        int rows = offsets.length - 1;
+        long[] bits = new long[(rows + 63) >>> 6];
+        for (int i = 0; i < rows; i++) {
+            if (tape.parse(arena, offsets[i], offsets[i + 1])) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    @Override
+    public long[] hasJsonKeyBatch(byte[] arena, int[] offsets, String key) {
+        Tape tape = tapes.get();
+        CompiledPath path = CompiledPath.key(key);
+        int rows = offsets.length - 1;
+        long[] bits = new long[(rows + 63) >>> 6];
+        for (int i = 0; i < rows; i++) {
+            if (tape.parse(arena, offsets[i], offsets[i + 1]) && tape.find(path) >= 0) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    @Override
+    public String getName() {
+        return "Tape";
+    }
+
+    static int type(long word) {
+        return (int) (word >>> 56);
+    }
+
+    static int payload(long word) {
+        return (int) (word & PAYLOAD_MASK);
+    }
+
+    /**
+     * Per-thread tape and parse buffers, reused across documents.
+     */
+    static final class Tape {
+        private static final int VALUE = 0;
+        private static final int ARRAY_FIRST = 1;
+        private static final int OBJECT_FIRST = 2;
+        private static final int KEY = 3;
+        private static final int COLON = 4;
+        private static final int AFTER_VALUE = 5;
+
+        private final Utf8Buffer input = new Utf8Buffer();
+        private final KeySymbols keys = new KeySymbols();
+        private final int[] open = new int[StateMachineParser.MAX_DEPTH];
+        private String lastJson;
+        private boolean lastValid;
+
+        byte[] doc;
+        long[] words = new long[256];
+        int size;
+
+        /**
+         * Parse a String document, or reuse the tape if it is the same instance as last time.
+         */
+        boolean parse(String json) {
+            if (json == lastJson) {
+                return lastValid;
+            }
+            input.encode(json);
+            lastValid = build(input.bytes(), 0, input.length());
+            lastJson = json;
+            return lastValid;
+        }
+
+        /**
+         * @return true if the String document last parsed was pure ASCII
+         */
+        boolean isAscii() {
+            return input.isAscii();
+        }
+
+        boolean parse(byte[] json, int offset, int end) {
+            lastJson = null;
+            return build(json, offset, end);
+        }
+
+        /**
+         * Validate [pos, end) and write the tape. Returns false on the first grammar error.
+         */
+        private boolean build(byte[] b, int pos, int end) {
+            doc = b;
+            size = 0;
+            // Each entry takes two words and consumes at least one byte
+            if (words.length < 2 * (end - pos) + 2) {
+                words = new long[Math.max(2 * (end - pos) + 2, words.length * 2)];
+            }
+            long[] w = words;
+            int t = 0;
+            int depth = 0;
+
+            pos = JsonBytes.skipWhitespace(b, pos, end);
+            if (pos >= end || (b[pos] != '{' && b[pos] != '[')) {
+                return false;
+            }
+            int state = VALUE;
+            while (true) {
+                pos = JsonBytes.skipWhitespace(b, pos, end);
+                if (pos >= end) {
+                    return false;
+                }
+                byte c = b[pos];
+                switch (state) {
+                    case ARRAY_FIRST:
+                        if (c == ']') {
+                            t = close(w, t, --depth, c, pos);
+                            pos++;
+                            state = AFTER_VALUE;
+                            break;
+                        }
+                        // fall through
+                    case VALUE:
+                        if (c == '{' || c == '[') {
+                            if (depth == open.length) {
+                                return false;
+                            }
+                            open[depth++] = t;
+                            w[t++] = (long) c << 56;
+                            w[t++] = pos;
+                            pos++;
+                            state = c == '{' ? OBJECT_FIRST : ARRAY_FIRST;
+                            break;
+                        }
+                        int to;
+                        long type;
+                        if (c == '"') {
+                            to = JsonBytes.validateString(b, pos, end);
+                            type = STRING;
+                        } else if (c == '-' || JsonBytes.isDigit(c)) {
+                            to = JsonBytes.validateNumber(b, pos, end);
+                            type = NUMBER;
+                        } else {
+                            to = JsonBytes.validateLiteral(b, pos, end);
+                            type = c;
+                        }
+                        if (to < 0) {
+                            return false;
+                        }
+                        w[t++] = type << 56 | pos;
+                        w[t++] = to;
+                        pos = to;
+                        state = AFTER_VALUE;
+                        break;
+                    case OBJECT_FIRST:
+                        if (c == '}') {
+                            t = close(w, t, --depth, c, pos);
+                            pos++;
+                            state = AFTER_VALUE;
+                            break;
+                        }
+                        // fall through
+                    case KEY:
+                        if (c != '"') {
+                            return false;
+                        }
+                        to = JsonBytes.validateString(b, pos, end);
+                        if (to < 0) {
+                            return false;
+                        }
+                        w[t++] = STRING << 56 | pos;
+                        w[t++] = to;
+                        pos = to;
+                        state = COLON;
+                        break;
+                    case COLON:
+                        if (c != ':') {
+                            return false;
+                        }
+                        pos++;
+                        state = VALUE;
+                        break;
+                    default: // AFTER_VALUE
+                        boolean inObject = type(w[open[depth - 1]]) == '{';
+                        if (c == ',') {
+                            pos++;
+                            state = inObject ? KEY : VALUE;
+                        } else if (c == (inObject ? '}' : ']')) {
+                            t = close(w, t, --depth, c, pos);
+                            pos++;
+                        } else {
+                            return false;
+                        }
+                        break;
+                }
+                if (depth == 0) {
+                    size = t;
+                    return JsonBytes.skipWhitespace(b, pos, end) == end;
+                }
+            }
+        }
+
+        private int close(long[] w, int t, int depth, byte c, int pos) {
+            int openIndex = open[depth];
+            w[t++] = (long) c << 56 | openIndex;
+            w[t++] = pos + 1;
+            w[openIndex] |= t;
+            return t;
+        }
+
+        /**
+         * Walk a path over the tape, using the jump pointers to step over containers.
+         * @return Tape index of the addressed value, or -1
+         */
+        int find(CompiledPath path) {
+            int t = 0;
+            for (int s = 0; s < path.size() && t >= 0; s++) {
+                t = path.isIndex(s) ? findElement(t, path.index(s)) : findField(t, path.nameBytes(s));
+            }
+            return t;
+        }
+
+        private int findField(int t, byte[] key) {
+            if (type(words[t]) != '{') {
+                return -1;
+            }
+            int close = payload(words[t]) - 2;
+            int i = t + 2;
+            while (i < close) {
+                if (JsonBytes.keyEquals(doc, payload(words[i]), (int) words[i + 1], key)) {
+                    return i + 2;
+                }
+                i = next(i + 2);
+            }
+            return -1;
+        }
+
+        private int findElement(int t, int index) {
+            if (type(words[t]) != '[') {
+                return -1;
+            }
+            int close = payload(words[t]) - 2;
+            int i = t + 2;
+            for (int n = 0; i < close; n++) {
+                if (n == index) {
+                    return i;
+                }
+                i = next(i);
+            }
+            return -1;
+        }
+
+        /**
+         * @return Tape index just past the value at {@code t}
+         */
+        int next(int t) {
+            int type = type(words[t]);
+            return type == '{' || type == '[' ? payload(words[t]) : t + 2;
+        }
+
+        /**
+         * @return true if {@code t} is a string, number or literal word, whose start and end are byte offsets
+         */
+        boolean isScalar(int t) {
+            if (t < 0) {
+                return false;
+            }
+            int type = type(words[t]);
+            return type != '{' && type != '[';
+        }
+
+        /**
+         * @return Byte offset of the first byte of the value at {@code t}
+         */
+        int start(int t) {
+            return isScalar(t) ? payload(words[t]) : (int) words[t + 1];
+        }
+
+        /**
+         * @return Byte offset just past the value at {@code t}
+         */
+        int end(int t) {
+            return isScalar(t) ? (int) words[t + 1] : (int) words[payload(words[t]) - 1];
+        }
+
+        JsonType jsonType(int t) {
+            return t < 0 ? JsonType.NONE : JsonBytes.type(doc, start(t), end(t));
+        }
+
+        /**
+         * @return Number of members or elements of the container at {@code t}, or 0 for a scalar or no value
+         */
+        int length(int t) {
+            if (t < 0 || isScalar(t)) {
+                return 0;
+            }
+            int step = type(words[t]) == '{' ? 2 : 0;
+            int close = payload(words[t]) - 2;
+            int n = 0;
+            for (int i = t + 2; i < close; i = next(i + step)) {
+                n++;
+            }
+            return n;
+        }
+
+        /**
+         * Names are read where the tape points and resolved through this thread's symbol table
+         */
+        String[] keys(int t) {
+            if (t < 0 || type(words[t]) != '{') {
+                return KeySymbols.NO_KEYS;
+            }
+            keys.clear();
+            int close = payload(words[t]) - 2;
+            for (int i = t + 2; i < close; i = next(i + 2)) {
+                int quote = payload(words[i]);
+                int to = (int) words[i + 1];
+                keys.add(JsonBytes.indexOf(doc, quote + 1, to - 1, (byte) '\\') < 0
+                    ? keys.symbol(doc, quote + 1, to - 1) : JsonBytes.decodeString(doc, quote, to));
+            }
+            return keys.toArray();
+        }
+
+        /**
+         * @return (start, end) byte offsets of each element of the array at {@code t}
+         */
+        int[] elements(int t) {
+            if (t < 0 || type(words[t]) != '[') {
+                return JsonBytes.NO_ELEMENTS;
+            }
+            int[] offsets = new int[16];
+            int n = 0;
+            int close = payload(words[t]) - 2;
+            for (int i = t + 2; i < close; i = next(i)) {
+                offsets = JsonBytes.grow(offsets, n);
+                offsets[n++] = start(i);
+                offsets[n++] = end(i);
+            }
+            return n == 0 ? JsonBytes.NO_ELEMENTS : Arrays.copyOf(offsets, n);
+        }
+
+        String valueAsString(int t) {
+            if (t < 0) {
+                return "";
+            }
+            long word = words[t];
+            int start = payload(word);
+            switch (type(word)) {
+                case '"':
+                    return JsonBytes.decodeString(doc, start, (int) words[t + 1]);
+                case 'N':
+                case 't':
+                case 'f':
+                    return new String(doc, start, (int) words[t + 1] - start, StandardCharsets.US_ASCII);
+                default:
+                    return "";
+            }
+        }
+    }
+}
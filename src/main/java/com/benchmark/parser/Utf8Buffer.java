@@ -0,0 +1,120 @@
+package com.benchmark.parser;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reusable UTF-8 encoding target for String inputs.
+ * One instance is kept per thread by the byte-level engines so that
+ * converting a String document to bytes does not allocate in steady state.
+ * Also used as the copy target for direct ByteBuffer inputs, see {@link ByteBuffers}.
+ */
+final class Utf8Buffer {
+    private byte[] bytes = new byte[1024];
+    private int length;
+    private boolean ascii;
+
+    Utf8Buffer encode(String s) {
+        return encode(s, 0);
+    }
+
+    /**
+     * Encode the String from char {@code from} on; byte 0 of the buffer is that char
+     */
+    Utf8Buffer encode(String s, int from) {
+        int n = s.length();
+        // Worst case is 3 bytes per UTF-16 char (surrogate pairs take 4 bytes for 2 chars)
+        if (bytes.length < (n - from) * 3) {
+            bytes = new byte[Math.max((n - from) * 3, bytes.length * 2)];
+        }
+        byte[] b = bytes;
+
+        // ASCII fast path
+        int i = from;
+        for (; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                break;
+            }
+            b[i - from] = (byte) c;
+        }
+        if (i == n) {
+            length = n - from;
+            ascii = true;
+            return this;
+        }
+
+        int j = i - from;
+        for (; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                b[j++] = (byte) c;
+            } else if (c < 0x800) {
+                b[j++] = (byte) (0xC0 | (c >> 6));
+                b[j++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                b[j++] = (byte) (0xF0 | (cp >> 18));
+                b[j++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                b[j++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                b[j++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: same replacement as String.getBytes(UTF_8)
+                b[j++] = '?';
+            } else {
+                b[j++] = (byte) (0xE0 | (c >> 12));
+                b[j++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[j++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        length = j;
+        ascii = false;
+        return this;
+    }
+
+    /**
+     * Copy the remaining bytes of the buffer without moving its position
+     */
+    Utf8Buffer copy(ByteBuffer b) {
+        int n = b.remaining();
+        if (bytes.length < n) {
+            bytes = new byte[Math.max(n, bytes.length * 2)];
+        }
+        b.get(b.position(), bytes, 0, n);
+        length = n;
+        ascii = false;
+        return this;
+    }
+
+    /**
+     * Turn ascending byte offsets into the UTF-8 encoding of a String into char offsets, in one pass over the
+     * bytes: each byte that starts a sequence is one char, and a four-byte sequence is a surrogate pair
+     */
+    static void toChars(byte[] bytes, int[] offsets) {
+        int i = 0;
+        int chars = 0;
+        for (int k = 0; k < offsets.length; k++) {
+            for (; i < offsets[k]; i++) {
+                int c = bytes[i] & 0xFF;
+                if (c < 0x80 || c >= 0xC0) {
+                    chars += c >= 0xF0 ? 2 : 1;
+                }
+            }
+            offsets[k] = chars;
+        }
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    int length() {
+        return length;
+    }
+
+    /**
+     * @return true if the last encoded String was pure ASCII, i.e. byte offsets equal char offsets
+     */
+    boolean isAscii() {
+        return ascii;
+    }
+}
@@ -0,0 +1,65 @@
+package com.benchmark.parser;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API classifier: one compare per character class over 16, 32 or 64 lanes at a time.
+ * Requires {@code --add-modules jdk.incubator.vector}; only loaded through {@link BlockClassifier#best()}.
+ */
+final class VectorBlockClassifier implements BlockClassifier {
+    private static final VectorSpecies<Byte> SPECIES = pickSpecies();
+    private static final int LANES = SPECIES.length();
+
+    private static VectorSpecies<Byte> pickSpecies() {
+        VectorSpecies<Byte> preferred = ByteVector.SPECIES_PREFERRED;
+        return preferred.length() > 64 ? ByteVector.SPECIES_512 : preferred;
+    }
+
+    /**
+     * @return false when the widest hardware shape is narrower than 128 bits,
+     *         where the Vector API would only emulate lanes in Java
+     */
+    static boolean isSupported() {
+        return LANES >= 16 && 64 % LANES == 0;
+    }
+
+    @Override
+    public void classify(byte[] b, int pos, long[] masks) {
+        long quote = 0;
+        long backslash = 0;
+        long whitespace = 0;
+        long structural = 0;
+        for (int i = 0; i < 64; i += LANES) {
+            ByteVector v = ByteVector.fromArray(SPECIES, b, pos + i);
+            // '{' | 0x20 == '{' == '[' | 0x20, likewise for '}' and ']'
+            ByteVector folded = v.or((byte) 0x20);
+            quote |= v.eq((byte) '"').toLong() << i;
+            backslash |= v.eq((byte) '\\').toLong() << i;
+            whitespace |= v.eq((byte) ' ')
+                .or(v.eq((byte) '\n'))
+                .or(v.eq((byte) '\r'))
+                .or(v.eq((byte) '\t'))
+                .toLong() << i;
+            structural |= folded.eq((byte) '{')
+                .or(folded.eq((byte) '}'))
+                .or(v.eq((byte) ':'))
+                .or(v.eq((byte) ','))
+                .toLong() << i;
+        }
+        masks[QUOTE] = quote;
+        masks[BACKSLASH] = backslash;
+        masks[WHITESPACE] = whitespace;
+        masks[STRUCTURAL] = structural;
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+
+    @Override
+    public String name() {
+        return "Vector";
+    }
+}
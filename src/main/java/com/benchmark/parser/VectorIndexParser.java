@@ -0,0 +1,336 @@
+package com.benchmark.parser;
+
+/**
+ * Pure-Java take on simdjson: stage 1 builds a structural index with the Vector API
+ * ({@code jdk.incubator.vector}), stage 2 validates or navigates over that index instead of the raw bytes.
+ * Falls back to the SWAR classifier when the incubator module or a usable vector shape is missing.
+ * Run with {@code --add-modules jdk.incubator.vector} to get the vectorized path.
+ *
+ * <p>The index is built lazily: hasJsonKey and getJsonValue classify blocks only until the path resolves and
+ * validate only the scalar they find there, while isValidJson indexes and validates the whole document.
+ * getJsonRaw validates an object or array it returns on its own.
+ */
+public class VectorIndexParser extends AbstractByteParser {
+    private final BlockClassifier classifier;
+    private final ThreadLocal<State> state;
+
+    public VectorIndexParser() {
+        this(BlockClassifier.best());
+    }
+
+    /**
+     * @param vectorized false to force the scalar classifier, e.g. for comparison runs
+     */
+    public VectorIndexParser(boolean vectorized) {
+        this(vectorized ? BlockClassifier.best() : new ScalarBlockClassifier());
+    }
+
+    VectorIndexParser(BlockClassifier classifier) {
+        this.classifier = classifier;
+        this.state = ThreadLocal.withInitial(() -> new State(classifier));
+    }
+
+    /**
+     * @return true if stage 1 runs on the Vector API
+     */
+    public boolean isVectorized() {
+        return classifier.isVectorized();
+    }
+
+    @Override
+    public boolean isValidJson(byte[] json, int offset, int length) {
+        State s = state.get();
+        int end = offset + length;
+        s.index.reset(json, offset, end);
+        return s.index.finish() && s.validate(json, end);
+    }
+
+    @Override
+    boolean hasKey(byte[] json, int offset, int end, CompiledPath key) {
+        State s = state.get();
+        s.index.reset(json, offset, end);
+        return s.find(json, end, key) >= 0;
+    }
+
+    @Override
+    public String getJsonValue(byte[] json, int offset, int length, CompiledPath path) {
+        int end = offset + length;
+        int pos = valueStart(json, offset, end, path);
+        return pos < 0 ? "" : JsonBytes.valueAsString(json, pos, end);
+    }
+
+    @Override
+    int valueStart(byte[] json, int offset, int end, CompiledPath path) {
+        State s = state.get();
+        s.index.reset(json, offset, end);
+        int k = s.find(json, end, path);
+        return k < 0 ? -1 : s.index.positions[k];
+    }
+
+    /**
+     * isValidJson has just indexed the whole document, so the walk reuses that index instead of resetting it
+     */
+    @Override
+    int findValidated(byte[] json, int offset, int end, CompiledPath path) {
+        State s = state.get();
+        int k = s.find(json, end, path);
+        return k < 0 ? -1 : s.index.positions[k];
+    }
+
+    /**
+     * All paths share one lazily built index, so stage 1 runs at most once over the document.
+     */
+    @Override
+    public String[] extractAll(byte[] json, int offset, int length, CompiledPath... paths) {
+        State s = state.get();
+        int end = offset + length;
+        s.index.reset(json, offset, end);
+        String[] values = new String[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            int k = s.find(json, end, paths[i]);
+            values[i] = k < 0 ? "" : JsonBytes.valueAsString(json, s.index.positions[k], end);
+        }
+        return values;
+    }
+
+    @Override
+    int rawEnd(byte[] json, int pos, int end) {
+        return validatedEnd(json, pos, end);
+    }
+
+    @Override
+    public long[] isValidJsonBatch(byte[] arena, int[] offsets) {
+        State s = state.get();
+        int rows = offsets.length - 1;
+        long[] bits = new long[(rows + 63) >>> 6];
+        for (int i = 0; i < rows; i++) {
+            int end = offsets[i + 1];
+            s.index.reset(arena, offsets[i], end);
+            if (s.index.finish() && s.validate(arena, end)) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    @Override
+    public long[] hasJsonKeyBatch(byte[] arena, int[] offsets, String key) {
+        State s = state.get();
+        CompiledPath path = CompiledPath.key(key);
+        int rows = offsets.length - 1;
+        long[] bits = new long[(rows + 63) >>> 6];
+        for (int i = 0; i < rows; i++) {
+            int end = offsets[i + 1];
+            s.index.reset(arena, offsets[i], end);
+            if (s.find(arena, end, path) >= 0) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    @Override
+    public String getName() {
+        return classifier.name() + "Index";
+    }
+
+    /**
+     * Per-thread index plus the container stack used by stage 2.
+     */
+    private static final class State {
+        private static final int VALUE = 0;
+        private static final int ARRAY_FIRST = 1;
+        private static final int OBJECT_FIRST = 2;
+        private static final int KEY = 3;
+        private static final int COLON = 4;
+        private static final int AFTER_VALUE = 5;
+
+        final StructuralIndex index;
+        private final boolean[] objects = new boolean[StateMachineParser.MAX_DEPTH];
+
+        State(BlockClassifier classifier) {
+            this.index = new StructuralIndex(classifier);
+        }
+
+        /**
+         * Stage 2 validation: the grammar is checked token by token over the index, and each
+         * string or scalar token is validated in place. Bytes between tokens are whitespace by construction.
+         */
+        boolean validate(byte[] b, int end) {
+            int[] p = index.positions;
+            int n = index.count;
+            if (n == 0 || (b[p[0]] != '{' && b[p[0]] != '[')) {
+                return false;
+            }
+            int depth = 0;
+            int state = VALUE;
+            for (int k = 0; k < n; k++) {
+                int pos = p[k];
+                byte c = b[pos];
+                switch (state) {
+                    case ARRAY_FIRST:
+                        if (c == ']') {
+                            depth--;
+                            state = AFTER_VALUE;
+                            break;
+                        }
+                        // fall through
+                    case VALUE:
+                        if (c == '{' || c == '[') {
+                            if (depth == objects.length) {
+                                return false;
+                            }
+                            objects[depth++] = c == '{';
+                            state = c == '{' ? OBJECT_FIRST : ARRAY_FIRST;
+                            break;
+                        }
+                        int to;
+                        if (c == '"') {
+                            to = JsonBytes.validateString(b, pos, end);
+                        } else if (c == '-' || JsonBytes.isDigit(c)) {
+                            to = JsonBytes.validateNumber(b, pos, end);
+                        } else {
+                            to = JsonBytes.validateLiteral(b, pos, end);
+                        }
+                        if (!endsToken(b, to, end, k + 1 < n ? p[k + 1] : end)) {
+                            return false;
+                        }
+                        state = AFTER_VALUE;
+                        break;
+                    case OBJECT_FIRST:
+                        if (c == '}') {
+                            depth--;
+                            state = AFTER_VALUE;
+                            break;
+                        }
+                        // fall through
+                    case KEY:
+                        if (c != '"' || !endsToken(b, JsonBytes.validateString(b, pos, end), end,
+                                k + 1 < n ? p[k + 1] : end)) {
+                            return false;
+                        }
+                        state = COLON;
+                        break;
+                    case COLON:
+                        if (c != ':') {
+                            return false;
+                        }
+                        state = VALUE;
+                        break;
+                    default: // AFTER_VALUE
+                        boolean inObject = objects[depth - 1];
+                        if (c == ',') {
+                            state = inObject ? KEY : VALUE;
+                        } else if (c == (inObject ? '}' : ']')) {
+                            depth--;
+                        } else {
+                            return false;
+                        }
+                        break;
+                }
+                if (depth == 0) {
+                    return k == n - 1;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * A string or scalar token must stop exactly at a whitespace, structural or quote byte,
+         * and must not run into the next indexed token.
+         */
+        private static boolean endsToken(byte[] b, int to, int end, int next) {
+            if (to < 0 || to > next) {
+                return false;
+            }
+            if (to == end) {
+                return true;
+            }
+            byte c = b[to];
+            return JsonBytes.isWhitespace(c) || c == ',' || c == '}' || c == ']' || c == ':'
+                || c == '{' || c == '[' || c == '"';
+        }
+
+        /**
+         * Walk the path over the index, indexing further blocks only as the walk reaches them. A scalar at the
+         * end of the walk is validated, since nothing else has looked at its bytes.
+         * @return Index entry of the addressed value, or -1
+         */
+        int find(byte[] b, int end, CompiledPath path) {
+            if (!index.ensure(0)) {
+                return -1;
+            }
+            int k = 0;
+            for (int s = 0; s < path.size() && k >= 0; s++) {
+                k = path.isIndex(s) ? findElement(b, k, path.index(s)) : findField(b, end, k, path.nameBytes(s));
+            }
+            return k < 0 || JsonBytes.checkValue(b, index.positions[k], end) < 0 ? -1 : k;
+        }
+
+        private int findField(byte[] b, int end, int k, byte[] key) {
+            int[] p = index.positions;
+            if (b[p[k]] != '{' || !index.ensure(++k) || b[p[k]] == '}') {
+                return -1;
+            }
+            while (index.ensure(k + 2)) {
+                int pos = p[k];
+                if (b[pos] != '"') {
+                    return -1;
+                }
+                int keyEnd = JsonBytes.skipString(b, pos, end);
+                if (keyEnd < 0 || b[p[k + 1]] != ':') {
+                    return -1;
+                }
+                if (JsonBytes.keyEquals(b, pos, keyEnd, key)) {
+                    return k + 2;
+                }
+                k = skip(b, k + 2);
+                if (k < 0 || b[p[k]] != ',') {
+                    return -1;
+                }
+                k++;
+            }
+            return -1;
+        }
+
+        private int findElement(byte[] b, int k, int target) {
+            int[] p = index.positions;
+            if (b[p[k]] != '[' || !index.ensure(++k) || b[p[k]] == ']') {
+                return -1;
+            }
+            for (int i = 0; index.ensure(k); i++) {
+                if (i == target) {
+                    return k;
+                }
+                k = skip(b, k);
+                if (k < 0 || b[p[k]] != ',') {
+                    return -1;
+                }
+                k++;
+            }
+            return -1;
+        }
+
+        /**
+         * Skip the value at index entry k by counting brackets over index entries only.
+         * @return Index entry just after the value, or -1 if the document ends first
+         */
+        private int skip(byte[] b, int k) {
+            int[] p = index.positions;
+            byte c = b[p[k]];
+            if (c != '{' && c != '[') {
+                return index.ensure(k + 1) ? k + 1 : -1;
+            }
+            int depth = 0;
+            do {
+                c = b[p[k++]];
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+            } while (depth > 0 && index.ensure(k));
+            return depth == 0 && index.ensure(k) ? k : -1;
+        }
+    }
+}
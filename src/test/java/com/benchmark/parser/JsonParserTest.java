@@ -1,10 +1,14 @@
 package com.benchmark.parser;
 
+import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.Timeout;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class JsonParserTest {
 
@@ -13,7 +17,17 @@ public class JsonParserTest {
         new FastJsonDomParser(),
         new JsonIteratorParser(),
         new JacksonStreamingParser(),
-        new JacksonDomParser()
+        new JacksonDomParser(),
+        new StateMachineParser(),
+        new VectorIndexParser(),
+        new VectorIndexParser(false),
+        new SwarParser(),
+        new TapeParser(),
+        new OnDemandParser(),
+        new OnDemandParser(true),
+        new KeyScanParser(),
+        new ShapeSpeculatingParser(),
+        new KeyPrefilterParser(new JacksonStreamingParser())
     );
 
     @Test
@@ -106,4 +120,955 @@ public class JsonParserTest {
                 String.format("%s failed to handle non-existent key", parserName));
         }
     }
+
+    @Test
+    public void testStateMachineRejectsMalformedStrings() {
+        StateMachineParser parser = new StateMachineParser();
+        String[] invalidJsonInputs = {
+            "{\"key\": \"tab\there\"}", // Raw control character in string
+            "{\"key\": \"\\x\"}", // Unknown escape
+            "{\"key\": \"\\u12\"}", // Short unicode escape
+            "{\"key\": 01}", // Leading zero
+            "{\"key\": 1.}", // Missing fraction digits
+            "{\"a\": 1} {}", // Trailing data
+            "[1 2]" // Missing comma
+        };
+        for (String json : invalidJsonInputs) {
+            assertFalse(parser.isValidJson(json), "StateMachine incorrectly validated: " + json);
+        }
+
+        byte[] overlong = {'[', '"', (byte) 0xC0, (byte) 0xAF, '"', ']'};
+        assertFalse(parser.isValidJson(overlong, 0, overlong.length), "StateMachine accepted overlong UTF-8");
+        assertTrue(parser.isValidJson("{\"emoji\": \"\uD83D\uDD34 caf\u00e9\"}"));
+    }
+
+    @Test
+    public void testTapeReusedAcrossOperations() {
+        TapeParser parser = new TapeParser();
+        String json = "{\"a\": [1, {\"b\": \"x\"}], \"c\": {\"d\": false}}";
+
+        assertTrue(parser.isValidJson(json));
+        assertTrue(parser.hasJsonKey(json, "c"));
+        assertEquals("x", parser.getJsonValue(json, "$.a[1].b"));
+        assertEquals("false", parser.getJsonValue(json, "$.c.d"));
+        assertEquals("", parser.getJsonValue(json, "$.a[2]"));
+
+        // A different document must not be answered from the cached tape
+        String other = "{\"a\": 2}";
+        assertEquals("2", parser.getJsonValue(other, "$.a"));
+        assertFalse(parser.hasJsonKey(other, "c"));
+        assertFalse(parser.hasJsonKey("{\"c\": 1", "c"));
+    }
+
+    @Test
+    @Timeout(value = 10, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    public void testJsonIteratorStopsOnMalformedNestedObjects() {
+        // jsoniter's lazy Any.get never returns on these; the path walk must give up instead
+        JsonIteratorParser parser = new JsonIteratorParser();
+        String[] docs = {"{\"b\":{\"a\": nul},\"e\":1}", "{\"b\":{\"a\": tru}}"};
+        for (String json : docs) {
+            for (String path : new String[] {"$.b.x", "$.b[1]", "$.b.a"}) {
+                CompiledPath compiled = CompiledPath.compile(path);
+                assertEquals("", parser.getJsonValue(json, compiled), json + " " + path);
+                assertEquals("", parser.getJsonRaw(json, compiled), json + " " + path);
+                assertFalse(parser.hasJsonKey(json, compiled), json + " " + path);
+                assertEquals(-1L, parser.getJsonLong(json, compiled, -1L), json + " " + path);
+                assertFalse(parser.getJsonBoolean(json, compiled, false), json + " " + path);
+                assertEquals("", parser.extractAll(json, compiled)[0], json + " " + path);
+                assertEquals("", parser.filterAndExtract(json, "b", compiled).value(), json + " " + path);
+            }
+        }
+
+        // Both hasJsonKey overloads find top-level names with the same walk, escaped names included
+        String json = "{\"a\": {\"k\": 1}, \"k\\\"q\": 2}";
+        assertFalse(parser.hasJsonKey(json, "k"));
+        assertFalse(parser.hasJsonKey(json, CompiledPath.key("k")));
+        assertTrue(parser.hasJsonKey(json, "k\"q"));
+        assertTrue(parser.hasJsonKey(json, CompiledPath.key("k\"q")));
+        assertTrue(parser.hasJsonKey(json, CompiledPath.compile("$.a.k")));
+    }
+
+    @Test
+    public void testOnDemandLazyMode() {
+        // Value is found before the malformed tail
+        String json = "{\"logger\": \"com.x.Y\", \"message\": {\"a\": [1, 2}, ";
+
+        assertEquals("", new OnDemandParser().getJsonValue(json, "$.logger"));
+        assertEquals("com.x.Y", new OnDemandParser(true).getJsonValue(json, "$.logger"));
+        assertTrue(new OnDemandParser(true).hasJsonKey(json, "logger"));
+        assertFalse(new OnDemandParser(true).isValidJson(json));
+    }
+
+    @Test
+    public void testKeyScanOnlyMatchesTopLevelFieldNames() {
+        KeyScanParser parser = new KeyScanParser();
+        String json = "{\"message\": \"correlationId\", \"nested\": {\"correlationId\": 1}, \"list\": [\"correlationId\"]}";
+
+        assertFalse(parser.hasJsonKey(json, "correlationId"));
+        assertTrue(parser.hasJsonKey("{\"a\": {\"b\": [1]}, \"correlationId\": null}", "correlationId"));
+        assertTrue(parser.hasJsonKey("{\"\\u0063orrelationId\": 1}", "correlationId")); // Escaped field name
+        assertFalse(parser.hasJsonKey("[{\"correlationId\": 1}]", "correlationId"));
+        // A name is a key only with a ':' and a value after it
+        assertFalse(parser.hasJsonKey("{\"a\":null,\"b\"", "b"));
+        assertFalse(parser.hasJsonKey("{\"a\":null,\"b\": ", "b"));
+        assertFalse(parser.hasJsonKey("{\"a\":null,\"b\",\"c\":1}", "b"));
+        assertTrue(parser.hasJsonKey("{\"a\":null,\"b\" :\n[", "b"));
+    }
+
+    @Test
+    public void testKeyPrefilterSkipsOnlyImpossibleDocuments() {
+        KeyPrefilterParser parser = new KeyPrefilterParser(new FastJsonDomParser());
+
+        assertFalse(parser.hasJsonKey("{\"tm\": \"01:28\", \"message\": \"correlationId missing\"}", "correlationId"));
+        assertEquals("", parser.getJsonValue("{\"tm\": \"01:28\"}", "$.logger"));
+        // Escaped spelling of the key must still reach the delegate
+        assertTrue(parser.hasJsonKey("{\"\\u0063orrelationId\": \"x\"}", "correlationId"));
+
+        byte[] json = "{\"tm\": \"01:28:19.560\", \"logger\": \"com.x.Y\", \"correlationId\": \"abc\"}"
+            .getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        assertTrue(parser.hasJsonKey(json, 0, json.length, "correlationId"));
+        assertFalse(parser.hasJsonKey(json, 0, json.length, "thread"));
+        assertEquals("com.x.Y", parser.getJsonValue(json, 0, json.length, "$.logger"));
+
+        // A literal "a.b" key must not share needles with the path a -> b
+        String nested = "{\"a\": {\"b\": \"v\"}}";
+        assertFalse(parser.hasJsonKey(nested, CompiledPath.of("a.b")));
+        assertEquals("v", parser.getJsonValue(nested, "$.a.b"));
+        assertEquals("v", parser.getJsonValue(nested, CompiledPath.compile("$.a.b")));
+        assertEquals("1", parser.getJsonValue("{\"a.b\": 1}", CompiledPath.of("a.b")));
+    }
+
+    @Test
+    public void testSwarIndexAcrossBlockBoundaries() {
+        SwarParser parser = new SwarParser();
+        // The escaped backslash straddles the first 64-byte block edge
+        StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < 56; i++) {
+            padding.append('x');
+        }
+        String json = "{\"p\": \"" + padding + "\\\\\", \"q\": \"a\\\"b\", \"n\": 1234567890123, \"correlationId\": \"abc\"}";
+
+        assertTrue(parser.isValidJson(json));
+        assertEquals("a\"b", parser.getJsonValue(json, "$.q"));
+        assertEquals("1234567890123", parser.getJsonValue(json, "$.n"));
+        assertTrue(parser.hasJsonKey(json, "correlationId"));
+        assertFalse(parser.isValidJson(json + "\""));
+        assertEquals("Swar", parser.getName());
+    }
+
+    @Test
+    public void testAdaptiveRouterPicksFasterEngine() {
+        JsonParserInterface slow = new StateMachineParser() {
+            @Override
+            public boolean isValidJson(String json) {
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.isValidJson(json);
+            }
+
+            @Override
+            public String getName() {
+                return "Slow";
+            }
+        };
+        AdaptiveRouterParser router = new AdaptiveRouterParser(
+            Arrays.asList(slow, new TapeParser()), true, 4, 100);
+        String json = "{\"correlationId\": \"abc\"}";
+
+        assertNull(router.currentChoice(AdaptiveRouterParser.IS_VALID, json.length()));
+        for (int i = 0; i < 8; i++) {
+            assertTrue(router.isValidJson(json));
+            assertFalse(router.isValidJson("{\"a\": }"));
+        }
+        assertEquals("Tape", router.currentChoice(AdaptiveRouterParser.IS_VALID, json.length()));
+        assertEquals("abc", router.getJsonValue(json, "$.correlationId"));
+        assertTrue(router.hasJsonKey(json, "correlationId"));
+    }
+
+    @Test
+    public void testShapeSpeculationFallsBackOnMiss() {
+        ShapeSpeculatingParser parser = new ShapeSpeculatingParser();
+        String usual = "{\"correlationId\": \"c1\", \"tm\": \"01:28\", \"level\": \"INFO\", \"thread\": \"t1\"}";
+        String shuffled = "{\"thread\": \"t2\", \"level\": \"WARN\", \"tm\": \"01:29\"}";
+
+        assertEquals("t1", parser.getJsonValue(usual, "$.thread")); // Learns ordinal 3
+        assertEquals(0, parser.getHits());
+        assertEquals("t1", parser.getJsonValue(usual, "$.thread"));
+        assertEquals(1, parser.getHits());
+        assertEquals("t2", parser.getJsonValue(shuffled, "$.thread"));
+        assertFalse(parser.hasJsonKey(shuffled, "correlationId"));
+        assertTrue(parser.hasJsonKey(usual, "correlationId"));
+        assertEquals(1, parser.getMisses());
+        assertEquals(1, parser.getHits());
+        assertEquals(0.5, parser.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void testCompiledPathAcrossParsers() {
+        String json = "{\"store\": {\"book\": [{\"title\": \"A\"}, {\"n\": [1, {\"x\": 2}], \"title\": \"B\"}], "
+            + "\"name\": \"S\"}, \"after\": 7}";
+        String[][] cases = {
+            {"$.store.book[0].title", "A"},
+            {"$.store.book[1].title", "B"},
+            {"$.store.book[1].n[0]", "1"},
+            {"$.store.book[2].title", ""},
+            {"$.store.name", "S"},
+            {"$.store.name[0]", ""},
+            {"$.after", "7"},
+            {"after", "7"}
+        };
+
+        for (JsonParserInterface parser : parsers) {
+            String parserName = parser.getClass().getSimpleName();
+            for (String[] c : cases) {
+                CompiledPath path = CompiledPath.compile(c[0]);
+                assertEquals(c[1], parser.getJsonValue(json, path),
+                    String.format("%s failed compiled path %s", parserName, c[0]));
+                assertEquals(c[1], parser.getJsonValue(json, c[0]),
+                    String.format("%s failed path %s", parserName, c[0]));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> CompiledPath.compile("$.book[x]"));
+    }
+
+    // Documents that no engine can read anything from: every operation on them reports nothing
+    private static final String[] MALFORMED = {
+        "", "   ", "not json", "{", "}", "{logger: 1}", "{\"logger\""
+    };
+
+    @TestFactory
+    public Stream<DynamicTest> testValidationOnEveryInput() {
+        // The lists of testValidJson and testInvalidJson, and a few more documents each way
+        String[] valid = {
+            "{}", "[]", "{\"key\": \"value\"}", "{\"number\": 123}", "{\"boolean\": true}", "{\"null\": null}",
+            "[1,2,3]", "{\"nested\": {\"key\": \"value\"}}", "{\"array\": [1,{\"key\": \"value\"}]}",
+            "{\n  \"key\": \"value\"\n}", "{\"name\": \"J\\u00f6hn\", \"age\": 30, \"nested\": {\"key\": [1, \"v\"]}}",
+            "  {\"a\": \"\u00e9\"}  ", "{\"n\\u0061me\": [1.5e+3, true, null, \"\\t\"]}"
+        };
+        String[] invalid = {
+            "[", "{\"key\": }", "{key: \"value\"}", "{\"key\": 'value'}", "{\"key\": \"value\",}",
+            "{\"key\": 12.3.4}", "{'key': \"value\"}", "[1,2,]", "{\"key\": undefined}", "{\"key\": value}",
+            "\"just a string\"", "{\"a\": \"x}", "{\"logger\":"
+        };
+        List<String> docs = concat(valid, invalid, MALFORMED);
+        List<String> column = column(docs);
+        return perEngine(parser -> {
+            JsonValidation result = new JsonValidation();
+            JsonQuery query = JsonQuery.of(parser, JsonQuery.Operation.IS_VALID, null);
+            for (String json : docs) {
+                boolean expected = Arrays.asList(valid).contains(json);
+                Input input = new Input(json);
+                String message = parser.getName() + " on " + json;
+                assertEquals(expected, parser.isValidJson(json), message);
+                assertEquals(expected, parser.isValidJson(input.bytes, Input.OFFSET, input.length), message);
+                assertEquals(expected, parser.validateJson(json, result), message);
+                assertEquals(expected, result.isValid(), message);
+                assertEquals(expected, parser.validateJson(input.bytes, Input.OFFSET, input.length, result), message);
+                assertEquals(expected, query.test(json), message);
+                assertEquals(expected, query.test(input.bytes, Input.OFFSET, input.length), message);
+                for (java.nio.ByteBuffer buffer : input.buffers) {
+                    assertEquals(expected, parser.isValidJson(buffer), input.describe(buffer));
+                    input.assertUnmoved(buffer, parser);
+                }
+            }
+            int[] offsets = new int[column.size() + 1];
+            byte[] arena = arena(column, offsets);
+            long[] bitmap = parser.isValidJsonBatch(column);
+            long[] arenaBitmap = parser.isValidJsonBatch(arena, offsets);
+            for (int i = 0; i < column.size(); i++) {
+                boolean expected = Arrays.asList(valid).contains(column.get(i));
+                assertBit(expected, bitmap, i, parser.getName() + " isValidJsonBatch");
+                assertBit(expected, arenaBitmap, i, parser.getName() + " arena isValidJsonBatch");
+            }
+        });
+    }
+
+    @TestFactory
+    public Stream<DynamicTest> testHasJsonKeyOnEveryInput() {
+        String json = "{\"name\": \"John\", \"age\": 30, \"nested\": {\"key\": \"value\"}}";
+        // Rows of {document, key}
+        String[][] present = {
+            {json, "name"}, {json, "nested"}, {"{\"n\\u0061me\": 1}", "name"}, {"{\"name\": null}", "name"},
+            {"  {\"a\": \"\u00e9\", \"name\": []}  ", "name"}, {"{\"k\\\"ey\": 1}", "k\"ey"}
+        };
+        String[][] absent = {
+            {json, "key"}, {json, "missing"}, {"{\"message\": \"name\"}", "name"}, {"[{\"name\": 1}]", "name"},
+            {"{\"a\": {\"name\": 1}}", "name"}, {"{}", "name"}
+        };
+        return perEngine(parser -> {
+            List<String> column = new java.util.ArrayList<>();
+            List<Boolean> expectedColumn = new java.util.ArrayList<>();
+            for (String[] row : concat(present, absent, malformedRows("logger"))) {
+                boolean expected = Arrays.asList(present).contains(row);
+                Input input = new Input(row[0]);
+                String key = row[1];
+                String message = parser.getName() + " " + key + " on " + row[0];
+                JsonQuery query = JsonQuery.of(parser, JsonQuery.Operation.HAS_KEY, key);
+                assertEquals(expected, parser.hasJsonKey(row[0], key), message);
+                assertEquals(expected, parser.hasJsonKey(row[0], CompiledPath.of(key)), message);
+                assertEquals(expected, parser.hasJsonKey(input.bytes, Input.OFFSET, input.length, key), message);
+                assertEquals(expected,
+                    parser.hasJsonKey(input.bytes, Input.OFFSET, input.length, CompiledPath.of(key)), message);
+                assertEquals(expected, query.test(row[0]), message);
+                assertEquals(expected, query.test(input.bytes, Input.OFFSET, input.length), message);
+                for (java.nio.ByteBuffer buffer : input.buffers) {
+                    assertEquals(expected, parser.hasJsonKey(buffer, key), input.describe(buffer) + " " + key);
+                    input.assertUnmoved(buffer, parser);
+                }
+                if (key.equals("name") || key.equals("logger")) {
+                    // Rows the batch below can run with the key "name"; no malformed document has it either
+                    column.add(row[0]);
+                    expectedColumn.add(expected && key.equals("name"));
+                }
+            }
+            assertThrows(IllegalStateException.class,
+                () -> JsonQuery.of(parser, JsonQuery.Operation.HAS_KEY, "name").extract(json), parser.getName());
+
+            List<String> rows = column(column);
+            int[] offsets = new int[rows.size() + 1];
+            byte[] arena = arena(rows, offsets);
+            long[] bitmap = parser.hasJsonKeyBatch(rows, "name");
+            long[] arenaBitmap = parser.hasJsonKeyBatch(arena, offsets, "name");
+            for (int i = 0; i < rows.size(); i++) {
+                boolean expected = rows.get(i) != null && expectedColumn.get(i % expectedColumn.size());
+                assertBit(expected, bitmap, i, parser.getName() + " hasJsonKeyBatch");
+                assertBit(expected, arenaBitmap, i, parser.getName() + " arena hasJsonKeyBatch");
+            }
+        });
+    }
+
+    @TestFactory
+    public Stream<DynamicTest> testGetJsonValueOnEveryInput() {
+        String json = "{\"logger\": \"com.x.Handler\", \"level\": \"a\\\"b\", \"name\": \"J\\u00f6hn\", "
+            + "\"pre\": \"\u00e9t\u00e9\", \"n\": 12, \"x\": -2.5, \"b\": false, \"z\": null, \"e\": \"\", "
+            + "\"nested\": {\"key\": [1, \"v\", {\"z\": 3}]}, \"after\": 7}";
+        // Rows of {document, path, expected value}
+        List<String[]> cases = new java.util.ArrayList<>(Arrays.asList(new String[][] {
+            {json, "$.logger", "com.x.Handler"}, {json, "$.level", "a\"b"}, {json, "$.name", "J\u00f6hn"},
+            {json, "$.pre", "\u00e9t\u00e9"}, {json, "$.n", "12"}, {json, "$.x", "-2.5"}, {json, "$.b", "false"},
+            {json, "$.z", ""}, {json, "$.e", ""}, {json, "$.nested.key[1]", "v"}, {json, "$.nested.key[2].z", "3"},
+            {json, "$.nested.key[3]", ""}, {json, "$.n[0]", ""}, {json, "$.missing", ""}, {json, "$.after", "7"},
+            {"  {\"a\": \"\u00e9\"}  ", "$.a", "\u00e9"}, {"[1, \"v\"]", "$[1]", "v"}
+        }));
+        cases.addAll(malformedRows("$.logger", ""));
+        CompiledPath[] all = cases.stream().filter(c -> c[0].equals(json))
+            .map(c -> CompiledPath.compile(c[1])).toArray(CompiledPath[]::new);
+        return perEngine(parser -> {
+            JsonSlice slice = new JsonSlice();
+            for (String[] c : cases) {
+                Input input = new Input(c[0]);
+                CompiledPath path = CompiledPath.compile(c[1]);
+                JsonQuery query = JsonQuery.of(parser, JsonQuery.Operation.GET_VALUE, c[1]);
+                String expected = c[2];
+                String message = parser.getName() + " " + c[1] + " on " + c[0];
+                assertEquals(expected, parser.getJsonValue(c[0], c[1]), message);
+                assertEquals(expected, parser.getJsonValue(c[0], path), message);
+                assertEquals(expected, parser.getJsonValue(input.bytes, Input.OFFSET, input.length, c[1]), message);
+                assertEquals(expected, parser.getJsonValue(input.bytes, Input.OFFSET, input.length, path), message);
+                assertEquals(expected, parser.extractAll(c[0], path)[0], message);
+                assertEquals(expected, query.extract(c[0]), message);
+                assertEquals(expected, query.extract(input.bytes, Input.OFFSET, input.length), message);
+                assertEquals(!expected.isEmpty(), query.test(c[0]), message);
+                for (java.nio.ByteBuffer buffer : input.buffers) {
+                    assertEquals(expected, parser.getJsonValue(buffer, c[1]), input.describe(buffer) + " " + c[1]);
+                    assertEquals(expected, parser.getJsonValue(buffer, path), input.describe(buffer) + " " + c[1]);
+                    input.assertUnmoved(buffer, parser);
+                }
+
+                // Found whenever there is text, and for the empty string that is present
+                boolean found = !expected.isEmpty() || c[1].equals("$.e");
+                assertEquals(found, parser.getJsonSlice(c[0], path, slice), message);
+                assertEquals(expected, slice.toString(), message);
+                assertTrue(slice.contentEquals(expected), message);
+                assertEquals(expected.hashCode(), slice.contentHashCode(), message);
+                assertEquals(found, parser.getJsonSlice(input.bytes, Input.OFFSET, input.length, path, slice),
+                    message);
+                assertEquals(expected, slice.toString(), message);
+            }
+
+            // All paths on the same document at once, one of them twice
+            Input input = new Input(json);
+            CompiledPath[] paths = Arrays.copyOf(all, all.length + 1);
+            paths[all.length] = all[1];
+            String[] values = parser.extractAll(json, paths);
+            String[] byteValues = parser.extractAll(input.bytes, Input.OFFSET, input.length, paths);
+            assertEquals(paths.length, values.length, parser.getName());
+            assertEquals(paths.length, byteValues.length, parser.getName());
+            for (int i = 0; i < paths.length; i++) {
+                String expected = cases.get(i == all.length ? 1 : i)[2];
+                assertEquals(expected, values[i], parser.getName() + " extractAll " + paths[i]);
+                assertEquals(expected, byteValues[i], parser.getName() + " byte extractAll " + paths[i]);
+            }
+            assertEquals(0, parser.extractAll(json).length, parser.getName() + " returned values for no paths");
+            assertThrows(IllegalArgumentException.class,
+                () -> JsonQuery.of(parser, JsonQuery.Operation.GET_VALUE, "$.a["), parser.getName());
+        });
+    }
+
+    @TestFactory
+    public Stream<DynamicTest> testFilterAndExtractOnEveryInput() {
+        String json = "{\"correlationId\": \"c1\", \"logger\": \"com.x.Handler\", \"nested\": {\"a\": [1, {\"b\": \"v\"}]}}";
+        String nullKey = "{\"correlationId\": null, \"nested\": {\"a\": []}}";
+        // Rows of {document, path, expected result} for the key correlationId
+        List<Object[]> cases = new java.util.ArrayList<>(Arrays.asList(new Object[][] {
+            {json, "$.logger", FilterResult.match("com.x.Handler")},
+            {json, "$.nested.a[1].b", FilterResult.match("v")},
+            {nullKey, "$.logger", FilterResult.match("")},
+            {nullKey, "$.nested.a[1].b", FilterResult.match("")},
+            {"{\"correlationId\": {}, \"n\": 2}", "$.n", FilterResult.match("2")},
+            {"{\"logger\": {\"correlationId\": 1}}", "$.logger", FilterResult.NO_KEY},
+            {"[{\"correlationId\": 1}]", "$.logger", FilterResult.NO_KEY},
+            {"{\"correlationId\": \"c1\", \"logger\": }", "$.logger", FilterResult.INVALID}
+        }));
+        for (String doc : MALFORMED) {
+            cases.add(new Object[] {doc, "$.logger", FilterResult.INVALID});
+        }
+        return perEngine(parser -> {
+            for (Object[] c : cases) {
+                String doc = (String) c[0];
+                Input input = new Input(doc);
+                CompiledPath path = CompiledPath.compile((String) c[1]);
+                String message = parser.getName() + " " + c[1] + " on " + doc;
+                assertEquals(c[2], parser.filterAndExtract(doc, "correlationId", path), message);
+                assertEquals(c[2],
+                    parser.filterAndExtract(input.bytes, Input.OFFSET, input.length, "correlationId", path), message);
+            }
+        });
+    }
+
+    @TestFactory
+    public Stream<DynamicTest> testMalformedDocumentsYieldNothing() {
+        // The operations the factories above do not cover, on the shared fixture
+        CompiledPath path = CompiledPath.compile("$.logger");
+        return perEngine(parser -> {
+            JsonSlice slice = new JsonSlice();
+            JsonScalar result = new JsonScalar();
+            JsonValidation validation = new JsonValidation();
+            for (String json : MALFORMED) {
+                Input input = new Input(json);
+                byte[] b = input.bytes;
+                int off = Input.OFFSET;
+                int len = input.length;
+                String message = parser.getName() + " on " + json;
+                assertFalse(parser.validateJson(json, validation), message);
+                assertNotNull(validation.reason(), message);
+                assertEquals("", parser.getJsonRaw(json, path), message);
+                assertEquals("", parser.getJsonRaw(b, off, len, path), message);
+                assertFalse(parser.getJsonRaw(b, off, len, path, slice), message);
+                assertEquals(0, slice.length(), message);
+                assertEquals(-1L, parser.getJsonLong(json, path, -1L), message);
+                assertEquals(-1L, parser.getJsonLong(b, off, len, path, -1L), message);
+                assertTrue(Double.isNaN(parser.getJsonDouble(json, path, Double.NaN)), message);
+                assertTrue(Double.isNaN(parser.getJsonDouble(b, off, len, path, Double.NaN)), message);
+                assertTrue(parser.getJsonBoolean(json, path, true), message);
+                assertTrue(parser.getJsonBoolean(b, off, len, path, true), message);
+                assertFalse(parser.getJsonLong(json, path, result), message);
+                assertTrue(result.isMissing(), message + " " + result);
+                assertFalse(parser.getJsonDouble(b, off, len, path, result), message);
+                assertTrue(result.isMissing(), message + " " + result);
+                assertFalse(parser.getJsonBoolean(json, path, result), message);
+                assertTrue(result.isMissing(), message + " " + result);
+                assertEquals(JsonType.NONE, parser.getJsonType(json, path), message);
+                assertEquals(JsonType.NONE, parser.getJsonType(b, off, len, path), message);
+                assertEquals(0, parser.getJsonLength(json, path), message);
+                assertEquals(0, parser.getJsonLength(b, off, len, path), message);
+                assertEquals(0, parser.getJsonKeys(json, path).length, message);
+                assertEquals(0, parser.getJsonKeys(b, off, len, path).length, message);
+                assertEquals(0, parser.getJsonArrayOffsets(json, path).length, message);
+                assertEquals(0, parser.getJsonArrayOffsets(b, off, len, path).length, message);
+            }
+        });
+    }
+
+    /**
+     * @return One test per engine, named after it, that runs check against that engine
+     */
+    private Stream<DynamicTest> perEngine(java.util.function.Consumer<JsonParserInterface> check) {
+        return parsers.stream().map(parser -> DynamicTest.dynamicTest(parser.getName(), () -> check.accept(parser)));
+    }
+
+    /**
+     * @return Rows of {document, argument, extra...} that pair each malformed document with the same arguments
+     */
+    private static List<String[]> malformedRows(String... arguments) {
+        List<String[]> rows = new java.util.ArrayList<>();
+        for (String json : MALFORMED) {
+            String[] row = new String[arguments.length + 1];
+            row[0] = json;
+            System.arraycopy(arguments, 0, row, 1, arguments.length);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static <T> List<T> concat(T[] first, T[] second, T[] third) {
+        List<T> all = new java.util.ArrayList<>(Arrays.asList(first));
+        all.addAll(Arrays.asList(second));
+        all.addAll(Arrays.asList(third));
+        return all;
+    }
+
+    private static <T> List<T> concat(T[] first, T[] second, List<T> third) {
+        List<T> all = new java.util.ArrayList<>(Arrays.asList(first));
+        all.addAll(Arrays.asList(second));
+        all.addAll(third);
+        return all;
+    }
+
+    /**
+     * @return 100 rows that repeat docs, so a bitmap spans two words, with a null row at 70
+     */
+    private static List<String> column(List<String> docs) {
+        List<String> column = new java.util.ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            column.add(i == 70 ? null : docs.get(i % docs.size()));
+        }
+        return column;
+    }
+
+    /**
+     * Concatenate the UTF-8 of the rows, a null row as an empty one
+     * @param offsets Filled with the start of each row and the end of the last
+     * @return The arena
+     */
+    private static byte[] arena(List<String> column, int[] offsets) {
+        java.io.ByteArrayOutputStream arena = new java.io.ByteArrayOutputStream();
+        for (int i = 0; i < column.size(); i++) {
+            offsets[i] = arena.size();
+            if (column.get(i) != null) {
+                arena.writeBytes(column.get(i).getBytes(java.nio.charset.StandardCharsets.UTF_8));
+            }
+        }
+        offsets[column.size()] = arena.size();
+        return arena.toByteArray();
+    }
+
+    private static void assertBit(boolean expected, long[] bitmap, int row, String message) {
+        assertEquals(expected, java.util.BitSet.valueOf(bitmap).get(row), message + " at row " + row);
+        assertTrue(java.util.BitSet.valueOf(bitmap).length() <= 100, message + " set bits past the last row");
+    }
+
+    /**
+     * A document in each form the engines read: the String, a byte[] range that does not start at 0, and heap,
+     * direct and read-only buffers whose remaining bytes are the document
+     */
+    private static final class Input {
+        static final int OFFSET = 3;
+        final String json;
+        final byte[] bytes;
+        final int length;
+        final List<java.nio.ByteBuffer> buffers;
+
+        Input(String json) {
+            byte[] doc = json.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+            this.json = json;
+            this.length = doc.length;
+            this.bytes = new byte[doc.length + 2 * OFFSET];
+            Arrays.fill(bytes, (byte) '#');
+            System.arraycopy(doc, 0, bytes, OFFSET, doc.length);
+            java.nio.ByteBuffer heap = java.nio.ByteBuffer.wrap(bytes, OFFSET, length).slice();
+            java.nio.ByteBuffer direct = java.nio.ByteBuffer.allocateDirect(bytes.length);
+            direct.put(bytes).position(OFFSET).limit(OFFSET + length);
+            this.buffers = Arrays.asList(heap, direct, heap.asReadOnlyBuffer());
+        }
+
+        String describe(java.nio.ByteBuffer buffer) {
+            return (buffer.isDirect() ? "direct" : buffer.isReadOnly() ? "read-only" : "heap") + " buffer of " + json;
+        }
+
+        void assertUnmoved(java.nio.ByteBuffer buffer, JsonParserInterface parser) {
+            assertEquals(buffer.isDirect() ? OFFSET : 0, buffer.position(),
+                parser.getName() + " moved the position of a " + describe(buffer));
+        }
+    }
+
+    @Test
+    public void testTypedExtraction() {
+        String json = "{\"userId\": 91259310, \"points\": -12.5e1, \"vip\": true, \"name\": \"42\", "
+            + "\"big\": 9223372036854775808, \"max\": 9223372036854775807, \"ratio\": 0.1, "
+            + "\"nested\": {\"flags\": [false, null, 7]}}";
+        byte[] bytes = (" " + json).getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        CompiledPath userId = CompiledPath.compile("$.userId");
+        CompiledPath points = CompiledPath.compile("$.points");
+        CompiledPath flag = CompiledPath.compile("$.nested.flags[0]");
+        for (JsonParserInterface parser : parsers) {
+            String parserName = parser.getClass().getSimpleName();
+            assertEquals(91259310L, parser.getJsonLong(json, userId, -1L), parserName);
+            assertEquals(Long.MAX_VALUE, parser.getJsonLong(json, CompiledPath.compile("$.max"), -1L), parserName);
+            assertEquals(7L, parser.getJsonLong(json, CompiledPath.compile("$.nested.flags[2]"), -1L), parserName);
+            // Fractions, overflow, strings, booleans, null, containers and missing keys are mismatches
+            for (String path : new String[] {"$.points", "$.big", "$.name", "$.vip", "$.nested.flags[1]",
+                                             "$.nested", "$.missing"}) {
+                assertEquals(-1L, parser.getJsonLong(json, CompiledPath.compile(path), -1L), parserName + " " + path);
+            }
+            assertEquals(-1L, parser.getJsonLong("{\"userId\": ", userId, -1L), parserName + " on malformed input");
+
+            assertEquals(-125.0, parser.getJsonDouble(json, points, Double.NaN), parserName);
+            assertEquals(0.1, parser.getJsonDouble(json, CompiledPath.compile("$.ratio"), Double.NaN), parserName);
+            assertEquals(91259310.0, parser.getJsonDouble(json, userId, Double.NaN), parserName);
+            assertEquals(9.223372036854775808e18,
+                parser.getJsonDouble(json, CompiledPath.compile("$.big"), Double.NaN), parserName);
+            assertTrue(Double.isNaN(parser.getJsonDouble(json, CompiledPath.compile("$.name"), Double.NaN)),
+                parserName);
+
+            assertTrue(parser.getJsonBoolean(json, CompiledPath.compile("$.vip"), false), parserName);
+            assertFalse(parser.getJsonBoolean(json, flag, true), parserName);
+            assertTrue(parser.getJsonBoolean(json, userId, true), parserName);
+            assertFalse(parser.getJsonBoolean(json, CompiledPath.compile("$.nested.flags[1]"), false), parserName);
+
+            assertEquals(91259310L, parser.getJsonLong(bytes, 1, bytes.length - 1, userId, -1L), parserName);
+            assertEquals(-125.0, parser.getJsonDouble(bytes, 1, bytes.length - 1, points, Double.NaN), parserName);
+            assertFalse(parser.getJsonBoolean(bytes, 1, bytes.length - 1, flag, true), parserName);
+        }
+    }
+
+    @Test
+    public void testTypedExtractionReportsStatus() {
+        String json = "{\"userId\": -7, \"points\": 2.5, \"vip\": false, \"name\": \"42\", "
+            + "\"big\": 9223372036854775808, \"min\": -9223372036854775808, \"max\": 9223372036854775807, "
+            + "\"e\": 1E2, \"z\": null, \"o\": {\"a\": 1}}";
+        byte[] bytes = (" " + json).getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        JsonScalar result = new JsonScalar();
+        for (JsonParserInterface parser : parsers) {
+            String parserName = parser.getClass().getSimpleName();
+            assertTrue(parser.getJsonLong(json, CompiledPath.compile("$.userId"), result), parserName);
+            assertEquals(-7L, result.longValue(), parserName);
+            assertEquals(JsonType.INTEGER, result.type(), parserName);
+            assertTrue(parser.getJsonLong(json, CompiledPath.compile("$.min"), result), parserName);
+            assertEquals(Long.MIN_VALUE, result.longValue(), parserName);
+            // Either bound is a value like any other, not a marker for a failed read
+            assertTrue(parser.getJsonLong(json, CompiledPath.compile("$.max"), result), parserName);
+            assertEquals(Long.MAX_VALUE, result.longValue(), parserName);
+
+            // false and a missing key both read as the default; the status tells them apart
+            assertTrue(parser.getJsonBoolean(json, CompiledPath.compile("$.vip"), result), parserName);
+            assertFalse(result.booleanValue(), parserName);
+            assertFalse(parser.getJsonBoolean(json, CompiledPath.compile("$.missing"), result), parserName);
+            assertTrue(result.isMissing(), parserName + " " + result);
+            assertFalse(result.isMismatch(), parserName + " " + result);
+
+            assertTrue(parser.getJsonDouble(json, CompiledPath.compile("$.points"), result), parserName);
+            assertEquals(2.5, result.doubleValue(), parserName);
+            assertEquals(JsonType.DOUBLE, result.type(), parserName);
+            assertTrue(parser.getJsonDouble(json, CompiledPath.compile("$.e"), result), parserName);
+            assertEquals(100.0, result.doubleValue(), parserName);
+            assertEquals(JsonType.DOUBLE, result.type(), parserName);
+            assertTrue(parser.getJsonDouble(json, CompiledPath.compile("$.userId"), result), parserName);
+            assertEquals(-7.0, result.doubleValue(), parserName);
+            assertEquals(JsonType.INTEGER, result.type(), parserName);
+
+            String[] paths = {"$.points", "$.big", "$.e", "$.name", "$.z", "$.o", "$.vip"};
+            JsonType[] types = {JsonType.DOUBLE, JsonType.INTEGER, JsonType.DOUBLE, JsonType.STRING, JsonType.NULL,
+                                JsonType.OBJECT, JsonType.BOOLEAN};
+            for (int i = 0; i < paths.length; i++) {
+                assertFalse(parser.getJsonLong(json, CompiledPath.compile(paths[i]), result), parserName + " " + paths[i]);
+                assertTrue(result.isMismatch(), parserName + " " + paths[i] + " " + result);
+                assertEquals(types[i], result.type(), parserName + " " + paths[i]);
+            }
+            assertFalse(parser.getJsonDouble(json, CompiledPath.compile("$.name"), result), parserName);
+            assertEquals(JsonType.STRING, result.type(), parserName);
+            assertFalse(parser.getJsonBoolean(json, CompiledPath.compile("$.z"), result), parserName);
+            assertEquals(JsonType.NULL, result.type(), parserName);
+            assertFalse(parser.getJsonLong("{\"userId\": ", CompiledPath.compile("$.userId"), result), parserName);
+            assertTrue(result.isMissing(), parserName + " on malformed input");
+
+            assertTrue(parser.getJsonLong(bytes, 1, bytes.length - 1, CompiledPath.compile("$.userId"), result),
+                parserName);
+            assertEquals(-7L, result.longValue(), parserName);
+            assertFalse(parser.getJsonLong(bytes, 1, bytes.length - 1, CompiledPath.compile("$.big"), result),
+                parserName);
+            assertTrue(result.isMismatch(), parserName);
+            assertTrue(parser.getJsonBoolean(bytes, 1, bytes.length - 1, CompiledPath.compile("$.vip"), result),
+                parserName);
+            assertFalse(parser.getJsonDouble(bytes, 1, bytes.length - 1, CompiledPath.compile("$.x"), result),
+                parserName);
+            assertTrue(result.isMissing(), parserName);
+        }
+    }
+
+    @Test
+    public void testNestedHasJsonKey() {
+        String json = "{\"correlationId\": \"c1\", \"skip\": {\"a\": [1, {\"b\": 2}]}, "
+            + "\"nested\": {\"a\": [1, {\"b\": null}, \"\"], \"e\": {}}}";
+        byte[] bytes = json.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        for (JsonParserInterface parser : parsers) {
+            String parserName = parser.getClass().getSimpleName();
+            assertTrue(parser.hasJsonKey(json, CompiledPath.of("nested", "a")), parserName);
+            assertTrue(parser.hasJsonKey(json, CompiledPath.of("nested", "a", 1, "b")), parserName);
+            assertTrue(parser.hasJsonKey(json, CompiledPath.of("nested", "a", 2)), parserName);
+            assertTrue(parser.hasJsonKey(json, CompiledPath.of("nested", "e")), parserName);
+            assertTrue(parser.hasJsonKey(bytes, 0, bytes.length, CompiledPath.of("nested", "a", 1, "b")), parserName);
+            assertFalse(parser.hasJsonKey(json, CompiledPath.of("nested", "a", 3)), parserName);
+            assertFalse(parser.hasJsonKey(json, CompiledPath.of("nested", "a", 0, "b")), parserName);
+            assertFalse(parser.hasJsonKey(json, CompiledPath.of("nested", "b")), parserName);
+            assertFalse(parser.hasJsonKey(json, CompiledPath.of("nested", 0)), parserName);
+            assertFalse(parser.hasJsonKey(bytes, 0, bytes.length, CompiledPath.of("nested", "e", "x")), parserName);
+            assertTrue(parser.hasJsonKey(json, CompiledPath.of("correlationId")), parserName);
+            // The empty path names the document itself
+            assertTrue(parser.hasJsonKey(json, CompiledPath.of()), parserName);
+            assertFalse(parser.hasJsonKey("{\"a\": }", CompiledPath.of()), parserName);
+        }
+        assertEquals("$.a.b[1]", CompiledPath.of("a", "b", 1).expression());
+        assertEquals("$['a.b']['it\\'s'][0]", CompiledPath.of("a.b", "it's", 0).expression());
+        assertEquals(CompiledPath.of("a.b", "it's", 0), CompiledPath.compile("$['a.b']['it\\'s'][0]"));
+        assertEquals(CompiledPath.of("a", "b"), CompiledPath.compile("$.a.b"));
+        assertNotEquals(CompiledPath.of("a.b"), CompiledPath.compile("$.a.b"));
+        assertThrows(IllegalArgumentException.class, () -> CompiledPath.of("a", -1));
+    }
+
+    @Test
+    public void testValidateJsonReportsErrorPosition() {
+        String[] docs = {
+            "{\"a\": \"b\", \"c\": [1, 2]}",
+            "{\"a\" 1}",
+            "{\"a\": \"b",
+            "[1, 2] x"
+        };
+        JsonValidation result = new JsonValidation();
+        for (JsonParserInterface parser : parsers) {
+            String parserName = parser.getClass().getSimpleName();
+            assertFalse(parser.validateJson(docs[2], result), parserName);
+            assertFalse(result.isValid(), parserName);
+            assertTrue(parser.validateJson(docs[0], result), parserName);
+            // jsoniter reads a field value without checking for the ':' before it, so it accepts a missing one
+            boolean lenient = parser instanceof JsonIteratorParser;
+            assertEquals(lenient, parser.validateJson(docs[1], result), parserName);
+            assertEquals(lenient, parser.validateJson("{\"\u00e9\" 1}", result), parserName);
+            if (!lenient) {
+                // The missing ':' is located the same way whichever engine rejected the input, in chars for a String
+                assertEquals(JsonValidation.Reason.UNEXPECTED_CHAR, result.reason(), parserName);
+                assertEquals(5, result.offset(), parserName);
+                assertFalse(parser.validateJson(docs[1], result), parserName);
+                assertEquals(5, result.offset(), parserName);
+            }
+        }
+        JsonParserInterface parser = new StateMachineParser();
+        parser.validateJson(docs[2], result);
+        assertEquals(JsonValidation.Reason.UNTERMINATED_STRING, result.reason());
+        assertEquals(6, result.offset());
+        parser.validateJson(docs[3], result);
+        assertEquals(JsonValidation.Reason.TRAILING_DATA, result.reason());
+        assertEquals(7, result.offset());
+        // Offsets count chars in Strings and bytes in UTF-8 input
+        String accented = "{\"\u00e9\": 1,}";
+        byte[] bytes = accented.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        assertFalse(parser.validateJson(accented, result));
+        assertEquals(8, result.offset());
+        assertFalse(parser.validateJson(bytes, 0, bytes.length, result));
+        assertEquals(9, result.offset());
+    }
+
+    @Test
+    public void testEmptyNestedObjects() {
+        // FastJsonStreaming's baseline loop rejected these valid documents: readAny leaves hasComma stale after {}
+        String[] valid = {"{\"c\":1,\"a\":{}}", "{\"a\": {}, \"b\": {\"c\": {}}}"};
+        String[] invalid = {"{\"c\": 1,\n\"a\": {},}", "{\"a\": {} \"b\": 1}"};
+        JsonValidation result = new JsonValidation();
+        for (JsonParserInterface parser : parsers) {
+            String parserName = parser.getClass().getSimpleName();
+            for (String json : valid) {
+                assertTrue(parser.isValidJson(json),
+                    String.format("%s failed to validate valid JSON: %s", parserName, json));
+                assertTrue(parser.validateJson(json, result), parserName + " on " + json);
+            }
+            for (String json : invalid) {
+                // jsoniter accepts a missing comma after {}
+                if (parser instanceof JsonIteratorParser && json.contains("} \"")) {
+                    continue;
+                }
+                assertFalse(parser.isValidJson(json),
+                    String.format("%s incorrectly validated invalid JSON: %s", parserName, json));
+            }
+        }
+    }
+
+    @Test
+    public void testGetJsonRawStopsAtMalformedScalars() {
+        String[] docs = {"{\"b\":{\"a\": tru}}", "{\"b\":{\"a\": nul}}", "{\"b\":{\"a\":-3\"64}}",
+                         "{\"b\":{\"a\": 1.}}", "{\"b\":{\"a\": \"x}}", "{\"b\":{\"a\": \"x\\\"}}"};
+        JsonSlice slice = new JsonSlice();
+        for (JsonParserInterface parser : parsers) {
+            String parserName = parser.getClass().getSimpleName();
+            for (String json : docs) {
+                byte[] bytes = json.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+                CompiledPath path = CompiledPath.compile("$.b.a");
+                String raw = parser.getJsonRaw(json, path);
+                // A lenient engine may return the token itself, but never the bracket after it
+                assertTrue(raw.chars().noneMatch(c -> "{}[],: ".indexOf(c) >= 0),
+                    String.format("%s returned %s for %s", parserName, raw, json));
+                assertEquals(raw, parser.getJsonRaw(bytes, 0, bytes.length, path), parserName + " on " + json);
+                parser.getJsonRaw(bytes, 0, bytes.length, path, slice);
+                assertEquals(raw, slice.toString(), parserName + " on " + json);
+            }
+        }
+    }
+
+    @Test
+    public void testNavigatorsRejectMalformedValues() {
+        // The in-house engines that navigate without validating the document still check what they return
+        String[][] cases = {
+            {"{\"a\":true,\"b\":-3\"64,\"e\":true}", "$.b"},
+            {"{\"a\":true,\"b\":tru,\"e\":true}", "$.b"},
+            {"[1, 2x, 3]", "$[1]"},
+            {"{\"a\":\"x\\q\",\"e\":1}", "$.a"},
+            {"{\"a\": tru}", "$"},
+            {"{\"a\":1,\"b\":{\"c\": 1x}}", "$.b"},
+            {"{\"lo\\gger\": 1}", "$.logger"}
+        };
+        for (JsonParserInterface parser : parsers) {
+            if (!(parser instanceof AbstractByteParser)) {
+                continue;
+            }
+            String parserName = parser.getClass().getSimpleName();
+            for (String[] c : cases) {
+                CompiledPath path = CompiledPath.compile(c[1]);
+                String message = parserName + " on " + c[0] + " at " + c[1];
+                assertEquals("", parser.getJsonValue(c[0], path), message);
+                assertEquals("", parser.getJsonRaw(c[0], path), message);
+                assertEquals("", parser.extractAll(c[0], path)[0], message);
+            }
+            if (!(parser instanceof KeyScanParser)) {
+                // KeyScan finds a top-level key by its name alone
+                assertFalse(parser.hasJsonKey(cases[0][0], CompiledPath.compile("$.b")), parserName);
+            }
+            // A field name with a malformed escape is no spelling of the key
+            assertFalse(parser.hasJsonKey("{\"lo\\gger\": 1}", "logger"), parserName);
+            assertEquals("-3", parser.getJsonValue("{\"a\":true,\"b\":-3,\"e\":true}", "$.b"), parserName);
+            assertEquals("{\"c\": 1}", parser.getJsonRaw("{\"a\":1,\"b\":{\"c\": 1}}", CompiledPath.compile("$.b")),
+                parserName);
+        }
+    }
+
+    @Test
+    public void testGetJsonRawReturnsInputText() {
+        String json = "{\"correlationId\": \"c\\\"1\", \"nested\": {\"a\" : [1, {\"b\": null}], \"e\": {}} ,"
+            + " \"n\": -1.5e3, \"s\": \"\u00e9\"}";
+        byte[] bytes = json.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        byte[] padded = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, padded, 2, bytes.length);
+        JsonSlice slice = new JsonSlice();
+        for (JsonParserInterface parser : parsers) {
+            String parserName = parser.getClass().getSimpleName();
+            assertEquals("{\"a\" : [1, {\"b\": null}], \"e\": {}}",
+                parser.getJsonRaw(json, CompiledPath.of("nested")), parserName);
+            assertEquals("[1, {\"b\": null}]", parser.getJsonRaw(json, CompiledPath.of("nested", "a")), parserName);
+            assertEquals("null", parser.getJsonRaw(json, CompiledPath.of("nested", "a", 1, "b")), parserName);
+            assertEquals("\"c\\\"1\"", parser.getJsonRaw(json, CompiledPath.of("correlationId")), parserName);
+            assertEquals("-1.5e3", parser.getJsonRaw(bytes, 0, bytes.length, CompiledPath.of("n")), parserName);
+            assertEquals("\"\u00e9\"", parser.getJsonRaw(json, CompiledPath.of("s")), parserName);
+            assertEquals("\"\u00e9\"", parser.getJsonRaw(padded, 2, bytes.length, CompiledPath.of("s")), parserName);
+            assertEquals(json, parser.getJsonRaw(json, CompiledPath.of()), parserName);
+            assertEquals("", parser.getJsonRaw(json, CompiledPath.of("nested", "a", 2)), parserName);
+            assertTrue(parser.getJsonRaw(padded, 2, bytes.length, CompiledPath.of("nested", "e"), slice), parserName);
+            assertTrue(slice.contentEquals("{}"), parserName);
+            assertFalse(parser.getJsonRaw(padded, 2, bytes.length, CompiledPath.of("missing"), slice), parserName);
+            assertEquals(0, slice.length(), parserName);
+        }
+    }
+
+    @Test
+    public void testGetJsonLengthAndType() {
+        String json = "{\"userMap\": {\"gamCntRealN\": 11926, \"tdyWns\": 1346.3, \"ft_retention\": true,"
+            + " \"clubStts\": \"Gold\", \"tags\": [1, [2, 3], {\"a\": \"}\"}]}, \"empty\": [], \"none\": null}";
+        byte[] bytes = json.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        for (JsonParserInterface parser : parsers) {
+            String parserName = parser.getClass().getSimpleName();
+            assertEquals(3, parser.getJsonLength(json, CompiledPath.of()), parserName);
+            assertEquals(5, parser.getJsonLength(json, CompiledPath.of("userMap")), parserName);
+            assertEquals(3, parser.getJsonLength(bytes, 0, bytes.length, CompiledPath.of("userMap", "tags")),
+                parserName);
+            assertEquals(0, parser.getJsonLength(json, CompiledPath.of("empty")), parserName);
+            assertEquals(0, parser.getJsonLength(json, CompiledPath.of("userMap", "clubStts")), parserName);
+            assertEquals(0, parser.getJsonLength(json, CompiledPath.of("missing")), parserName);
+            assertEquals(JsonType.OBJECT, parser.getJsonType(json, CompiledPath.of("userMap")), parserName);
+            assertEquals(JsonType.ARRAY, parser.getJsonType(json, CompiledPath.of("empty")), parserName);
+            assertEquals(JsonType.INTEGER, parser.getJsonType(json, CompiledPath.of("userMap", "gamCntRealN")),
+                parserName);
+            assertEquals(JsonType.DOUBLE, parser.getJsonType(json, CompiledPath.of("userMap", "tdyWns")), parserName);
+            assertEquals(JsonType.BOOLEAN, parser.getJsonType(bytes, 0, bytes.length,
+                CompiledPath.of("userMap", "ft_retention")), parserName);
+            assertEquals(JsonType.STRING, parser.getJsonType(json, CompiledPath.of("userMap", "tags", 2, "a")),
+                parserName);
+            assertEquals(JsonType.NULL, parser.getJsonType(json, CompiledPath.of("none")), parserName);
+            assertEquals(JsonType.NONE, parser.getJsonType(json, CompiledPath.of("missing")), parserName);
+        }
+    }
+
+    @Test
+    public void testGetJsonKeysReturnsCanonicalNames() {
+        String first = "{\"correlationId\": \"a\", \"tm\": \"01:28\", \"userMap\": {\"clubStts\": \"Gold\","
+            + " \"k\\\"ey\": {\"x\": 1}}, \"logger\": \"com.x.Y\"}";
+        String second = "{\"correlationId\": \"b\", \"tm\": \"02:30\", \"logger\": \"com.x.Z\", \"tags\": [{}]}";
+        byte[] bytes = second.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        for (JsonParserInterface parser : parsers) {
+            String parserName = parser.getClass().getSimpleName();
+            String[] keys = parser.getJsonKeys(first, CompiledPath.of());
+            assertArrayEquals(new String[] {"correlationId", "tm", "userMap", "logger"}, keys, parserName);
+            assertArrayEquals(new String[] {"clubStts", "k\"ey"},
+                parser.getJsonKeys(first, CompiledPath.of("userMap")), parserName);
+            String[] again = parser.getJsonKeys(bytes, 0, bytes.length, CompiledPath.of());
+            assertArrayEquals(new String[] {"correlationId", "tm", "logger", "tags"}, again, parserName);
+            assertSame(keys[0], again[0], parserName);
+            assertSame(keys[3], again[2], parserName);
+            assertEquals(0, parser.getJsonKeys(second, CompiledPath.of("tags")).length, parserName);
+            assertEquals(0, parser.getJsonKeys(second, CompiledPath.of("tags", 0)).length, parserName);
+            assertEquals(0, parser.getJsonKeys(second, CompiledPath.of("missing")).length, parserName);
+        }
+    }
+
+    @Test
+    public void testGetJsonArrayOffsetsLocatesElements() {
+        String json = "{\"batch\": 1, \"events\": [{\"logger\": \"caf\u00e9]\"}, \"a,b\" , [1, [2]], -2.5e3,true,"
+            + " null]}";
+        String[] elements = {"{\"logger\": \"caf\u00e9]\"}", "\"a,b\"", "[1, [2]]", "-2.5e3", "true", "null"};
+        byte[] document = json.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        byte[] bytes = new byte[document.length + 4];
+        System.arraycopy(document, 0, bytes, 2, document.length);
+        for (JsonParserInterface parser : parsers) {
+            String parserName = parser.getClass().getSimpleName();
+            int[] offsets = parser.getJsonArrayOffsets(json, CompiledPath.of("events"));
+            int[] byteOffsets = parser.getJsonArrayOffsets(bytes, 2, document.length, CompiledPath.of("events"));
+            assertEquals(2 * elements.length, offsets.length, parserName);
+            assertEquals(2 * elements.length, byteOffsets.length, parserName);
+            for (int i = 0; i < elements.length; i++) {
+                int start = byteOffsets[2 * i];
+                assertEquals(elements[i], json.substring(offsets[2 * i], offsets[2 * i + 1]), parserName);
+                assertEquals(elements[i], new String(bytes, start, byteOffsets[2 * i + 1] - start,
+                    java.nio.charset.StandardCharsets.UTF_8), parserName);
+            }
+            assertEquals("caf\u00e9]", parser.getJsonValue(bytes, byteOffsets[0], byteOffsets[1] - byteOffsets[0],
+                CompiledPath.of("logger")), parserName);
+            assertEquals(0, parser.getJsonArrayOffsets(json, CompiledPath.of("batch")).length, parserName);
+            assertEquals(0, parser.getJsonArrayOffsets(json, CompiledPath.of("missing")).length, parserName);
+        }
+    }
+
+    @Test
+    public void testSimpleJsonIsRelaxed() {
+        // Flat fields as the strict engines read them; "tm" first occurs as a value, which is not a match
+        String json = "{\"level\":\"tm\",\"tm\":\"01:28:19.560\",\"logger\":\"a\\\"b\",\"n\":\"12abc\","
+            + "\"x\":-2.5e1,\"ok\":true,\"ctx\":{\"userId\":7,\"logger\":\"inner\"},\"userId\":9, broken";
+        byte[] bytes = json.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        for (JsonParserInterface parser : parsers) {
+            String parserName = parser.getClass().getSimpleName();
+            assertFalse(parser.isValidJson(json), parserName);
+            assertEquals("01:28:19.560", parser.simpleJsonExtractString(json, "tm"), parserName);
+            assertEquals("a\"b", parser.simpleJsonExtractString(bytes, 0, bytes.length, "logger"), parserName);
+            assertEquals("", parser.simpleJsonExtractString(json, "x"), parserName);
+            assertEquals("{\"userId\":7,\"logger\":\"inner\"}", parser.simpleJsonExtractRaw(json, "ctx"), parserName);
+            // First match wins at any depth: the nested userId comes before the top-level one
+            assertEquals(7, parser.simpleJsonExtractLong(json, "userId"), parserName);
+            assertEquals(12, parser.simpleJsonExtractLong(bytes, 0, bytes.length, "n"), parserName);
+            assertEquals(-2, parser.simpleJsonExtractLong(json, "x"), parserName);
+            assertEquals(-25.0, parser.simpleJsonExtractDouble(json, "x"), 0.0, parserName);
+            assertTrue(parser.simpleJsonExtractBool(json, "ok"), parserName);
+            assertFalse(parser.simpleJsonExtractBool(json, "tm"), parserName);
+            assertTrue(parser.simpleJsonHas(bytes, 0, bytes.length, "ctx"), parserName);
+            assertFalse(parser.simpleJsonHas(json, "missing"), parserName);
+            assertEquals(0, parser.simpleJsonExtractLong(json, "missing"), parserName);
+        }
+    }
 }